@@ -0,0 +1,214 @@
+package com.professional.controller;
+
+import com.professional.model.almacenamiento.AlmacenArchivos;
+import com.professional.model.almacenamiento.GeneradorVariantes;
+import com.professional.model.exceptions.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Descarga de los archivos subidos ({@code /uploads/...}, la ruta que devuelve {@link FileUploadController}).
+ * <p>
+ * Los archivos direccionados por contenido no cambian nunca: se sirven con el hash como ETag fuerte y
+ * {@code Cache-Control: private, immutable}, así que el navegador los guarda sin volver a validarlos. No se
+ * marcan como públicos porque entre ellos hay escaneos de DNI y licencias, que no deben quedar en proxies ni
+ * CDN compartidos. Sin sesión solo se sirven imágenes que no son DNI ni licencias
+ * ({@link com.professional.model.almacenamiento.DocumentosPrivados}); los PDF, los documentos y los archivos
+ * anteriores (nombrados por fecha) piden sesión ({@link com.professional.model.auth.SpringSecurityConfig}).
+ * Los anteriores se sirven con un ETag de tamaño y fecha de modificación, y se revalidan en cada uso.
+ * <p>
+ * Todas las respuestas llevan {@code Content-Security-Policy: sandbox}, y lo que no es una imagen permitida
+ * (los PDF y los archivos anteriores a la lista de tipos de {@link AlmacenArchivos}) se envía como
+ * {@code Content-Disposition: attachment}: un HTML o SVG subido no se ejecuta con el origen de la API.
+ * <p>
+ * Se admite un único rango de bytes ({@code Range}, con {@code If-Range}); varios rangos se responden con el
+ * archivo completo. El cuerpo se envía con sendfile de Tomcat cuando el conector lo permite (el núcleo copia
+ * del disco al socket), o si no con {@link FileChannel#transferTo}.
+ * <p>
+ * Si se pide una variante reducida que todavía no existe (se genera en segundo plano tras la subida, o el
+ * archivo es anterior), se encola su generación y se redirige al original con una respuesta no cacheable.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+@RequestMapping("/uploads")
+public class ArchivosController {
+
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_INMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable().getHeaderValue();
+    private static final String CACHE_ANTERIOR = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final AlmacenArchivos almacenArchivos;
+    private final GeneradorVariantes generadorVariantes;
+
+    /**
+     * Rango de bytes a enviar, con ambos extremos incluidos.
+     */
+    private record Rango(long inicio, long fin) {
+        static final Rango INSATISFACIBLE = new Rango(-1, -1);
+
+        long longitud() {
+            return fin - inicio + 1;
+        }
+    }
+
+    @Autowired
+    public ArchivosController(AlmacenArchivos almacenArchivos, GeneradorVariantes generadorVariantes) {
+        this.almacenArchivos = almacenArchivos;
+        this.generadorVariantes = generadorVariantes;
+    }
+
+    /**
+     * Descargar un archivo subido.
+     *
+     * @param ruta Ruta dentro del almacén, por ejemplo "/ab/cd/abcd...jpg".
+     */
+    @GetMapping("/{*ruta}")
+    public void descargar(@PathVariable String ruta, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path archivo = almacenArchivos.resolver(ruta.substring(1));
+        if (archivo != null && !Files.isRegularFile(archivo)) {
+            String original = generadorVariantes.original(ruta.substring(1));
+            if (original != null) {
+                generadorVariantes.programar(original);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+                response.setHeader(HttpHeaders.LOCATION, request.getContextPath() + "/uploads/" + original);
+                response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+                return;
+            }
+        }
+        if (archivo == null || !Files.isRegularFile(archivo)) {
+            throw new ResourceNotFoundException("Archivo no encontrado: " + ruta);
+        }
+        long tamanio = Files.size(archivo);
+        String hash = AlmacenArchivos.hash(archivo);
+        String etag = hash != null
+                ? "\"" + hash + "\""
+                : "\"" + Long.toHexString(tamanio) + "-" + Long.toHexString(Files.getLastModifiedTime(archivo).toMillis()) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, hash != null ? CACHE_INMUTABLE : CACHE_ANTERIOR);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", "sandbox");
+        if (!AlmacenArchivos.esImagen(archivo.getFileName().toString())) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(archivo.getFileName().toString()).build().toString());
+        }
+
+        if (coincideAlguno(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Rango rango = new Rango(0, tamanio - 1);
+        String cabeceraRango = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (cabeceraRango != null && tamanio > 0 && (ifRange == null || ifRange.trim().equals(etag))) {
+            Rango pedido = rango(cabeceraRango, tamanio);
+            if (pedido == Rango.INSATISFACIBLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanio);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (pedido != null) {
+                rango = pedido;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + rango.inicio() + "-" + rango.fin() + "/" + tamanio);
+            }
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(archivo.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(Math.max(0, rango.longitud()));
+        if (HttpMethod.HEAD.matches(request.getMethod()) || tamanio == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+            request.setAttribute(SENDFILE_ARCHIVO, archivo.toString());
+            request.setAttribute(SENDFILE_INICIO, rango.inicio());
+            request.setAttribute(SENDFILE_FIN, rango.fin() + 1);
+            return;
+        }
+        // El canal de salida no se cierra: el flujo de la respuesta lo cierra el contenedor
+        WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long posicion = rango.inicio();
+            while (posicion <= rango.fin()) {
+                posicion += canal.transferTo(posicion, rango.fin() + 1 - posicion, salida);
+            }
+        }
+    }
+
+    /**
+     * Interpreta una cabecera Range de un solo rango ("bytes=0-99", "bytes=100-" o "bytes=-100").
+     *
+     * @return El rango acotado al archivo, {@link Rango#INSATISFACIBLE} si empieza después del final,
+     * o null si la cabecera no es válida o pide varios rangos (se envía el archivo completo).
+     */
+    private static Rango rango(String cabecera, long tamanio) {
+        if (!cabecera.startsWith("bytes=") || cabecera.indexOf(',') >= 0) {
+            return null;
+        }
+        String especificacion = cabecera.substring("bytes=".length()).trim();
+        int guion = especificacion.indexOf('-');
+        if (guion < 0) {
+            return null;
+        }
+        String primero = especificacion.substring(0, guion).trim();
+        String ultimo = especificacion.substring(guion + 1).trim();
+        try {
+            if (primero.isEmpty()) {
+                long sufijo = Long.parseLong(ultimo);
+                return sufijo <= 0 ? Rango.INSATISFACIBLE : new Rango(Math.max(0, tamanio - sufijo), tamanio - 1);
+            }
+            long inicio = Long.parseLong(primero);
+            long fin = ultimo.isEmpty() ? Long.MAX_VALUE : Long.parseLong(ultimo);
+            if (inicio < 0 || fin < inicio) {
+                return null;
+            }
+            return inicio >= tamanio ? Rango.INSATISFACIBLE : new Rango(inicio, Math.min(fin, tamanio - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Comparación débil de If-None-Match: acepta "*" y una lista de ETags, con o sin el prefijo W/.
+     */
+    private static boolean coincideAlguno(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.professional.controller;
 
+import com.professional.controller.exceptions.ServicioSaturadoException;
 import com.professional.model.dto.RegistroDTO;
 import com.professional.model.dto.LoginDTO;
 import com.professional.model.dto.Error;
@@ -50,6 +51,9 @@ public class AuthController {
             Map<String, String> response = new HashMap<>();
             response.put("data","Registro exitoso. Por favor, verifica tu correo para confirmar tu cuenta.");
             return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (ServicioSaturadoException ex) {
+            // El pool de contraseñas está lleno: ExceptionController responde 429 con Retry-After
+            throw ex;
         } catch (Exception ex) {
             List<Error> errores = new ArrayList<>();
             errores.add(new Error(ex.getMessage()));
@@ -97,6 +101,9 @@ public class AuthController {
             Map<String, String> response = new HashMap<>();
             response.put("token", token);
             return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (ServicioSaturadoException ex) {
+            // Una ráfaga de inicios de sesión no son credenciales inválidas: ExceptionController responde 429
+            throw ex;
         } catch (Exception ex) {
             return new ResponseEntity<>(new Error(ex.getMessage()), HttpStatus.UNAUTHORIZED);
         }
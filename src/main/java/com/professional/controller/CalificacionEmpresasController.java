@@ -1,9 +1,11 @@
 package com.professional.controller;
 
+import com.professional.model.dto.CalificacionDTO;
 import com.professional.model.entities.CalificacionEmpresas;
 import com.professional.model.entities.Cliente;
 import com.professional.model.entities.TrabajoEmpresa;
 import com.professional.model.dto.Error;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.CalificacionEmpresasService;
 import com.professional.model.services.ClienteService;
 import com.professional.model.services.TrabajoEmpresaService;
@@ -55,7 +57,7 @@ public class CalificacionEmpresasController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        CalificacionEmpresas creada = calificacionService.createCalificacion(calificacion);
+        CalificacionDTO creada = calificacionService.createCalificacion(calificacion);
         return new ResponseEntity<>(creada, HttpStatus.CREATED);
     }
 
@@ -66,8 +68,9 @@ public class CalificacionEmpresasController {
      */
     @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<CalificacionEmpresas>> listarCalificaciones() {
-        List<CalificacionEmpresas> calificaciones = calificacionService.getAllCalificaciones();
+    public ResponseEntity<PaginaCursor<CalificacionDTO>> listarCalificaciones(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<CalificacionDTO> calificaciones = calificacionService.getAllCalificaciones(cursor, tamanio);
         return new ResponseEntity<>(calificaciones, HttpStatus.OK);
     }
 
@@ -79,8 +82,8 @@ public class CalificacionEmpresasController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<CalificacionEmpresas> getCalificacionById(@PathVariable Long id) {
-        CalificacionEmpresas calificacion = calificacionService.getCalificacionById(id);
+    public ResponseEntity<CalificacionDTO> getCalificacionById(@PathVariable Long id) {
+        CalificacionDTO calificacion = calificacionService.getCalificacionById(id);
         return new ResponseEntity<>(calificacion, HttpStatus.OK);
     }
 
@@ -105,7 +108,7 @@ public class CalificacionEmpresasController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        CalificacionEmpresas actualizado = calificacionService.updateCalificacion(id, calificacionDetalles);
+        CalificacionDTO actualizado = calificacionService.updateCalificacion(id, calificacionDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -131,11 +134,11 @@ public class CalificacionEmpresasController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/cliente/{clienteId}/trabajo/{trabajoId}")
-    public ResponseEntity<CalificacionEmpresas> getCalificacionByClienteAndTrabajo(@PathVariable Long clienteId,
+    public ResponseEntity<CalificacionDTO> getCalificacionByClienteAndTrabajo(@PathVariable Long clienteId,
                                                                                    @PathVariable Long trabajoId) {
         Cliente cliente = clienteService.getClienteById(clienteId);
         TrabajoEmpresa trabajo = trabajoEmpresaService.getTrabajoEmpresaById(trabajoId);
-        CalificacionEmpresas calificacion = calificacionService.getCalificacionByClienteAndTrabajo(cliente, trabajo);
+        CalificacionDTO calificacion = calificacionService.getCalificacionByClienteAndTrabajo(cliente, trabajo);
         return new ResponseEntity<>(calificacion, HttpStatus.OK);
     }
 
@@ -1,10 +1,12 @@
 package com.professional.controller;
 
+import com.professional.model.dto.CalificacionDTO;
 import com.professional.model.dto.Error;
 import com.professional.model.entities.CalificacionIndependientes;
 import com.professional.model.entities.Cliente;
 import com.professional.model.entities.TrabajoIndEnAccion;
 import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.CalificacionIndependientesService;
 import com.professional.model.services.ClienteService;
 import com.professional.model.services.TrabajoIndEnAccionService;
@@ -58,7 +60,7 @@ public class CalificacionIndependienteController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        CalificacionIndependientes creada = calificacionService.createCalificacion(calificacion);
+        CalificacionDTO creada = calificacionService.createCalificacion(calificacion);
         return new ResponseEntity<>(creada, HttpStatus.CREATED);
     }
 
@@ -69,8 +71,9 @@ public class CalificacionIndependienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<CalificacionIndependientes>> listarCalificaciones() {
-        List<CalificacionIndependientes> calificaciones = calificacionService.getAllCalificaciones();
+    public ResponseEntity<PaginaCursor<CalificacionDTO>> listarCalificaciones(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<CalificacionDTO> calificaciones = calificacionService.getAllCalificaciones(cursor, tamanio);
         return new ResponseEntity<>(calificaciones, HttpStatus.OK);
     }
 
@@ -82,8 +85,8 @@ public class CalificacionIndependienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<CalificacionIndependientes> obtenerCalificacionPorId(@PathVariable Long id) {
-        CalificacionIndependientes calificacion = calificacionService.getCalificacionById(id);
+    public ResponseEntity<CalificacionDTO> obtenerCalificacionPorId(@PathVariable Long id) {
+        CalificacionDTO calificacion = calificacionService.getCalificacionById(id);
         return new ResponseEntity<>(calificacion, HttpStatus.OK);
     }
 
@@ -108,7 +111,7 @@ public class CalificacionIndependienteController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        CalificacionIndependientes actualizado = calificacionService.updateCalificacion(id, calificacionDetalles);
+        CalificacionDTO actualizado = calificacionService.updateCalificacion(id, calificacionDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -134,13 +137,13 @@ public class CalificacionIndependienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar")
-    public ResponseEntity<CalificacionIndependientes> buscarCalificacionPorClienteYTrabajo(
+    public ResponseEntity<CalificacionDTO> buscarCalificacionPorClienteYTrabajo(
             @RequestParam Long clienteId,
             @RequestParam Long trabajoId) {
         Cliente cliente = clienteService.getClienteById(clienteId);
         TrabajoIndEnAccion trabajoIndEnAccion = trabajoIndEnAccionService.getTrabajoEnAccionById(trabajoId);
 
-        CalificacionIndependientes calificacion = calificacionService.getCalificacionByClienteAndTrabajo(cliente, trabajoIndEnAccion);
+        CalificacionDTO calificacion = calificacionService.getCalificacionByClienteAndTrabajo(cliente, trabajoIndEnAccion);
         return new ResponseEntity<>(calificacion, HttpStatus.OK);
     }
 
@@ -3,15 +3,23 @@ package com.professional.controller;
 import com.professional.model.dto.*;
 import com.professional.model.dto.Error;
 import com.professional.model.entities.Cliente;
+import com.professional.model.enums.OrdenBusqueda;
 import com.professional.model.enums.RangoCalificacion;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.ClienteService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +34,8 @@ import java.util.List;
 @RequestMapping("/clientes")
 public class ClienteController {
 
+    private static final String CABECERA_HAY_MAS = "X-Hay-Mas";
+
     private final ClienteService clienteService;
 
     @Autowired
@@ -51,7 +61,7 @@ public class ClienteController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        Cliente creado = clienteService.createCliente(cliente);
+        ClienteDTO creado = clienteService.createCliente(cliente);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
@@ -62,8 +72,9 @@ public class ClienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<Cliente>> listarClientesActivos() {
-        List<Cliente> clientesActivos = clienteService.getAllClientes();
+    public ResponseEntity<PaginaCursor<ClienteDTO>> listarClientesActivos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<ClienteDTO> clientesActivos = clienteService.getAllClientes(cursor, tamanio);
         return new ResponseEntity<>(clientesActivos, HttpStatus.OK);
     }
 
@@ -74,8 +85,9 @@ public class ClienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/todos")
-    public ResponseEntity<List<Cliente>> listarTodosClientes() {
-        List<Cliente> todosClientes = clienteService.getAllClientesTodos();
+    public ResponseEntity<PaginaCursor<ClienteDTO>> listarTodosClientes(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<ClienteDTO> todosClientes = clienteService.getAllClientesTodos(cursor, tamanio);
         return new ResponseEntity<>(todosClientes, HttpStatus.OK);
     }
 
@@ -87,8 +99,8 @@ public class ClienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<Cliente> obtenerClientePorId(@PathVariable Long id) {
-        Cliente cliente = clienteService.getClienteById(id);
+    public ResponseEntity<ClienteDTO> obtenerClientePorId(@PathVariable Long id) {
+        ClienteDTO cliente = clienteService.getClienteDTOById(id);
         return new ResponseEntity<>(cliente, HttpStatus.OK);
     }
 
@@ -113,7 +125,7 @@ public class ClienteController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        Cliente actualizado = clienteService.updateCliente(id, clienteDetalles);
+        ClienteDTO actualizado = clienteService.updateCliente(id, clienteDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -138,8 +150,8 @@ public class ClienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar-por-correo")
-    public ResponseEntity<Cliente> buscarClientePorCorreo(@RequestParam String correo) {
-        Cliente cliente = clienteService.getClienteByCorreo(correo);
+    public ResponseEntity<ClienteDTO> buscarClientePorCorreo(@RequestParam String correo) {
+        ClienteDTO cliente = clienteService.getClienteByCorreo(correo);
         return new ResponseEntity<>(cliente, HttpStatus.OK);
     }
 
@@ -151,8 +163,8 @@ public class ClienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar-por-nombres")
-    public ResponseEntity<List<Cliente>> buscarClientesPorNombres(@RequestParam String nombres) {
-        List<Cliente> clientes = clienteService.findByNombresContainingIgnoreCase(nombres);
+    public ResponseEntity<List<ClienteDTO>> buscarClientesPorNombres(@RequestParam String nombres) {
+        List<ClienteDTO> clientes = clienteService.findByNombresContainingIgnoreCase(nombres);
         return new ResponseEntity<>(clientes, HttpStatus.OK);
     }
 
@@ -164,8 +176,9 @@ public class ClienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar-por-activo")
-    public ResponseEntity<List<Cliente>> buscarClientesPorActivo(@RequestParam Boolean activo) {
-        List<Cliente> clientes = clienteService.findByActivo(activo);
+    public ResponseEntity<PaginaCursor<ClienteDTO>> buscarClientesPorActivo(@RequestParam Boolean activo, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<ClienteDTO> clientes = clienteService.findByActivo(activo, cursor, tamanio);
         return new ResponseEntity<>(clientes, HttpStatus.OK);
     }
 
@@ -174,14 +187,16 @@ public class ClienteController {
      *
      * @param descripcion Parte de la descripción a buscar.
      * @param rango       Rango de calificación.
+     * @param pageable    Página solicitada (page, size).
      * @return Lista de TrabajoDTO que coinciden con los criterios.
      */
     @GetMapping("/trabajos/buscar")
     public ResponseEntity<List<TrabajoDTO>> buscarTrabajosPorDescripcionYRango(
             @RequestParam("descripcion") String descripcion,
-            @RequestParam("rango") RangoCalificacion rango) {
+            @RequestParam("rango") RangoCalificacion rango,
+            @PageableDefault(size = 20) Pageable pageable) {
 
-        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionYRangoCalificacion(descripcion, rango);
+        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionYRangoCalificacion(descripcion, rango, pageable);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -189,13 +204,15 @@ public class ClienteController {
      * Endpoint para listar trabajos por descripción y precio Ascendente
      *
      * @param descripcion Parte de la descripción a buscar.
+     * @param pageable    Página solicitada (page, size).
      * @return Lista de TrabajoDTO que coinciden con los criterios.
      */
     @GetMapping("/trabajos/buscar/precio-asc")
     public ResponseEntity<List<TrabajoDTO>> buscarTrabajosPorPrecioAsc(
-            @RequestParam("descripcion") String descripcion) {
+            @RequestParam("descripcion") String descripcion,
+            @PageableDefault(size = 20) Pageable pageable) {
 
-        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionOrdenadosPorPrecioAsc(descripcion);
+        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionOrdenadosPorPrecioAsc(descripcion, pageable);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -203,13 +220,15 @@ public class ClienteController {
      * Endpoint para listar trabajos por descripción y precio Decendente
      *
      * @param descripcion Parte de la descripción a buscar.
+     * @param pageable    Página solicitada (page, size).
      * @return Lista de TrabajoDTO que coinciden con los criterios.
      */
     @GetMapping("/trabajos/buscar/precio-desc")
     public ResponseEntity<List<TrabajoDTO>> buscarTrabajosPorPrecioDesc(
-            @RequestParam("descripcion") String descripcion) {
+            @RequestParam("descripcion") String descripcion,
+            @PageableDefault(size = 20) Pageable pageable) {
 
-        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionOrdenadosPorPrecioDesc(descripcion);
+        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionOrdenadosPorPrecioDesc(descripcion, pageable);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -217,30 +236,97 @@ public class ClienteController {
      * Endpoint para listar trabajos por descripción y fecha Ascendente
      *
      * @param descripcion Parte de la descripción a buscar.
+     * @param pageable    Página solicitada (page, size).
      * @return Lista de TrabajoDTO que coinciden con los criterios.
      */
     @GetMapping("/trabajos/buscar/fecha-asc")
     public ResponseEntity<List<TrabajoDTO>> buscarTrabajosPorFechaAsc(
-            @RequestParam("descripcion") String descripcion) {
+            @RequestParam("descripcion") String descripcion,
+            @PageableDefault(size = 20) Pageable pageable) {
 
-        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionOrdenadosPorFechaCreacionAsc(descripcion);
+        List<TrabajoDTO> trabajos = clienteService.listarTrabajosPorDescripcionOrdenadosPorFechaCreacionAsc(descripcion, pageable);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
+    /**
+     * Buscador de trabajos independientes con los parámetros del cliente web. El cuerpo sigue siendo la lista de
+     * la página solicitada; si hay más resultados se indican con las cabeceras {@code X-Hay-Mas} y
+     * {@code Link rel="next"}.
+     */
     @GetMapping("/filtroConsultasIndependientes")
     public ResponseEntity<List<FiltrosConsultasIndependientesDTO>> listarFiltrosIndependientes(@RequestParam String pais,@RequestParam String ciudad,@RequestParam String descripcion,
-                                                                    @RequestParam String filtro,@RequestParam String calificacion) {
-        List<FiltrosConsultasIndependientesDTO> lista = clienteService.listarFiltrosConsultasIndependientesParametros(pais,ciudad,descripcion,
-                                                                    filtro, calificacion);
-        return ResponseEntity.ok(lista);
+                                                                    @RequestParam String filtro,@RequestParam String calificacion,
+                                                                    @PageableDefault(size = 20) Pageable pageable) {
+        Slice<FiltrosConsultasIndependientesDTO> pagina = clienteService.listarFiltrosConsultasIndependientesParametros(pais,ciudad,descripcion,
+                                                                    filtro, calificacion, pageable);
+        return respuestaPaginada(pagina);
     }
 
+    /**
+     * Buscador de trabajos de empresas con los parámetros del cliente web. El cuerpo sigue siendo la lista de
+     * la página solicitada; si hay más resultados se indican con las cabeceras {@code X-Hay-Mas} y
+     * {@code Link rel="next"}.
+     */
     @GetMapping("/filtroConsultasEmpresas")
     public ResponseEntity<List<FiltrosConsultasEmpresasDTO>> listarFiltrosEmpresas(@RequestParam String pais,@RequestParam String ciudad,@RequestParam String descripcion,
-                                                                                   @RequestParam String filtro,@RequestParam String calificacion) {
-        List<FiltrosConsultasEmpresasDTO> lista = clienteService.listarFiltrosConsultasEmpresasParametros(pais,ciudad,descripcion,
-                                                                    filtro,calificacion);
-        return ResponseEntity.ok(lista);
+                                                                                   @RequestParam String filtro,@RequestParam String calificacion,
+                                                                                   @PageableDefault(size = 20) Pageable pageable) {
+        Slice<FiltrosConsultasEmpresasDTO> pagina = clienteService.listarFiltrosConsultasEmpresasParametros(pais,ciudad,descripcion,
+                                                                    filtro,calificacion, pageable);
+        return respuestaPaginada(pagina);
+    }
+
+    /**
+     * Lista de la página con las cabeceras que indican si hay una página siguiente y cómo pedirla.
+     */
+    private static <T> ResponseEntity<List<T>> respuestaPaginada(Slice<T> pagina) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .header(CABECERA_HAY_MAS, String.valueOf(pagina.hasNext()));
+        if (pagina.hasNext()) {
+            String siguiente = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", pagina.getNumber() + 1)
+                    .replaceQueryParam("size", pagina.getSize())
+                    .toUriString();
+            respuesta.header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+        }
+        return respuesta.body(pagina.getContent());
+    }
+
+    /**
+     * Endpoint de búsqueda de trabajos independientes con filtros y ordenamiento libres.
+     * Ejemplo: /clientes/busqueda/independientes?descripcion=diseño&calificacionMinima=3.5&orden=PRECIO&direccion=DESC&page=0&size=20
+     *
+     * @return Slice con la página de resultados.
+     */
+    @GetMapping("/busqueda/independientes")
+    public ResponseEntity<Slice<FiltrosConsultasIndependientesDTO>> buscarIndependientes(
+            @RequestParam(required = false) String pais,
+            @RequestParam(required = false) String ciudad,
+            @RequestParam(required = false) String descripcion,
+            @RequestParam(required = false) Double calificacionMinima,
+            @RequestParam(required = false) OrdenBusqueda orden,
+            @RequestParam(required = false) Sort.Direction direccion,
+            @PageableDefault(size = 20) Pageable pageable) {
+        CriteriosBusquedaDTO criterios = new CriteriosBusquedaDTO(pais, ciudad, descripcion, calificacionMinima, orden, direccion);
+        return ResponseEntity.ok(clienteService.buscarTrabajosIndependientes(criterios, pageable));
+    }
+
+    /**
+     * Endpoint de búsqueda de trabajos de empresas con filtros y ordenamiento libres.
+     *
+     * @return Slice con la página de resultados.
+     */
+    @GetMapping("/busqueda/empresas")
+    public ResponseEntity<Slice<FiltrosConsultasEmpresasDTO>> buscarEmpresas(
+            @RequestParam(required = false) String pais,
+            @RequestParam(required = false) String ciudad,
+            @RequestParam(required = false) String descripcion,
+            @RequestParam(required = false) Double calificacionMinima,
+            @RequestParam(required = false) OrdenBusqueda orden,
+            @RequestParam(required = false) Sort.Direction direccion,
+            @PageableDefault(size = 20) Pageable pageable) {
+        CriteriosBusquedaDTO criterios = new CriteriosBusquedaDTO(pais, ciudad, descripcion, calificacionMinima, orden, direccion);
+        return ResponseEntity.ok(clienteService.buscarTrabajosEmpresas(criterios, pageable));
     }
 
     @GetMapping("/trabajoEmpresaPorCliente")
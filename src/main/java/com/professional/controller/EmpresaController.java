@@ -1,8 +1,10 @@
 package com.professional.controller;
 
+import com.professional.model.dto.EmpresaDTO;
 import com.professional.model.dto.Error;
 import com.professional.model.dto.TrabajoEmpresaDTO;
 import com.professional.model.entities.Empresa;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.EmpresaService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,19 +39,20 @@ public class EmpresaController {
             });
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
-        Empresa creado=empresaService.createEmpresa(empresa);
+        EmpresaDTO creado=empresaService.createEmpresa(empresa);
         return new ResponseEntity<>(creado,HttpStatus.CREATED);
     }
     @Transactional(readOnly = true)
     @GetMapping("/listar")
-    public ResponseEntity<List<Empresa>> listarEmpresas(){
-        List<Empresa> lista= empresaService.getAllEmpresas();
+    public ResponseEntity<PaginaCursor<EmpresaDTO>> listarEmpresas(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<EmpresaDTO> lista = empresaService.getAllEmpresas(cursor, tamanio);
         return new ResponseEntity<>(lista, HttpStatus.OK);
     }
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<Empresa> obtenerEmpresaPorId(@PathVariable Long id){
-        Empresa empresa= empresaService.getEmpresaById(id);
+    public ResponseEntity<EmpresaDTO> obtenerEmpresaPorId(@PathVariable Long id){
+        EmpresaDTO empresa= empresaService.getEmpresaDTOById(id);
         return new ResponseEntity<>(empresa,HttpStatus.OK);
     }
     @Transactional
@@ -64,7 +67,7 @@ public class EmpresaController {
             });
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
-        Empresa actualizado= empresaService.updateEmpresa(id,empresa);
+        EmpresaDTO actualizado= empresaService.updateEmpresa(id,empresa);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
 
     }
@@ -78,8 +81,9 @@ public class EmpresaController {
 
     @Transactional(readOnly = true)
     @GetMapping("/listar-todos")
-    public ResponseEntity<List<Empresa>> listarEmpresasTodos(){
-        List<Empresa> lista= empresaService.getAllEmpresasTodos();
+    public ResponseEntity<PaginaCursor<EmpresaDTO>> listarEmpresasTodos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<EmpresaDTO> lista = empresaService.getAllEmpresasTodos(cursor, tamanio);
         return new ResponseEntity<>(lista,HttpStatus.OK);
     }
 
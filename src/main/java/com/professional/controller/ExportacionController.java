@@ -0,0 +1,90 @@
+package com.professional.controller;
+
+import com.professional.model.enums.FormatoExportacion;
+import com.professional.model.services.ExportacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Exportaciones masivas en streaming (NDJSON o CSV) de las filas de todos los usuarios.
+ * Solo las usan los administradores ({@code seguridad.administradores}).
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+@RequestMapping("/exportar")
+public class ExportacionController {
+
+    private final ExportacionService exportacionService;
+
+    @Autowired
+    public ExportacionController(ExportacionService exportacionService) {
+        this.exportacionService = exportacionService;
+    }
+
+    /**
+     * Exportar el historial de empresas.
+     *
+     * @param activo  Filtrar por estado de actividad; si se omite se exportan todos.
+     * @param formato ndjson (por defecto) o csv.
+     * @return Respuesta que se escribe a medida que se leen los registros.
+     */
+    @GetMapping("/historial-empresas")
+    public ResponseEntity<StreamingResponseBody> exportarHistorialEmpresas(@RequestParam(required = false) Boolean activo,
+                                                                           @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion f = FormatoExportacion.desde(formato);
+        return respuesta("historial-empresas", f, salida -> exportacionService.exportarHistorialEmpresas(activo, f, salida));
+    }
+
+    /**
+     * Exportar el historial de independientes.
+     *
+     * @param activo  Filtrar por estado de actividad; si se omite se exportan todos.
+     * @param formato ndjson (por defecto) o csv.
+     * @return Respuesta que se escribe a medida que se leen los registros.
+     */
+    @GetMapping("/historial-independientes")
+    public ResponseEntity<StreamingResponseBody> exportarHistorialIndependientes(@RequestParam(required = false) Boolean activo,
+                                                                                 @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion f = FormatoExportacion.desde(formato);
+        return respuesta("historial-independientes", f, salida -> exportacionService.exportarHistorialIndependientes(activo, f, salida));
+    }
+
+    /**
+     * Exportar los trabajos de empresa en acción.
+     *
+     * @param activo  Filtrar por estado de actividad; si se omite se exportan todos.
+     * @param formato ndjson (por defecto) o csv.
+     * @return Respuesta que se escribe a medida que se leen los registros.
+     */
+    @GetMapping("/trabajo-emp-en-accion")
+    public ResponseEntity<StreamingResponseBody> exportarTrabajosEmpEnAccion(@RequestParam(required = false) Boolean activo,
+                                                                             @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion f = FormatoExportacion.desde(formato);
+        return respuesta("trabajo-emp-en-accion", f, salida -> exportacionService.exportarTrabajosEmpEnAccion(activo, f, salida));
+    }
+
+    /**
+     * Exportar los trabajos independientes en acción.
+     *
+     * @param activo  Filtrar por estado de actividad; si se omite se exportan todos.
+     * @param formato ndjson (por defecto) o csv.
+     * @return Respuesta que se escribe a medida que se leen los registros.
+     */
+    @GetMapping("/trabajo-ind-en-accion")
+    public ResponseEntity<StreamingResponseBody> exportarTrabajosIndEnAccion(@RequestParam(required = false) Boolean activo,
+                                                                             @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion f = FormatoExportacion.desde(formato);
+        return respuesta("trabajo-ind-en-accion", f, salida -> exportacionService.exportarTrabajosIndEnAccion(activo, f, salida));
+    }
+
+    private ResponseEntity<StreamingResponseBody> respuesta(String nombre, FormatoExportacion formato, StreamingResponseBody cuerpo) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nombre + "." + formato.getExtension() + "\"")
+                .body(cuerpo);
+    }
+}
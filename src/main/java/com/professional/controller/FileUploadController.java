@@ -1,72 +1,90 @@
 package com.professional.controller;
 
+import com.professional.controller.exceptions.ArchivoDemasiadoGrandeException;
+import com.professional.controller.exceptions.ArchivoNoPermitidoException;
+import com.professional.model.almacenamiento.AlmacenArchivos;
+import com.professional.model.almacenamiento.ArchivoAlmacenado;
+import com.professional.model.almacenamiento.GeneradorVariantes;
+import com.professional.model.enums.VarianteImagen;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:4200")
 @RequestMapping("/up")
 public class FileUploadController {
 
-    // Define la ruta donde se guardarán los archivos. Por ejemplo, en el directorio "uploads"
-    private final String uploadDir = "uploads";
+    private final AlmacenArchivos almacenArchivos;
+    private final GeneradorVariantes generadorVariantes;
 
-    @PostMapping("/upload")
-    public ResponseEntity<Map<String, String>> uploadFile(@RequestParam("file") MultipartFile file) {
-        Map<String, String> response = new HashMap<>();
-
-        // Directorio donde se guardarán los archivos
-        Path uploadPath = Paths.get("uploads");
-        if (!Files.exists(uploadPath)) {
-            try {
-                Files.createDirectories(uploadPath);
-            } catch (IOException e) {
-                response.put("error", "No se pudo crear el directorio de subida");
-                return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        }
+    @Autowired
+    public FileUploadController(AlmacenArchivos almacenArchivos, GeneradorVariantes generadorVariantes) {
+        this.almacenArchivos = almacenArchivos;
+        this.generadorVariantes = generadorVariantes;
+    }
 
-        // Limpia el nombre del archivo original y extrae su extensión
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        String extension = "";
-        int dotIndex = originalFilename.lastIndexOf(".");
-        if (dotIndex > 0) {
-            extension = originalFilename.substring(dotIndex);
+    /**
+     * Sube un archivo como multipart (campo "file"). El archivo se guarda por su contenido: subir dos veces
+     * la misma imagen devuelve la misma ruta. La miniatura y la versión mediana se generan después de responder.
+     * Solo se aceptan imágenes JPEG, PNG, WebP y GIF y PDF cuyo contenido corresponda a la extensión.
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, String>> uploadFile(@RequestParam("file") MultipartFile file) {
+        try (InputStream contenido = file.getInputStream()) {
+            return guardar(contenido, StringUtils.cleanPath(String.valueOf(file.getOriginalFilename())));
+        } catch (IOException e) {
+            return error();
         }
+    }
 
-        // Usar la fecha actual en milisegundos como nombre del archivo
-        String fileName = System.currentTimeMillis() + extension;
-        Path filePath = uploadPath.resolve(fileName);
-
-        // Si ya existe un archivo con ese nombre, solo se guarda el primero y se devuelve la ruta existente
-        if (Files.exists(filePath)) {
-            response.put("path", "/uploads/" + fileName);
-            return new ResponseEntity<>(response, HttpStatus.OK);
+    /**
+     * Sube un archivo enviado directamente como cuerpo de la petición (por ejemplo, image/jpeg), que se
+     * procesa en streaming sin pasar por el manejo de multipart. El parámetro "nombre" indica la extensión.
+     */
+    @PostMapping(value = "/upload", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+    public ResponseEntity<Map<String, String>> uploadStream(HttpServletRequest request,
+                                                            @RequestParam(value = "nombre", required = false) String nombre) {
+        try {
+            return guardar(request.getInputStream(), nombre);
+        } catch (IOException e) {
+            return error();
         }
+    }
 
+    private ResponseEntity<Map<String, String>> guardar(InputStream contenido, String nombreOriginal) throws IOException {
+        Map<String, String> response = new HashMap<>();
         try {
-            Files.copy(file.getInputStream(), filePath);
-            String fileUrl = "/uploads/" + fileName;
-            response.put("path", fileUrl);
+            ArchivoAlmacenado archivo = almacenArchivos.guardar(contenido, nombreOriginal);
+            generadorVariantes.programar(archivo.ruta());
+            String path = "/uploads/" + archivo.ruta();
+            response.put("path", path);
+            response.put("hash", archivo.hash());
+            response.put("miniatura", VarianteImagen.MINIATURA.url(path));
+            response.put("mediana", VarianteImagen.MEDIANA.url(path));
             return new ResponseEntity<>(response, HttpStatus.OK);
-        } catch (IOException e) {
-            e.printStackTrace();
-            response.put("error", "Error al guardar el archivo");
-            return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (ArchivoDemasiadoGrandeException e) {
+            response.put("error", e.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.PAYLOAD_TOO_LARGE);
+        } catch (ArchivoNoPermitidoException e) {
+            response.put("error", e.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
         }
     }
 
+    private static ResponseEntity<Map<String, String>> error() {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Error al guardar el archivo");
+        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 }
-
@@ -1,7 +1,9 @@
 package com.professional.controller;
 
+import com.professional.model.dto.HistorialDTO;
 import com.professional.model.entities.HistorialEmpresas;
 import com.professional.model.dto.Error;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.HistorialEmpresasService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -45,7 +47,7 @@ public class HistorialEmpresasController {
         }
 
         try {
-            HistorialEmpresas creado = historialEmpresasService.createHistorialEmpresas(historial);
+            HistorialDTO creado = historialEmpresasService.createHistorialEmpresasDTO(historial);
             return new ResponseEntity<>(creado, HttpStatus.CREATED);
         } catch (Exception ex) {
             List<Error> errores = new ArrayList<>();
@@ -61,8 +63,9 @@ public class HistorialEmpresasController {
      */
     @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<HistorialEmpresas>> listarHistorialEmpresasActivos() {
-        List<HistorialEmpresas> historial = historialEmpresasService.getAllHistorialEmpresas();
+    public ResponseEntity<PaginaCursor<HistorialDTO>> listarHistorialEmpresasActivos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<HistorialDTO> historial = historialEmpresasService.getAllHistorialEmpresas(cursor, tamanio);
         return new ResponseEntity<>(historial, HttpStatus.OK);
     }
 
@@ -73,8 +76,9 @@ public class HistorialEmpresasController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/todos")
-    public ResponseEntity<List<HistorialEmpresas>> listarTodosHistorialEmpresas() {
-        List<HistorialEmpresas> historial = historialEmpresasService.getAllHistorialEmpresasIncludingInactive();
+    public ResponseEntity<PaginaCursor<HistorialDTO>> listarTodosHistorialEmpresas(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<HistorialDTO> historial = historialEmpresasService.getAllHistorialEmpresasIncludingInactive(cursor, tamanio);
         return new ResponseEntity<>(historial, HttpStatus.OK);
     }
 
@@ -88,7 +92,7 @@ public class HistorialEmpresasController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getHistorialEmpresasById(@PathVariable Long id) {
         try {
-            HistorialEmpresas historial = historialEmpresasService.getHistorialEmpresasById(id);
+            HistorialDTO historial = historialEmpresasService.getHistorialEmpresasById(id);
             return new ResponseEntity<>(historial, HttpStatus.OK);
         } catch (Exception ex) {
             List<Error> errores = new ArrayList<>();
@@ -122,7 +126,7 @@ public class HistorialEmpresasController {
         }
 
         try {
-            HistorialEmpresas actualizado = historialEmpresasService.updateHistorialEmpresas(id, historial);
+            HistorialDTO actualizado = historialEmpresasService.updateHistorialEmpresas(id, historial);
             return new ResponseEntity<>(actualizado, HttpStatus.OK);
         } catch (Exception ex) {
             List<Error> errores = new ArrayList<>();
@@ -169,7 +173,7 @@ public class HistorialEmpresasController {
     public ResponseEntity<?> getHistorialByClienteAndTrabajo(@PathVariable Long clienteId,
                                                              @PathVariable Long trabajoId) {
         try {
-            List<HistorialEmpresas> historiales = historialEmpresasService.findByClienteAndTrabajo(clienteId, trabajoId);
+            List<HistorialDTO> historiales = historialEmpresasService.findByClienteAndTrabajo(clienteId, trabajoId);
             return new ResponseEntity<>(historiales, HttpStatus.OK);
         } catch (Exception ex) {
             List<Error> errores = new ArrayList<>();
@@ -1,7 +1,9 @@
 package com.professional.controller;
 
+import com.professional.model.dto.HistorialDTO;
 import com.professional.model.entities.HistorialIndependientes;
 import com.professional.model.dto.Error;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.HistorialIndependientesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -45,7 +47,7 @@ public class HistorialIndependientesController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        HistorialIndependientes creado = historialService.createHistorialIndependientes(historial);
+        HistorialDTO creado = historialService.createHistorialIndependientesDTO(historial);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
@@ -56,8 +58,9 @@ public class HistorialIndependientesController {
      */
     @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<HistorialIndependientes>> listarHistorialIndependientes() {
-        List<HistorialIndependientes> historial = historialService.getAllHistorialIndependientes();
+    public ResponseEntity<PaginaCursor<HistorialDTO>> listarHistorialIndependientes(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<HistorialDTO> historial = historialService.getAllHistorialIndependientes(cursor, tamanio);
         return new ResponseEntity<>(historial, HttpStatus.OK);
     }
 
@@ -69,8 +72,8 @@ public class HistorialIndependientesController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<HistorialIndependientes> getHistorialIndependientesById(@PathVariable Long id) {
-        HistorialIndependientes historial = historialService.getHistorialIndependientesById(id);
+    public ResponseEntity<HistorialDTO> getHistorialIndependientesById(@PathVariable Long id) {
+        HistorialDTO historial = historialService.getHistorialIndependientesById(id);
         return new ResponseEntity<>(historial, HttpStatus.OK);
     }
 
@@ -95,7 +98,7 @@ public class HistorialIndependientesController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        HistorialIndependientes actualizado = historialService.updateHistorialIndependientes(id, historialDetalles);
+        HistorialDTO actualizado = historialService.updateHistorialIndependientes(id, historialDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -121,9 +124,9 @@ public class HistorialIndependientesController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/cliente/{clienteId}/trabajo/{trabajoId}")
-    public ResponseEntity<List<HistorialIndependientes>> getHistorialByClienteAndTrabajo(@PathVariable Long clienteId,
+    public ResponseEntity<List<HistorialDTO>> getHistorialByClienteAndTrabajo(@PathVariable Long clienteId,
                                                                                          @PathVariable Long trabajoId) {
-        List<HistorialIndependientes> historial = historialService.findByClienteAndTrabajo(clienteId, trabajoId);
+        List<HistorialDTO> historial = historialService.findByClienteAndTrabajo(clienteId, trabajoId);
         return new ResponseEntity<>(historial, HttpStatus.OK);
     }
 
@@ -134,8 +137,9 @@ public class HistorialIndependientesController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/todos")
-    public ResponseEntity<List<HistorialIndependientes>> listarTodosHistorialIndependientes() {
-        List<HistorialIndependientes> historial = historialService.getAllHistorialIndependientesIncludingInactive();
+    public ResponseEntity<PaginaCursor<HistorialDTO>> listarTodosHistorialIndependientes(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<HistorialDTO> historial = historialService.getAllHistorialIndependientesIncludingInactive(cursor, tamanio);
         return new ResponseEntity<>(historial, HttpStatus.OK);
     }
 }
@@ -0,0 +1,96 @@
+package com.professional.controller;
+
+import com.professional.model.dto.ResultadoImportacionDTO;
+import com.professional.model.services.ImportacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Importaciones masivas. El cuerpo es NDJSON (un objeto JSON por línea) y se lee a medida que llega,
+ * así que no hay límite práctico de filas; cada importación se aplica completa o no se aplica.
+ * Solo las usan los administradores ({@code seguridad.administradores}).
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+@RequestMapping("/importar")
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    @Autowired
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    /**
+     * Importar trabajos independientes: {@code {"propietarioId", "descripcionCorta", "descripcion", "precio"}}.
+     *
+     * @param entrada Cuerpo NDJSON.
+     * @return Filas insertadas y filas por segundo.
+     */
+    @PostMapping("/trabajos-independiente")
+    public ResponseEntity<ResultadoImportacionDTO> importarTrabajosIndependientes(InputStream entrada) throws IOException {
+        return new ResponseEntity<>(importacionService.importarTrabajosIndependientes(entrada), HttpStatus.CREATED);
+    }
+
+    /**
+     * Importar trabajos de empresa: {@code {"propietarioId", "descripcionCorta", "descripcion", "precio"}}.
+     *
+     * @param entrada Cuerpo NDJSON.
+     * @return Filas insertadas y filas por segundo.
+     */
+    @PostMapping("/trabajos-empresa")
+    public ResponseEntity<ResultadoImportacionDTO> importarTrabajosEmpresa(InputStream entrada) throws IOException {
+        return new ResponseEntity<>(importacionService.importarTrabajosEmpresa(entrada), HttpStatus.CREATED);
+    }
+
+    /**
+     * Importar historial de empresas: {@code {"clienteId", "trabajoId", "comentarios"}}.
+     *
+     * @param entrada Cuerpo NDJSON.
+     * @return Filas insertadas y filas por segundo.
+     */
+    @PostMapping("/historial-empresas")
+    public ResponseEntity<ResultadoImportacionDTO> importarHistorialEmpresas(InputStream entrada) throws IOException {
+        return new ResponseEntity<>(importacionService.importarHistorialEmpresas(entrada), HttpStatus.CREATED);
+    }
+
+    /**
+     * Importar historial de independientes: {@code {"clienteId", "trabajoId", "comentarios"}}.
+     *
+     * @param entrada Cuerpo NDJSON.
+     * @return Filas insertadas y filas por segundo.
+     */
+    @PostMapping("/historial-independientes")
+    public ResponseEntity<ResultadoImportacionDTO> importarHistorialIndependientes(InputStream entrada) throws IOException {
+        return new ResponseEntity<>(importacionService.importarHistorialIndependientes(entrada), HttpStatus.CREATED);
+    }
+
+    /**
+     * Importar calificaciones de empresas: {@code {"clienteId", "trabajoId", "rating", "comentarios"}}.
+     *
+     * @param entrada Cuerpo NDJSON.
+     * @return Filas insertadas y filas por segundo.
+     */
+    @PostMapping("/calificaciones-empresas")
+    public ResponseEntity<ResultadoImportacionDTO> importarCalificacionesEmpresas(InputStream entrada) throws IOException {
+        return new ResponseEntity<>(importacionService.importarCalificacionesEmpresas(entrada), HttpStatus.CREATED);
+    }
+
+    /**
+     * Importar calificaciones de independientes:
+     * {@code {"clienteId", "trabajoId", "trabajoEnAccionId", "rating", "comentarios"}}.
+     *
+     * @param entrada Cuerpo NDJSON.
+     * @return Filas insertadas y filas por segundo.
+     */
+    @PostMapping("/calificaciones-independientes")
+    public ResponseEntity<ResultadoImportacionDTO> importarCalificacionesIndependientes(InputStream entrada) throws IOException {
+        return new ResponseEntity<>(importacionService.importarCalificacionesIndependientes(entrada), HttpStatus.CREATED);
+    }
+}
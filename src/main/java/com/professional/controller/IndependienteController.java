@@ -1,9 +1,11 @@
 package com.professional.controller;
 
+import com.professional.model.dto.DetalleTrabajoDTO;
+import com.professional.model.dto.IndependienteDTO;
 import com.professional.model.dto.Error;
 import com.professional.model.dto.TrabajoIndependienteDTO;
 import com.professional.model.entities.Independiente;
-import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.IndependienteService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,14 +40,15 @@ public class IndependienteController {
             });
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
-        Independiente creado = independienteService.createIndependiente(independiente);
+        IndependienteDTO creado = independienteService.createIndependiente(independiente);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
     @Transactional(readOnly = true)
     @GetMapping("/listar")
-    public ResponseEntity<List<Independiente>> listarIndependientes(){
-        List<Independiente> lista = independienteService.getAllIndependientes();
+    public ResponseEntity<PaginaCursor<IndependienteDTO>> listarIndependientes(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<IndependienteDTO> lista = independienteService.getAllIndependientes(cursor, tamanio);
         return new ResponseEntity<>(lista, HttpStatus.OK);
     }
 
@@ -54,8 +57,8 @@ public class IndependienteController {
     // Nuevo Método: Obtener Independiente por ID
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<Independiente> obtenerIndependientePorId(@PathVariable Long id){
-        Independiente independiente = independienteService.getIndependienteById(id);
+    public ResponseEntity<IndependienteDTO> obtenerIndependientePorId(@PathVariable Long id){
+        IndependienteDTO independiente = independienteService.getIndependienteDTOById(id);
         return new ResponseEntity<>(independiente, HttpStatus.OK);
     }
 
@@ -67,8 +70,8 @@ public class IndependienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}/trabajos")
-    public ResponseEntity<List<TrabajoIndependiente>> obtenerTrabajosIndependientes(@PathVariable Long id) {
-        List<TrabajoIndependiente> trabajos = independienteService.getTrabajosIndependientesByIndependiente(id);
+    public ResponseEntity<List<DetalleTrabajoDTO>> obtenerTrabajosIndependientes(@PathVariable Long id) {
+        List<DetalleTrabajoDTO> trabajos = independienteService.getTrabajosIndependientesByIndependiente(id);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -98,7 +101,7 @@ public class IndependienteController {
             });
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
-        Independiente actualizado = independienteService.updateIndependiente(id, independienteDetalles);
+        IndependienteDTO actualizado = independienteService.updateIndependiente(id, independienteDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -111,8 +114,9 @@ public class IndependienteController {
 
     @Transactional(readOnly = true)
     @GetMapping("/listar-todos")
-    public ResponseEntity<List<Independiente>> listarIndependientesTodos(){
-        List<Independiente> lista = independienteService.getAllIndependientesTodos();
+    public ResponseEntity<PaginaCursor<IndependienteDTO>> listarIndependientesTodos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<IndependienteDTO> lista = independienteService.getAllIndependientesTodos(cursor, tamanio);
         return new ResponseEntity<>(lista, HttpStatus.OK);
     }
 
@@ -1,11 +1,11 @@
 package com.professional.controller;
 
+import com.professional.model.dto.HistorialDTO;
+import com.professional.model.dto.TrabajoEnAccionDTO;
 import com.professional.model.dto.Error;
-import com.professional.model.entities.Cliente;
-import com.professional.model.entities.HistorialEmpresas;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.entities.TrabajoEmpEnAccion;
-import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.ClienteService;
 import com.professional.model.services.EmpresaService;
 import com.professional.model.services.TrabajoEmpEnAccionService;
@@ -67,7 +67,7 @@ public class TrabajoEmpEnAccionController {
         // Asegurar que 'activo' esté establecido en true
         trabajoEmpEnAccion.setActivo(true);
 
-        TrabajoEmpEnAccion creado = trabajoEmpEnAccionService.createTrabajoEmpEnAccion(trabajoEmpEnAccion);
+        TrabajoEnAccionDTO creado = trabajoEmpEnAccionService.createTrabajoEmpEnAccion(trabajoEmpEnAccion);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
@@ -78,8 +78,9 @@ public class TrabajoEmpEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/listar")
-    public ResponseEntity<List<TrabajoEmpEnAccion>> listarTrabajosEmpEnAccionActivos() {
-        List<TrabajoEmpEnAccion> listaActivos = trabajoEmpEnAccionService.findByActivo(true);
+    public ResponseEntity<PaginaCursor<TrabajoEnAccionDTO>> listarTrabajosEmpEnAccionActivos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<TrabajoEnAccionDTO> listaActivos = trabajoEmpEnAccionService.findByActivo(true, cursor, tamanio);
         return new ResponseEntity<>(listaActivos, HttpStatus.OK);
     }
 
@@ -90,8 +91,9 @@ public class TrabajoEmpEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/listar-todos")
-    public ResponseEntity<List<TrabajoEmpEnAccion>> listarTrabajosEmpEnAccionTodos() {
-        List<TrabajoEmpEnAccion> lista = trabajoEmpEnAccionService.getAllTrabajosEmpEnAccion();
+    public ResponseEntity<PaginaCursor<TrabajoEnAccionDTO>> listarTrabajosEmpEnAccionTodos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<TrabajoEnAccionDTO> lista = trabajoEmpEnAccionService.getAllTrabajosEmpEnAccion(cursor, tamanio);
         return new ResponseEntity<>(lista, HttpStatus.OK);
     }
 
@@ -103,8 +105,8 @@ public class TrabajoEmpEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<TrabajoEmpEnAccion> obtenerTrabajoEmpEnAccionPorId(@PathVariable Long id) {
-        TrabajoEmpEnAccion trabajoEmpEnAccion = trabajoEmpEnAccionService.getTrabajoEmpEnAccionById(id);
+    public ResponseEntity<TrabajoEnAccionDTO> obtenerTrabajoEmpEnAccionPorId(@PathVariable Long id) {
+        TrabajoEnAccionDTO trabajoEmpEnAccion = trabajoEmpEnAccionService.getTrabajoEmpEnAccionById(id);
         return new ResponseEntity<>(trabajoEmpEnAccion, HttpStatus.OK);
     }
 
@@ -129,7 +131,7 @@ public class TrabajoEmpEnAccionController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        TrabajoEmpEnAccion actualizado = trabajoEmpEnAccionService.updateTrabajoEmpEnAccion(id, trabajoEmpEnAccionDetalles);
+        TrabajoEnAccionDTO actualizado = trabajoEmpEnAccionService.updateTrabajoEmpEnAccion(id, trabajoEmpEnAccionDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -154,8 +156,8 @@ public class TrabajoEmpEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar-por-estado")
-    public ResponseEntity<List<TrabajoEmpEnAccion>> buscarPorEstadoTrabajo(@RequestParam EstadoTrabajo estado) {
-        List<TrabajoEmpEnAccion> trabajos = trabajoEmpEnAccionService.findByEstadoTrabajo(estado);
+    public ResponseEntity<List<TrabajoEnAccionDTO>> buscarPorEstadoTrabajo(@RequestParam EstadoTrabajo estado) {
+        List<TrabajoEnAccionDTO> trabajos = trabajoEmpEnAccionService.findByEstadoTrabajo(estado);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -167,14 +169,8 @@ public class TrabajoEmpEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/trabajo-empresa/{trabajoEmpresaId}")
-    public ResponseEntity<List<TrabajoEmpEnAccion>> buscarPorTrabajoEmpresa(@PathVariable Long trabajoEmpresaId) {
-        TrabajoEmpresa trabajoEmpresa = trabajoEmpresaService.getTrabajoEmpresaById(trabajoEmpresaId);
-        List<TrabajoEmpEnAccion> trabajos = trabajoEmpEnAccionService.getTrabajosEmpEnAccionByTrabajoEmpresa(trabajoEmpresa);
-
-        // Filtrar solo los activos
-        List<TrabajoEmpEnAccion> trabajosActivos = trabajos.stream()
-                .filter(TrabajoEmpEnAccion::getActivo)
-                .toList();
+    public ResponseEntity<List<TrabajoEnAccionDTO>> buscarPorTrabajoEmpresa(@PathVariable Long trabajoEmpresaId) {
+        List<TrabajoEnAccionDTO> trabajosActivos = trabajoEmpEnAccionService.getTrabajosEmpEnAccionActivosByTrabajoEmpresa(trabajoEmpresaId);
 
         return new ResponseEntity<>(trabajosActivos, HttpStatus.OK);
     }
@@ -187,14 +183,8 @@ public class TrabajoEmpEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<TrabajoEmpEnAccion>> buscarPorCliente(@PathVariable Long clienteId) {
-        Cliente cliente = clienteService.getClienteById(clienteId);
-        List<TrabajoEmpEnAccion> trabajos = trabajoEmpEnAccionService.getTrabajosEmpEnAccionByCliente(cliente);
-
-        // Filtrar solo los activos
-        List<TrabajoEmpEnAccion> trabajosActivos = trabajos.stream()
-                .filter(TrabajoEmpEnAccion::getActivo)
-                .toList();
+    public ResponseEntity<List<TrabajoEnAccionDTO>> buscarPorCliente(@PathVariable Long clienteId) {
+        List<TrabajoEnAccionDTO> trabajosActivos = trabajoEmpEnAccionService.getTrabajosEmpEnAccionActivosByCliente(clienteId);
 
         return new ResponseEntity<>(trabajosActivos, HttpStatus.OK);
     }
@@ -206,8 +196,9 @@ public class TrabajoEmpEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar-todos")
-    public ResponseEntity<List<TrabajoEmpEnAccion>> buscarTodosTrabajosEmpEnAccion() {
-        List<TrabajoEmpEnAccion> trabajos = trabajoEmpEnAccionService.getAllTrabajosEmpEnAccion();
+    public ResponseEntity<PaginaCursor<TrabajoEnAccionDTO>> buscarTodosTrabajosEmpEnAccion(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<TrabajoEnAccionDTO> trabajos = trabajoEmpEnAccionService.getAllTrabajosEmpEnAccion(cursor, tamanio);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -223,7 +214,7 @@ public class TrabajoEmpEnAccionController {
     public ResponseEntity<?> actualizarHistorialEstadoTrabajo(@PathVariable Long id, EstadoTrabajo estadoTrabajo) {
 
         try{
-            HistorialEmpresas actualizado = trabajoEmpEnAccionService.updateEstadoTrabajo(id, estadoTrabajo);
+            HistorialDTO actualizado = trabajoEmpEnAccionService.updateEstadoTrabajo(id, estadoTrabajo);
             return new ResponseEntity<>(actualizado, HttpStatus.OK);
         }catch (Exception ex) {
             List<Error> errores = new ArrayList<>();
@@ -1,10 +1,12 @@
 package com.professional.controller;
 
+import com.professional.model.dto.DetalleTrabajoDTO;
 import com.professional.model.dto.Error;
 import com.professional.model.dto.TrabajoEmpresaEnAccionDTO;
 import com.professional.model.entities.Cliente;
 import com.professional.model.entities.Empresa;
 import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.ClienteService;
 import com.professional.model.services.EmpresaService;
 import com.professional.model.services.TrabajoEmpresaService;
@@ -58,7 +60,7 @@ public class TrabajoEmpresaController {
         }
         // Asegurar que 'activo' esté establecido en true
         trabajoEmpresa.setActivo(true);
-        TrabajoEmpresa creado = trabajoEmpresaService.createTrabajoEmpresa(id,trabajoEmpresa);
+        DetalleTrabajoDTO creado = trabajoEmpresaService.createTrabajoEmpresa(id,trabajoEmpresa);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
@@ -69,8 +71,9 @@ public class TrabajoEmpresaController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/listar")
-    public ResponseEntity<List<TrabajoEmpresa>> listarTrabajosEmpresa() {
-        List<TrabajoEmpresa> listaActivos = trabajoEmpresaService.getAllTrabajosEmpresaActivos();
+    public ResponseEntity<PaginaCursor<DetalleTrabajoDTO>> listarTrabajosEmpresa(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<DetalleTrabajoDTO> listaActivos = trabajoEmpresaService.getAllTrabajosEmpresaActivos(cursor, tamanio);
         return new ResponseEntity<>(listaActivos, HttpStatus.OK);
     }
 
@@ -82,8 +85,9 @@ public class TrabajoEmpresaController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/listar-todos")
-    public ResponseEntity<List<TrabajoEmpresa>> listarTrabajosEmpresaTodos() {
-        List<TrabajoEmpresa> lista = trabajoEmpresaService.getAllTrabajosEmpresa();
+    public ResponseEntity<PaginaCursor<DetalleTrabajoDTO>> listarTrabajosEmpresaTodos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<DetalleTrabajoDTO> lista = trabajoEmpresaService.getAllTrabajosEmpresa(cursor, tamanio);
         return new ResponseEntity<>(lista, HttpStatus.OK);
     }
     /**
@@ -94,8 +98,8 @@ public class TrabajoEmpresaController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<TrabajoEmpresa> obtenerTrabajoEmpresaPorId(@PathVariable Long id) {
-        TrabajoEmpresa trabajoEmpresa = trabajoEmpresaService.getTrabajoEmpresaById(id);
+    public ResponseEntity<DetalleTrabajoDTO> obtenerTrabajoEmpresaPorId(@PathVariable Long id) {
+        DetalleTrabajoDTO trabajoEmpresa = trabajoEmpresaService.getTrabajoEmpresaDTOById(id);
         return new ResponseEntity<>(trabajoEmpresa, HttpStatus.OK);
     }
 
@@ -120,7 +124,7 @@ public class TrabajoEmpresaController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        TrabajoEmpresa actualizado = trabajoEmpresaService.updateTrabajoEmpresa(id, trabajoEmpresaDetalles);
+        DetalleTrabajoDTO actualizado = trabajoEmpresaService.updateTrabajoEmpresa(id, trabajoEmpresaDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -153,16 +157,16 @@ public class TrabajoEmpresaController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/empresa/{empresaId}")
-    public ResponseEntity<List<TrabajoEmpresa>> buscarPorEmpresa(@PathVariable Long empresaId) {
+    public ResponseEntity<List<DetalleTrabajoDTO>> buscarPorEmpresa(@PathVariable Long empresaId) {
         // Obtener la Empresa por ID
         Empresa empresa = empresaService.getEmpresaById(empresaId);
 
         // Obtener los TrabajosEmpresa asociados a la Empresa
-        List<TrabajoEmpresa> trabajos = trabajoEmpresaService.getTrabajosEmpresaByEmpresa(empresa);
+        List<DetalleTrabajoDTO> trabajos = trabajoEmpresaService.getTrabajosEmpresaByEmpresa(empresa);
 
         // Filtrar solo los activos
-        List<TrabajoEmpresa> trabajosActivos = trabajos.stream()
-                .filter(TrabajoEmpresa::getActivo)
+        List<DetalleTrabajoDTO> trabajosActivos = trabajos.stream()
+                .filter(DetalleTrabajoDTO::getActivo)
                 .toList();
 
         return new ResponseEntity<>(trabajosActivos, HttpStatus.OK);
@@ -181,12 +185,12 @@ public class TrabajoEmpresaController {
         Cliente cliente = clienteService.getClienteById(clienteId);
 
         // Obtener los TrabajosEmpresa asociados al Cliente
-        List<TrabajoEmpresa> trabajos = trabajoEmpresaService.getTrabajosEmpresaByCliente(cliente);
+        List<DetalleTrabajoDTO> trabajos = trabajoEmpresaService.getTrabajosEmpresaByCliente(cliente);
 
 
         // Filtrar solo los activos
-        List<TrabajoEmpresa> trabajosActivos = trabajos.stream()
-                .filter(TrabajoEmpresa::getActivo)
+        List<DetalleTrabajoDTO> trabajosActivos = trabajos.stream()
+                .filter(DetalleTrabajoDTO::getActivo)
                 .toList();
 
         return new ResponseEntity<>(trabajosActivos, HttpStatus.OK);
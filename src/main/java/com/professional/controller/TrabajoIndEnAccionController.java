@@ -1,13 +1,12 @@
 package com.professional.controller;
 
+import com.professional.model.dto.HistorialDTO;
 import com.professional.model.dto.ActualizarEstadoTrabajoDTO;
 import com.professional.model.dto.Error;
 import com.professional.model.dto.TrabajoEnAccionDTO;
-import com.professional.model.entities.Cliente;
-import com.professional.model.entities.HistorialIndependientes;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.entities.TrabajoIndEnAccion;
-import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.ClienteService;
 import com.professional.model.services.EmpresaService;
 import com.professional.model.services.TrabajoIndEnAccionService;
@@ -68,7 +67,7 @@ public class TrabajoIndEnAccionController {
         // Asegurar que 'activo' esté establecido en true
         trabajoEnAccion.setActivo(true);
 
-        TrabajoIndEnAccion creado = trabajoIndEnAccionService.createTrabajoEnAccion(trabajoEnAccion);
+        TrabajoEnAccionDTO creado = trabajoIndEnAccionService.createTrabajoEnAccion(trabajoEnAccion);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
@@ -79,8 +78,9 @@ public class TrabajoIndEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/listar")
-    public ResponseEntity<List<TrabajoIndEnAccion>> listarTrabajosEnAccionActivos() {
-        List<TrabajoIndEnAccion> listaActivos = trabajoIndEnAccionService.getAllTrabajosEnAccionActivos();
+    public ResponseEntity<PaginaCursor<TrabajoEnAccionDTO>> listarTrabajosEnAccionActivos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<TrabajoEnAccionDTO> listaActivos = trabajoIndEnAccionService.getAllTrabajosEnAccionActivos(cursor, tamanio);
         return new ResponseEntity<>(listaActivos, HttpStatus.OK);
     }
 
@@ -91,8 +91,9 @@ public class TrabajoIndEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/listar-todos")
-    public ResponseEntity<List<TrabajoIndEnAccion>> listarTrabajosEnAccionTodos() {
-        List<TrabajoIndEnAccion> lista = trabajoIndEnAccionService.getAllTrabajosEnAccion();
+    public ResponseEntity<PaginaCursor<TrabajoEnAccionDTO>> listarTrabajosEnAccionTodos(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<TrabajoEnAccionDTO> lista = trabajoIndEnAccionService.getAllTrabajosEnAccion(cursor, tamanio);
         return new ResponseEntity<>(lista, HttpStatus.OK);
     }
 
@@ -104,8 +105,8 @@ public class TrabajoIndEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<TrabajoIndEnAccion> obtenerTrabajoEnAccionPorId(@PathVariable Long id) {
-        TrabajoIndEnAccion trabajoEnAccion = trabajoIndEnAccionService.getTrabajoEnAccionById(id);
+    public ResponseEntity<TrabajoEnAccionDTO> obtenerTrabajoEnAccionPorId(@PathVariable Long id) {
+        TrabajoEnAccionDTO trabajoEnAccion = trabajoIndEnAccionService.getTrabajoEnAccionDTOById(id);
         return new ResponseEntity<>(trabajoEnAccion, HttpStatus.OK);
     }
 
@@ -130,7 +131,7 @@ public class TrabajoIndEnAccionController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        TrabajoIndEnAccion actualizado = trabajoIndEnAccionService.updateTrabajoEnAccion(id, trabajoEnAccionDetalles);
+        TrabajoEnAccionDTO actualizado = trabajoIndEnAccionService.updateTrabajoEnAccion(id, trabajoEnAccionDetalles);
         return new ResponseEntity<>(actualizado, HttpStatus.OK);
     }
 
@@ -155,8 +156,8 @@ public class TrabajoIndEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar-por-estado")
-    public ResponseEntity<List<TrabajoIndEnAccion>> buscarPorEstadoTrabajo(@RequestParam EstadoTrabajo estado) {
-        List<TrabajoIndEnAccion> trabajos = trabajoIndEnAccionService.findByEstadoTrabajo(estado);
+    public ResponseEntity<List<TrabajoEnAccionDTO>> buscarPorEstadoTrabajo(@RequestParam EstadoTrabajo estado) {
+        List<TrabajoEnAccionDTO> trabajos = trabajoIndEnAccionService.findByEstadoTrabajo(estado);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -168,15 +169,8 @@ public class TrabajoIndEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/trabajo-independiente/{trabajoIndependienteId}")
-    public ResponseEntity<List<TrabajoIndEnAccion>> buscarPorTrabajoIndependiente(@PathVariable Long trabajoIndependienteId) {
-        TrabajoIndependiente trabajoIndependiente = trabajoIndependienteService.getTrabajoIndependienteById(trabajoIndependienteId);
-        List<TrabajoIndEnAccion> trabajos = trabajoIndEnAccionService.getTrabajosEnAccionByTrabajoIndependiente(trabajoIndependiente);
-
-        // Filtrar solo los activos
-        List<TrabajoIndEnAccion> trabajosActivos = trabajos.stream()
-                .filter(TrabajoIndEnAccion::getActivo)
-                .toList();
-
+    public ResponseEntity<List<TrabajoEnAccionDTO>> buscarPorTrabajoIndependiente(@PathVariable Long trabajoIndependienteId) {
+        List<TrabajoEnAccionDTO> trabajosActivos = trabajoIndEnAccionService.getTrabajosEnAccionActivosByTrabajoIndependiente(trabajoIndependienteId);
         return new ResponseEntity<>(trabajosActivos, HttpStatus.OK);
     }
 
@@ -188,15 +182,8 @@ public class TrabajoIndEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<TrabajoIndEnAccion>> buscarPorCliente(@PathVariable Long clienteId) {
-        Cliente cliente = clienteService.getClienteById(clienteId);
-        List<TrabajoIndEnAccion> trabajos = trabajoIndEnAccionService.getTrabajosEnAccionByCliente(cliente);
-
-        // Filtrar solo los activos
-        List<TrabajoIndEnAccion> trabajosActivos = trabajos.stream()
-                .filter(TrabajoIndEnAccion::getActivo)
-                .toList();
-
+    public ResponseEntity<List<TrabajoEnAccionDTO>> buscarPorCliente(@PathVariable Long clienteId) {
+        List<TrabajoEnAccionDTO> trabajosActivos = trabajoIndEnAccionService.getTrabajosEnAccionActivosByCliente(clienteId);
         return new ResponseEntity<>(trabajosActivos, HttpStatus.OK);
     }
 
@@ -207,8 +194,9 @@ public class TrabajoIndEnAccionController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/buscar-todos")
-    public ResponseEntity<List<TrabajoIndEnAccion>> buscarTodosTrabajosEnAccion() {
-        List<TrabajoIndEnAccion> trabajos = trabajoIndEnAccionService.getAllTrabajosEnAccion();
+    public ResponseEntity<PaginaCursor<TrabajoEnAccionDTO>> buscarTodosTrabajosEnAccion(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<TrabajoEnAccionDTO> trabajos = trabajoIndEnAccionService.getAllTrabajosEnAccion(cursor, tamanio);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -224,7 +212,7 @@ public class TrabajoIndEnAccionController {
     public ResponseEntity<?> actualizarHistorialEstadoTrabajo(@PathVariable Long id, EstadoTrabajo estadoTrabajo) {
 
         try {
-            HistorialIndependientes actualizado = trabajoIndEnAccionService.updateEstadoTrabajo(id, estadoTrabajo);
+            HistorialDTO actualizado = trabajoIndEnAccionService.updateEstadoTrabajo(id, estadoTrabajo);
             return new ResponseEntity<>(actualizado, HttpStatus.OK);
         } catch (Exception ex) {
             List<Error> errores = new ArrayList<>();
@@ -1,9 +1,11 @@
 package com.professional.controller;
 
+import com.professional.model.dto.DetalleTrabajoDTO;
 import com.professional.model.dto.Error;
 import com.professional.model.dto.TrabajoEmpresaEnAccionDTO;
 import com.professional.model.entities.Independiente;
 import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.paginacion.PaginaCursor;
 import com.professional.model.services.IndependienteService;
 import com.professional.model.services.TrabajoIndependienteService;
 import jakarta.validation.Valid;
@@ -43,25 +45,23 @@ public class TrabajoIndependienteController {
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
 
-        TrabajoIndependiente creado= trabajoIndependienteService.createTrabajoIndependiente(id,trabajoIndependiente);
+        DetalleTrabajoDTO creado= trabajoIndependienteService.createTrabajoIndependiente(id,trabajoIndependiente);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
     @Transactional(readOnly = true)
     @GetMapping("/listar/independientes")
-    public ResponseEntity<List<TrabajoIndependiente>> listarTrabajosIndependientes(){
-        List<TrabajoIndependiente> lista= trabajoIndependienteService.getAllTrabajosIndependientes()
-                .stream()
-                .filter(TrabajoIndependiente::getActivo)
-                .toList();
+    public ResponseEntity<PaginaCursor<DetalleTrabajoDTO>> listarTrabajosIndependientes(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio){
+        PaginaCursor<DetalleTrabajoDTO> lista= trabajoIndependienteService.getAllTrabajosIndependientesActivos(cursor, tamanio);
         return new ResponseEntity<>(lista,HttpStatus.OK);
     }
 
     @Transactional(readOnly = true)
     @GetMapping("/{id}")
     //toda la logica esta en el servico y las interfaces que implementa, siempre va a validar que activo=true antes de devolver la lista
-    public ResponseEntity<TrabajoIndependiente> obtenerTrabajoIndependientePorId(@PathVariable Long id){
-        TrabajoIndependiente trabajoIndependiente= trabajoIndependienteService.getTrabajoIndependienteById(id);
+    public ResponseEntity<DetalleTrabajoDTO> obtenerTrabajoIndependientePorId(@PathVariable Long id){
+        DetalleTrabajoDTO trabajoIndependiente= trabajoIndependienteService.getTrabajoIndependienteDTOById(id);
         return new ResponseEntity<>(trabajoIndependiente,HttpStatus.OK);
     }
 
@@ -83,7 +83,7 @@ public class TrabajoIndependienteController {
             Independiente independiente = independienteService.getIndependienteById(trabajoIndependiente.getIndependiente().getId());
             trabajoIndependiente.setIndependiente(independiente);
         }
-        TrabajoIndependiente actualizado= trabajoIndependienteService.updateTrabajoIndependiente(id, trabajoIndependiente);
+        DetalleTrabajoDTO actualizado= trabajoIndependienteService.updateTrabajoIndependiente(id, trabajoIndependiente);
         return new ResponseEntity<>(actualizado,HttpStatus.OK);
 
     }
@@ -97,8 +97,9 @@ public class TrabajoIndependienteController {
 
     @Transactional(readOnly = true)
     @GetMapping("/listar/empresas")
-    public ResponseEntity<List<TrabajoIndependiente>> listarTrabajosEmpresa() {
-        List<TrabajoIndependiente> listaActivos = trabajoIndependienteService.getAllTrabajosIndependientesActivos();
+    public ResponseEntity<PaginaCursor<DetalleTrabajoDTO>> listarTrabajosEmpresa(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio) {
+        PaginaCursor<DetalleTrabajoDTO> listaActivos = trabajoIndependienteService.getAllTrabajosIndependientesActivos(cursor, tamanio);
         return new ResponseEntity<>(listaActivos, HttpStatus.OK);
     }
 
@@ -110,8 +111,8 @@ public class TrabajoIndependienteController {
      */
     @Transactional(readOnly = true)
     @GetMapping("/independiente/{independienteId}")
-    public ResponseEntity<List<TrabajoIndependiente>> obtenerTrabajosPorIndependiente(@RequestBody Independiente independiente) {
-        List<TrabajoIndependiente> trabajos = trabajoIndependienteService.getTrabajosIndependientesByIndependiente(independiente);
+    public ResponseEntity<List<DetalleTrabajoDTO>> obtenerTrabajosPorIndependiente(@RequestBody Independiente independiente) {
+        List<DetalleTrabajoDTO> trabajos = trabajoIndependienteService.getTrabajosIndependientesByIndependiente(independiente);
         return new ResponseEntity<>(trabajos, HttpStatus.OK);
     }
 
@@ -126,7 +127,7 @@ public class TrabajoIndependienteController {
             });
             return new ResponseEntity<>(errores, HttpStatus.BAD_REQUEST);
         }
-        TrabajoIndependiente creado= trabajoIndependienteService.saveTrabajoIndependiente(trabajoIndependiente);
+        DetalleTrabajoDTO creado= trabajoIndependienteService.saveTrabajoIndependiente(trabajoIndependiente);
         return new ResponseEntity<>(creado, HttpStatus.CREATED);
     }
 
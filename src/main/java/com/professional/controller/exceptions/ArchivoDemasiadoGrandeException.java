@@ -0,0 +1,10 @@
+package com.professional.controller.exceptions;
+
+/**
+ * Excepción que se lanza cuando un archivo subido supera el tamaño máximo permitido; se responde con 413.
+ */
+public class ArchivoDemasiadoGrandeException extends RuntimeException {
+    public ArchivoDemasiadoGrandeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.professional.controller.exceptions;
+
+/**
+ * Excepción que se lanza cuando un archivo subido no es de un tipo permitido, o su contenido no corresponde a su
+ * extensión; se responde con 415.
+ */
+public class ArchivoNoPermitidoException extends RuntimeException {
+    public ArchivoNoPermitidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.professional.controller.exceptions;
+
+/**
+ * Excepción que se lanza cuando el cursor de paginación que envía el cliente no es uno emitido por la API;
+ * se responde con 400.
+ */
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
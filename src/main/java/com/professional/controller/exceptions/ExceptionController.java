@@ -5,6 +5,7 @@ import com.professional.model.dto.Error;
 import com.professional.model.exceptions.ResourceNotFoundException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -218,6 +219,19 @@ public class ExceptionController {
         logger.error("ResourceAlreadyExistsException: ", ex);
         return getStringObjectMap("Recurso ya existe: " + ex.getMessage());
     }
+    @ExceptionHandler(CursorInvalidoException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleCursorInvalidoException(CursorInvalidoException ex) {
+        logger.warn("CursorInvalidoException: {}", ex.getMessage());
+        return getStringObjectMap(ex.getMessage());
+    }
+    @ExceptionHandler(ServicioSaturadoException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Map<String, String> handleServicioSaturadoException(ServicioSaturadoException ex, HttpServletResponse response) {
+        logger.warn("ServicioSaturadoException: {}", ex.getMessage());
+        response.setHeader("Retry-After", "1");
+        return getStringObjectMap(ex.getMessage());
+    }
     @ExceptionHandler(IllegalStateException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public Map<String, String> handleIllegalStateException(IllegalStateException ex) {
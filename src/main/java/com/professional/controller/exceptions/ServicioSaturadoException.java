@@ -0,0 +1,15 @@
+package com.professional.controller.exceptions;
+
+/**
+ * Excepción que se lanza cuando un recurso limitado (por ejemplo, el pool de verificación de
+ * contraseñas) no admite más trabajo; se responde con 429 para que el cliente reintente.
+ */
+public class ServicioSaturadoException extends RuntimeException {
+    public ServicioSaturadoException(String message) {
+        super(message);
+    }
+
+    public ServicioSaturadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
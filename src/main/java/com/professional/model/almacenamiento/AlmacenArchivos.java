@@ -0,0 +1,222 @@
+package com.professional.model.almacenamiento;
+
+import com.professional.controller.exceptions.ArchivoDemasiadoGrandeException;
+import com.professional.controller.exceptions.ArchivoNoPermitidoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Almacén de archivos subidos, direccionado por contenido.
+ * <p>
+ * Cada subida se copia en streaming a un archivo temporal mientras se calcula su SHA-256, sin cargarla
+ * completa en memoria. Luego se mueve de forma atómica a {@code <raiz>/<h0h1>/<h2h3>/<hash><extension>}:
+ * el contenido repetido (por ejemplo, la misma foto de DNI subida en cada edición del perfil) se guarda una
+ * sola vez, y dos subidas simultáneas nunca comparten un nombre salvo que tengan el mismo contenido.
+ * <p>
+ * Solo se aceptan imágenes JPEG, PNG, WebP y GIF y documentos PDF, y los primeros bytes del contenido deben
+ * corresponder a la extensión declarada: un HTML o un SVG renombrado no llega al almacén.
+ */
+@Component
+public class AlmacenArchivos {
+
+    private static final Map<String, TipoArchivo> TIPOS_PERMITIDOS = Map.of(
+            "jpg", TipoArchivo.JPEG, "jpeg", TipoArchivo.JPEG, "png", TipoArchivo.PNG,
+            "webp", TipoArchivo.WEBP, "gif", TipoArchivo.GIF, "pdf", TipoArchivo.PDF);
+    private static final int TAMANIO_CABECERA = 12;
+    private static final Pattern HASH_VALIDO = Pattern.compile("[0-9a-f]{64}(-[a-z]+)?");
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private final Path raiz;
+    private final Path temporales;
+    private final long tamanioMaximo;
+
+    /**
+     * Tipos permitidos y su firma: los bytes que deben aparecer en cada posición al inicio del contenido
+     * ({@code -1} admite cualquier byte).
+     */
+    private enum TipoArchivo {
+        JPEG(true, 0xFF, 0xD8, 0xFF),
+        PNG(true, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A),
+        WEBP(true, 'R', 'I', 'F', 'F', -1, -1, -1, -1, 'W', 'E', 'B', 'P'),
+        GIF(true, 'G', 'I', 'F', '8'),
+        PDF(false, '%', 'P', 'D', 'F', '-');
+
+        private final boolean imagen;
+        private final int[] firma;
+
+        TipoArchivo(boolean imagen, int... firma) {
+            this.imagen = imagen;
+            this.firma = firma;
+        }
+
+        boolean coincide(byte[] cabecera, int longitud) {
+            if (longitud < firma.length) {
+                return false;
+            }
+            for (int i = 0; i < firma.length; i++) {
+                if (firma[i] != -1 && (cabecera[i] & 0xFF) != firma[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Autowired
+    public AlmacenArchivos(@Value("${almacenamiento.raiz:uploads}") Path raiz,
+                           @Value("${almacenamiento.tamano-maximo:2MB}") DataSize tamanioMaximo) throws IOException {
+        this.raiz = raiz.toAbsolutePath().normalize();
+        // Los temporales quedan dentro de la raíz para que el movimiento final sea un rename en el mismo volumen
+        this.temporales = Files.createDirectories(this.raiz.resolve(".tmp"));
+        this.tamanioMaximo = tamanioMaximo.toBytes();
+    }
+
+    /**
+     * Guarda el contenido de un flujo. El flujo no se cierra.
+     *
+     * @param contenido      Contenido a guardar.
+     * @param nombreOriginal Nombre original del archivo; solo se usa su extensión.
+     * @return Datos del archivo guardado.
+     * @throws ArchivoDemasiadoGrandeException si el contenido supera el tamaño máximo.
+     * @throws ArchivoNoPermitidoException     si la extensión no está permitida o el contenido no corresponde a ella.
+     * @throws IOException                     si falla la escritura.
+     */
+    public ArchivoAlmacenado guardar(InputStream contenido, String nombreOriginal) throws IOException {
+        String extension = extension(nombreOriginal);
+        TipoArchivo tipo = extension == null ? null : TIPOS_PERMITIDOS.get(extension);
+        if (tipo == null) {
+            throw new ArchivoNoPermitidoException("Solo se permiten archivos jpg, jpeg, png, webp, gif y pdf");
+        }
+        MessageDigest sha256 = sha256();
+        byte[] cabecera = new byte[TAMANIO_CABECERA];
+        int longitudCabecera = 0;
+        Path temporal = Files.createTempFile(temporales, "subida-", ".tmp");
+        try {
+            long tamanio = 0;
+            try (OutputStream salida = Files.newOutputStream(temporal)) {
+                byte[] buffer = new byte[TAMANIO_BUFFER];
+                int leidos;
+                while ((leidos = contenido.read(buffer)) != -1) {
+                    tamanio += leidos;
+                    if (tamanio > tamanioMaximo) {
+                        throw new ArchivoDemasiadoGrandeException("El archivo supera el tamaño máximo de " + tamanioMaximo + " bytes");
+                    }
+                    if (longitudCabecera < TAMANIO_CABECERA) {
+                        int copiar = Math.min(leidos, TAMANIO_CABECERA - longitudCabecera);
+                        System.arraycopy(buffer, 0, cabecera, longitudCabecera, copiar);
+                        longitudCabecera += copiar;
+                    }
+                    sha256.update(buffer, 0, leidos);
+                    salida.write(buffer, 0, leidos);
+                }
+            }
+            if (!tipo.coincide(cabecera, longitudCabecera)) {
+                throw new ArchivoNoPermitidoException("El contenido del archivo no corresponde a la extensión ." + extension);
+            }
+
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String ruta = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+            Path destino = raiz.resolve(ruta);
+            if (Files.exists(destino)) {
+                return new ArchivoAlmacenado(hash, ruta, tamanio, true);
+            }
+            Files.createDirectories(destino.getParent());
+            try {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Otra subida con el mismo contenido terminó primero
+                return new ArchivoAlmacenado(hash, ruta, tamanio, true);
+            }
+            return new ArchivoAlmacenado(hash, ruta, tamanio, false);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Resuelve una ruta relativa del almacén, impidiendo salir de la raíz.
+     *
+     * @param ruta Ruta relativa devuelta por {@link #guardar}.
+     * @return Ruta absoluta, o null si la ruta no es válida.
+     */
+    public Path resolver(String ruta) {
+        Path destino = raiz.resolve(ruta).normalize();
+        return destino.startsWith(raiz) && !destino.startsWith(temporales) ? destino : null;
+    }
+
+    /**
+     * Ruta relativa de un archivo del almacén, la inversa de {@link #resolver}.
+     */
+    public String ruta(Path archivo) {
+        return raiz.relativize(archivo).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * SHA-256 de un archivo del almacén, tomado de su nombre. Para las variantes de una imagen incluye el
+     * sufijo de la variante (por ejemplo, {@code <hash>-miniatura}), que también identifica su contenido.
+     *
+     * @param archivo Archivo devuelto por {@link #resolver}.
+     * @return El hash en hexadecimal, o null si el archivo es anterior al direccionamiento por contenido.
+     */
+    public static String hash(Path archivo) {
+        return hash(archivo.getFileName().toString());
+    }
+
+    /**
+     * SHA-256 tomado del nombre de un archivo, como {@link #hash(Path)}.
+     *
+     * @param nombre Nombre del archivo, sin directorios.
+     * @return El hash en hexadecimal, o null si el nombre no es de un archivo direccionado por contenido.
+     */
+    public static String hash(String nombre) {
+        int punto = nombre.indexOf('.');
+        String base = punto < 0 ? nombre : nombre.substring(0, punto);
+        return HASH_VALIDO.matcher(base).matches() ? base : null;
+    }
+
+    /**
+     * Indica si un nombre de archivo tiene la extensión de una imagen permitida (no un PDF ni un tipo anterior
+     * a la lista de tipos permitidos, como HTML o SVG).
+     */
+    public static boolean esImagen(String nombre) {
+        String extension = extension(nombre);
+        TipoArchivo tipo = extension == null ? null : TIPOS_PERMITIDOS.get(extension);
+        return tipo != null && tipo.imagen;
+    }
+
+    /**
+     * Extensión en minúsculas, sin el punto, o null si el nombre no tiene.
+     */
+    private static String extension(String nombreOriginal) {
+        if (nombreOriginal == null) {
+            return null;
+        }
+        int punto = nombreOriginal.lastIndexOf('.');
+        return punto < 0 ? null : nombreOriginal.substring(punto + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
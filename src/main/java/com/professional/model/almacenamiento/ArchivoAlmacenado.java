@@ -0,0 +1,12 @@
+package com.professional.model.almacenamiento;
+
+/**
+ * Archivo guardado en el {@link AlmacenArchivos}.
+ *
+ * @param hash       SHA-256 del contenido, en hexadecimal.
+ * @param ruta       Ruta relativa dentro del almacén (por ejemplo, "ab/cd/abcd...ef.jpg").
+ * @param tamanio    Tamaño en bytes.
+ * @param existente  true si el contenido ya estaba guardado y no se escribió de nuevo.
+ */
+public record ArchivoAlmacenado(String hash, String ruta, long tamanio, boolean existente) {
+}
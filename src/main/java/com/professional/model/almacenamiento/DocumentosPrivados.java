@@ -0,0 +1,38 @@
+package com.professional.model.almacenamiento;
+
+import com.professional.model.repositories.EmpresaRepository;
+import com.professional.model.repositories.IndependienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Archivos del almacén que son documentos de un profesional: el DNI (anverso y reverso) y la licencia comercial.
+ * <p>
+ * Se sirven solo con sesión aunque estén direccionados por contenido, igual que sus variantes reducidas. La
+ * consulta busca por prefijo de la ruta, {@code /uploads/ab/cd/<hash>.}, así que usa los índices de V11.
+ */
+@Component
+public class DocumentosPrivados {
+
+    private final EmpresaRepository empresaRepository;
+    private final IndependienteRepository independienteRepository;
+
+    @Autowired
+    public DocumentosPrivados(EmpresaRepository empresaRepository, IndependienteRepository independienteRepository) {
+        this.empresaRepository = empresaRepository;
+        this.independienteRepository = independienteRepository;
+    }
+
+    /**
+     * Indica si un archivo es el documento de algún profesional.
+     *
+     * @param hash SHA-256 del archivo, como lo devuelve {@link AlmacenArchivos#hash(String)}; el sufijo de una
+     *             variante se ignora.
+     * @return true si el archivo, o el original de la variante, es un DNI o una licencia comercial.
+     */
+    public boolean esDocumento(String hash) {
+        String base = hash.substring(0, 64);
+        String prefijo = "/uploads/" + base.substring(0, 2) + "/" + base.substring(2, 4) + "/" + base + ".%";
+        return empresaRepository.referenciaDocumento(prefijo) || independienteRepository.referenciaDocumento(prefijo);
+    }
+}
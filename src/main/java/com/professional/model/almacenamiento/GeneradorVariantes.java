@@ -0,0 +1,279 @@
+package com.professional.model.almacenamiento;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.professional.model.enums.VarianteImagen;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Genera las variantes reducidas ({@link VarianteImagen}) de las imágenes subidas, fuera del hilo de la petición.
+ * <p>
+ * La generación se encola en un pool propio y acotado (por defecto un hilo, para no competir con las
+ * peticiones); si la cola está llena la tarea se descarta y la variante se genera la próxima vez que se pida.
+ * Solo se usa ImageIO: la imagen se lee con submuestreo cuando es mucho más grande que la variante mayor,
+ * se reduce a la mitad en pasos sucesivos con interpolación bilineal y se guarda en JPEG. Cada variante se
+ * escribe en un temporal y se mueve de forma atómica, así que nunca se sirve a medio escribir.
+ * <p>
+ * Los archivos que no son imágenes legibles (o superan {@code almacenamiento.variantes.pixeles-maximo}) se
+ * recuerdan por un tiempo para no volver a intentarlo en cada petición.
+ * <p>
+ * Métricas: {@code imagenes.variantes} (tiempo por imagen), {@code imagenes.variantes.cola}
+ * y {@code imagenes.variantes.fallidas}.
+ */
+@Component
+public class GeneradorVariantes {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorVariantes.class);
+
+    private final AlmacenArchivos almacenArchivos;
+    private final ThreadPoolExecutor executor;
+    private final long pixelesMaximo;
+    private final float calidad;
+    private final Set<Path> pendientes = ConcurrentHashMap.newKeySet();
+    private final Cache<Path, Boolean> fallidas;
+    private final Timer tiempo;
+    private final Counter contadorFallidas;
+
+    @Autowired
+    public GeneradorVariantes(AlmacenArchivos almacenArchivos,
+                              MeterRegistry meterRegistry,
+                              @Value("${almacenamiento.variantes.hilos:1}") int hilos,
+                              @Value("${almacenamiento.variantes.cola:256}") int capacidadCola,
+                              @Value("${almacenamiento.variantes.pixeles-maximo:40000000}") long pixelesMaximo,
+                              @Value("${almacenamiento.variantes.calidad:0.8}") float calidad) {
+        this.almacenArchivos = almacenArchivos;
+        this.pixelesMaximo = pixelesMaximo;
+        this.calidad = calidad;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "variantes-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    hilo.setPriority(Thread.NORM_PRIORITY - 1);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.fallidas = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+
+        this.tiempo = Timer.builder("imagenes.variantes").register(meterRegistry);
+        this.contadorFallidas = Counter.builder("imagenes.variantes.fallidas").register(meterRegistry);
+        Gauge.builder("imagenes.variantes.cola", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Encola la generación de las variantes de un archivo del almacén, si faltan. No espera el resultado.
+     *
+     * @param ruta Ruta relativa del original.
+     */
+    public void programar(String ruta) {
+        Path original = almacenArchivos.resolver(ruta);
+        if (original == null || VarianteImagen.desde(ruta) != null || completas(original)
+                || fallidas.getIfPresent(original) != null || !pendientes.add(original)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    tiempo.record(() -> generar(original));
+                } finally {
+                    pendientes.remove(original);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendientes.remove(original);
+            logger.debug("Cola de variantes llena, se omite {}", ruta);
+        }
+    }
+
+    /**
+     * Busca el original de una variante: el archivo del mismo directorio con el mismo nombre base.
+     *
+     * @param rutaVariante Ruta relativa de la variante.
+     * @return Ruta relativa del original, o null si la ruta no es de una variante o el original no existe.
+     */
+    public String original(String rutaVariante) {
+        VarianteImagen variante = VarianteImagen.desde(rutaVariante);
+        Path variantePath = variante == null ? null : almacenArchivos.resolver(rutaVariante);
+        if (variantePath == null || Files.notExists(variantePath.getParent())) {
+            return null;
+        }
+        String base = Path.of(variante.base(rutaVariante)).getFileName().toString();
+        try (DirectoryStream<Path> candidatos = Files.newDirectoryStream(variantePath.getParent(),
+                archivo -> archivo.getFileName().toString().startsWith(base + "."))) {
+            for (Path candidato : candidatos) {
+                if (Files.isRegularFile(candidato)) {
+                    return almacenArchivos.ruta(candidato);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo buscar el original de {}", rutaVariante, e);
+        }
+        return null;
+    }
+
+    private boolean completas(Path original) {
+        String nombre = original.getFileName().toString();
+        for (VarianteImagen variante : VarianteImagen.values()) {
+            if (Files.notExists(original.resolveSibling(variante.ruta(nombre)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generar(Path original) {
+        try {
+            BufferedImage imagen = leer(original);
+            if (imagen == null) {
+                marcarFallida(original, null);
+                return;
+            }
+            String nombre = original.getFileName().toString();
+            for (VarianteImagen variante : VarianteImagen.values()) {
+                Path destino = original.resolveSibling(variante.ruta(nombre));
+                if (Files.notExists(destino)) {
+                    escribir(escalar(imagen, variante.getLadoMaximo()), destino);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            marcarFallida(original, e);
+        }
+    }
+
+    private void marcarFallida(Path original, Exception causa) {
+        fallidas.put(original, Boolean.TRUE);
+        contadorFallidas.increment();
+        if (causa != null) {
+            logger.warn("No se pudieron generar las variantes de {}", original, causa);
+        } else {
+            logger.debug("{} no es una imagen legible o es demasiado grande", original);
+        }
+    }
+
+    /**
+     * Lee la imagen, con submuestreo si es más del doble de grande que la variante mayor.
+     *
+     * @return La imagen, o null si el formato no es soportado o supera el máximo de píxeles.
+     */
+    private BufferedImage leer(Path original) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> lectores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (lectores == null || !lectores.hasNext()) {
+                return null;
+            }
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                int ancho = lector.getWidth(0);
+                int alto = lector.getHeight(0);
+                if ((long) ancho * alto > pixelesMaximo) {
+                    return null;
+                }
+                int ladoMayor = VarianteImagen.MEDIANA.getLadoMaximo();
+                int paso = Math.max(1, Math.max(ancho, alto) / (ladoMayor * 2));
+                ImageReadParam parametros = lector.getDefaultReadParam();
+                parametros.setSourceSubsampling(paso, paso, 0, 0);
+                return lector.read(0, parametros);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduce la imagen para que su lado mayor no supere {@code ladoMaximo}, a la mitad por paso para no perder
+     * detalle con la interpolación bilineal. El resultado siempre es RGB, con fondo blanco donde había transparencia.
+     */
+    private static BufferedImage escalar(BufferedImage imagen, int ladoMaximo) {
+        double factor = Math.min(1.0, (double) ladoMaximo / Math.max(imagen.getWidth(), imagen.getHeight()));
+        int anchoFinal = Math.max(1, (int) Math.round(imagen.getWidth() * factor));
+        int altoFinal = Math.max(1, (int) Math.round(imagen.getHeight() * factor));
+        BufferedImage actual = imagen;
+        int ancho = imagen.getWidth();
+        int alto = imagen.getHeight();
+        do {
+            ancho = Math.max(anchoFinal, ancho / 2);
+            alto = Math.max(altoFinal, alto / 2);
+            actual = redibujar(actual, ancho, alto);
+        } while (ancho != anchoFinal || alto != altoFinal);
+        return actual;
+    }
+
+    private static BufferedImage redibujar(BufferedImage origen, int ancho, int alto) {
+        BufferedImage destino = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, ancho, alto);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origen, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private void escribir(BufferedImage imagen, Path destino) throws IOException {
+        Path temporal = Files.createTempFile(destino.getParent(), ".variante-", ".tmp");
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(calidad);
+            try (ImageOutputStream salida = ImageIO.createImageOutputStream(temporal.toFile())) {
+                escritor.setOutput(salida);
+                escritor.write(null, new IIOImage(imagen, null, null), parametros);
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            escritor.dispose();
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        executor.shutdown();
+    }
+}
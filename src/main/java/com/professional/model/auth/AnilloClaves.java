@@ -0,0 +1,232 @@
+package com.professional.model.auth;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Anillo de claves HMAC para firmar y verificar los JWT, persistido en un keystore PKCS12 local.
+ * <p>
+ * Cada clave se guarda con su {@code kid} como alias. Los tokens se firman con la clave activa e incluyen
+ * el {@code kid} en la cabecera; la verificación acepta cualquier clave del anillo, así que un reinicio o
+ * una réplica adicional que compartan el archivo no invalidan las sesiones existentes.
+ * <p>
+ * Rotación: cuando la clave activa supera {@code seguridad.jwt.rotacion.periodo} se agrega una nueva. La
+ * clave nueva solo se usa para firmar pasado {@code seguridad.jwt.rotacion.activacion}, para que el resto
+ * de los nodos la haya recargado antes de recibir tokens firmados con ella. Las claves que dejaron de firmar
+ * hace más de {@code seguridad.jwt.rotacion.retencion} (la vida máxima de un token) se eliminan. Las
+ * escrituras del archivo se serializan con un bloqueo de archivo entre nodos.
+ */
+@Component
+public class AnilloClaves extends LocatorAdapter<Key> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnilloClaves.class);
+
+    private final Path ruta;
+    private final char[] password;
+    private final Duration periodo;
+    private final Duration activacion;
+    private final Duration retencion;
+
+    private volatile Estado estado;
+
+    /**
+     * Claves cargadas del keystore: las de verificación por kid, la que se usa para firmar y la fecha de
+     * creación de la más reciente.
+     */
+    private record Estado(Map<String, SecretKey> verificacion, String kidFirma, SecretKey claveFirma,
+                          Instant ultimaCreacion) {
+    }
+
+    @Autowired
+    public AnilloClaves(@Value("${seguridad.jwt.keystore.ruta:config/jwt-claves.p12}") Path ruta,
+                        @Value("${seguridad.jwt.keystore.password}") String password,
+                        @Value("${seguridad.jwt.rotacion.periodo:7d}") Duration periodo,
+                        @Value("${seguridad.jwt.rotacion.activacion:10m}") Duration activacion,
+                        @Value("${seguridad.jwt.rotacion.retencion:72h}") Duration retencion) throws IOException {
+        if (password.isBlank()) {
+            throw new IllegalStateException("Falta la contraseña del keystore de JWT (JWT_KEYSTORE_PASSWORD)");
+        }
+        this.ruta = ruta;
+        this.password = password.toCharArray();
+        this.periodo = periodo;
+        this.activacion = activacion;
+        this.retencion = retencion;
+        if (Files.notExists(ruta)) {
+            modificarBajoBloqueo(true);
+        }
+        recargar();
+    }
+
+    /**
+     * Identificador de la clave con la que se firman los tokens nuevos.
+     */
+    public String kidFirma() {
+        return estado.kidFirma();
+    }
+
+    /**
+     * Clave con la que se firman los tokens nuevos.
+     */
+    public SecretKey claveFirma() {
+        return estado.claveFirma();
+    }
+
+    /**
+     * Resuelve la clave de verificación a partir del {@code kid} de la cabecera del token.
+     */
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        String kid = header.getKeyId();
+        SecretKey clave = kid == null ? null : estado.verificacion().get(kid);
+        if (clave == null) {
+            throw new JwtException("Clave de firma desconocida: " + kid);
+        }
+        return clave;
+    }
+
+    /**
+     * Rota la clave activa si corresponde y recarga el keystore, para tomar las claves agregadas por otros
+     * nodos y activar para firma la clave nueva una vez cumplido el tiempo de activación.
+     */
+    @Scheduled(fixedDelayString = "${seguridad.jwt.rotacion.intervalo-ms:60000}")
+    public void mantener() {
+        try {
+            if (estado.ultimaCreacion().plus(periodo).isBefore(Instant.now())) {
+                modificarBajoBloqueo(false);
+            }
+            recargar();
+        } catch (IOException | RuntimeException e) {
+            logger.error("No se pudo mantener el anillo de claves JWT en {}", ruta, e);
+        }
+    }
+
+    /**
+     * Agrega una clave nueva (si no hay ninguna o la más reciente venció) y elimina las retiradas. Se
+     * vuelve a leer el archivo con el bloqueo tomado, para no rotar dos veces si otro nodo se adelantó.
+     */
+    private synchronized void modificarBajoBloqueo(boolean crear) throws IOException {
+        Path directorio = ruta.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path archivoBloqueo = directorio.resolve(ruta.getFileName() + ".lock");
+        try (FileChannel canal = FileChannel.open(archivoBloqueo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = canal.lock()) {
+            KeyStore keyStore = crear && Files.notExists(ruta) ? vacio() : leer();
+            Instant ahora = Instant.now();
+            List<String> alias = Collections.list(keyStore.aliases());
+            Instant masReciente = alias.stream().map(a -> creacion(keyStore, a))
+                    .max(Comparator.naturalOrder()).orElse(Instant.EPOCH);
+            if (!masReciente.plus(periodo).isBefore(ahora)) {
+                return;
+            }
+            // Una clave se retira cuando la siguiente ya firma; se conserva mientras existan tokens firmados con ella
+            List<Instant> creaciones = alias.stream().map(a -> creacion(keyStore, a)).sorted().toList();
+            for (String a : alias) {
+                Instant creada = creacion(keyStore, a);
+                Instant reemplazada = creaciones.stream().filter(c -> c.isAfter(creada)).findFirst().orElse(null);
+                if (reemplazada != null && reemplazada.plus(activacion).plus(retencion).isBefore(ahora)) {
+                    keyStore.deleteEntry(a);
+                }
+            }
+            String kid = UUID.randomUUID().toString();
+            keyStore.setEntry(kid, new KeyStore.SecretKeyEntry(Jwts.SIG.HS256.key().build()),
+                    new KeyStore.PasswordProtection(password));
+            escribir(keyStore);
+            logger.info("Nueva clave de firma JWT {} agregada a {}", kid, ruta);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo actualizar el keystore de JWT " + ruta, e);
+        }
+    }
+
+    private void recargar() throws IOException {
+        try {
+            KeyStore keyStore = leer();
+            Map<String, SecretKey> claves = new LinkedHashMap<>();
+            Map<String, Instant> creaciones = new LinkedHashMap<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (keyStore.getKey(alias, password) instanceof SecretKey clave) {
+                    claves.put(alias, clave);
+                    creaciones.put(alias, creacion(keyStore, alias));
+                }
+            }
+            if (claves.isEmpty()) {
+                throw new IllegalStateException("El keystore de JWT " + ruta + " no contiene claves");
+            }
+            // Firma la clave más reciente que ya superó el tiempo de activación; si no hay, la más antigua
+            Instant limite = Instant.now().minus(activacion);
+            Comparator<Map.Entry<String, Instant>> porCreacion = Map.Entry.comparingByValue();
+            String kidFirma = creaciones.entrySet().stream()
+                    .filter(e -> !e.getValue().isAfter(limite))
+                    .max(porCreacion)
+                    .or(() -> creaciones.entrySet().stream().min(porCreacion))
+                    .map(Map.Entry::getKey)
+                    .orElseThrow();
+            Instant ultimaCreacion = Collections.max(creaciones.values());
+            estado = new Estado(Map.copyOf(claves), kidFirma, claves.get(kidFirma), ultimaCreacion);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo leer el keystore de JWT " + ruta, e);
+        }
+    }
+
+    private KeyStore leer() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream entrada = Files.newInputStream(ruta)) {
+            keyStore.load(entrada, password);
+        }
+        return keyStore;
+    }
+
+    private KeyStore vacio() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, password);
+        return keyStore;
+    }
+
+    /**
+     * Escribe en un archivo temporal y lo mueve sobre el original, para que otro nodo nunca lea un keystore a medias.
+     */
+    private void escribir(KeyStore keyStore) throws IOException, GeneralSecurityException {
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        try (OutputStream salida = Files.newOutputStream(temporal)) {
+            keyStore.store(salida, password);
+        }
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Instant creacion(KeyStore keyStore, String alias) {
+        try {
+            return keyStore.getCreationDate(alias).toInstant();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package com.professional.model.auth;
 
 import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 
-import static com.professional.model.auth.TokenJwtConfig.*;
+import static com.professional.model.auth.TokenJwtConfig.CLAIM_PROPOSITO;
+import static com.professional.model.auth.TokenJwtConfig.PROPOSITO_CONFIRMACION;
+
+/**
+ * Genera los JWT firmados con la clave activa del {@link AnilloClaves}, indicando su {@code kid} en la cabecera.
+ */
+@Component
 public class GeneradorJwt {
 
+    private final AnilloClaves anilloClaves;
+
+    @Autowired
+    public GeneradorJwt(AnilloClaves anilloClaves) {
+        this.anilloClaves = anilloClaves;
+    }
 
-    public static String generarToken(String correo, LocalDateTime fechaExpiracion, String tipoUsuario,String pais,String ciudad, Long id){
+    public String generarToken(String correo, LocalDateTime fechaExpiracion, String tipoUsuario,String pais,String ciudad, Long id){
 
         // Convierte LocalDateTime a Date
         Date expirationDate = Date.from(fechaExpiracion.atZone(ZoneId.systemDefault()).toInstant());
 
         String token = Jwts.builder()
+                .header().keyId(anilloClaves.kidFirma()).and() // Identifica la clave con la que se firma
                 .subject(correo) // Establece el 'subject' del token como el correo del usuario
                 .claim("tipoUsuario", tipoUsuario) // Añade 'tipoUsuario' como una reclamación personalizada
                 .claim("pais",pais)
@@ -23,10 +38,29 @@ public class GeneradorJwt {
                 .claim("id", id)
                 .issuedAt(new Date()) // Fecha de emisión
                 .expiration(expirationDate) // Fecha de expiración
-                .signWith(SECRET_KEY) // Firma el token con la clave secreta
+                .signWith(anilloClaves.claveFirma()) // Firma el token con la clave activa del anillo
                 .compact(); // Construye el token como una cadena compacta
 
 
         return token;
     }
+
+    /**
+     * Genera un token de confirmación de cuenta: solo lleva el correo, el propósito y la expiración, y no
+     * sirve como token de sesión.
+     *
+     * @param correo          Correo de la cuenta a confirmar.
+     * @param fechaExpiracion Fecha hasta la que el enlace es válido.
+     * @return Token compacto firmado.
+     */
+    public String generarTokenConfirmacion(String correo, LocalDateTime fechaExpiracion) {
+        return Jwts.builder()
+                .header().keyId(anilloClaves.kidFirma()).and()
+                .subject(correo)
+                .claim(CLAIM_PROPOSITO, PROPOSITO_CONFIRMACION)
+                .issuedAt(new Date())
+                .expiration(Date.from(fechaExpiracion.atZone(ZoneId.systemDefault()).toInstant()))
+                .signWith(anilloClaves.claveFirma())
+                .compact();
+    }
 }
@@ -0,0 +1,140 @@
+package com.professional.model.auth;
+
+import com.professional.controller.exceptions.ServicioSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta el hash y la verificación de contraseñas (BCrypt) en un pool propio y acotado.
+ * <p>
+ * El pool tiene tantos hilos como núcleos y una cola de tamaño fijo: en una ráfaga de inicios de sesión
+ * la CPU dedicada a BCrypt no crece sin límite y, cuando la cola está llena, se rechaza la petición con
+ * {@link ServicioSaturadoException} (429) en lugar de acumular esperas. Quien llama no debe tener una
+ * transacción abierta, para no retener una conexión JDBC mientras espera el resultado.
+ * <p>
+ * Métricas: {@code passwords.hash} (tiempo de cálculo por operación), {@code passwords.espera}
+ * (tiempo en cola), {@code passwords.cola} (tareas en espera) y {@code passwords.rechazados}.
+ */
+@Component
+public class ProcesadorPasswords {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration tiempoMaximo;
+    private final Timer tiempoCodificar;
+    private final Timer tiempoVerificar;
+    private final Timer tiempoEspera;
+    private final Counter rechazados;
+
+    @Autowired
+    public ProcesadorPasswords(PasswordEncoder passwordEncoder,
+                               MeterRegistry meterRegistry,
+                               @Value("${seguridad.passwords.hilos:0}") int hilos,
+                               @Value("${seguridad.passwords.cola:64}") int capacidadCola,
+                               @Value("${seguridad.passwords.tiempo-maximo:10s}") Duration tiempoMaximo) {
+        this.passwordEncoder = passwordEncoder;
+        this.tiempoMaximo = tiempoMaximo;
+        int tamanio = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanio, tamanio, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "passwords-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.tiempoCodificar = Timer.builder("passwords.hash").tag("operacion", "codificar").register(meterRegistry);
+        this.tiempoVerificar = Timer.builder("passwords.hash").tag("operacion", "verificar").register(meterRegistry);
+        this.tiempoEspera = Timer.builder("passwords.espera").register(meterRegistry);
+        this.rechazados = Counter.builder("passwords.rechazados").register(meterRegistry);
+        Gauge.builder("passwords.cola", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Genera el hash de una contraseña.
+     *
+     * @param password Contraseña en texto plano.
+     * @return Hash de la contraseña.
+     * @throws ServicioSaturadoException si el pool no admite más trabajo.
+     */
+    public String codificar(CharSequence password) {
+        return ejecutar(tiempoCodificar, () -> passwordEncoder.encode(password));
+    }
+
+    /**
+     * Verifica una contraseña contra su hash.
+     *
+     * @param password Contraseña en texto plano.
+     * @param hash     Hash almacenado.
+     * @return true si la contraseña coincide.
+     * @throws ServicioSaturadoException si el pool no admite más trabajo.
+     */
+    public boolean verificar(CharSequence password, String hash) {
+        return ejecutar(tiempoVerificar, () -> passwordEncoder.matches(password, hash));
+    }
+
+    /**
+     * Indica si el hash se generó con un costo menor al configurado y debe regenerarse.
+     *
+     * @param hash Hash almacenado.
+     * @return true si hay que regenerar el hash.
+     */
+    public boolean requiereRehash(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    private <T> T ejecutar(Timer tiempo, Callable<T> operacion) {
+        long encolado = System.nanoTime();
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(() -> {
+                tiempoEspera.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+                return tiempo.recordCallable(operacion);
+            });
+        } catch (RejectedExecutionException e) {
+            rechazados.increment();
+            throw new ServicioSaturadoException("Demasiadas solicitudes de autenticación, intente nuevamente en unos segundos", e);
+        }
+
+        try {
+            return resultado.get(tiempoMaximo.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            rechazados.increment();
+            throw new ServicioSaturadoException("La verificación de la contraseña tardó demasiado, intente nuevamente", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificación de contraseña interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        executor.shutdown();
+    }
+}
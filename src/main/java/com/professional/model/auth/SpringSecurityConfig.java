@@ -1,16 +1,25 @@
 package com.professional.model.auth;
 
+import com.professional.model.almacenamiento.AlmacenArchivos;
+import com.professional.model.almacenamiento.DocumentosPrivados;
 import com.professional.model.auth.filter.JwtValidationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -20,9 +29,17 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 public class SpringSecurityConfig {
 
+    private static final String PREFIJO_ARCHIVOS = "/uploads/";
+
     @Autowired
     private AuthenticationConfiguration authenticationConfiguration;
 
+    @Autowired
+    private DocumentosPrivados documentosPrivados;
+
+    @Autowired
+    private ValidadorJwt validadorJwt;
+
     @Bean
     AuthenticationManager authenticationManager() throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
@@ -34,18 +51,47 @@ public class SpringSecurityConfig {
         configuration.addAllowedOrigin("http://localhost:4200");
         configuration.addAllowedHeader("*");
         configuration.addAllowedMethod("*");
+        // Paginación de los buscadores /clientes/filtroConsultas*
+        configuration.addExposedHeader("X-Hay-Mas");
+        configuration.addExposedHeader(HttpHeaders.LINK);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
+    /**
+     * GET anónimo de una imagen del almacén direccionada por contenido que no es el documento de un profesional.
+     * Con sesión no coincide y no consulta la base: la petición pasa por {@code anyRequest().authenticated()}.
+     */
+    private RequestMatcher imagenesPublicas() {
+        return request -> {
+            String ruta = request.getRequestURI().substring(request.getContextPath().length());
+            if (!HttpMethod.GET.matches(request.getMethod()) || !ruta.startsWith(PREFIJO_ARCHIVOS)) {
+                return false;
+            }
+            Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+            if (autenticacion != null && !(autenticacion instanceof AnonymousAuthenticationToken)) {
+                return false;
+            }
+            String nombre = ruta.substring(ruta.lastIndexOf('/') + 1);
+            String hash = AlmacenArchivos.hash(nombre);
+            return hash != null && AlmacenArchivos.esImagen(nombre) && !documentosPrivados.esDocumento(hash);
+        };
+    }
+
     @Bean
     SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
         http.authorizeHttpRequests(auth -> auth
+                        // El despacho ASYNC de las exportaciones en streaming ya fue autorizado en la petición original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(AntPathRequestMatcher.antMatcher("/auth/login"),
                                 AntPathRequestMatcher.antMatcher("/auth/registro"),
                                 AntPathRequestMatcher.antMatcher("/up/**"),
                                 AntPathRequestMatcher.antMatcher("/auth/confirmar-cuenta")).permitAll()
+                        // Solo son públicas las imágenes direccionadas por contenido que no son DNI ni licencias: su
+                        // nombre es el SHA-256 y no se puede adivinar. Los PDF, los documentos y los archivos
+                        // anteriores, nombrados por fecha, piden sesión
+                        .requestMatchers(imagenesPublicas()).permitAll()
                         .requestMatchers("/trabajo-independiente/**").hasAnyRole("INDEPENDIENTE","CLIENTE","EMPRESA")
                         .requestMatchers("/trabajo-empresa/**").hasAnyRole("INDEPENDIENTE","CLIENTE","EMPRESA")
                         .requestMatchers("/empresa/**").hasAnyRole("INDEPENDIENTE","CLIENTE","EMPRESA")
@@ -53,12 +99,15 @@ public class SpringSecurityConfig {
                         .requestMatchers("/independiente/**").hasAnyRole("INDEPENDIENTE","CLIENTE","EMPRESA")
                         .requestMatchers("/trabajo-emp-en-accion/**").hasAnyRole("INDEPENDIENTE","CLIENTE","EMPRESA")
                         .requestMatchers("/trabajo-ind-en-accion/**").hasAnyRole("INDEPENDIENTE","CLIENTE","EMPRESA")
+                        // Importaciones y exportaciones masivas: insertan o leen filas de cualquier propietario
+                        .requestMatchers("/importar/**").hasRole("ADMIN")
+                        .requestMatchers("/exportar/**").hasRole("ADMIN")
 
                         .anyRequest().authenticated()
                 )
                 .cors(Customizer.withDefaults())
                 //.addFilter(new JwtValidationFilter(authenticationManager()))
-                .addFilterBefore(new JwtValidationFilter(authenticationManager()), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtValidationFilter(authenticationManager(), validadorJwt), UsernamePasswordAuthenticationFilter.class)
                 .csrf(csrf -> csrf
                         .ignoringRequestMatchers(AntPathRequestMatcher.antMatcher("/h2-console/**"))
                         .ignoringRequestMatchers(AntPathRequestMatcher.antMatcher("/auth/login"))
@@ -1,16 +1,15 @@
 package com.professional.model.auth;
 
-import io.jsonwebtoken.Jwts;
-
-import javax.crypto.SecretKey;
-
-
+/**
+ * Constantes de los JWT. Las claves de firma están en {@link AnilloClaves}.
+ */
 public class TokenJwtConfig {
 
-    public static final SecretKey SECRET_KEY = Jwts.SIG.HS256.key().build();
-
     public static final String PREFIX_TOKEN = "Bearer ";
     public static final String HEADER_AUTHORIZATION = "Authorization";
     public static final String CONTENT_TYPE = "application/json";
     public static final String USER_NAME= "apiJava";
+    // Los tokens de confirmación llevan este claim; los de sesión no
+    public static final String CLAIM_PROPOSITO = "proposito";
+    public static final String PROPOSITO_CONFIRMACION = "confirmacion";
 }
@@ -0,0 +1,177 @@
+package com.professional.model.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.professional.model.auth.TokenJwtConfig.CLAIM_PROPOSITO;
+import static com.professional.model.auth.TokenJwtConfig.PROPOSITO_CONFIRMACION;
+
+/**
+ * Valida los JWT de las peticiones y guarda en caché la autenticación resultante.
+ * <p>
+ * El {@link JwtParser} es inmutable y seguro entre hilos, así que se construye una sola vez; resuelve la
+ * clave de verificación por {@code kid} en el {@link AnilloClaves}. La caché
+ * está acotada en tamaño, su clave es el SHA-256 del token (no se retiene el token en memoria) y cada
+ * entrada expira junto con el {@code exp} del token, con un tope de {@code seguridad.jwt.cache.ttl-maximo}.
+ * Las peticiones repetidas de una misma sesión evitan así la verificación HMAC y el parseo del JSON.
+ * Los tokens inválidos no se guardan, y los tokens con un propósito específico (confirmación de cuenta)
+ * no se aceptan como sesión. Los correos de {@code seguridad.administradores} reciben además el rol ADMIN.
+ * <p>
+ * La {@link Authentication} en caché es compartida entre peticiones: no debe modificarse.
+ */
+@Component
+public class ValidadorJwt {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private static final String ROL_ADMIN = "ROLE_ADMIN";
+
+    private final JwtParser parser;
+    private final Cache<String, Authentication> autenticaciones;
+    // Una lista inmutable de autoridades por tipo de usuario, reutilizada en todas las autenticaciones
+    private final Map<String, List<SimpleGrantedAuthority>> autoridadesPorTipo = new ConcurrentHashMap<>();
+    private final Set<String> administradores;
+
+    @Autowired
+    public ValidadorJwt(AnilloClaves anilloClaves,
+                        MeterRegistry meterRegistry,
+                        @Value("${seguridad.jwt.cache.tamano-maximo:10000}") long tamanoMaximo,
+                        @Value("${seguridad.jwt.cache.ttl-maximo:10m}") Duration ttlMaximo,
+                        @Value("${seguridad.administradores:}") Set<String> administradores) {
+        this.administradores = administradores;
+        this.parser = Jwts.parser().keyLocator(anilloClaves).build();
+        this.autenticaciones = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfter(new ExpiraConToken(ttlMaximo.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, autenticaciones, "jwt.autenticaciones");
+    }
+
+    /**
+     * Devuelve la autenticación asociada a un token, verificándolo solo si no está en caché.
+     *
+     * @param token Token JWT sin el prefijo "Bearer ".
+     * @return Autenticación con el correo como principal y el rol del tipo de usuario.
+     * @throws JwtException si el token no es válido o expiró.
+     */
+    public Authentication autenticar(String token) {
+        String clave = huella(token);
+        Authentication autenticacion = autenticaciones.getIfPresent(clave);
+        if (autenticacion != null) {
+            return autenticacion;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.get(CLAIM_PROPOSITO) != null) {
+            throw new JwtException("El token no es un token de sesión");
+        }
+        autenticacion = new AutenticacionJwt(claims.getSubject(),
+                autoridades(claims.get("tipoUsuario", String.class), administradores.contains(claims.getSubject())),
+                claims.getExpiration());
+        autenticaciones.put(clave, autenticacion);
+        return autenticacion;
+    }
+
+    /**
+     * Verifica un token de confirmación de cuenta (firma, expiración y propósito), sin consultar la base de datos.
+     *
+     * @param token Token recibido en el enlace de confirmación.
+     * @return Correo de la cuenta a confirmar.
+     * @throws JwtException si el token no es válido, expiró o no es de confirmación.
+     */
+    public String validarConfirmacion(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (!PROPOSITO_CONFIRMACION.equals(claims.get(CLAIM_PROPOSITO, String.class))) {
+            throw new JwtException("El token no es de confirmación de cuenta");
+        }
+        return claims.getSubject();
+    }
+
+    private List<SimpleGrantedAuthority> autoridades(String tipoUsuario, boolean administrador) {
+        if (tipoUsuario == null) {
+            return administrador ? List.of(new SimpleGrantedAuthority(ROL_ADMIN)) : List.of();
+        }
+        // Se espera "ROLE_INDEPENDIENTE" cuando tipoUsuario es "INDEPENDIENTE", para que coincida con hasRole(...)
+        String tipo = tipoUsuario.toUpperCase(Locale.ROOT);
+        return autoridadesPorTipo.computeIfAbsent(administrador ? tipo + "+ADMIN" : tipo,
+                clave -> administrador
+                        ? List.of(new SimpleGrantedAuthority("ROLE_" + tipo), new SimpleGrantedAuthority(ROL_ADMIN))
+                        : List.of(new SimpleGrantedAuthority("ROLE_" + tipo)));
+    }
+
+    private static String huella(String token) {
+        MessageDigest digest = SHA_256.get();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Autenticación construida a partir de un token verificado; conserva la expiración para la caché.
+     */
+    private static final class AutenticacionJwt extends UsernamePasswordAuthenticationToken {
+
+        private final transient Date expiracion;
+
+        AutenticacionJwt(String correo, List<SimpleGrantedAuthority> autoridades, Date expiracion) {
+            super(correo, null, autoridades);
+            this.expiracion = expiracion;
+        }
+    }
+
+    /**
+     * Expira cada entrada cuando expira su token, sin superar el tope configurado.
+     */
+    private record ExpiraConToken(long ttlMaximoNanos) implements Expiry<String, Authentication> {
+
+        @Override
+        public long expireAfterCreate(String clave, Authentication autenticacion, long ahora) {
+            Date expiracion = ((AutenticacionJwt) autenticacion).expiracion;
+            if (expiracion == null) {
+                return ttlMaximoNanos;
+            }
+            long restante = Duration.ofMillis(expiracion.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(restante, ttlMaximoNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String clave, Authentication autenticacion, long ahora, long duracionActual) {
+            return expireAfterCreate(clave, autenticacion, ahora);
+        }
+
+        @Override
+        public long expireAfterRead(String clave, Authentication autenticacion, long ahora, long duracionActual) {
+            return duracionActual;
+        }
+    }
+}
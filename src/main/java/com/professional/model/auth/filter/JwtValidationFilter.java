@@ -1,27 +1,26 @@
 package com.professional.model.auth.filter;
 
 import com.professional.controller.exceptions.JwttException;
-import io.jsonwebtoken.Claims;
+import com.professional.model.auth.ValidadorJwt;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 import static com.professional.model.auth.TokenJwtConfig.*;
 public class JwtValidationFilter extends BasicAuthenticationFilter {
-    public JwtValidationFilter(AuthenticationManager authenticationManager) {
+
+    private final ValidadorJwt validadorJwt;
+
+    public JwtValidationFilter(AuthenticationManager authenticationManager, ValidadorJwt validadorJwt) {
         super(authenticationManager);
+        this.validadorJwt = validadorJwt;
     }
 
     @Override
@@ -35,29 +34,15 @@ public class JwtValidationFilter extends BasicAuthenticationFilter {
         }
 
 
-        String token = header.replace(PREFIX_TOKEN, "");
+        String token = header.substring(PREFIX_TOKEN.length());
 
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            String username = claims.getSubject();
-            String tipoUsuario = claims.get("tipoUsuario", String.class);
-
-            // Crea la lista de autoridades; se asume que en Spring Security se espera "ROLE_INDEPENDIENTE" cuando tipoUsuario es "INDEPENDIENTE"
-            List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-            if (tipoUsuario != null) {
-                // Convierte el tipo a mayúsculas y antepone "ROLE_" para que coincida con hasRole("INDEPENDIENTE")
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + tipoUsuario.toUpperCase()));
-            }
-            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken= new UsernamePasswordAuthenticationToken(username,null,authorities);
-            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            chain.doFilter(request,response);
+            // El validador reutiliza el parser y guarda en caché la autenticación de cada token verificado
+            SecurityContextHolder.getContext().setAuthentication(validadorJwt.autenticar(token));
         } catch (JwtException e){
             throw new JwttException("Token Invalido Acceso No autorizado");
         }
+        chain.doFilter(request,response);
 
     }
-}
\ No newline at end of file
+}
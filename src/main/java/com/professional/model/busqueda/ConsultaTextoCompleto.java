@@ -0,0 +1,86 @@
+package com.professional.model.busqueda;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Convierte el texto libre que escribe el cliente en una consulta FULLTEXT de MySQL en modo booleano.
+ * <p>
+ * Cada palabra significativa se vuelve obligatoria y se busca por prefijo ({@code +diseño* +web*}), de modo que
+ * "diseño web" encuentra "Diseñador de páginas web". Todo lo que no es letra ni dígito (la puntuación y los
+ * operadores del modo booleano que el usuario pudiera escribir) separa palabras y se descarta, para que no
+ * altere la consulta. Las mayúsculas y los acentos se
+ * resuelven en la base de datos gracias a la colación {@code utf8mb4_0900_ai_ci} de la columna indexada.
+ * <p>
+ * InnoDB no indexa las palabras más cortas que {@code innodb_ft_min_token_size} ni las de su lista de
+ * stopwords, así que un {@code +de*} obligatorio no coincide con ninguna fila y "diseño de logos" no
+ * devolvería nada. Esas palabras, y los artículos y preposiciones del español, se omiten de la consulta.
+ */
+public final class ConsultaTextoCompleto {
+
+    // Evita consultas desproporcionadas cuando se pega un texto muy largo en el buscador
+    private static final int MAX_TERMINOS = 8;
+
+    // Separadores de palabras: todo salvo letras (con sus marcas diacríticas) y dígitos
+    private static final Pattern NO_PALABRA = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    // Valor por defecto de innodb_ft_min_token_size
+    private static final int LONGITUD_MINIMA = 3;
+
+    // Lista por defecto de InnoDB (INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD)
+    private static final Set<String> STOPWORDS_INNODB = Set.of(
+            "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i",
+            "in", "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when",
+            "where", "who", "will", "with", "und", "www");
+
+    // Palabras vacías del español que sí se indexan pero no deben volver obligatoria la búsqueda
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "el", "los", "las", "lo", "un", "una", "unos", "unas", "del", "al", "con", "sin", "por", "para",
+            "que", "y", "e", "o", "u", "se", "su", "sus", "mi", "mis", "muy", "mas", "más");
+
+    private ConsultaTextoCompleto() {
+    }
+
+    /**
+     * Construye la consulta en modo booleano.
+     *
+     * @param texto Texto escrito por el cliente.
+     * @return Consulta lista para {@code against(... in boolean mode)}, o {@code null} si el texto no contiene palabras.
+     */
+    public static String modoBooleano(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String limpio = NO_PALABRA.matcher(texto.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        if (limpio.isEmpty()) {
+            return null;
+        }
+        String[] palabras = limpio.split("\\s+");
+        StringJoiner consulta = new StringJoiner(" ");
+        int terminos = 0;
+        for (String termino : palabras) {
+            if (terminos == MAX_TERMINOS) {
+                break;
+            }
+            if (significativa(termino)) {
+                consulta.add("+" + termino + "*");
+                terminos++;
+            }
+        }
+        if (terminos == 0) {
+            // Solo palabras que el índice ignora: se envían opcionales y la búsqueda queda vacía en lugar de fallar
+            for (int i = 0; i < palabras.length && i < MAX_TERMINOS; i++) {
+                consulta.add(palabras[i]);
+            }
+        }
+        return consulta.toString();
+    }
+
+    private static boolean significativa(String termino) {
+        return termino.codePointCount(0, termino.length()) >= LONGITUD_MINIMA
+                && !STOPWORDS_INNODB.contains(termino)
+                && !PALABRAS_VACIAS.contains(termino);
+    }
+}
@@ -0,0 +1,133 @@
+package com.professional.model.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.professional.model.dto.FiltrosConsultasEmpresasDTO;
+import com.professional.model.dto.FiltrosConsultasIndependientesDTO;
+import com.professional.model.replicas.LecturaPrimario;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Caché de resultados del buscador del marketplace (pais, ciudad, descripcion, filtro, calificacion y página).
+ * <p>
+ * La clave usa los textos de búsqueda normalizados: sin espacios al inicio ni al final, en minúsculas y sin
+ * acentos (filtro y calificación se usan tal cual, porque el buscador los compara de forma exacta).
+ * Es equivalente a la consulta porque los filtros recortan y comparan en minúsculas, y la intercalación de MySQL
+ * ({@code utf8mb4_0900_ai_ci}) ignora acentos, también en el índice FULLTEXT.
+ * <p>
+ * Invalidación por generación: la clave incluye un contador que se incrementa cada vez que se crea,
+ * edita, desactiva o recalifica un trabajo (o cambia su dueño), así que las entradas anteriores dejan de
+ * usarse y salen por TTL o tamaño. El TTL es corto y cubre lo que no invalida una generación (por ejemplo,
+ * las ventas). Si la invalidación ocurre dentro de una transacción, la generación se incrementa otra vez
+ * tras el commit, para descartar lo calculado con datos anteriores al commit. Los resultados se calculan en el
+ * primario ({@link LecturaPrimario}), porque los de una réplica atrasada podrían ser anteriores al commit aunque
+ * la generación sea nueva.
+ * <p>
+ * Protección contra estampidas: el cálculo de una clave ausente se hace una sola vez; las peticiones
+ * concurrentes con la misma clave esperan ese resultado en lugar de repetir la consulta.
+ */
+@Component
+public class CacheBusquedas {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final AtomicLong generacion = new AtomicLong();
+    private final Cache<ClaveBusqueda, Slice<?>> resultados;
+
+    /**
+     * Clave normalizada de una búsqueda.
+     */
+    private record ClaveBusqueda(String tipo, long generacion, String pais, String ciudad, String descripcion,
+                                 String filtro, String calificacion, int pagina, int tamanio, String orden) {
+    }
+
+    @Autowired
+    public CacheBusquedas(MeterRegistry meterRegistry,
+                          @Value("${cache.busquedas.tamano-maximo:5000}") long tamanoMaximo,
+                          @Value("${cache.busquedas.ttl:30s}") Duration ttl) {
+        this.resultados = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resultados, "busquedas");
+        Gauge.builder("busquedas.generacion", generacion, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Resultados de una búsqueda de trabajos independientes, calculándolos con {@code consulta} si no están en caché.
+     */
+    public Slice<FiltrosConsultasIndependientesDTO> independientes(String pais, String ciudad, String descripcion, String filtro,
+                                                                  String calificacion, Pageable pageable,
+                                                                  Supplier<Slice<FiltrosConsultasIndependientesDTO>> consulta) {
+        return obtener("independientes", pais, ciudad, descripcion, filtro, calificacion, pageable, consulta);
+    }
+
+    /**
+     * Resultados de una búsqueda de trabajos de empresas, calculándolos con {@code consulta} si no están en caché.
+     */
+    public Slice<FiltrosConsultasEmpresasDTO> empresas(String pais, String ciudad, String descripcion, String filtro,
+                                                      String calificacion, Pageable pageable,
+                                                      Supplier<Slice<FiltrosConsultasEmpresasDTO>> consulta) {
+        return obtener("empresas", pais, ciudad, descripcion, filtro, calificacion, pageable, consulta);
+    }
+
+    /**
+     * Descarta todas las búsquedas en caché pasando a una nueva generación.
+     */
+    public void nuevaGeneracion() {
+        generacion.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generacion.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Slice<T> obtener(String tipo, String pais, String ciudad, String descripcion, String filtro,
+                                String calificacion, Pageable pageable, Supplier<Slice<T>> consulta) {
+        ClaveBusqueda clave = new ClaveBusqueda(tipo, generacion.get(), normalizar(pais), normalizar(ciudad),
+                normalizar(descripcion), Objects.toString(filtro, ""), Objects.toString(calificacion, ""),
+                pageable.isPaged() ? pageable.getPageNumber() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort().toString());
+        return (Slice<T>) resultados.get(clave, k -> {
+            Slice<T> pagina = LecturaPrimario.ejecutar(consulta);
+            return new SliceImpl<>(List.copyOf(pagina.getContent()), pagina.getPageable(), pagina.hasNext());
+        });
+    }
+
+    /**
+     * Quita los espacios al inicio y al final, pasa a minúsculas y elimina los acentos.
+     */
+    static String normalizar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = Normalizer.normalize(valor.trim(), Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(texto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,164 @@
+package com.professional.model.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.professional.model.dto.FiltroTrabajoEmpresaDTO;
+import com.professional.model.dto.FiltroTrabajoIndependienteDTO;
+import com.professional.model.replicas.LecturaPrimario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura del detalle público de los trabajos ({@link FiltroTrabajoEmpresaDTO} y
+ * {@link FiltroTrabajoIndependienteDTO}), por ID de trabajo.
+ * <p>
+ * Nivel local con Caffeine, acotado por tamaño y con vencimiento desde la escritura; nivel secundario
+ * opcional si existe un bean {@link CacheSegundoNivel}. Los trabajos inexistentes o inactivos no se guardan.
+ * <p>
+ * Quien modifica datos que aparecen en el detalle (el trabajo, su calificación o ventas, o los datos del
+ * dueño) debe invalidar los IDs afectados. Dentro de una transacción la entrada se elimina en el momento y
+ * otra vez tras el commit, para que una lectura concurrente no vuelva a guardar el valor anterior. Por la misma
+ * razón el cargador lee del primario ({@link LecturaPrimario}): una réplica atrasada devolvería el valor anterior
+ * al commit y quedaría en caché hasta que venza.
+ * <p>
+ * Métricas: {@code cache.gets}, {@code cache.puts}, {@code cache.evictions}, etc., con
+ * {@code cache=trabajos-empresa} o {@code cache=trabajos-independiente}.
+ */
+@Component
+public class CacheDetalleTrabajos {
+
+    private static final String REGION_EMPRESA = "trabajos-empresa";
+    private static final String REGION_INDEPENDIENTE = "trabajos-independiente";
+
+    private final Region<FiltroTrabajoEmpresaDTO> trabajosEmpresa;
+    private final Region<FiltroTrabajoIndependienteDTO> trabajosIndependiente;
+
+    @Autowired
+    public CacheDetalleTrabajos(MeterRegistry meterRegistry,
+                                ObjectProvider<CacheSegundoNivel> segundoNivel,
+                                @Value("${cache.trabajos.tamano-maximo:10000}") long tamanoMaximo,
+                                @Value("${cache.trabajos.ttl:10m}") Duration ttl) {
+        CacheSegundoNivel remoto = segundoNivel.getIfAvailable();
+        this.trabajosEmpresa = new Region<>(REGION_EMPRESA, FiltroTrabajoEmpresaDTO.class,
+                tamanoMaximo, ttl, remoto, meterRegistry);
+        this.trabajosIndependiente = new Region<>(REGION_INDEPENDIENTE, FiltroTrabajoIndependienteDTO.class,
+                tamanoMaximo, ttl, remoto, meterRegistry);
+    }
+
+    /**
+     * Detalle de un trabajo de empresa, cargándolo con {@code cargador} si no está en caché.
+     *
+     * @param id       ID del trabajo.
+     * @param cargador Consulta a la base de datos; puede devolver null.
+     * @return El detalle, o null si el cargador no lo encontró.
+     */
+    public FiltroTrabajoEmpresaDTO trabajoEmpresa(Long id, Function<Long, FiltroTrabajoEmpresaDTO> cargador) {
+        return trabajosEmpresa.obtener(id, cargador);
+    }
+
+    /**
+     * Detalle de un trabajo independiente, cargándolo con {@code cargador} si no está en caché.
+     *
+     * @param id       ID del trabajo.
+     * @param cargador Consulta a la base de datos; puede devolver null.
+     * @return El detalle, o null si el cargador no lo encontró.
+     */
+    public FiltroTrabajoIndependienteDTO trabajoIndependiente(Long id, Function<Long, FiltroTrabajoIndependienteDTO> cargador) {
+        return trabajosIndependiente.obtener(id, cargador);
+    }
+
+    /**
+     * Invalida el detalle de uno o varios trabajos de empresa.
+     */
+    public void invalidarTrabajosEmpresa(Collection<Long> ids) {
+        ids.forEach(trabajosEmpresa::invalidar);
+    }
+
+    /**
+     * Invalida el detalle de un trabajo de empresa.
+     */
+    public void invalidarTrabajoEmpresa(Long id) {
+        trabajosEmpresa.invalidar(id);
+    }
+
+    /**
+     * Invalida el detalle de uno o varios trabajos independientes.
+     */
+    public void invalidarTrabajosIndependiente(Collection<Long> ids) {
+        ids.forEach(trabajosIndependiente::invalidar);
+    }
+
+    /**
+     * Invalida el detalle de un trabajo independiente.
+     */
+    public void invalidarTrabajoIndependiente(Long id) {
+        trabajosIndependiente.invalidar(id);
+    }
+
+    /**
+     * Una región de la caché: nivel local, nivel secundario opcional y su invalidación.
+     */
+    private static final class Region<V> {
+
+        private final String nombre;
+        private final Class<V> tipo;
+        private final Cache<Long, V> local;
+        private final CacheSegundoNivel remoto;
+
+        Region(String nombre, Class<V> tipo, long tamanoMaximo, Duration ttl,
+               CacheSegundoNivel remoto, MeterRegistry meterRegistry) {
+            this.nombre = nombre;
+            this.tipo = tipo;
+            this.remoto = remoto;
+            this.local = Caffeine.newBuilder()
+                    .maximumSize(tamanoMaximo)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, local, nombre);
+        }
+
+        V obtener(Long id, Function<Long, V> cargador) {
+            // Caffeine no guarda nulos: si el cargador devuelve null no queda entrada y se devuelve null
+            return local.get(id, clave -> {
+                V valor = remoto != null ? remoto.obtener(nombre, clave, tipo) : null;
+                if (valor == null) {
+                    valor = LecturaPrimario.ejecutar(() -> cargador.apply(clave));
+                    if (valor != null && remoto != null) {
+                        remoto.guardar(nombre, clave, valor);
+                    }
+                }
+                return valor;
+            });
+        }
+
+        void invalidar(Long id) {
+            eliminar(id);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        eliminar(id);
+                    }
+                });
+            }
+        }
+
+        private void eliminar(Long id) {
+            local.invalidate(id);
+            if (remoto != null) {
+                remoto.invalidar(nombre, id);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.professional.model.cache;
+
+/**
+ * Segundo nivel opcional para las cachés en memoria (por ejemplo, compartido entre nodos).
+ * <p>
+ * Si existe un bean que implemente esta interfaz, {@link CacheDetalleTrabajos} lo consulta cuando la entrada
+ * no está en memoria y lo mantiene al día al cargar e invalidar. Sin ese bean solo se usa el nivel local.
+ */
+public interface CacheSegundoNivel {
+
+    /**
+     * Busca un valor.
+     *
+     * @param region Nombre de la región (por ejemplo, "trabajos-empresa").
+     * @param clave  Clave dentro de la región.
+     * @param tipo   Tipo esperado del valor.
+     * @return El valor, o null si no está.
+     */
+    <T> T obtener(String region, Object clave, Class<T> tipo);
+
+    /**
+     * Guarda un valor.
+     *
+     * @param region Nombre de la región.
+     * @param clave  Clave dentro de la región.
+     * @param valor  Valor a guardar.
+     */
+    void guardar(String region, Object clave, Object valor);
+
+    /**
+     * Elimina un valor.
+     *
+     * @param region Nombre de la región.
+     * @param clave  Clave dentro de la región.
+     */
+    void invalidar(String region, Object clave);
+}
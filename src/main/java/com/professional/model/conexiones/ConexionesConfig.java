@@ -0,0 +1,66 @@
+package com.professional.model.conexiones;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Instrumentación de los pools de conexiones.
+ * <p>
+ * Cada {@link HikariDataSource} del contexto usa {@link MedidorConexiones} como fábrica de métricas (antes de que
+ * Spring Boot le asigne la estándar, que entonces no se duplica). Los pools de réplicas copian la configuración
+ * del primario y con ella la fábrica. La detección de fugas es la de Hikari
+ * ({@code spring.datasource.hikari.leak-detection-threshold}): registra la traza de quien tomó la conexión.
+ */
+@Configuration
+public class ConexionesConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final RetencionConexionesInterceptor retencionConexionesInterceptor;
+
+    @Autowired
+    public ConexionesConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.retencionConexionesInterceptor = new RetencionConexionesInterceptor(meterRegistry);
+    }
+
+    @Bean
+    public MedidorConexiones medidorConexiones() {
+        return new MedidorConexiones(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor medidorConexionesPostProcessor(ObjectProvider<MedidorConexiones> medidorConexiones) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+                    dataSource.setMetricsTrackerFactory(medidorConexiones.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(retencionConexionesInterceptor)
+                .excludePathPatterns("/error")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Mide también el hilo que escribe las respuestas asíncronas, como las exportaciones en streaming
+        configurer.registerCallableInterceptors(retencionConexionesInterceptor);
+    }
+}
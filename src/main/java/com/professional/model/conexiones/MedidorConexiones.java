@@ -0,0 +1,115 @@
+package com.professional.model.conexiones;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Métricas de los pools Hikari: las estándar de Micrometer ({@code hikaricp.connections.active}, {@code idle},
+ * {@code pending}, {@code acquire}, {@code usage}, {@code timeout}, etc., con {@code pool} = nombre del pool) y,
+ * además, el tiempo que cada petición HTTP espera y retiene conexiones.
+ * <p>
+ * Hikari informa la espera al entregar la conexión y el uso al devolverla, en el hilo que la pidió o la cerró.
+ * Mientras una petición está abierta ({@link #iniciar()} .. {@link #terminar()}) esos tiempos se acumulan en
+ * una {@link Retencion} del hilo, que {@link RetencionConexionesInterceptor} atribuye al método del controlador
+ * (en las respuestas asíncronas, sumando la del hilo de la petición y la del hilo que completa la respuesta).
+ */
+public class MedidorConexiones implements MetricsTrackerFactory {
+
+    private static final ThreadLocal<Retencion> RETENCION = new ThreadLocal<>();
+
+    private final MicrometerMetricsTrackerFactory micrometer;
+
+    public MedidorConexiones(MeterRegistry meterRegistry) {
+        this.micrometer = new MicrometerMetricsTrackerFactory(meterRegistry);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker estandar = micrometer.create(poolName, poolStats);
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long milisegundos) {
+                estandar.recordConnectionCreatedMillis(milisegundos);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long nanosegundos) {
+                estandar.recordConnectionAcquiredNanos(nanosegundos);
+                Retencion retencion = RETENCION.get();
+                if (retencion != null) {
+                    retencion.esperaNanos += nanosegundos;
+                }
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long milisegundos) {
+                estandar.recordConnectionUsageMillis(milisegundos);
+                Retencion retencion = RETENCION.get();
+                if (retencion != null) {
+                    retencion.usoMilisegundos += milisegundos;
+                    retencion.conexiones++;
+                }
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                estandar.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                estandar.close();
+            }
+        };
+    }
+
+    /**
+     * Empieza a acumular en el hilo actual los tiempos de las conexiones que use.
+     */
+    public static void iniciar() {
+        RETENCION.set(new Retencion());
+    }
+
+    /**
+     * Deja de acumular y devuelve lo acumulado desde {@link #iniciar()}, o null si no se inició.
+     */
+    public static Retencion terminar() {
+        Retencion retencion = RETENCION.get();
+        RETENCION.remove();
+        return retencion;
+    }
+
+    /**
+     * Tiempos acumulados de las conexiones usadas por un hilo.
+     */
+    public static final class Retencion {
+
+        private long esperaNanos;
+        private long usoMilisegundos;
+        private int conexiones;
+
+        public long getEsperaNanos() {
+            return esperaNanos;
+        }
+
+        public long getUsoMilisegundos() {
+            return usoMilisegundos;
+        }
+
+        public int getConexiones() {
+            return conexiones;
+        }
+
+        /**
+         * Suma los tiempos acumulados en otro hilo de la misma petición.
+         */
+        void sumar(Retencion otra) {
+            esperaNanos += otra.esperaNanos;
+            usoMilisegundos += otra.usoMilisegundos;
+            conexiones += otra.conexiones;
+        }
+    }
+}
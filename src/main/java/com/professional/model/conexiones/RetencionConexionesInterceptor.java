@@ -0,0 +1,96 @@
+package com.professional.model.conexiones;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Atribuye a cada método de controlador el tiempo que sus peticiones esperan y retienen conexiones JDBC.
+ * <p>
+ * Métricas, con {@code endpoint} = {@code Controlador.metodo}: {@code conexiones.retencion} (suma del tiempo
+ * entre pedir y devolver cada conexión de la petición) y {@code conexiones.espera} (suma del tiempo esperando
+ * al pool). Debe ejecutarse antes que los demás interceptores para que su {@code afterCompletion} sea el último
+ * y cuente también la conexión que se devuelve al cerrar el EntityManager de la petición.
+ * <p>
+ * Las respuestas asíncronas que corren como {@link Callable} (entre ellas {@code StreamingResponseBody}, como
+ * las exportaciones) se miden también en el hilo del executor: por eso se registra además como
+ * {@link CallableProcessingInterceptor}. Lo acumulado en el hilo de la petición se guarda como atributo de la
+ * petición, se le suma lo del hilo asíncrono y se registra una sola vez, en el despacho ASYNC que cierra la
+ * respuesta.
+ */
+public class RetencionConexionesInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final String RETENCION_PENDIENTE = RetencionConexionesInterceptor.class.getName() + ".RETENCION";
+
+    private final MeterRegistry meterRegistry;
+
+    public RetencionConexionesInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // El despacho ASYNC solo entrega el resultado: la medición sigue en la retención pendiente
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            MedidorConexiones.iniciar();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        MedidorConexiones.Retencion retencion = MedidorConexiones.terminar();
+        if (retencion != null) {
+            request.setAttribute(RETENCION_PENDIENTE, retencion);
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(RETENCION_PENDIENTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            MedidorConexiones.iniciar();
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        MedidorConexiones.Retencion asincrona = MedidorConexiones.terminar();
+        Object pendiente = request.getAttribute(RETENCION_PENDIENTE, RequestAttributes.SCOPE_REQUEST);
+        if (asincrona != null && pendiente instanceof MedidorConexiones.Retencion retencion) {
+            retencion.sumar(asincrona);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        MedidorConexiones.Retencion retencion;
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            retencion = (MedidorConexiones.Retencion) request.getAttribute(RETENCION_PENDIENTE);
+            request.removeAttribute(RETENCION_PENDIENTE);
+        } else {
+            retencion = MedidorConexiones.terminar();
+        }
+        registrar(retencion, handler);
+    }
+
+    private void registrar(MedidorConexiones.Retencion retencion, Object handler) {
+        if (retencion == null || !(handler instanceof HandlerMethod metodo)) {
+            return;
+        }
+        String endpoint = metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        Timer.builder("conexiones.retencion").tag("endpoint", endpoint).register(meterRegistry)
+                .record(retencion.getUsoMilisegundos(), TimeUnit.MILLISECONDS);
+        Timer.builder("conexiones.espera").tag("endpoint", endpoint).register(meterRegistry)
+                .record(retencion.getEsperaNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,5 +1,6 @@
 package com.professional.model.configurations;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,9 +9,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordConfig {
 
+    /**
+     * Al subir el costo, los hashes existentes se regeneran con el nuevo costo la próxima vez que
+     * el usuario inicia sesión (ver {@code ProcesadorPasswords#requiereRehash}).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${seguridad.bcrypt.costo:10}") int costo) {
+        return new BCryptPasswordEncoder(costo);
     }
 }
-
@@ -0,0 +1,12 @@
+package com.professional.model.configurations;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (despacho de correos, rotación de claves JWT y purga de tokens).
+ */
+@Configuration
+@EnableScheduling
+public class ProgramacionConfig {
+}
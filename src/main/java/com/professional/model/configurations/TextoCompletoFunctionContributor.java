@@ -0,0 +1,29 @@
+package com.professional.model.configurations;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra en Hibernate la función {@code texto_completo(columna, consulta)}, que se traduce a
+ * {@code match(columna) against(consulta in boolean mode)} de MySQL.
+ * <p>
+ * Permite usar el índice FULLTEXT desde JPQL y desde la API Criteria: el valor devuelto es la
+ * relevancia del registro (0 cuando no coincide), por lo que sirve tanto para filtrar como para ordenar.
+ * Se registra mediante {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class TextoCompletoFunctionContributor implements FunctionContributor {
+
+    public static final String FUNCION_TEXTO_COMPLETO = "texto_completo";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder(FUNCION_TEXTO_COMPLETO, "match(?1) against(?2 in boolean mode)")
+                .setExactArgumentCount(2)
+                .setInvariantType(functionContributions.getTypeConfiguration()
+                        .getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE))
+                .register();
+    }
+}
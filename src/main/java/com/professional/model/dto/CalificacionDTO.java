@@ -0,0 +1,66 @@
+package com.professional.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.professional.model.entities.CalificacionEmpresas;
+import com.professional.model.entities.CalificacionIndependientes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista de lectura de una calificación, de empresa o de independiente.
+ * Cliente y trabajo se exponen solo por ID, que sale del proxy sin consultar la base de datos.
+ */
+public class CalificacionDTO {
+
+    private final Long id;
+    private final Long clienteId;
+    private final Long trabajoId;
+    private final Integer rating;
+
+    @JsonFormat(pattern = "dd-MM-yyyy HH:mm:ss")
+    private final LocalDateTime fechaCalificacion;
+
+    private final String comentarios;
+
+    public CalificacionDTO(CalificacionEmpresas calificacion) {
+        this.id = calificacion.getId();
+        this.clienteId = calificacion.getCliente() != null ? calificacion.getCliente().getId() : null;
+        this.trabajoId = calificacion.getTrabajo() != null ? calificacion.getTrabajo().getId() : null;
+        this.rating = calificacion.getRating();
+        this.fechaCalificacion = calificacion.getFechaCalificacion();
+        this.comentarios = calificacion.getComentarios();
+    }
+
+    public CalificacionDTO(CalificacionIndependientes calificacion) {
+        this.id = calificacion.getId();
+        this.clienteId = calificacion.getCliente() != null ? calificacion.getCliente().getId() : null;
+        this.trabajoId = calificacion.getTrabajo() != null ? calificacion.getTrabajo().getId() : null;
+        this.rating = calificacion.getRating();
+        this.fechaCalificacion = calificacion.getFechaCalificacion();
+        this.comentarios = calificacion.getComentarios();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public Long getTrabajoId() {
+        return trabajoId;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public LocalDateTime getFechaCalificacion() {
+        return fechaCalificacion;
+    }
+
+    public String getComentarios() {
+        return comentarios;
+    }
+}
@@ -0,0 +1,85 @@
+package com.professional.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.professional.model.entities.Cliente;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista de lectura de un Cliente. Se arma dentro de la transacción del servicio; no expone la contraseña.
+ */
+public class ClienteDTO {
+
+    private final Long id;
+    private final String nombres;
+    private final String apellidos;
+    private final String celular;
+    private final String correo;
+    private final String direccion;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private final LocalDateTime fechaApertura;
+
+    private final Boolean activo;
+    private final String tipoUsuario;
+    private final String pais;
+    private final String ciudad;
+
+    public ClienteDTO(Cliente cliente) {
+        this.id = cliente.getId();
+        this.nombres = cliente.getNombres();
+        this.apellidos = cliente.getApellidos();
+        this.celular = cliente.getCelular();
+        this.correo = cliente.getCorreo();
+        this.direccion = cliente.getDireccion();
+        this.fechaApertura = cliente.getFechaApertura();
+        this.activo = cliente.getActivo();
+        this.tipoUsuario = cliente.getTipoUsuario();
+        this.pais = cliente.getPais();
+        this.ciudad = cliente.getCiudad();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombres() {
+        return nombres;
+    }
+
+    public String getApellidos() {
+        return apellidos;
+    }
+
+    public String getCelular() {
+        return celular;
+    }
+
+    public String getCorreo() {
+        return correo;
+    }
+
+    public String getDireccion() {
+        return direccion;
+    }
+
+    public LocalDateTime getFechaApertura() {
+        return fechaApertura;
+    }
+
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public String getTipoUsuario() {
+        return tipoUsuario;
+    }
+
+    public String getPais() {
+        return pais;
+    }
+
+    public String getCiudad() {
+        return ciudad;
+    }
+}
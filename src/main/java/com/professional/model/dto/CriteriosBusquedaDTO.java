@@ -0,0 +1,98 @@
+package com.professional.model.dto;
+
+import com.professional.model.enums.OrdenBusqueda;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Criterios de una búsqueda de trabajos en el marketplace.
+ * Todos los campos son opcionales: los que llegan vacíos no filtran.
+ */
+public class CriteriosBusquedaDTO {
+
+    private String pais;
+
+    private String ciudad;
+
+    // Texto libre que se busca en el índice FULLTEXT de la descripción corta
+    private String descripcion;
+
+    private Double calificacionMinima;
+
+    private OrdenBusqueda orden = OrdenBusqueda.RELEVANCIA;
+
+    private Sort.Direction direccion = Sort.Direction.ASC;
+
+    public CriteriosBusquedaDTO() {
+    }
+
+    public CriteriosBusquedaDTO(String pais, String ciudad, String descripcion, Double calificacionMinima, OrdenBusqueda orden, Sort.Direction direccion) {
+        this.pais = pais;
+        this.ciudad = ciudad;
+        this.descripcion = descripcion;
+        this.calificacionMinima = calificacionMinima;
+        setOrden(orden);
+        setDireccion(direccion);
+    }
+
+    // Getters y Setters
+
+    public String getPais() {
+        return pais;
+    }
+
+    public void setPais(String pais) {
+        this.pais = pais;
+    }
+
+    public String getCiudad() {
+        return ciudad;
+    }
+
+    public void setCiudad(String ciudad) {
+        this.ciudad = ciudad;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public Double getCalificacionMinima() {
+        return calificacionMinima;
+    }
+
+    public void setCalificacionMinima(Double calificacionMinima) {
+        this.calificacionMinima = calificacionMinima;
+    }
+
+    public OrdenBusqueda getOrden() {
+        return orden;
+    }
+
+    public void setOrden(OrdenBusqueda orden) {
+        this.orden = orden != null ? orden : OrdenBusqueda.RELEVANCIA;
+    }
+
+    public Sort.Direction getDireccion() {
+        return direccion;
+    }
+
+    public void setDireccion(Sort.Direction direccion) {
+        this.direccion = direccion != null ? direccion : Sort.Direction.ASC;
+    }
+
+    @Override
+    public String toString() {
+        return "CriteriosBusquedaDTO{" +
+                "pais='" + pais + '\'' +
+                ", ciudad='" + ciudad + '\'' +
+                ", descripcion='" + descripcion + '\'' +
+                ", calificacionMinima=" + calificacionMinima +
+                ", orden=" + orden +
+                ", direccion=" + direccion +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.professional.model.dto;
+
+import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.entities.TrabajoIndependiente;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista de lectura de un trabajo, de empresa o independiente, sin sus asociaciones.
+ */
+public class DetalleTrabajoDTO {
+
+    private final Long id;
+    private final String descripcionCorta;
+    private final String descripcion;
+    private final Double averageRating;
+    private final Long ratingCount;
+    private final Long ratingSum;
+    private final Boolean activo;
+    private final Double precio;
+    private final Long ventas;
+    private final LocalDateTime fechaCreacion;
+
+    public DetalleTrabajoDTO(TrabajoEmpresa trabajo) {
+        this.id = trabajo.getId();
+        this.descripcionCorta = trabajo.getDescripcionCorta();
+        this.descripcion = trabajo.getDescripcion();
+        this.averageRating = trabajo.getAverageRating();
+        this.ratingCount = trabajo.getRatingCount();
+        this.ratingSum = trabajo.getRatingSum();
+        this.activo = trabajo.getActivo();
+        this.precio = trabajo.getPrecio();
+        this.ventas = trabajo.getVentas();
+        this.fechaCreacion = trabajo.getFechaCreacion();
+    }
+
+    public DetalleTrabajoDTO(TrabajoIndependiente trabajo) {
+        this.id = trabajo.getId();
+        this.descripcionCorta = trabajo.getDescripcionCorta();
+        this.descripcion = trabajo.getDescripcion();
+        this.averageRating = trabajo.getAverageRating();
+        this.ratingCount = trabajo.getRatingCount();
+        this.ratingSum = trabajo.getRatingSum();
+        this.activo = trabajo.getActivo();
+        this.precio = trabajo.getPrecio();
+        this.ventas = trabajo.getVentas();
+        this.fechaCreacion = trabajo.getFechaCreacion();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDescripcionCorta() {
+        return descripcionCorta;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public Long getRatingCount() {
+        return ratingCount;
+    }
+
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public Double getPrecio() {
+        return precio;
+    }
+
+    public Long getVentas() {
+        return ventas;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+}
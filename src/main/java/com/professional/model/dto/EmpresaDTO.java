@@ -0,0 +1,50 @@
+package com.professional.model.dto;
+
+import com.professional.model.entities.Empresa;
+
+/**
+ * Vista de lectura de una Empresa.
+ */
+public class EmpresaDTO extends ProfesionalDTO {
+
+    private final Long id;
+    private final String nombreEmpresa;
+    private final String registroDeEmpresa;
+    private final String licenciaComercial;
+    private final String fotoTitulo;
+    private final String areaTrabajo;
+
+    public EmpresaDTO(Empresa empresa) {
+        super(empresa);
+        this.id = empresa.getId();
+        this.nombreEmpresa = empresa.getNombreEmpresa();
+        this.registroDeEmpresa = empresa.getRegistroDeEmpresa();
+        this.licenciaComercial = empresa.getLicenciaComercial();
+        this.fotoTitulo = empresa.getFotoTitulo();
+        this.areaTrabajo = empresa.getAreaTrabajo();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombreEmpresa() {
+        return nombreEmpresa;
+    }
+
+    public String getRegistroDeEmpresa() {
+        return registroDeEmpresa;
+    }
+
+    public String getLicenciaComercial() {
+        return licenciaComercial;
+    }
+
+    public String getFotoTitulo() {
+        return fotoTitulo;
+    }
+
+    public String getAreaTrabajo() {
+        return areaTrabajo;
+    }
+}
@@ -1,5 +1,6 @@
 package com.professional.model.dto;
 
+import com.professional.model.enums.VarianteImagen;
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import jakarta.validation.constraints.NotBlank;
@@ -46,7 +47,8 @@ public class FiltrosConsultasEmpresasDTO {
         this.idEmpresa = idEmpresa;
         this.idTrabajoEmp = idTrabajoEmp;
         this.nombreEmpresa = nombreEmpresa;
-        this.fotoRepresentante = fotoRepresentante;
+        // Los resultados de búsqueda muestran la foto como avatar: se usa la miniatura en lugar del original
+        this.fotoRepresentante = VarianteImagen.MINIATURA.url(fotoRepresentante);
         this.tipoUsuario = tipoUsuario;
         this.areaTrabajo = areaTrabajo;
         this.descripcion = descripcion;
@@ -1,5 +1,6 @@
 package com.professional.model.dto;
 
+import com.professional.model.enums.VarianteImagen;
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import jakarta.validation.constraints.NotBlank;
@@ -57,7 +58,8 @@ public class FiltrosConsultasIndependientesDTO {
         this.idTrabajoInd = idTrabajoInd;
         this.nombres = nombres;
         this.apellidos = apellidos;
-        this.fotoRepresentante = fotoRepresentante;
+        // Los resultados de búsqueda muestran la foto como avatar: se usa la miniatura en lugar del original
+        this.fotoRepresentante = VarianteImagen.MINIATURA.url(fotoRepresentante);
         this.tipoUsuario = tipoUsuario;
         this.profesion = profesion;
         this.areaTrabajo = areaTrabajo;
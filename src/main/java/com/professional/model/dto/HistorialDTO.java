@@ -1,6 +1,8 @@
 package com.professional.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.professional.model.entities.HistorialEmpresas;
+import com.professional.model.entities.HistorialIndependientes;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
@@ -20,6 +22,29 @@ public class HistorialDTO {
 
     private String comentarios;
 
+    private Boolean activo;
+
+    public HistorialDTO() {
+    }
+
+    public HistorialDTO(HistorialEmpresas historial) {
+        this.id = historial.getId();
+        this.clienteId = historial.getCliente() != null ? historial.getCliente().getId() : null;
+        this.trabajoId = historial.getTrabajo() != null ? historial.getTrabajo().getId() : null;
+        this.fechaSolicitud = historial.getFechaSolicitud();
+        this.comentarios = historial.getComentarios();
+        this.activo = historial.getActivo();
+    }
+
+    public HistorialDTO(HistorialIndependientes historial) {
+        this.id = historial.getId();
+        this.clienteId = historial.getCliente() != null ? historial.getCliente().getId() : null;
+        this.trabajoId = historial.getTrabajo() != null ? historial.getTrabajo().getId() : null;
+        this.fechaSolicitud = historial.getFechaSolicitud();
+        this.comentarios = historial.getComentarios();
+        this.activo = historial.getActivo();
+    }
+
     // Getters y Setters
 
     public Long getId() {
@@ -61,5 +86,12 @@ public class HistorialDTO {
     public void setComentarios(String comentarios) {
         this.comentarios = comentarios;
     }
-}
 
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public void setActivo(Boolean activo) {
+        this.activo = activo;
+    }
+}
@@ -0,0 +1,69 @@
+package com.professional.model.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Fila de la importación masiva de calificaciones. {@code trabajoEnAccionId} solo se usa (y es obligatorio)
+ * en las calificaciones de independientes.
+ */
+public class ImportacionCalificacionDTO {
+
+    @NotNull(message = "El cliente es obligatorio")
+    private Long clienteId;
+
+    @NotNull(message = "El trabajo es obligatorio")
+    private Long trabajoId;
+
+    private Long trabajoEnAccionId;
+
+    @NotNull(message = "La calificación es obligatoria")
+    @Min(value = 1, message = "La calificación mínima es 1 estrella")
+    @Max(value = 5, message = "La calificación máxima es 5 estrellas")
+    private Integer rating;
+
+    private String comentarios;
+
+    // Getters y Setters
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Long getTrabajoId() {
+        return trabajoId;
+    }
+
+    public void setTrabajoId(Long trabajoId) {
+        this.trabajoId = trabajoId;
+    }
+
+    public Long getTrabajoEnAccionId() {
+        return trabajoEnAccionId;
+    }
+
+    public void setTrabajoEnAccionId(Long trabajoEnAccionId) {
+        this.trabajoEnAccionId = trabajoEnAccionId;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getComentarios() {
+        return comentarios;
+    }
+
+    public void setComentarios(String comentarios) {
+        this.comentarios = comentarios;
+    }
+}
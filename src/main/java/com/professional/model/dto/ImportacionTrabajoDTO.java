@@ -0,0 +1,58 @@
+package com.professional.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Fila de la importación masiva de trabajos. {@code propietarioId} es el independiente o la empresa dueña,
+ * según el endpoint.
+ */
+public class ImportacionTrabajoDTO {
+
+    @NotNull(message = "El propietario es obligatorio")
+    private Long propietarioId;
+
+    @NotBlank(message = "La descripción corta es obligatoria")
+    private String descripcionCorta;
+
+    @NotBlank(message = "La descripción del trabajo es obligatoria")
+    private String descripcion;
+
+    @PositiveOrZero(message = "El precio no puede ser negativo")
+    private Double precio;
+
+    // Getters y Setters
+
+    public Long getPropietarioId() {
+        return propietarioId;
+    }
+
+    public void setPropietarioId(Long propietarioId) {
+        this.propietarioId = propietarioId;
+    }
+
+    public String getDescripcionCorta() {
+        return descripcionCorta;
+    }
+
+    public void setDescripcionCorta(String descripcionCorta) {
+        this.descripcionCorta = descripcionCorta;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public Double getPrecio() {
+        return precio;
+    }
+
+    public void setPrecio(Double precio) {
+        this.precio = precio;
+    }
+}
@@ -0,0 +1,38 @@
+package com.professional.model.dto;
+
+import com.professional.model.entities.Independiente;
+
+/**
+ * Vista de lectura de un Independiente.
+ */
+public class IndependienteDTO extends ProfesionalDTO {
+
+    private final Long id;
+    private final String profesion;
+    private final String fotoTitulo;
+    private final String areaTrabajo;
+
+    public IndependienteDTO(Independiente independiente) {
+        super(independiente);
+        this.id = independiente.getId();
+        this.profesion = independiente.getProfesion();
+        this.fotoTitulo = independiente.getFotoTitulo();
+        this.areaTrabajo = independiente.getAreaTrabajo();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getProfesion() {
+        return profesion;
+    }
+
+    public String getFotoTitulo() {
+        return fotoTitulo;
+    }
+
+    public String getAreaTrabajo() {
+        return areaTrabajo;
+    }
+}
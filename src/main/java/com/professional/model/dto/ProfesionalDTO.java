@@ -0,0 +1,131 @@
+package com.professional.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.professional.model.entities.Profesional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos comunes de las vistas de lectura de Empresa e Independiente. No expone la contraseña.
+ */
+public abstract class ProfesionalDTO {
+
+    private final String nombres;
+    private final String apellidos;
+    private final String fotoRepresentante;
+    private final String celular;
+    private final String correo;
+    private final String cartaPresentacion;
+    private final String mision;
+    private final String vision;
+    private final String pais;
+    private final String ciudad;
+    private final String direccion;
+    private final String dniAnverso;
+    private final String dniReverso;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private final LocalDateTime fechaApertura;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private final LocalDateTime fechaPagoInicio;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private final LocalDateTime fechaPagoFin;
+
+    private final Boolean activo;
+    private final String tipoUsuario;
+
+    protected ProfesionalDTO(Profesional profesional) {
+        this.nombres = profesional.getNombres();
+        this.apellidos = profesional.getApellidos();
+        this.fotoRepresentante = profesional.getFotoRepresentante();
+        this.celular = profesional.getCelular();
+        this.correo = profesional.getCorreo();
+        this.cartaPresentacion = profesional.getCartaPresentacion();
+        this.mision = profesional.getMision();
+        this.vision = profesional.getVision();
+        this.pais = profesional.getPais();
+        this.ciudad = profesional.getCiudad();
+        this.direccion = profesional.getDireccion();
+        this.dniAnverso = profesional.getDniAnverso();
+        this.dniReverso = profesional.getDniReverso();
+        this.fechaApertura = profesional.getFechaApertura();
+        this.fechaPagoInicio = profesional.getFechaPagoInicio();
+        this.fechaPagoFin = profesional.getFechaPagoFin();
+        this.activo = profesional.getActivo();
+        this.tipoUsuario = profesional.getTipoUsuario();
+    }
+
+    public String getNombres() {
+        return nombres;
+    }
+
+    public String getApellidos() {
+        return apellidos;
+    }
+
+    public String getFotoRepresentante() {
+        return fotoRepresentante;
+    }
+
+    public String getCelular() {
+        return celular;
+    }
+
+    public String getCorreo() {
+        return correo;
+    }
+
+    public String getCartaPresentacion() {
+        return cartaPresentacion;
+    }
+
+    public String getMision() {
+        return mision;
+    }
+
+    public String getVision() {
+        return vision;
+    }
+
+    public String getPais() {
+        return pais;
+    }
+
+    public String getCiudad() {
+        return ciudad;
+    }
+
+    public String getDireccion() {
+        return direccion;
+    }
+
+    public String getDniAnverso() {
+        return dniAnverso;
+    }
+
+    public String getDniReverso() {
+        return dniReverso;
+    }
+
+    public LocalDateTime getFechaApertura() {
+        return fechaApertura;
+    }
+
+    public LocalDateTime getFechaPagoInicio() {
+        return fechaPagoInicio;
+    }
+
+    public LocalDateTime getFechaPagoFin() {
+        return fechaPagoFin;
+    }
+
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public String getTipoUsuario() {
+        return tipoUsuario;
+    }
+}
@@ -0,0 +1,27 @@
+package com.professional.model.dto;
+
+/**
+ * Resultado de una importación masiva: filas insertadas y rendimiento.
+ */
+public class ResultadoImportacionDTO {
+
+    private final long filas;
+    private final long milisegundos;
+
+    public ResultadoImportacionDTO(long filas, long milisegundos) {
+        this.filas = filas;
+        this.milisegundos = milisegundos;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public long getMilisegundos() {
+        return milisegundos;
+    }
+
+    public long getFilasPorSegundo() {
+        return milisegundos > 0 ? filas * 1000 / milisegundos : filas;
+    }
+}
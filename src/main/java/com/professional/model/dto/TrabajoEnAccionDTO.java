@@ -1,6 +1,8 @@
 package com.professional.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.professional.model.entities.TrabajoEmpEnAccion;
+import com.professional.model.entities.TrabajoIndEnAccion;
 import com.professional.model.enums.EstadoTrabajo;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
@@ -19,6 +21,23 @@ public class TrabajoEnAccionDTO {
 
     private HistorialDTO historial;
 
+    public TrabajoEnAccionDTO() {
+    }
+
+    public TrabajoEnAccionDTO(TrabajoIndEnAccion trabajoEnAccion) {
+        this.id = trabajoEnAccion.getId();
+        this.estadoTrabajo = trabajoEnAccion.getEstadoTrabajo();
+        this.fechaCambio = trabajoEnAccion.getFechaCambio();
+        this.activo = trabajoEnAccion.getActivo();
+    }
+
+    public TrabajoEnAccionDTO(TrabajoEmpEnAccion trabajoEnAccion) {
+        this.id = trabajoEnAccion.getId();
+        this.estadoTrabajo = trabajoEnAccion.getEstadoTrabajo();
+        this.fechaCambio = trabajoEnAccion.getFechaCambio();
+        this.activo = trabajoEnAccion.getActivo();
+    }
+
     // Getters y Setters
     public Long getId() {
         return id;
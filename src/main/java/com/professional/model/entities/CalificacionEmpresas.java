@@ -14,11 +14,14 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "calificaciones", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"cliente_id", "trabajo_id"})
+}, indexes = {
+        @Index(name = "idx_calificaciones_trabajo_rating", columnList = "trabajo_id, rating")
 })
 public class CalificacionEmpresas implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calificaciones_seq")
+    @SequenceGenerator(name = "calificaciones_seq", sequenceName = "calificaciones_seq", allocationSize = 50)
     private Long id;
 
     // Relación Muchos a Uno con Cliente
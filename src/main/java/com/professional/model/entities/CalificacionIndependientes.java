@@ -12,6 +12,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "calificacion_independientes", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"cliente_id", "trabajo_ind_en_accion_id"})
+}, indexes = {
+        @Index(name = "idx_calificacion_independientes_en_accion_rating", columnList = "trabajo_ind_en_accion_id, rating"),
+        @Index(name = "idx_calificacion_independientes_trabajo", columnList = "trabajo_id")
 })
 /*
 a. Repositorio CalificacionIndependientesRepository
@@ -20,7 +23,8 @@ Cambios Realizados: Actualizar métodos para trabajar con TrabajoIndEnAccion.
 public class CalificacionIndependientes implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calificacion_independientes_seq")
+    @SequenceGenerator(name = "calificacion_independientes_seq", sequenceName = "calificacion_independientes_seq", allocationSize = 50)
     private Long id;
 
     // Relación Muchos a Uno con Cliente
@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "clientes")
+@Table(name = "clientes", indexes = {
+        @Index(name = "idx_clientes_correo_activo", columnList = "correo, activo"),
+        @Index(name = "idx_clientes_activo_id", columnList = "activo, id")
+})
 public class Cliente implements Serializable {
 
     @Id
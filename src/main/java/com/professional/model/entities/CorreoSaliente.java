@@ -0,0 +1,174 @@
+package com.professional.model.entities;
+
+import com.professional.model.enums.EstadoCorreo;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Correo pendiente de envío (bandeja de salida).
+ * <p>
+ * Se guarda en la misma transacción que la operación que lo origina y lo envía después
+ * {@link com.professional.model.services.DespachadorCorreos}, fuera de cualquier transacción.
+ */
+@Entity
+@Table(name = "correos_salientes", indexes = {
+        @Index(name = "idx_correos_salientes_estado_proximo", columnList = "estado, proximo_intento"),
+        @Index(name = "idx_correos_salientes_lote", columnList = "lote")
+})
+public class CorreoSaliente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String destinatario;
+
+    @Column(nullable = false)
+    private String asunto;
+
+    @Column(length = 4000, nullable = false)
+    private String cuerpo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoCorreo estado;
+
+    @Column(nullable = false)
+    private Integer intentos;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    // Mientras el correo está EN_PROCESO, otro despachador solo puede tomarlo cuando vence este plazo
+    @Column(name = "bloqueado_hasta")
+    private LocalDateTime bloqueadoHasta;
+
+    // Identifica la tanda del despachador que reclamó el correo
+    @Column(length = 36)
+    private String lote;
+
+    @Column(name = "ultimo_error", length = 1000)
+    private String ultimoError;
+
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_envio")
+    private LocalDateTime fechaEnvio;
+
+    // Constructor por defecto
+    public CorreoSaliente() {
+    }
+
+    public CorreoSaliente(String destinatario, String asunto, String cuerpo) {
+        this.destinatario = destinatario;
+        this.asunto = asunto;
+        this.cuerpo = cuerpo;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.fechaCreacion = LocalDateTime.now();
+        if (this.estado == null) {
+            this.estado = EstadoCorreo.PENDIENTE;
+        }
+        if (this.intentos == null) {
+            this.intentos = 0;
+        }
+        if (this.proximoIntento == null) {
+            this.proximoIntento = this.fechaCreacion;
+        }
+    }
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public void setDestinatario(String destinatario) {
+        this.destinatario = destinatario;
+    }
+
+    public String getAsunto() {
+        return asunto;
+    }
+
+    public void setAsunto(String asunto) {
+        this.asunto = asunto;
+    }
+
+    public String getCuerpo() {
+        return cuerpo;
+    }
+
+    public void setCuerpo(String cuerpo) {
+        this.cuerpo = cuerpo;
+    }
+
+    public EstadoCorreo getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoCorreo estado) {
+        this.estado = estado;
+    }
+
+    public Integer getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(Integer intentos) {
+        this.intentos = intentos;
+    }
+
+    public LocalDateTime getProximoIntento() {
+        return proximoIntento;
+    }
+
+    public void setProximoIntento(LocalDateTime proximoIntento) {
+        this.proximoIntento = proximoIntento;
+    }
+
+    public LocalDateTime getBloqueadoHasta() {
+        return bloqueadoHasta;
+    }
+
+    public void setBloqueadoHasta(LocalDateTime bloqueadoHasta) {
+        this.bloqueadoHasta = bloqueadoHasta;
+    }
+
+    public String getLote() {
+        return lote;
+    }
+
+    public void setLote(String lote) {
+        this.lote = lote;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public LocalDateTime getFechaEnvio() {
+        return fechaEnvio;
+    }
+
+    public void setFechaEnvio(LocalDateTime fechaEnvio) {
+        this.fechaEnvio = fechaEnvio;
+    }
+}
@@ -0,0 +1,96 @@
+package com.professional.model.entities;
+
+import com.professional.model.enums.TipoCuenta;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Índice de cuentas: resuelve un correo al tipo e ID del usuario con una sola búsqueda
+ * y garantiza que un correo pertenezca a un único usuario en las tres tablas.
+ */
+@Entity
+@Table(name = "cuentas", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cuentas_correo", columnNames = "correo"),
+        @UniqueConstraint(name = "uk_cuentas_tipo_usuario", columnNames = {"tipo", "usuario_id"})
+})
+public class Cuenta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String correo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoCuenta tipo;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private Boolean activo;
+
+    // Nula mientras el correo no se haya confirmado; una cuenta desactivada después conserva la fecha
+    @Column(name = "fecha_confirmacion")
+    private LocalDateTime fechaConfirmacion;
+
+    // Constructor por defecto
+    public Cuenta() {
+    }
+
+    public Cuenta(String correo, TipoCuenta tipo, Long usuarioId, Boolean activo) {
+        this.correo = correo;
+        this.tipo = tipo;
+        this.usuarioId = usuarioId;
+        this.activo = activo;
+    }
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCorreo() {
+        return correo;
+    }
+
+    public void setCorreo(String correo) {
+        this.correo = correo;
+    }
+
+    public TipoCuenta getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoCuenta tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public void setActivo(Boolean activo) {
+        this.activo = activo;
+    }
+
+    public LocalDateTime getFechaConfirmacion() {
+        return fechaConfirmacion;
+    }
+
+    public void setFechaConfirmacion(LocalDateTime fechaConfirmacion) {
+        this.fechaConfirmacion = fechaConfirmacion;
+    }
+}
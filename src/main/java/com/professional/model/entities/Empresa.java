@@ -10,7 +10,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "empresas")
+@Table(name = "empresas", indexes = {
+        @Index(name = "idx_empresas_correo_activo", columnList = "correo, activo"),
+        @Index(name = "idx_empresas_activo_id", columnList = "activo, id"),
+        @Index(name = "idx_empresas_dni_anverso", columnList = "dni_anverso"),
+        @Index(name = "idx_empresas_dni_reverso", columnList = "dni_reverso"),
+        @Index(name = "idx_empresas_licencia_comercial", columnList = "licencia_comercial")
+})
 public class Empresa extends Profesional implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -10,11 +10,16 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "historial_empresas")
+@Table(name = "historial_empresas", indexes = {
+        @Index(name = "idx_historial_empresas_cliente_trabajo_activo", columnList = "cliente_id, trabajo_id, activo"),
+        @Index(name = "idx_historial_empresas_trabajo", columnList = "trabajo_id"),
+        @Index(name = "idx_historial_empresas_activo_id", columnList = "activo, id")
+})
 public class HistorialEmpresas implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historial_empresas_seq")
+    @SequenceGenerator(name = "historial_empresas_seq", sequenceName = "historial_empresas_seq", allocationSize = 50)
     private Long id;
 
     // Relación Muchos a Uno con Cliente
@@ -11,12 +11,17 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "historial_solicitudes")
+@Table(name = "historial_solicitudes", indexes = {
+        @Index(name = "idx_historial_solicitudes_cliente_trabajo_activo", columnList = "cliente_id, trabajo_id, activo"),
+        @Index(name = "idx_historial_solicitudes_trabajo_activo", columnList = "trabajo_id, activo"),
+        @Index(name = "idx_historial_solicitudes_activo_id", columnList = "activo, id")
+})
 public class HistorialIndependientes implements Serializable {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historial_solicitudes_seq")
+    @SequenceGenerator(name = "historial_solicitudes_seq", sequenceName = "historial_solicitudes_seq", allocationSize = 50)
     private Long id;
 
     // Relación Muchos a Uno con Cliente
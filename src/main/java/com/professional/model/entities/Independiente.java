@@ -10,7 +10,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "independientes")
+@Table(name = "independientes", indexes = {
+        @Index(name = "idx_independientes_correo_activo", columnList = "correo, activo"),
+        @Index(name = "idx_independientes_activo_id", columnList = "activo, id"),
+        @Index(name = "idx_independientes_dni_anverso", columnList = "dni_anverso"),
+        @Index(name = "idx_independientes_dni_reverso", columnList = "dni_reverso")
+})
 public class Independiente extends Profesional implements Serializable {
 
     @Id
@@ -11,7 +11,12 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trabajos_emp_en_accion")
+@Table(name = "trabajos_emp_en_accion", indexes = {
+        @Index(name = "idx_trabajos_emp_en_accion_trabajo_activo", columnList = "trabajo_empresa_id, activo"),
+        @Index(name = "idx_trabajos_emp_en_accion_cliente", columnList = "cliente_id"),
+        @Index(name = "idx_trabajos_emp_en_accion_estado", columnList = "estado_trabajo"),
+        @Index(name = "idx_trabajos_emp_en_accion_activo_id", columnList = "activo, id")
+})
 public class TrabajoEmpEnAccion implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import org.hibernate.annotations.Formula;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -13,10 +12,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "trabajos_empresa")
+@Table(name = "trabajos_empresa", indexes = {
+        @Index(name = "idx_trabajos_empresa_empresa_activo", columnList = "empresa_id, activo"),
+        @Index(name = "idx_trabajos_empresa_cliente", columnList = "cliente_id"),
+        @Index(name = "idx_trabajos_empresa_activo_id", columnList = "activo, id"),
+        @Index(name = "idx_trabajos_empresa_activo_fecha", columnList = "activo, fecha_creacion"),
+        @Index(name = "idx_trabajos_empresa_activo_rating", columnList = "activo, average_rating"),
+        @Index(name = "idx_trabajos_empresa_activo_precio", columnList = "activo, precio")
+})
 public class TrabajoEmpresa implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trabajos_empresa_seq")
+    @SequenceGenerator(name = "trabajos_empresa_seq", sequenceName = "trabajos_empresa_seq", allocationSize = 50)
     private Long id;
 
 
@@ -27,9 +34,18 @@ public class TrabajoEmpresa implements Serializable {
     private String descripcion;
 
     // almacena el promedio de las calificaciones recibidas para este trabajo
-    @Column(name = "average_rating")
+    // Se mantiene junto con ratingCount/ratingSum mediante UPDATE atómicos (ver aplicarDeltaCalificacion),
+    // por eso no se escribe al guardar la entidad completa
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating;
 
+    // Cantidad y suma de las calificaciones recibidas
+    @Column(name = "rating_count", updatable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", updatable = false)
+    private Long ratingSum;
+
     // Nuevo campo para manejo lógico de eliminación
     @Column(name = "activo")
     private Boolean activo;
@@ -37,8 +53,8 @@ public class TrabajoEmpresa implements Serializable {
     @Column(name = "precio")
     private Double precio;
 
-    @Formula("(select count(*) from trabajos_emp_en_accion tia where tia.trabajo_empresa_id = id)")
-    @Column(name = "ventas")
+    // Trabajos finalizados; solo se incrementa con incrementarVentas, nunca al guardar la entidad completa
+    @Column(name = "ventas", updatable = false)
     private Long ventas;
     @Column(name = "fecha_creacion", updatable = false)
     private LocalDateTime fechaCreacion;
@@ -80,6 +96,8 @@ public class TrabajoEmpresa implements Serializable {
     public void establecerAverage(){
 
         this.averageRating = 5.0;
+        this.ratingCount = 0L;
+        this.ratingSum = 0L;
         this.activo=true;
         this.ventas=0L;
         this.fechaCreacion = LocalDateTime.now();
@@ -107,6 +125,22 @@ public class TrabajoEmpresa implements Serializable {
         this.averageRating = averageRating;
     }
 
+    public Long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(Long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
     public Empresa getEmpresa() {
         return empresa;
     }
@@ -10,7 +10,12 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trabajos_ind_en_accion")
+@Table(name = "trabajos_ind_en_accion", indexes = {
+        @Index(name = "idx_trabajos_ind_en_accion_trabajo_activo", columnList = "trabajo_independiente_id, activo"),
+        @Index(name = "idx_trabajos_ind_en_accion_cliente_activo", columnList = "cliente_id, activo"),
+        @Index(name = "idx_trabajos_ind_en_accion_estado", columnList = "estado_trabajo"),
+        @Index(name = "idx_trabajos_ind_en_accion_activo_id", columnList = "activo, id")
+})
 public class TrabajoIndEnAccion implements Serializable {
 
     @Id
@@ -3,7 +3,6 @@ package com.professional.model.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import org.hibernate.annotations.Formula;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -13,11 +12,18 @@ import java.util.List;
 
 
 @Entity
-@Table(name = "trabajos_independiente")
+@Table(name = "trabajos_independiente", indexes = {
+        @Index(name = "idx_trabajos_independiente_independiente_activo", columnList = "independiente_id, activo"),
+        @Index(name = "idx_trabajos_independiente_activo_id", columnList = "activo, id"),
+        @Index(name = "idx_trabajos_independiente_activo_fecha", columnList = "activo, fecha_creacion"),
+        @Index(name = "idx_trabajos_independiente_activo_rating", columnList = "activo, average_rating"),
+        @Index(name = "idx_trabajos_independiente_activo_precio", columnList = "activo, precio")
+})
 public class TrabajoIndependiente implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trabajos_independiente_seq")
+    @SequenceGenerator(name = "trabajos_independiente_seq", sequenceName = "trabajos_independiente_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "La descripción corta es obligatoria")
@@ -28,9 +34,18 @@ public class TrabajoIndependiente implements Serializable {
     private String descripcion;
 
     // almacena el promedio de las calificaciones recibidas para este trabajo
-    @Column(name = "average_rating")
+    // Se mantiene junto con ratingCount/ratingSum mediante UPDATE atómicos (ver aplicarDeltaCalificacion),
+    // por eso no se escribe al guardar la entidad completa
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating;
 
+    // Cantidad y suma de las calificaciones recibidas
+    @Column(name = "rating_count", updatable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", updatable = false)
+    private Long ratingSum;
+
     // Nuevo campo para manejo lógico de eliminación
     @Column(name = "activo")
     private Boolean activo;
@@ -40,8 +55,8 @@ public class TrabajoIndependiente implements Serializable {
     @Column(name = "fecha_creacion", updatable = false)
     private LocalDateTime fechaCreacion;
 
-    @Formula("(select count(*) from trabajos_ind_en_accion tia where tia.trabajo_independiente_id = id)")
-    @Column(name = "ventas")
+    // Trabajos finalizados; solo se incrementa con incrementarVentas, nunca al guardar la entidad completa
+    @Column(name = "ventas", updatable = false)
     private Long ventas;
 
     // Relación Muchos a Uno con Independiente
@@ -75,6 +90,8 @@ public class TrabajoIndependiente implements Serializable {
     @PrePersist
     public void establecerAverage(){
         this.averageRating = 5.0;
+        this.ratingCount = 0L;
+        this.ratingSum = 0L;
         this.activo=true;
         this.ventas=0L;
         this.fechaCreacion = LocalDateTime.now();
@@ -102,6 +119,22 @@ public class TrabajoIndependiente implements Serializable {
         this.averageRating = averageRating;
     }
 
+    public Long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(Long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
     public Independiente getIndependiente() {
         return independiente;
     }
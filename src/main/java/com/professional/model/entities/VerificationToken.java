@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
  * Entidad que representa un token de verificación para confirmar cuentas de usuarios.
  */
 @Entity
-@Table(name = "verification_tokens")
+@Table(name = "verification_tokens", indexes = {
+        @Index(name = "idx_verification_tokens_expiracion", columnList = "fecha_expiracion")
+})
 public class VerificationToken {
 
     @Id
@@ -22,7 +24,7 @@ public class VerificationToken {
     @Column()
     private String correo;
 
-    @Column()
+    @Column(name = "fecha_expiracion")
     private LocalDateTime fechaExpiracion;
 
     @NotNull
@@ -0,0 +1,12 @@
+package com.professional.model.enums;
+
+/**
+ * Estados de un correo en la bandeja de salida.
+ */
+public enum EstadoCorreo {
+    PENDIENTE,
+    EN_PROCESO,
+    ENVIADO,
+    // Agotó los reintentos; queda para revisión manual
+    FALLIDO
+}
@@ -0,0 +1,42 @@
+package com.professional.model.enums;
+
+import java.util.Locale;
+
+/**
+ * Formatos disponibles para las exportaciones masivas.
+ */
+public enum FormatoExportacion {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String tipoContenido;
+    private final String extension;
+
+    FormatoExportacion(String tipoContenido, String extension) {
+        this.tipoContenido = tipoContenido;
+        this.extension = extension;
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Obtiene el formato a partir del parámetro de la petición, sin distinguir mayúsculas.
+     *
+     * @param valor Valor recibido (ndjson o csv).
+     * @return Formato correspondiente.
+     * @throws IllegalArgumentException si el formato no es soportado.
+     */
+    public static FormatoExportacion desde(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + valor);
+        }
+    }
+}
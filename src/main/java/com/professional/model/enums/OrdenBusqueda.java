@@ -0,0 +1,12 @@
+package com.professional.model.enums;
+
+/**
+ * Criterios de ordenamiento disponibles en las búsquedas del marketplace.
+ */
+public enum OrdenBusqueda {
+    RELEVANCIA,
+    PRECIO,
+    VENTAS,
+    CALIFICACION,
+    RECIENTES
+}
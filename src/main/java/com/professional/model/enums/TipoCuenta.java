@@ -0,0 +1,10 @@
+package com.professional.model.enums;
+
+/**
+ * Tabla en la que vive cada usuario registrado en el índice de cuentas.
+ */
+public enum TipoCuenta {
+    CLIENTE,
+    EMPRESA,
+    INDEPENDIENTE
+}
@@ -0,0 +1,76 @@
+package com.professional.model.enums;
+
+/**
+ * Variantes reducidas que se generan para cada imagen subida, siempre en JPEG.
+ * <p>
+ * La variante se guarda junto al original, con el mismo nombre más un sufijo:
+ * {@code ab/cd/<hash>.png} tiene {@code ab/cd/<hash>-miniatura.jpg} y {@code ab/cd/<hash>-mediana.jpg}.
+ */
+public enum VarianteImagen {
+    MINIATURA("miniatura", 160),
+    MEDIANA("mediana", 800);
+
+    private static final String PREFIJO_URL = "/uploads/";
+    private static final String EXTENSION = ".jpg";
+
+    private final String sufijo;
+    private final int ladoMaximo;
+
+    VarianteImagen(String sufijo, int ladoMaximo) {
+        this.sufijo = sufijo;
+        this.ladoMaximo = ladoMaximo;
+    }
+
+    public String getSufijo() {
+        return sufijo;
+    }
+
+    /**
+     * Lado mayor de la variante, en píxeles. Las imágenes más chicas no se amplían.
+     */
+    public int getLadoMaximo() {
+        return ladoMaximo;
+    }
+
+    /**
+     * Ruta de la variante a partir de la ruta (o URL) del original.
+     */
+    public String ruta(String rutaOriginal) {
+        int barra = rutaOriginal.lastIndexOf('/');
+        int punto = rutaOriginal.lastIndexOf('.');
+        String base = punto > barra ? rutaOriginal.substring(0, punto) : rutaOriginal;
+        return base + "-" + sufijo + EXTENSION;
+    }
+
+    /**
+     * URL de la variante de una imagen del almacén; las URL vacías o externas se devuelven sin cambios.
+     */
+    public String url(String urlOriginal) {
+        if (urlOriginal == null || !urlOriginal.startsWith(PREFIJO_URL)) {
+            return urlOriginal;
+        }
+        return ruta(urlOriginal);
+    }
+
+    /**
+     * Ruta del original sin extensión, a partir de la ruta de esta variante.
+     */
+    public String base(String rutaVariante) {
+        return rutaVariante.substring(0, rutaVariante.length() - (sufijo.length() + 1 + EXTENSION.length()));
+    }
+
+    /**
+     * Variante a la que corresponde una ruta.
+     *
+     * @param ruta Ruta o nombre de archivo.
+     * @return La variante, o null si la ruta no es de una variante.
+     */
+    public static VarianteImagen desde(String ruta) {
+        for (VarianteImagen variante : values()) {
+            if (ruta.endsWith("-" + variante.sufijo + EXTENSION)) {
+                return variante;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.professional.model.exportacion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.professional.model.enums.FormatoExportacion;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.temporal.TemporalAccessor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Escribe filas de una exportación de forma incremental, una línea por registro,
+ * en formato NDJSON o CSV (RFC 4180).
+ */
+public class EscritorExportacion {
+
+    private final FormatoExportacion formato;
+    private final String[] columnas;
+    private final Writer writer;
+    private final ObjectMapper objectMapper;
+
+    public EscritorExportacion(FormatoExportacion formato, String[] columnas, Writer writer, ObjectMapper objectMapper) {
+        this.formato = formato;
+        this.columnas = columnas;
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe la cabecera; solo aplica al formato CSV.
+     */
+    public void encabezado() throws IOException {
+        if (formato == FormatoExportacion.CSV) {
+            for (int i = 0; i < columnas.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(campoCsv(columnas[i]));
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    /**
+     * Escribe una fila con los valores en el mismo orden que las columnas.
+     *
+     * @param valores Valores de la fila.
+     */
+    public void fila(Object[] valores) throws IOException {
+        if (formato == FormatoExportacion.NDJSON) {
+            Map<String, Object> registro = new LinkedHashMap<>();
+            for (int i = 0; i < columnas.length; i++) {
+                registro.put(columnas[i], valor(valores[i]));
+            }
+            writer.write(objectMapper.writeValueAsString(registro));
+            writer.write('\n');
+        } else {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object valor = valor(valores[i]);
+                if (valor != null) {
+                    writer.write(campoCsv(valor.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    // Fechas y enums se exportan como texto ISO / nombre para que ambos formatos coincidan
+    private static Object valor(Object valor) {
+        if (valor instanceof TemporalAccessor || valor instanceof Enum<?>) {
+            return valor.toString();
+        }
+        return valor;
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
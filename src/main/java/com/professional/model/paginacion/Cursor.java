@@ -0,0 +1,48 @@
+package com.professional.model.paginacion;
+
+import com.professional.controller.exceptions.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica el cursor opaco de la paginación por llave (keyset).
+ * <p>
+ * El cursor guarda el último ID entregado; el cliente solo debe reenviarlo tal cual.
+ */
+public final class Cursor {
+
+    private static final String PREFIJO = "id:";
+
+    private Cursor() {
+    }
+
+    /**
+     * @param ultimoId ID del último registro de la página.
+     * @return Cursor opaco para pedir la página siguiente.
+     */
+    public static String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIJO + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor Cursor recibido del cliente; vacío para la primera página.
+     * @return Último ID entregado, o 0 para empezar desde el inicio.
+     * @throws CursorInvalidoException si el cursor no es válido.
+     */
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (valor.startsWith(PREFIJO)) {
+                return Long.valueOf(valor.substring(PREFIJO.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 o número mal formados
+        }
+        throw new CursorInvalidoException("Cursor inválido: " + cursor);
+    }
+}
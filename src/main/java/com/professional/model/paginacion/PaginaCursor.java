@@ -0,0 +1,46 @@
+package com.professional.model.paginacion;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de la paginación por cursor.
+ * Cuando {@code siguienteCursor} es null no hay más registros.
+ */
+public class PaginaCursor<T> {
+
+    private final List<T> contenido;
+
+    private final int tamanio;
+
+    private final String siguienteCursor;
+
+    public PaginaCursor(List<T> contenido, int tamanio, String siguienteCursor) {
+        this.contenido = contenido;
+        this.tamanio = tamanio;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public List<T> getContenido() {
+        return contenido;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public boolean isHayMas() {
+        return siguienteCursor != null;
+    }
+
+    /**
+     * Convierte el contenido conservando el tamaño y el cursor de la página.
+     */
+    public <R> PaginaCursor<R> map(Function<? super T, ? extends R> conversion) {
+        return new PaginaCursor<>(contenido.stream().<R>map(conversion).toList(), tamanio, siguienteCursor);
+    }
+}
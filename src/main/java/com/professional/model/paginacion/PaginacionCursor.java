@@ -0,0 +1,47 @@
+package com.professional.model.paginacion;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Paginación por llave (keyset) sobre los repositorios JPA.
+ * <p>
+ * En lugar de {@code findAll()} u {@code offset}, cada página se lee con una consulta
+ * {@code where id > :ultimoId order by id limit :tamanio}, que recorre el índice de la llave primaria.
+ * El costo de cada página es el mismo sin importar el tamaño de la tabla ni qué tan lejos se avance,
+ * por lo que también sirve para recorrer tablas completas desde herramientas administrativas.
+ */
+public final class PaginacionCursor {
+
+    public static final int TAMANIO_POR_DEFECTO = 20;
+
+    public static final int TAMANIO_MAXIMO = 100;
+
+    private PaginacionCursor() {
+    }
+
+    /**
+     * Lee una página.
+     *
+     * @param cursor   Cursor recibido del cliente, o vacío para la primera página.
+     * @param tamanio  Tamaño solicitado; se limita a {@link #TAMANIO_MAXIMO}.
+     * @param consulta Consulta del repositorio que recibe el último ID y el límite de registros.
+     * @param id       Obtiene el ID de cada registro.
+     * @return Página con el cursor de la siguiente.
+     */
+    public static <T> PaginaCursor<T> paginar(String cursor, int tamanio,
+                                              BiFunction<Long, Limit, List<T>> consulta,
+                                              Function<T, Long> id) {
+        int tamanioPagina = tamanio <= 0 ? TAMANIO_POR_DEFECTO : Math.min(tamanio, TAMANIO_MAXIMO);
+        // Se pide un registro extra para saber si existe una página siguiente
+        List<T> registros = consulta.apply(Cursor.decodificar(cursor), Limit.of(tamanioPagina + 1));
+        if (registros.size() <= tamanioPagina) {
+            return new PaginaCursor<>(registros, tamanioPagina, null);
+        }
+        List<T> pagina = registros.subList(0, tamanioPagina);
+        return new PaginaCursor<>(pagina, tamanioPagina, Cursor.codificar(id.apply(pagina.get(tamanioPagina - 1))));
+    }
+}
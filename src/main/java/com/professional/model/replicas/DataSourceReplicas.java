@@ -0,0 +1,129 @@
+package com.professional.model.replicas;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conexiones de solo lectura repartidas entre las réplicas, con el primario como respaldo.
+ * <p>
+ * Cada conexión se pide a la siguiente réplica disponible (turno rotativo). Una réplica que falla al
+ * entregar una conexión se marca caída en el momento y se prueba la siguiente; si no queda ninguna, si el
+ * usuario escribió hace poco ({@link LecturaPropia}) o si la lectura pidió el primario ({@link LecturaPrimario}),
+ * la conexión sale del primario. La verificación
+ * periódica vuelve a probar cada réplica y la reincorpora cuando responde.
+ * <p>
+ * Métricas: {@code replicas.lecturas} (conexiones entregadas, con {@code destino} = nombre de la réplica o
+ * {@code primario}) y {@code replicas.disponibles}.
+ */
+public class DataSourceReplicas extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceReplicas.class);
+
+    private static final int SEGUNDOS_VERIFICACION = 2;
+
+    private final List<Replica> replicas;
+    private final DataSource primario;
+    private final LecturaPropia lecturaPropia;
+    private final Counter lecturasPrimario;
+    private final AtomicInteger turno = new AtomicInteger();
+
+    public DataSourceReplicas(List<HikariDataSource> replicas, DataSource primario, LecturaPropia lecturaPropia,
+                              MeterRegistry meterRegistry) {
+        this.replicas = replicas.stream().map(r -> new Replica(r, meterRegistry)).toList();
+        this.primario = primario;
+        this.lecturaPropia = lecturaPropia;
+        this.lecturasPrimario = Counter.builder("replicas.lecturas").tag("destino", "primario").register(meterRegistry);
+        Gauge.builder("replicas.disponibles", this.replicas, l -> l.stream().filter(r -> r.disponible).count())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!LecturaPrimario.activa() && !lecturaPropia.escribioRecientemente()) {
+            int inicio = Math.floorMod(turno.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (!replica.disponible) {
+                    continue;
+                }
+                try {
+                    Connection conexion = replica.dataSource.getConnection();
+                    replica.lecturas.increment();
+                    return conexion;
+                } catch (SQLException e) {
+                    replica.marcarCaida(e);
+                }
+            }
+        }
+        lecturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        throw new UnsupportedOperationException("Las réplicas usan las credenciales de su configuración");
+    }
+
+    /**
+     * Prueba cada réplica y actualiza su disponibilidad.
+     */
+    @Scheduled(fixedDelayString = "${replicas.verificacion.intervalo-ms:5000}")
+    public void verificar() {
+        for (Replica replica : replicas) {
+            try (Connection conexion = replica.dataSource.getConnection()) {
+                if (conexion.isValid(SEGUNDOS_VERIFICACION)) {
+                    replica.marcarDisponible();
+                } else {
+                    replica.marcarCaida(new SQLException("La conexión no respondió a la verificación"));
+                }
+            } catch (SQLException e) {
+                replica.marcarCaida(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(r -> r.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private final Counter lecturas;
+        private volatile boolean disponible = true;
+
+        private Replica(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.dataSource = dataSource;
+            this.lecturas = Counter.builder("replicas.lecturas").tag("destino", dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+
+        private void marcarCaida(SQLException e) {
+            if (disponible) {
+                disponible = false;
+                logger.warn("Réplica {} fuera de servicio, las lecturas van a otra réplica o al primario: {}",
+                        dataSource.getPoolName(), e.getMessage());
+            }
+        }
+
+        private void marcarDisponible() {
+            if (!disponible) {
+                disponible = true;
+                logger.info("Réplica {} disponible otra vez", dataSource.getPoolName());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.professional.model.replicas;
+
+import java.util.function.Supplier;
+
+/**
+ * Lecturas que deben ver el último commit sin importar quién escribió, y que por eso van al primario.
+ * <p>
+ * {@link LecturaPropia} solo cubre al usuario que escribió. Lo que se lee para otros no puede venir de una
+ * réplica atrasada: lo que se guarda en una caché compartida se serviría a todos hasta que venza, y el login o la
+ * confirmación de cuenta rechazarían una cuenta recién activada. Dentro de {@link #ejecutar(Supplier)}
+ * {@link DataSourceReplicas} entrega conexiones del primario aunque la transacción sea de solo lectura.
+ * <p>
+ * La conexión física se elige en la primera sentencia de la transacción: si la transacción ya consultó una
+ * réplica antes de entrar aquí, sigue usándola. Sin réplicas configuradas no tiene efecto.
+ */
+public final class LecturaPrimario {
+
+    private static final ThreadLocal<Integer> PROFUNDIDAD = ThreadLocal.withInitial(() -> 0);
+
+    private LecturaPrimario() {
+    }
+
+    /**
+     * Ejecuta {@code lectura} enviando al primario las conexiones que pida.
+     */
+    public static <T> T ejecutar(Supplier<T> lectura) {
+        PROFUNDIDAD.set(PROFUNDIDAD.get() + 1);
+        try {
+            return lectura.get();
+        } finally {
+            int profundidad = PROFUNDIDAD.get() - 1;
+            if (profundidad == 0) {
+                PROFUNDIDAD.remove();
+            } else {
+                PROFUNDIDAD.set(profundidad);
+            }
+        }
+    }
+
+    /**
+     * Indica si el hilo actual está dentro de {@link #ejecutar(Supplier)}.
+     */
+    public static boolean activa() {
+        return PROFUNDIDAD.get() > 0;
+    }
+}
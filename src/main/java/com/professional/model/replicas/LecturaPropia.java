@@ -0,0 +1,58 @@
+package com.professional.model.replicas;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/**
+ * Recuerda qué usuarios escribieron hace poco, para que sus lecturas vean sus propios cambios.
+ * <p>
+ * Las réplicas aplican los cambios del primario con cierto retraso. Tras el commit de una transacción de
+ * escritura, el usuario autenticado queda marcado durante {@code ventana}; mientras tanto
+ * {@link DataSourceReplicas} envía sus lecturas al primario. La ventana debe superar el retraso habitual
+ * de la replicación. Las escrituras sin usuario autenticado (registro, tareas programadas) no marcan a nadie.
+ */
+public class LecturaPropia implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> escrituras;
+
+    public LecturaPropia(Duration ventana, long tamanoMaximo) {
+        this.escrituras = Caffeine.newBuilder()
+                .expireAfterWrite(ventana)
+                .maximumSize(tamanoMaximo)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaccion, Throwable error) {
+        if (error == null && transaccion.isNewTransaction() && !transaccion.isReadOnly()) {
+            String usuario = usuarioActual();
+            if (usuario != null) {
+                escrituras.put(usuario, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Indica si el usuario autenticado escribió dentro de la ventana.
+     */
+    public boolean escribioRecientemente() {
+        String usuario = usuarioActual();
+        return usuario != null && escrituras.getIfPresent(usuario) != null;
+    }
+
+    private static String usuarioActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,80 @@
+package com.professional.model.replicas;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrutamiento de lecturas a réplicas. Solo se activa si {@code replicas.urls} tiene al menos una URL;
+ * sin réplicas la aplicación usa el pool único que configura Spring Boot.
+ * <p>
+ * El {@link DataSource} principal es un {@link LazyConnectionDataSourceProxy}: no toma la conexión física hasta
+ * la primera sentencia, cuando la transacción ya marcó la conexión como de solo lectura. Las transacciones
+ * {@code @Transactional(readOnly = true)} obtienen así su conexión de {@link DataSourceReplicas}; las demás,
+ * Flyway y Hibernate al arrancar, del primario.
+ * <p>
+ * Cada réplica tiene su propio pool Hikari con la configuración de {@code spring.datasource.hikari}, marcado
+ * de solo lectura y con un tiempo de espera de conexión corto para pasar rápido a otra réplica si una cae.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replicas.urls")
+public class ReplicasConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public LecturaPropia lecturaPropia(@Value("${replicas.lectura-propia.ventana:5s}") Duration ventana,
+                                       @Value("${replicas.lectura-propia.tamano-maximo:100000}") long tamanoMaximo) {
+        return new LecturaPropia(ventana, tamanoMaximo);
+    }
+
+    @Bean
+    public DataSourceReplicas dataSourceReplicas(HikariDataSource dataSourcePrimario,
+                                                 LecturaPropia lecturaPropia,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${replicas.urls}") List<String> urls,
+                                                 @Value("${replicas.username:${spring.datasource.username}}") String username,
+                                                 @Value("${replicas.password:${spring.datasource.password:}}") String password,
+                                                 @Value("${replicas.tiempo-conexion:2s}") Duration tiempoConexion) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            dataSourcePrimario.copyStateTo(config);
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setReadOnly(true);
+            config.setConnectionTimeout(tiempoConexion.toMillis());
+            // Arranca aunque la réplica no responda; la verificación periódica la reincorpora
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new DataSourceReplicas(replicas, dataSourcePrimario, lecturaPropia, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, DataSourceReplicas dataSourceReplicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(dataSourcePrimario);
+        dataSource.setReadOnlyDataSource(dataSourceReplicas);
+        return dataSource;
+    }
+}
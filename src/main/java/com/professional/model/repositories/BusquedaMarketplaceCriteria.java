@@ -0,0 +1,119 @@
+package com.professional.model.repositories;
+
+import com.professional.model.busqueda.ConsultaTextoCompleto;
+import com.professional.model.dto.CriteriosBusquedaDTO;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static com.professional.model.configurations.TextoCompletoFunctionContributor.FUNCION_TEXTO_COMPLETO;
+
+/**
+ * Piezas comunes de la consulta dinámica del marketplace, compartidas por las búsquedas de
+ * trabajos independientes y de empresas: filtros, ordenamiento y paginación en {@link Slice}.
+ */
+final class BusquedaMarketplaceCriteria {
+
+    static final String PARAMETRO_TEXTO = "texto";
+
+    private BusquedaMarketplaceCriteria() {
+    }
+
+    /**
+     * Expresión de relevancia FULLTEXT sobre la descripción corta, o {@code null} si la búsqueda no trae texto.
+     */
+    static Expression<Double> relevancia(CriteriaBuilder cb, From<?, ?> trabajo, CriteriosBusquedaDTO criterios) {
+        if (ConsultaTextoCompleto.modoBooleano(criterios.getDescripcion()) == null) {
+            return null;
+        }
+        ParameterExpression<String> texto = cb.parameter(String.class, PARAMETRO_TEXTO);
+        return cb.function(FUNCION_TEXTO_COMPLETO, Double.class, trabajo.get("descripcionCorta"), texto);
+    }
+
+    /**
+     * Filtros de la búsqueda. Solo se agregan los criterios informados, de modo que una ciudad vacía
+     * no genera un {@code like '%%'} sobre toda la tabla.
+     */
+    static Predicate[] filtros(CriteriaBuilder cb, From<?, ?> trabajo, From<?, ?> propietario,
+                               CriteriosBusquedaDTO criterios, Expression<Double> relevancia) {
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.isTrue(trabajo.<Boolean>get("activo")));
+        predicados.add(cb.isTrue(propietario.<Boolean>get("activo")));
+        if (tieneTexto(criterios.getPais())) {
+            predicados.add(cb.like(cb.lower(propietario.<String>get("pais")), contiene(criterios.getPais())));
+        }
+        if (tieneTexto(criterios.getCiudad())) {
+            predicados.add(cb.like(cb.lower(propietario.<String>get("ciudad")), contiene(criterios.getCiudad())));
+        }
+        if (relevancia != null) {
+            predicados.add(cb.gt(relevancia, 0.0));
+        }
+        if (criterios.getCalificacionMinima() != null) {
+            predicados.add(cb.ge(trabajo.<Double>get("averageRating"), criterios.getCalificacionMinima()));
+        }
+        return predicados.toArray(new Predicate[0]);
+    }
+
+    /**
+     * Ordenamiento solicitado, con el ID como desempate para que la paginación sea estable.
+     */
+    static List<Order> orden(CriteriaBuilder cb, From<?, ?> trabajo, CriteriosBusquedaDTO criterios, Expression<Double> relevancia) {
+        boolean ascendente = criterios.getDireccion().isAscending();
+        Expression<?> campo = switch (criterios.getOrden()) {
+            case PRECIO -> trabajo.get("precio");
+            case VENTAS -> trabajo.get("ventas");
+            case CALIFICACION -> trabajo.get("averageRating");
+            case RECIENTES -> trabajo.get("fechaCreacion");
+            case RELEVANCIA -> relevancia;
+        };
+        List<Order> ordenes = new ArrayList<>();
+        if (campo == null) {
+            // Sin texto no hay relevancia: se muestran primero los trabajos más recientes
+            ordenes.add(cb.desc(trabajo.get("fechaCreacion")));
+            ordenes.add(cb.desc(trabajo.get("id")));
+        } else if (campo == relevancia) {
+            ordenes.add(cb.desc(relevancia));
+            ordenes.add(cb.desc(trabajo.get("id")));
+        } else {
+            ordenes.add(ascendente ? cb.asc(campo) : cb.desc(campo));
+            ordenes.add(ascendente ? cb.asc(trabajo.get("id")) : cb.desc(trabajo.get("id")));
+        }
+        return ordenes;
+    }
+
+    /**
+     * Ejecuta la consulta trayendo solo la página pedida más un registro, que indica si hay otra página.
+     */
+    static <T> Slice<T> slice(TypedQuery<T> query, CriteriosBusquedaDTO criterios, Expression<Double> relevancia, Pageable pageable) {
+        if (relevancia != null) {
+            query.setParameter(PARAMETRO_TEXTO, ConsultaTextoCompleto.modoBooleano(criterios.getDescripcion()));
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<T> resultados = query.getResultList();
+        boolean hayMas = resultados.size() > pageable.getPageSize();
+        if (hayMas) {
+            resultados = resultados.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(resultados, pageable, hayMas);
+    }
+
+    private static boolean tieneTexto(String valor) {
+        return valor != null && !valor.trim().isEmpty();
+    }
+
+    private static String contiene(String valor) {
+        return "%" + valor.trim().toLowerCase(Locale.ROOT) + "%";
+    }
+}
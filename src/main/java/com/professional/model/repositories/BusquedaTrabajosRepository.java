@@ -0,0 +1,117 @@
+package com.professional.model.repositories;
+
+import com.professional.model.dto.TrabajoDTO;
+import com.professional.model.enums.OrdenBusqueda;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda unificada de trabajos independientes y de empresas.
+ * <p>
+ * Ambos tipos se combinan con un {@code UNION ALL} y se ordenan y paginan en MySQL, proyectando
+ * directamente a {@link TrabajoDTO}. Cada rama trae como máximo los registros necesarios para la
+ * página pedida, así el costo depende del tamaño de la página y no de cuántos trabajos coinciden.
+ */
+@Repository
+public class BusquedaTrabajosRepository {
+
+    private static final String SELECT_INDEPENDIENTES =
+            "select t.id, t.descripcion, t.average_rating, t.activo, t.precio, t.fecha_creacion, 'Independiente' as tipo_trabajo " +
+            "from trabajos_independiente t ";
+
+    private static final String SELECT_EMPRESAS =
+            "select t.id, t.descripcion, t.average_rating, t.activo, t.precio, t.fecha_creacion, 'Empresa' as tipo_trabajo " +
+            "from trabajos_empresa t ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca trabajos activos de ambos tipos cuya descripción coincide con la consulta FULLTEXT.
+     *
+     * @param consulta  Consulta FULLTEXT en modo booleano (ver ConsultaTextoCompleto).
+     * @param minRating Calificación mínima (inclusive), o null.
+     * @param maxRating Calificación máxima (inclusive), o null.
+     * @param orden     PRECIO, CALIFICACION o RECIENTES.
+     * @param direccion Dirección del ordenamiento.
+     * @param pageable  Página solicitada.
+     * @return Slice de TrabajoDTO de la página solicitada.
+     */
+    public Slice<TrabajoDTO> buscar(String consulta, Double minRating, Double maxRating,
+                                    OrdenBusqueda orden, Sort.Direction direccion, Pageable pageable) {
+        String columna = switch (orden) {
+            case PRECIO -> "precio";
+            case CALIFICACION -> "average_rating";
+            case RECIENTES -> "fecha_creacion";
+            default -> throw new IllegalArgumentException("Ordenamiento no soportado en la búsqueda unificada: " + orden);
+        };
+        String sentido = direccion.isAscending() ? " asc" : " desc";
+        String ordenSql = " order by " + columna + sentido + ", tipo_trabajo, id" + sentido;
+
+        StringBuilder where = new StringBuilder("where t.activo = true and match(t.descripcion) against(:consulta in boolean mode) ");
+        if (minRating != null) {
+            where.append("and t.average_rating >= :minRating ");
+        }
+        if (maxRating != null) {
+            where.append("and t.average_rating <= :maxRating ");
+        }
+
+        // Cada rama se limita a offset + tamaño + 1 filas: ninguna otra fila puede llegar a la página pedida
+        String sql = "(" + SELECT_INDEPENDIENTES + where + ordenSql + " limit :porRama) " +
+                "union all " +
+                "(" + SELECT_EMPRESAS + where + ordenSql + " limit :porRama)" +
+                ordenSql + " limit :limite offset :desplazamiento";
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("consulta", consulta);
+        if (minRating != null) {
+            query.setParameter("minRating", minRating);
+        }
+        if (maxRating != null) {
+            query.setParameter("maxRating", maxRating);
+        }
+        query.setParameter("porRama", pageable.getOffset() + pageable.getPageSize() + 1);
+        query.setParameter("limite", pageable.getPageSize() + 1);
+        query.setParameter("desplazamiento", pageable.getOffset());
+
+        List<TrabajoDTO> trabajos = new ArrayList<>();
+        for (Object fila : query.getResultList()) {
+            trabajos.add(aTrabajoDTO((Object[]) fila));
+        }
+        boolean hayMas = trabajos.size() > pageable.getPageSize();
+        if (hayMas) {
+            trabajos = trabajos.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(trabajos, pageable, hayMas);
+    }
+
+    private static TrabajoDTO aTrabajoDTO(Object[] fila) {
+        return new TrabajoDTO(
+                ((Number) fila[0]).longValue(),
+                (String) fila[1],
+                fila[2] != null ? ((Number) fila[2]).doubleValue() : null,
+                (Boolean) fila[3],
+                fila[4] != null ? ((Number) fila[4]).doubleValue() : null,
+                aFecha(fila[5]),
+                (String) fila[6]
+        );
+    }
+
+    private static LocalDateTime aFecha(Object valor) {
+        if (valor instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) valor;
+    }
+}
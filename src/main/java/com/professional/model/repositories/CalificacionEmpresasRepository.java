@@ -3,7 +3,10 @@ package com.professional.model.repositories;
 import com.professional.model.entities.CalificacionEmpresas;
 import com.professional.model.entities.TrabajoEmpresa;
 import com.professional.model.entities.Cliente;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +17,17 @@ import java.util.List;
 @Repository
 public interface CalificacionEmpresasRepository extends JpaRepository<CalificacionEmpresas, Long> {
 
+    /**
+     * Buscar una calificación bloqueando su fila hasta el fin de la transacción (SELECT ... FOR UPDATE), para
+     * que dos cambios concurrentes de la misma calificación no calculen su delta sobre el mismo rating anterior.
+     *
+     * @param id ID de la calificación.
+     * @return Optional con la calificación si existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CalificacionEmpresas c WHERE c.id = :id")
+    Optional<CalificacionEmpresas> findByIdParaActualizar(@Param("id") Long id);
+
     /**
      * Buscar una calificación por Cliente y TrabajoEmpresa.
      *
@@ -48,4 +62,13 @@ public interface CalificacionEmpresasRepository extends JpaRepository<Calificaci
      * @return Lista de CalificacionEmpresas.
      */
     List<CalificacionEmpresas> findByTrabajo(TrabajoEmpresa trabajo);
+
+    /**
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<CalificacionEmpresas> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
 }
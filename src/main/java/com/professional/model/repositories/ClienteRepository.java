@@ -1,7 +1,11 @@
 package com.professional.model.repositories;
 
 import com.professional.model.entities.Cliente;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,6 +32,15 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      */
     Optional<Cliente> findByIdAndActivo(Long id, Boolean activo);
 
+    /**
+     * Verifica si existe un cliente con el ID y el estado de actividad indicados, sin cargarlo.
+     *
+     * @param id     ID del cliente.
+     * @param activo Estado de actividad.
+     * @return true si existe.
+     */
+    boolean existsByIdAndActivo(Long id, Boolean activo);
+
     /**
      * Buscar clientes por su estado activo.
      *
@@ -68,4 +81,34 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     List<Cliente> findByNombresContainingIgnoreCaseAndActivo(String nombres,Boolean activo);
 
     Optional<Cliente> findByCorreo(String correo);
+
+    /**
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Página de la paginación por cursor filtrada por estado activo.
+     *
+     * @param activo Estado de actividad.
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<Cliente> findByActivoAndIdGreaterThanOrderByIdAsc(Boolean activo, Long id, Limit limite);
+
+    /**
+     * Reemplaza el hash de la contraseña (regeneración al cambiar el costo de BCrypt).
+     *
+     * @param id       ID del usuario.
+     * @param password Nuevo hash.
+     * @return Cantidad de filas actualizadas.
+     */
+    @Modifying
+    @Query("update Cliente u set u.password = :password where u.id = :id")
+    int actualizarPassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,85 @@
+package com.professional.model.repositories;
+
+import com.professional.model.entities.CorreoSaliente;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CorreoSalienteRepository extends JpaRepository<CorreoSaliente, Long> {
+
+    /**
+     * IDs de los correos listos para enviarse: pendientes cuyo próximo intento ya llegó, o en proceso
+     * cuyo bloqueo venció (el despachador que los tomó se detuvo antes de terminar).
+     *
+     * @param ahora  Momento actual.
+     * @param limite Cantidad máxima de correos.
+     * @return IDs de los correos, los más antiguos primero.
+     */
+    @Query("select c.id from CorreoSaliente c " +
+            "where (c.estado = com.professional.model.enums.EstadoCorreo.PENDIENTE and c.proximoIntento <= :ahora) " +
+            "or (c.estado = com.professional.model.enums.EstadoCorreo.EN_PROCESO and c.bloqueadoHasta < :ahora) " +
+            "order by c.proximoIntento")
+    List<Long> findIdsListos(@Param("ahora") LocalDateTime ahora, Limit limite);
+
+    /**
+     * Reclama los correos para un lote del despachador. La condición se repite en el UPDATE para que,
+     * si dos instancias leen los mismos IDs, cada correo quede solo en el lote de una de ellas.
+     *
+     * @param ids            IDs candidatos.
+     * @param lote           Identificador del lote.
+     * @param ahora          Momento actual.
+     * @param bloqueadoHasta Vencimiento del bloqueo.
+     * @return Cantidad de correos reclamados.
+     */
+    @Modifying
+    @Query("update CorreoSaliente c set c.estado = com.professional.model.enums.EstadoCorreo.EN_PROCESO, " +
+            "c.lote = :lote, c.bloqueadoHasta = :bloqueadoHasta " +
+            "where c.id in :ids and (" +
+            "(c.estado = com.professional.model.enums.EstadoCorreo.PENDIENTE and c.proximoIntento <= :ahora) " +
+            "or (c.estado = com.professional.model.enums.EstadoCorreo.EN_PROCESO and c.bloqueadoHasta < :ahora))")
+    int reclamar(@Param("ids") List<Long> ids, @Param("lote") String lote,
+                 @Param("ahora") LocalDateTime ahora, @Param("bloqueadoHasta") LocalDateTime bloqueadoHasta);
+
+    /**
+     * Extiende el bloqueo de los correos que un lote sigue enviando, para que otro despachador no los
+     * reclame mientras el envío tarda más que el bloqueo.
+     *
+     * @param lote           Identificador del lote.
+     * @param bloqueadoHasta Nuevo vencimiento del bloqueo.
+     * @return Cantidad de correos renovados.
+     */
+    @Modifying
+    @Query("update CorreoSaliente c set c.bloqueadoHasta = :bloqueadoHasta " +
+            "where c.lote = :lote and c.estado = com.professional.model.enums.EstadoCorreo.EN_PROCESO")
+    int renovarBloqueo(@Param("lote") String lote, @Param("bloqueadoHasta") LocalDateTime bloqueadoHasta);
+
+    /**
+     * Correos reclamados por un lote.
+     *
+     * @param lote Identificador del lote.
+     * @return Correos del lote.
+     */
+    List<CorreoSaliente> findByLote(String lote);
+
+    /**
+     * Elimina un lote de correos enviados antes de la fecha de corte, en su propia transacción, usando el índice
+     * por estado y fecha de envío. Los pendientes y los fallidos se conservan.
+     *
+     * @param corte Fecha de envío límite.
+     * @param lote  Cantidad máxima de filas a eliminar.
+     * @return Cantidad de filas eliminadas.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from correos_salientes where estado = 'ENVIADO' and fecha_envio < :corte limit :lote",
+            nativeQuery = true)
+    int eliminarEnviados(@Param("corte") LocalDateTime corte, @Param("lote") int lote);
+}
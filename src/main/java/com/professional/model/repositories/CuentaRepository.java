@@ -0,0 +1,37 @@
+package com.professional.model.repositories;
+
+import com.professional.model.entities.Cuenta;
+import com.professional.model.enums.TipoCuenta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
+
+    /**
+     * Buscar la cuenta asociada a un correo.
+     *
+     * @param correo Correo del usuario.
+     * @return Optional con la cuenta si existe.
+     */
+    Optional<Cuenta> findByCorreo(String correo);
+
+    /**
+     * Verificar si un correo ya está registrado en cualquiera de los tipos de usuario.
+     *
+     * @param correo Correo a verificar.
+     * @return true si el correo ya está en uso.
+     */
+    boolean existsByCorreo(String correo);
+
+    /**
+     * Buscar la cuenta de un usuario concreto.
+     *
+     * @param tipo      Tipo de usuario.
+     * @param usuarioId ID del usuario en su tabla.
+     * @return Optional con la cuenta si existe.
+     */
+    Optional<Cuenta> findByTipoAndUsuarioId(TipoCuenta tipo, Long usuarioId);
+}
@@ -1,7 +1,11 @@
 package com.professional.model.repositories;
 
 import com.professional.model.entities.Empresa;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -69,5 +73,43 @@ public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
     // Método para encontrar todos los Independientes (independientemente de activo)
     List<Empresa> findAll();
 
-}
+    /**
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<Empresa> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Página de la paginación por cursor filtrada por estado activo.
+     *
+     * @param activo Estado de actividad.
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<Empresa> findByActivoAndIdGreaterThanOrderByIdAsc(Boolean activo, Long id, Limit limite);
 
+    /**
+     * Reemplaza el hash de la contraseña (regeneración al cambiar el costo de BCrypt).
+     *
+     * @param id       ID del usuario.
+     * @param password Nuevo hash.
+     * @return Cantidad de filas actualizadas.
+     */
+    @Modifying
+    @Query("update Empresa u set u.password = :password where u.id = :id")
+    int actualizarPassword(@Param("id") Long id, @Param("password") String password);
+
+    /**
+     * Indica si algún DNI o licencia comercial de una empresa apunta al archivo indicado.
+     *
+     * @param prefijo Ruta del archivo sin extensión seguida de {@code .%}, por ejemplo {@code /uploads/ab/cd/<hash>.%}.
+     * @return true si el archivo es un documento de alguna empresa.
+     */
+    @Query("select count(u) > 0 from Empresa u " +
+            "where u.dniAnverso like :prefijo or u.dniReverso like :prefijo or u.licenciaComercial like :prefijo")
+    boolean referenciaDocumento(@Param("prefijo") String prefijo);
+}
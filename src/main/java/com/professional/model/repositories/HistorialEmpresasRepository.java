@@ -3,11 +3,18 @@ package com.professional.model.repositories;
 import com.professional.model.entities.Cliente;
 import com.professional.model.entities.HistorialEmpresas;
 import com.professional.model.entities.TrabajoEmpresa;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface HistorialEmpresasRepository extends JpaRepository<HistorialEmpresas, Long> {
@@ -36,5 +43,38 @@ public interface HistorialEmpresasRepository extends JpaRepository<HistorialEmpr
     List<HistorialEmpresas> findByClienteAndTrabajoAndActivoTrue(Cliente cliente, TrabajoEmpresa trabajoEmpresa);
 
     // Agrega métodos de consulta personalizados aquí si es necesario.
-}
 
+    /**
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<HistorialEmpresas> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Página de la paginación por cursor filtrada por estado activo.
+     *
+     * @param activo Estado de actividad.
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<HistorialEmpresas> findByActivoAndIdGreaterThanOrderByIdAsc(Boolean activo, Long id, Limit limite);
+
+    /**
+     * Recorre los registros en orden de ID para la exportación, sin cargarlos todos en memoria.
+     * El fetch size Integer.MIN_VALUE hace que el driver de MySQL entregue las filas una a una;
+     * el Stream debe consumirse y cerrarse dentro de una transacción.
+     *
+     * @param activo Estado de actividad, o null para exportar todos los registros.
+     * @return Stream de registros.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select h from HistorialEmpresas h where (:activo is null or h.activo = :activo) order by h.id")
+    Stream<HistorialEmpresas> exportarPorActivo(@Param("activo") Boolean activo);
+}
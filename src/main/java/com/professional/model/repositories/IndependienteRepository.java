@@ -2,7 +2,11 @@ package com.professional.model.repositories;
 
 import com.professional.model.dto.TrabajoIndependienteDTO;
 import com.professional.model.entities.Independiente;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -37,5 +41,42 @@ public interface IndependienteRepository extends JpaRepository<Independiente, Lo
     // Optional<Independiente> findByCorreo(String correo);
     Optional<Independiente> findByCorreo(String correo);
 
-}
+    /**
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<Independiente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Página de la paginación por cursor filtrada por estado activo.
+     *
+     * @param activo Estado de actividad.
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<Independiente> findByActivoAndIdGreaterThanOrderByIdAsc(Boolean activo, Long id, Limit limite);
 
+    /**
+     * Reemplaza el hash de la contraseña (regeneración al cambiar el costo de BCrypt).
+     *
+     * @param id       ID del usuario.
+     * @param password Nuevo hash.
+     * @return Cantidad de filas actualizadas.
+     */
+    @Modifying
+    @Query("update Independiente u set u.password = :password where u.id = :id")
+    int actualizarPassword(@Param("id") Long id, @Param("password") String password);
+
+    /**
+     * Indica si algún DNI de un independiente apunta al archivo indicado.
+     *
+     * @param prefijo Ruta del archivo sin extensión seguida de {@code .%}, por ejemplo {@code /uploads/ab/cd/<hash>.%}.
+     * @return true si el archivo es un documento de algún independiente.
+     */
+    @Query("select count(u) > 0 from Independiente u where u.dniAnverso like :prefijo or u.dniReverso like :prefijo")
+    boolean referenciaDocumento(@Param("prefijo") String prefijo);
+}
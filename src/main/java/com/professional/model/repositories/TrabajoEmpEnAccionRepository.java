@@ -6,12 +6,21 @@ import com.professional.model.entities.Cliente;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.entities.TrabajoEmpEnAccion;
 import com.professional.model.entities.TrabajoEmpresa;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TrabajoEmpEnAccionRepository extends JpaRepository<TrabajoEmpEnAccion, Long> {
@@ -48,6 +57,34 @@ public interface TrabajoEmpEnAccionRepository extends JpaRepository<TrabajoEmpEn
      */
     List<TrabajoEmpEnAccion> findByTrabajoEmpresa_Cliente(Cliente cliente);
 
+    /**
+     * Trabajos en acción activos de un trabajo de empresa, filtrando por la clave foránea sin cargar el trabajo.
+     * Las asociaciones quedan sin inicializar: la vista del listado no las usa.
+     *
+     * @param trabajoEmpresaId ID del trabajo de empresa.
+     * @return Trabajos en acción activos, en orden de ID.
+     */
+    List<TrabajoEmpEnAccion> findByTrabajoEmpresaIdAndActivoTrueOrderByIdAsc(Long trabajoEmpresaId);
+
+    /**
+     * Trabajos en acción activos cuyo trabajo de empresa pertenece al cliente indicado
+     * (el mismo criterio que {@link #findByTrabajoEmpresa_Cliente}), en una sola consulta.
+     *
+     * @param clienteId ID del cliente.
+     * @return Trabajos en acción activos, en orden de ID.
+     */
+    List<TrabajoEmpEnAccion> findByTrabajoEmpresa_ClienteIdAndActivoTrueOrderByIdAsc(Long clienteId);
+
+    /**
+     * Trabajo en acción con su trabajo de empresa y su cliente, en una sola consulta.
+     *
+     * @param id ID del trabajo en acción.
+     * @return El trabajo en acción con las asociaciones inicializadas.
+     */
+    @EntityGraph(attributePaths = {"trabajoEmpresa", "cliente"})
+    @Query("select t from TrabajoEmpEnAccion t where t.id = :id")
+    Optional<TrabajoEmpEnAccion> findConTrabajoYClienteById(@Param("id") Long id);
+
     @Query("select new com.professional.model.dto.TrabajoEmpresaEnAccionDTO(" +
             "i.id, i.descripcionCorta, i.descripcion, i.precio,t.id, t.estadoTrabajo) " +
             "from TrabajoEmpEnAccion t " +
@@ -57,6 +94,55 @@ public interface TrabajoEmpEnAccionRepository extends JpaRepository<TrabajoEmpEn
             //"and t.estadoTrabajo='FINALIZADO' "+
             "and t.trabajoEmpresa.id= :id")
     List<TrabajoEmpresaEnAccionDTO> misTrabajosEmpresas(@Param("id") Long id);
-}
 
+    /**
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<TrabajoEmpEnAccion> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Página de la paginación por cursor filtrada por estado activo.
+     *
+     * @param activo Estado de actividad.
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<TrabajoEmpEnAccion> findByActivoAndIdGreaterThanOrderByIdAsc(Boolean activo, Long id, Limit limite);
+
+    /**
+     * Recorre los registros en orden de ID para la exportación, sin cargarlos todos en memoria.
+     * El fetch size Integer.MIN_VALUE hace que el driver de MySQL entregue las filas una a una;
+     * el Stream debe consumirse y cerrarse dentro de una transacción.
+     *
+     * @param activo Estado de actividad, o null para exportar todos los registros.
+     * @return Stream de registros.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TrabajoEmpEnAccion t where (:activo is null or t.activo = :activo) order by t.id")
+    Stream<TrabajoEmpEnAccion> exportarPorActivo(@Param("activo") Boolean activo);
 
+    /**
+     * Cambia el estado solo si es distinto del actual y el trabajo no está FINALIZADO, que es terminal: si varias
+     * peticiones finalizan el mismo trabajo a la vez, solo una obtiene 1 fila actualizada y registra la venta, y un
+     * trabajo finalizado no puede volver a otro estado para finalizarse y venderse de nuevo.
+     * Limpia el contexto de persistencia para que las entidades leídas después vean el nuevo estado.
+     *
+     * @param id     ID del trabajo en acción.
+     * @param estado Nuevo estado.
+     * @param fecha  Fecha del cambio.
+     * @return 1 si hubo transición, 0 si ya estaba en ese estado, está finalizado o no existe.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TrabajoEmpEnAccion t set t.estadoTrabajo = :estado, t.fechaCambio = :fecha " +
+            "where t.id = :id and (t.estadoTrabajo is null or (t.estadoTrabajo <> :estado " +
+            "and t.estadoTrabajo <> com.professional.model.enums.EstadoTrabajo.FINALIZADO))")
+    int cambiarEstado(@Param("id") Long id, @Param("estado") EstadoTrabajo estado, @Param("fecha") LocalDateTime fecha);
+}
@@ -5,7 +5,9 @@ import com.professional.model.entities.Cliente;
 import com.professional.model.entities.Empresa;
 import com.professional.model.entities.TrabajoEmpEnAccion;
 import com.professional.model.entities.TrabajoEmpresa;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,8 +16,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TrabajoEmpresaRepository extends JpaRepository<TrabajoEmpresa, Long> {
-
+public interface TrabajoEmpresaRepository extends JpaRepository<TrabajoEmpresa, Long>, TrabajoEmpresaRepositoryCustom {
 
 
     /**
@@ -50,27 +51,8 @@ public interface TrabajoEmpresaRepository extends JpaRepository<TrabajoEmpresa,
     Optional<TrabajoEmpresa> findById(Long id);
 
 
-
     Optional<TrabajoEmpEnAccion> findByIdAndActivoTrue(Long id);
 
-    /**
-     * Busca trabajos de empresas por descripción utilizando LIKE y filtra por activo=true.
-     *
-     * @param descripcion Parte de la descripción a buscar.
-     * @return Lista de trabajos de empresas que coinciden.
-     */
-    List<TrabajoEmpresa> findByDescripcionContainingIgnoreCaseAndActivoTrue(String descripcion);
-
-    /**
-     * Busca trabajos de empresa por descripción utilizando LIKE, activo=true, y dentro de un rango de calificación.
-     *
-     * @param descripcion Parte de la descripción a buscar.
-     * @param minRating  Calificación mínima (inclusive).
-     * @param maxRating  Calificación máxima (inclusive).
-     * @return Lista de trabajos de empresa que coinciden.
-     */
-    List<TrabajoEmpresa> findByDescripcionContainingIgnoreCaseAndActivoTrueAndAverageRatingBetween(
-            String descripcion, Double minRating, Double maxRating);
 
     /**
      * Consulta personalizada para mis-trabajos-empresas
@@ -86,108 +68,6 @@ public interface TrabajoEmpresaRepository extends JpaRepository<TrabajoEmpresa,
     List<TrabajoEmpresaDTO> misTrabajosEmpresas(@Param("id") Long id);
 
 
-    /**
-     * Consulta personalizada que devuelve los datos requeridos en el DTO,
-     * haciendo join con la entidad Independiente.
-     */
-    @Query("select new com.professional.model.dto.FiltrosConsultasEmpresasDTO("+
-            "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
-            "t.descripcionCorta, t.averageRating, t.precio,t.ventas,e.pais,e.ciudad) " +
-            "from TrabajoEmpresa t "+
-            "join t.empresa e "+
-            "where lower(e.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(e.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and e.activo=true")
-    List<FiltrosConsultasEmpresasDTO> findFiltrosByDescripcion(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasEmpresasDTO("+
-            "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
-            "t.descripcionCorta, t.averageRating, t.precio,t.ventas,e.pais,e.ciudad) " +
-            "from TrabajoEmpresa t "+
-            "join t.empresa e "+
-            "where lower(e.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(e.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and e.activo=true "+
-            "and t.averageRating>= 4.0 "+
-            "order by t.precio asc")
-    List<FiltrosConsultasEmpresasDTO> findFiltrosByDescripcionPrecioAsc4(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasEmpresasDTO("+
-            "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
-            "t.descripcionCorta, t.averageRating, t.precio,t.ventas,e.pais,e.ciudad) " +
-            "from TrabajoEmpresa t "+
-            "join t.empresa e "+
-            "where lower(e.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(e.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and e.activo=true "+
-            "and t.averageRating>= 3.0 "+
-            "order by t.precio asc")
-    List<FiltrosConsultasEmpresasDTO> findFiltrosByDescripcionPrecioAsc3(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasEmpresasDTO("+
-            "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
-            "t.descripcionCorta, t.averageRating, t.precio,t.ventas,e.pais,e.ciudad) " +
-            "from TrabajoEmpresa t "+
-            "join t.empresa e "+
-            "where lower(e.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(e.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and e.activo=true "+
-            "and t.averageRating>= 4.0 "+
-            "order by t.precio desc")
-    List<FiltrosConsultasEmpresasDTO> findFiltrosByDescripcionPrecioDesc4(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasEmpresasDTO("+
-            "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
-            "t.descripcionCorta, t.averageRating, t.precio,t.ventas,e.pais,e.ciudad) " +
-            "from TrabajoEmpresa t "+
-            "join t.empresa e "+
-            "where lower(e.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(e.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and e.activo=true "+
-            "and t.averageRating>= 3.0 "+
-            "order by t.precio desc")
-    List<FiltrosConsultasEmpresasDTO> findFiltrosByDescripcionPrecioDesc3(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasEmpresasDTO("+
-            "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
-            "t.descripcionCorta, t.averageRating, t.precio,t.ventas,e.pais,e.ciudad) " +
-            "from TrabajoEmpresa t "+
-            "join t.empresa e "+
-            "where lower(e.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(e.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and e.activo=true "+
-            "and t.averageRating>=3.0 "+
-            "order by t.ventas asc")
-    List<FiltrosConsultasEmpresasDTO> findFiltrosByVentas3(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasEmpresasDTO("+
-            "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
-            "t.descripcionCorta, t.averageRating, t.precio,t.ventas,e.pais,e.ciudad) " +
-            "from TrabajoEmpresa t "+
-            "join t.empresa e "+
-            "where lower(e.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(e.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and e.activo=true "+
-            "and t.averageRating>=4.0 "+
-            "order by t.ventas asc")
-    List<FiltrosConsultasEmpresasDTO> findFiltrosByVentas4(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
     @Query("select new com.professional.model.dto.FiltroTrabajoEmpresaDTO("+
             "e.id,t.id,e.nombreEmpresa,e.fotoRepresentante,e.tipoUsuario,e.areaTrabajo, "+
             "t.descripcionCorta, t.descripcion,t.averageRating, t.precio,t.ventas,e.pais,e.ciudad,e.celular) " +
@@ -209,8 +89,62 @@ public interface TrabajoEmpresaRepository extends JpaRepository<TrabajoEmpresa,
             "and e.activo=true")
     FiltroTrabajoIndependienteDTO findTrabajosIndByCliente(@Param("id") Long id);
 
+    /**
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<TrabajoEmpresa> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Página de la paginación por cursor filtrada por estado activo.
+     *
+     * @param activo Estado de actividad.
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
+     */
+    List<TrabajoEmpresa> findByActivoAndIdGreaterThanOrderByIdAsc(Boolean activo, Long id, Limit limite);
 
+    /**
+     * Aplica a los agregados de calificación el cambio producido por crear, modificar o eliminar una calificación.
+     * Es un único UPDATE, así que las calificaciones concurrentes del mismo trabajo se serializan sobre la fila
+     * y ninguna pisa a otra. El promedio se asigna primero porque MySQL evalúa las asignaciones de izquierda
+     * a derecha y debe calcularse con los valores anteriores de count y sum.
+     *
+     * @param id          ID del trabajo.
+     * @param deltaCount  Cambio en la cantidad de calificaciones (1, 0 o -1).
+     * @param deltaSum    Cambio en la suma de calificaciones.
+     * @return Cantidad de filas actualizadas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update TrabajoEmpresa t set " +
+            "t.averageRating = case when coalesce(t.ratingCount, 0) + :deltaCount > 0 " +
+            "then (coalesce(t.ratingSum, 0) + :deltaSum) * 1.0 / (coalesce(t.ratingCount, 0) + :deltaCount) " +
+            "else 0.0 end, " +
+            "t.ratingCount = coalesce(t.ratingCount, 0) + :deltaCount, " +
+            "t.ratingSum = coalesce(t.ratingSum, 0) + :deltaSum " +
+            "where t.id = :id")
+    int aplicarDeltaCalificacion(@Param("id") Long id, @Param("deltaCount") long deltaCount, @Param("deltaSum") long deltaSum);
 
+    /**
+     * Suma una venta al trabajo con un UPDATE atómico, sin cargar ni reescribir la fila completa.
+     *
+     * @param id ID del trabajo.
+     * @return Cantidad de filas actualizadas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update TrabajoEmpresa t set t.ventas = coalesce(t.ventas, 0) + 1 where t.id = :id")
+    int incrementarVentas(@Param("id") Long id);
 
+    /**
+     * IDs de los trabajos de un dueño, para invalidar su detalle en caché cuando cambian los datos del dueño.
+     *
+     * @param empresaId ID del dueño.
+     * @return IDs de sus trabajos.
+     */
+    @Query("select t.id from TrabajoEmpresa t where t.empresa.id = :empresaId")
+    List<Long> findIdsByEmpresaId(@Param("empresaId") Long empresaId);
 }
-
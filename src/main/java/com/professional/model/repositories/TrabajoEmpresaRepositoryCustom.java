@@ -0,0 +1,21 @@
+package com.professional.model.repositories;
+
+import com.professional.model.dto.CriteriosBusquedaDTO;
+import com.professional.model.dto.FiltrosConsultasEmpresasDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Consultas de TrabajoEmpresa que se arman dinámicamente con la API Criteria.
+ */
+public interface TrabajoEmpresaRepositoryCustom {
+
+    /**
+     * Busca trabajos de empresa activos de empresas activas según los criterios recibidos.
+     *
+     * @param criterios Filtros y ordenamiento de la búsqueda.
+     * @param pageable  Página solicitada.
+     * @return Slice con los resultados de la página.
+     */
+    Slice<FiltrosConsultasEmpresasDTO> buscarFiltros(CriteriosBusquedaDTO criterios, Pageable pageable);
+}
@@ -0,0 +1,43 @@
+package com.professional.model.repositories;
+
+import com.professional.model.dto.CriteriosBusquedaDTO;
+import com.professional.model.dto.FiltrosConsultasEmpresasDTO;
+import com.professional.model.entities.Empresa;
+import com.professional.model.entities.TrabajoEmpresa;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public class TrabajoEmpresaRepositoryCustomImpl implements TrabajoEmpresaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<FiltrosConsultasEmpresasDTO> buscarFiltros(CriteriosBusquedaDTO criterios, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FiltrosConsultasEmpresasDTO> cq = cb.createQuery(FiltrosConsultasEmpresasDTO.class);
+        Root<TrabajoEmpresa> t = cq.from(TrabajoEmpresa.class);
+        Join<TrabajoEmpresa, Empresa> e = t.join("empresa");
+
+        cq.select(cb.construct(FiltrosConsultasEmpresasDTO.class,
+                e.get("id"), t.get("id"), e.get("nombreEmpresa"), e.get("fotoRepresentante"), e.get("tipoUsuario"),
+                e.get("areaTrabajo"), t.get("descripcionCorta"), t.get("averageRating"), t.get("precio"),
+                t.get("ventas"), e.get("pais"), e.get("ciudad")));
+
+        Expression<Double> relevancia = BusquedaMarketplaceCriteria.relevancia(cb, t, criterios);
+        cq.where(BusquedaMarketplaceCriteria.filtros(cb, t, e, criterios, relevancia));
+        cq.orderBy(BusquedaMarketplaceCriteria.orden(cb, t, criterios, relevancia));
+
+        return BusquedaMarketplaceCriteria.slice(entityManager.createQuery(cq), criterios, relevancia, pageable);
+    }
+}
@@ -1,8 +1,9 @@
 package com.professional.model.repositories;
-import com.professional.model.dto.FiltrosConsultasIndependientesDTO;
 import com.professional.model.dto.TrabajoIndependienteDTO;
 import com.professional.model.entities.TrabajoIndependiente;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,7 +12,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TrabajoIndependienteRepository extends JpaRepository<TrabajoIndependiente, Long> {
+public interface TrabajoIndependienteRepository extends JpaRepository<TrabajoIndependiente, Long>, TrabajoIndependienteRepositoryCustom {
 
 
     /**
@@ -38,24 +39,13 @@ public interface TrabajoIndependienteRepository extends JpaRepository<TrabajoInd
      */
     Optional<TrabajoIndependiente> findByIdAndActivoTrue(Long id);
 
-
     /**
-     * Busca trabajos independientes por descripción utilizando LIKE y filtra por activo=true.
+     * Verifica si existe un trabajo independiente activo con el ID indicado, sin cargarlo.
      *
-     * @param descripcion Parte de la descripción a buscar.
-     * @return Lista de trabajos independientes que coinciden.
+     * @param id ID del trabajo.
+     * @return true si existe y está activo.
      */
-    List<TrabajoIndependiente> findByDescripcionContainingIgnoreCaseAndActivoTrue(String descripcion);
-    /**
-     * Busca trabajos independientes por descripción utilizando LIKE, activo=true, y dentro de un rango de calificación.
-     *
-     * @param descripcion Parte de la descripción a buscar.
-     * @param minRating  Calificación mínima (inclusive).
-     * @param maxRating  Calificación máxima (inclusive).
-     * @return Lista de trabajos independientes que coinciden.
-     */
-    List<TrabajoIndependiente> findByDescripcionContainingIgnoreCaseAndActivoTrueAndAverageRatingBetween(
-            String descripcion, Double minRating, Double maxRating);
+    boolean existsByIdAndActivoTrue(Long id);
 
 
     /**
@@ -71,125 +61,62 @@ public interface TrabajoIndependienteRepository extends JpaRepository<TrabajoInd
             "and t.independiente.id= :id")
     List<TrabajoIndependienteDTO> misTrabajosIndependientes(@Param("id") Long id);
 
-
     /**
-     * Consulta personalizada que devuelve los datos requeridos en el DTO,
-     * haciendo join con la entidad Independiente. findFiltrosByDescripcion
+     * Página de la paginación por cursor: registros con ID mayor al último entregado, en orden de ID.
+     *
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
      */
-    @Query("select new com.professional.model.dto.FiltrosConsultasIndependientesDTO(" +
-            "i.id, t.id, i.nombres, i.apellidos, i.fotoRepresentante, i.tipoUsuario, i.profesion, i.areaTrabajo " +
-            ",i.pais,i.ciudad,t.descripcionCorta, t.averageRating, t.precio,t.ventas) " +
-            "from TrabajoIndependiente t " +
-            "join t.independiente i " +
-            "where lower(i.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(i.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and i.activo=true")
-    List<FiltrosConsultasIndependientesDTO> findFiltrosByDescripcion(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
+    List<TrabajoIndependiente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
 
     /**
-     * Consulta personalizada que devuelve los datos requeridos en el DTO,
-     * haciendo join con la entidad Independiente. findFiltrosByDescripcionPrecioAsc4
-     * TODO: implementar desde aqui igual para las busquedas en: TrabajoEmpresaRepository
+     * Página de la paginación por cursor filtrada por estado activo.
+     *
+     * @param activo Estado de actividad.
+     * @param id     Último ID entregado.
+     * @param limite Cantidad máxima de registros.
+     * @return Registros de la página.
      */
-    @Query("select new com.professional.model.dto.FiltrosConsultasIndependientesDTO(" +
-            "i.id, t.id, i.nombres, i.apellidos, i.fotoRepresentante, i.tipoUsuario, i.profesion, i.areaTrabajo," +
-            "i.pais,i.ciudad,t.descripcionCorta, t.averageRating, t.precio,t.ventas) " +
-            "from TrabajoIndependiente t " +
-            "join t.independiente i " +
-            "where lower(i.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(i.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and i.activo=true "+
-            "and t.averageRating >= 4.0 " +
-            "order by t.precio asc")
-    List<FiltrosConsultasIndependientesDTO> findFiltrosByDescripcionPrecioAsc4(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
+    List<TrabajoIndependiente> findByActivoAndIdGreaterThanOrderByIdAsc(Boolean activo, Long id, Limit limite);
 
     /**
-     * Consulta personalizada que devuelve los datos requeridos en el DTO,
-     * haciendo join con la entidad Independiente. findFiltrosByDescripcionPrecioAsc3
+     * Aplica a los agregados de calificación el cambio producido por crear, modificar o eliminar una calificación.
+     * Es un único UPDATE, así que las calificaciones concurrentes del mismo trabajo se serializan sobre la fila
+     * y ninguna pisa a otra. El promedio se asigna primero porque MySQL evalúa las asignaciones de izquierda
+     * a derecha y debe calcularse con los valores anteriores de count y sum.
+     *
+     * @param id          ID del trabajo.
+     * @param deltaCount  Cambio en la cantidad de calificaciones (1, 0 o -1).
+     * @param deltaSum    Cambio en la suma de calificaciones.
+     * @return Cantidad de filas actualizadas.
      */
-    @Query("select new com.professional.model.dto.FiltrosConsultasIndependientesDTO(" +
-            "i.id, t.id, i.nombres, i.apellidos, i.fotoRepresentante, i.tipoUsuario, i.profesion, i.areaTrabajo," +
-            "i.pais,i.ciudad,t.descripcionCorta, t.averageRating, t.precio,t.ventas) " +
-            "from TrabajoIndependiente t " +
-            "join t.independiente i " +
-            "where lower(i.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(i.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and i.activo=true "+
-            "and t.averageRating >= 3.0 " +
-            "order by t.precio asc")
-    List<FiltrosConsultasIndependientesDTO> findFiltrosByDescripcionPrecioAsc3(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
+    @Modifying(flushAutomatically = true)
+    @Query("update TrabajoIndependiente t set " +
+            "t.averageRating = case when coalesce(t.ratingCount, 0) + :deltaCount > 0 " +
+            "then (coalesce(t.ratingSum, 0) + :deltaSum) * 1.0 / (coalesce(t.ratingCount, 0) + :deltaCount) " +
+            "else 5.0 end, " +
+            "t.ratingCount = coalesce(t.ratingCount, 0) + :deltaCount, " +
+            "t.ratingSum = coalesce(t.ratingSum, 0) + :deltaSum " +
+            "where t.id = :id")
+    int aplicarDeltaCalificacion(@Param("id") Long id, @Param("deltaCount") long deltaCount, @Param("deltaSum") long deltaSum);
 
     /**
-     * Consulta personalizada que devuelve los datos requeridos en el DTO,
-     * haciendo join con la entidad Independiente. findFiltrosByDescripcionPrecioDesc4
+     * Suma una venta al trabajo con un UPDATE atómico, sin cargar ni reescribir la fila completa.
+     *
+     * @param id ID del trabajo.
+     * @return Cantidad de filas actualizadas.
      */
-    @Query("select new com.professional.model.dto.FiltrosConsultasIndependientesDTO(" +
-            "i.id, t.id, i.nombres, i.apellidos, i.fotoRepresentante, i.tipoUsuario, i.profesion, i.areaTrabajo," +
-            "i.pais,i.ciudad,t.descripcionCorta, t.averageRating, t.precio,t.ventas) " +
-            "from TrabajoIndependiente t " +
-            "join t.independiente i " +
-            "where lower(i.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(i.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and i.activo=true "+
-            "and t.averageRating >= 4.0 " +
-            "order by t.precio desc")
-    List<FiltrosConsultasIndependientesDTO> findFiltrosByDescripcionPrecioDesc4(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
+    @Modifying(flushAutomatically = true)
+    @Query("update TrabajoIndependiente t set t.ventas = coalesce(t.ventas, 0) + 1 where t.id = :id")
+    int incrementarVentas(@Param("id") Long id);
 
     /**
-     * Consulta personalizada que devuelve los datos requeridos en el DTO,
-     * haciendo join con la entidad Independiente. findFiltrosByDescripcionPrecioDesc3
+     * IDs de los trabajos de un dueño, para invalidar su detalle en caché cuando cambian los datos del dueño.
+     *
+     * @param independienteId ID del dueño.
+     * @return IDs de sus trabajos.
      */
-    @Query("select new com.professional.model.dto.FiltrosConsultasIndependientesDTO(" +
-            "i.id, t.id, i.nombres, i.apellidos, i.fotoRepresentante, i.tipoUsuario, i.profesion, i.areaTrabajo," +
-            "i.pais,i.ciudad,t.descripcionCorta, t.averageRating, t.precio,t.ventas) " +
-            "from TrabajoIndependiente t " +
-            "join t.independiente i " +
-            "where lower(i.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(i.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and i.activo=true "+
-            "and t.averageRating >= 3.0 " +
-            "order by t.precio desc")
-    List<FiltrosConsultasIndependientesDTO> findFiltrosByDescripcionPrecioDesc3(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasIndependientesDTO(" +
-            "i.id, t.id, i.nombres, i.apellidos, i.fotoRepresentante, i.tipoUsuario, i.profesion, i.areaTrabajo," +
-            "i.pais,i.ciudad,t.descripcionCorta, t.averageRating, t.precio,t.ventas) " +
-            "from TrabajoIndependiente t " +
-            "join t.independiente i " +
-            "where lower(i.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(i.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and i.activo=true "+
-            "and t.averageRating >= 3.0 " +
-            "order by t.ventas asc")
-    List<FiltrosConsultasIndependientesDTO> findFiltrosByVentas3(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-    @Query("select new com.professional.model.dto.FiltrosConsultasIndependientesDTO(" +
-            "i.id, t.id, i.nombres, i.apellidos, i.fotoRepresentante, i.tipoUsuario, i.profesion, i.areaTrabajo," +
-            "i.pais,i.ciudad,t.descripcionCorta, t.averageRating, t.precio,t.ventas) " +
-            "from TrabajoIndependiente t " +
-            "join t.independiente i " +
-            "where lower(i.pais) like lower(concat('%', :pais, '%')) " +
-            "and lower(i.ciudad) like lower(concat('%', :ciudad, '%')) " +
-            "and lower(t.descripcionCorta) like lower(concat('%', :descripcionCorta, '%')) " +
-            "and t.activo = true "+
-            "and i.activo=true "+
-            "and t.averageRating >= 4.0 " +
-            "order by t.ventas asc")
-    List<FiltrosConsultasIndependientesDTO> findFiltrosByVentas4(@Param("pais") String pais,@Param("ciudad") String ciudad,@Param("descripcionCorta") String descripcionCorta);
-
-
+    @Query("select t.id from TrabajoIndependiente t where t.independiente.id = :independienteId")
+    List<Long> findIdsByIndependienteId(@Param("independienteId") Long independienteId);
 }
-
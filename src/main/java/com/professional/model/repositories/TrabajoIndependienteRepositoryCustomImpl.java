@@ -0,0 +1,43 @@
+package com.professional.model.repositories;
+
+import com.professional.model.dto.CriteriosBusquedaDTO;
+import com.professional.model.dto.FiltrosConsultasIndependientesDTO;
+import com.professional.model.entities.Independiente;
+import com.professional.model.entities.TrabajoIndependiente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public class TrabajoIndependienteRepositoryCustomImpl implements TrabajoIndependienteRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<FiltrosConsultasIndependientesDTO> buscarFiltros(CriteriosBusquedaDTO criterios, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FiltrosConsultasIndependientesDTO> cq = cb.createQuery(FiltrosConsultasIndependientesDTO.class);
+        Root<TrabajoIndependiente> t = cq.from(TrabajoIndependiente.class);
+        Join<TrabajoIndependiente, Independiente> i = t.join("independiente");
+
+        cq.select(cb.construct(FiltrosConsultasIndependientesDTO.class,
+                i.get("id"), t.get("id"), i.get("nombres"), i.get("apellidos"), i.get("fotoRepresentante"),
+                i.get("tipoUsuario"), i.get("profesion"), i.get("areaTrabajo"), i.get("pais"), i.get("ciudad"),
+                t.get("descripcionCorta"), t.get("averageRating"), t.get("precio"), t.get("ventas")));
+
+        Expression<Double> relevancia = BusquedaMarketplaceCriteria.relevancia(cb, t, criterios);
+        cq.where(BusquedaMarketplaceCriteria.filtros(cb, t, i, criterios, relevancia));
+        cq.orderBy(BusquedaMarketplaceCriteria.orden(cb, t, criterios, relevancia));
+
+        return BusquedaMarketplaceCriteria.slice(entityManager.createQuery(cq), criterios, relevancia, pageable);
+    }
+}
@@ -2,8 +2,13 @@ package com.professional.model.repositories;
 
 import com.professional.model.entities.VerificationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -21,5 +26,17 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
     Optional<VerificationToken> findByToken(String token);
 
     Optional<VerificationToken> findByCorreo(String correo);
+
+    /**
+     * Elimina un lote de tokens expirados, en su propia transacción, usando el índice por fecha de expiración.
+     *
+     * @param ahora Fecha de corte.
+     * @param lote  Cantidad máxima de filas a eliminar.
+     * @return Cantidad de filas eliminadas.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from verification_tokens where fecha_expiracion < :ahora limit :lote", nativeQuery = true)
+    int eliminarExpirados(@Param("ahora") LocalDateTime ahora, @Param("lote") int lote);
 }
 
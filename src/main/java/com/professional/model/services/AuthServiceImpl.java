@@ -1,22 +1,30 @@
 package com.professional.model.services;
 
 import com.professional.model.auth.GeneradorJwt;
+import com.professional.model.auth.ProcesadorPasswords;
+import com.professional.model.auth.ValidadorJwt;
 import com.professional.model.dto.RegistroDTO;
 import com.professional.model.dto.LoginDTO;
 import com.professional.model.entities.Cliente;
+import com.professional.model.entities.Cuenta;
 import com.professional.model.entities.Empresa;
 import com.professional.model.entities.Independiente;
-import com.professional.model.entities.VerificationToken;
+import com.professional.model.enums.TipoCuenta;
+import com.professional.model.replicas.LecturaPrimario;
 import com.professional.model.repositories.ClienteRepository;
 import com.professional.model.repositories.EmpresaRepository;
 import com.professional.model.repositories.IndependienteRepository;
-import com.professional.model.repositories.VerificationTokenRepository;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 import java.time.LocalDateTime;
@@ -27,49 +35,66 @@ public class AuthServiceImpl implements AuthService {
     private final ClienteRepository clienteRepository;
     private final EmpresaRepository empresaRepository;
     private final IndependienteRepository independienteRepository;
-    private final VerificationTokenRepository verificationTokenRepository;
     private final EmailService emailService;
-    private final PasswordEncoder passwordEncoder;
+    private final ProcesadorPasswords procesadorPasswords;
+    private final CuentaService cuentaService;
+    private final TransactionTemplate transactionTemplate;
+    private final GeneradorJwt generadorJwt;
+    private final ValidadorJwt validadorJwt;
+    private final Duration vigenciaConfirmacion;
 
     @Autowired
     public AuthServiceImpl(ClienteRepository clienteRepository,
                            EmpresaRepository empresaRepository,
                            IndependienteRepository independienteRepository,
-                           VerificationTokenRepository verificationTokenRepository,
                            EmailService emailService,
-                           PasswordEncoder passwordEncoder) {
+                           ProcesadorPasswords procesadorPasswords,
+                           CuentaService cuentaService,
+                           PlatformTransactionManager transactionManager,
+                           GeneradorJwt generadorJwt,
+                           ValidadorJwt validadorJwt,
+                           @Value("${seguridad.confirmacion.vigencia:72h}") Duration vigenciaConfirmacion) {
         this.clienteRepository = clienteRepository;
         this.empresaRepository = empresaRepository;
         this.independienteRepository = independienteRepository;
-        this.verificationTokenRepository = verificationTokenRepository;
         this.emailService = emailService;
-        this.passwordEncoder = passwordEncoder;
+        this.procesadorPasswords = procesadorPasswords;
+        this.cuentaService = cuentaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.generadorJwt = generadorJwt;
+        this.validadorJwt = validadorJwt;
+        this.vigenciaConfirmacion = vigenciaConfirmacion;
     }
 
     /**
      * {@inheritDoc}
+     * El hash de la contraseña se calcula antes de abrir la transacción, para no retener una conexión
+     * JDBC durante el cálculo de BCrypt.
      */
     @Override
-    @Transactional
     public void registrarUsuario(RegistroDTO registroDTO) {
         String tipoUsuario = registroDTO.getTipoUsuario();
-        System.out.println("registrarUsuario: "+registroDTO.getTipoUsuario());
-
-        switch (tipoUsuario.toLowerCase()) {
-            case "cliente" -> registrarCliente(registroDTO);
-            case "empresa" -> registrarEmpresa(registroDTO);
-            case "independiente" -> registrarIndependiente(registroDTO);
-            default -> throw new IllegalArgumentException("Tipo de usuario no válido");
-        }
+        // El correo debe ser único entre clientes, empresas e independientes
+        cuentaService.verificarCorreoDisponible(registroDTO.getCorreo());
+        String hash = procesadorPasswords.codificar(registroDTO.getPassword());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            switch (tipoUsuario.toLowerCase()) {
+                case "cliente" -> registrarCliente(registroDTO, hash);
+                case "empresa" -> registrarEmpresa(registroDTO, hash);
+                case "independiente" -> registrarIndependiente(registroDTO, hash);
+                default -> throw new IllegalArgumentException("Tipo de usuario no válido");
+            }
+        });
     }
 
-    private void registrarCliente(RegistroDTO dto) {
+    private void registrarCliente(RegistroDTO dto, String hash) {
         Cliente cliente = new Cliente();
         cliente.setNombres(dto.getNombres());
         cliente.setApellidos(dto.getApellidos());
         cliente.setCelular(dto.getCelular());
         cliente.setCorreo(dto.getCorreo());
-        cliente.setPassword(passwordEncoder.encode(dto.getPassword()));
+        cliente.setPassword(hash);
         cliente.setActivo(false); // Se activará tras confirmar el correo
         cliente.setTipoUsuario(dto.getTipoUsuario());
         cliente.setPais(dto.getPais());
@@ -77,20 +102,20 @@ public class AuthServiceImpl implements AuthService {
         cliente.setDireccion(dto.getDireccion());
 
         Cliente guardado = clienteRepository.save(cliente);
+        cuentaService.registrar(guardado.getCorreo(), TipoCuenta.CLIENTE, guardado.getId(), false);
 
-        System.out.println("Cliente guardado: "+guardado.getTipoUsuario());
-        enviarCorreoConfirmacion(guardado.getCorreo(), generarToken(guardado.getCorreo(),LocalDateTime.now().plusHours(72),guardado.getTipoUsuario(),
-                guardado.getPais(),guardado.getCiudad(),guardado.getId()));
+        enviarCorreoConfirmacion(guardado.getCorreo(), generadorJwt.generarTokenConfirmacion(guardado.getCorreo(),
+                LocalDateTime.now().plus(vigenciaConfirmacion)));
     }
 
-    private void registrarEmpresa(RegistroDTO dto) {
+    private void registrarEmpresa(RegistroDTO dto, String hash) {
         Empresa empresa = new Empresa();
         empresa.setNombres(dto.getNombres());
         empresa.setApellidos(dto.getApellidos());
         empresa.setCelular(dto.getCelular());
         empresa.setCorreo(dto.getCorreo());
         empresa.setFotoRepresentante(dto.getFotoRepresentante());
-        empresa.setPassword(passwordEncoder.encode(dto.getPassword()));
+        empresa.setPassword(hash);
         empresa.setCartaPresentacion(dto.getCartaPresentacion());
         empresa.setMision(dto.getMision());
         empresa.setVision(dto.getVision());
@@ -108,18 +133,19 @@ public class AuthServiceImpl implements AuthService {
         empresa.setDireccion(dto.getDireccion());
 
         Empresa guardada = empresaRepository.save(empresa);
+        cuentaService.registrar(guardada.getCorreo(), TipoCuenta.EMPRESA, guardada.getId(), false);
 
-        enviarCorreoConfirmacion(guardada.getCorreo(), generarToken(guardada.getCorreo(),LocalDateTime.now().plusHours(72),guardada.getTipoUsuario(),
-                guardada.getPais(),guardada.getCiudad(),guardada.getId()));
+        enviarCorreoConfirmacion(guardada.getCorreo(), generadorJwt.generarTokenConfirmacion(guardada.getCorreo(),
+                LocalDateTime.now().plus(vigenciaConfirmacion)));
     }
 
-    private void registrarIndependiente(RegistroDTO dto) {
+    private void registrarIndependiente(RegistroDTO dto, String hash) {
         Independiente independiente = new Independiente();
         independiente.setNombres(dto.getNombres());
         independiente.setApellidos(dto.getApellidos());
         independiente.setCelular(dto.getCelular());
         independiente.setCorreo(dto.getCorreo());
-        independiente.setPassword(passwordEncoder.encode(dto.getPassword()));
+        independiente.setPassword(hash);
         independiente.setFotoRepresentante(dto.getFotoRepresentante());
         independiente.setCartaPresentacion(dto.getCartaPresentacion());
         independiente.setMision(dto.getMision());
@@ -136,20 +162,10 @@ public class AuthServiceImpl implements AuthService {
         independiente.setDireccion(dto.getDireccion());
 
         Independiente guardado = independienteRepository.save(independiente);
+        cuentaService.registrar(guardado.getCorreo(), TipoCuenta.INDEPENDIENTE, guardado.getId(), false);
 
-        enviarCorreoConfirmacion(guardado.getCorreo(), generarToken(guardado.getCorreo(),LocalDateTime.now().plusHours(72),guardado.getTipoUsuario(),
-                guardado.getPais(),guardado.getCiudad(),guardado.getId()));
-    }
-
-    private String generarToken(String correo, LocalDateTime fechaExpiracion, String tipoUsuario,String pais,String ciudad, Long id) {
-        String token = GeneradorJwt.generarToken(correo,fechaExpiracion,tipoUsuario,pais,ciudad,id);
-        VerificationToken verificationToken = new VerificationToken();
-        verificationToken.setToken(token);
-        verificationToken.setCorreo(correo);
-        verificationToken.setFechaExpiracion(fechaExpiracion);
-        verificationToken.setTipoUsuario(tipoUsuario);
-        verificationTokenRepository.save(verificationToken);
-        return token;
+        enviarCorreoConfirmacion(guardado.getCorreo(), generadorJwt.generarTokenConfirmacion(guardado.getCorreo(),
+                LocalDateTime.now().plus(vigenciaConfirmacion)));
     }
 
     private void enviarCorreoConfirmacion(String correo, String token) {
@@ -162,52 +178,63 @@ public class AuthServiceImpl implements AuthService {
 
     /**
      * {@inheritDoc}
+     * El token de confirmación es un JWT firmado de un solo propósito que se verifica sin consultar la
+     * base de datos, así que se puede volver a usar mientras no expire. Solo activa cuentas que nunca se
+     * confirmaron: repetir el enlace no reactiva una cuenta que se desactivó o eliminó después.
      */
     @Override
     @Transactional
     public void confirmarCuenta(String token) {
-        VerificationToken verificationToken = verificationTokenRepository.findByToken(token)
-                .orElseThrow(() -> new ResourceNotFoundException("Token de confirmación no válido"));
-
-        if (verificationToken.getFechaExpiracion().isBefore(LocalDateTime.now())) {
+        String correo;
+        try {
+            correo = validadorJwt.validarConfirmacion(token);
+        } catch (ExpiredJwtException e) {
             throw new IllegalStateException("El token ha expirado");
+        } catch (JwtException e) {
+            throw new ResourceNotFoundException("Token de confirmación no válido");
         }
 
-        String correo = verificationToken.getCorreo();
-
         // Activar el usuario
-        if (activarUsuario(correo)) {
-            // Eliminar el token después de la confirmación
-            verificationTokenRepository.delete(verificationToken);
-        } else {
+        if (!activarUsuario(correo)) {
             throw new ResourceNotFoundException("Usuario no encontrado para activar");
         }
     }
 
     private boolean activarUsuario(String correo) {
-        boolean activado = false;
-
-        Optional<Cliente> cliente = clienteRepository.findByCorreo(correo);
-        if (cliente.isPresent()) {
-            cliente.get().setActivo(true);
-            clienteRepository.save(cliente.get());
-            activado = true;
+        // Una búsqueda en el índice de cuentas y luego la lectura por clave primaria en la tabla que corresponde
+        Optional<Cuenta> cuentaOpt = cuentaService.buscarPorCorreo(correo);
+        if (cuentaOpt.isEmpty()) {
+            return false;
         }
-
-        Optional<Empresa> empresa = empresaRepository.findByCorreo(correo);
-        if (empresa.isPresent()) {
-            empresa.get().setActivo(true);
-            empresaRepository.save(empresa.get());
-            activado = true;
+        Cuenta cuenta = cuentaOpt.get();
+        if (cuenta.getFechaConfirmacion() != null) {
+            return true;
         }
 
-        Optional<Independiente> independiente = independienteRepository.findByCorreo(correo);
-        if (independiente.isPresent()) {
-            independiente.get().setActivo(true);
-            independienteRepository.save(independiente.get());
-            activado = true;
+        boolean activado = switch (cuenta.getTipo()) {
+            case CLIENTE -> clienteRepository.findById(cuenta.getUsuarioId())
+                    .map(cliente -> {
+                        cliente.setActivo(true);
+                        clienteRepository.save(cliente);
+                        return true;
+                    }).orElse(false);
+            case EMPRESA -> empresaRepository.findById(cuenta.getUsuarioId())
+                    .map(empresa -> {
+                        empresa.setActivo(true);
+                        empresaRepository.save(empresa);
+                        return true;
+                    }).orElse(false);
+            case INDEPENDIENTE -> independienteRepository.findById(cuenta.getUsuarioId())
+                    .map(independiente -> {
+                        independiente.setActivo(true);
+                        independienteRepository.save(independiente);
+                        return true;
+                    }).orElse(false);
+        };
+        if (activado) {
+            cuenta.setActivo(true);
+            cuenta.setFechaConfirmacion(LocalDateTime.now());
         }
-
         return activado;
     }
 
@@ -258,44 +285,78 @@ public class AuthServiceImpl implements AuthService {
 //    }
 
 
+    /**
+     * {@inheritDoc}
+     * Sin transacción: las lecturas usan transacciones cortas y la verificación BCrypt se hace en
+     * {@link ProcesadorPasswords} sin conexión JDBC retenida. El token de sesión no se guarda: solo se
+     * escribe si hay que regenerar el hash de la contraseña.
+     */
     @Override
-    @Transactional
     public String autenticarUsuario(LoginDTO loginDTO) {
         String correo = loginDTO.getCorreo();
         String password = loginDTO.getPassword();
-        // Buscar el usuario en cada tabla de forma independiente
-        Optional<Cliente> clienteOpt = clienteRepository.findByCorreo(correo);
-        Optional<Empresa> empresaOpt = empresaRepository.findByCorreo(correo);
-        Optional<Independiente> independienteOpt = independienteRepository.findByCorreo(correo);
+        // Resolver el tipo de usuario con el índice de cuentas y leer solo esa tabla por clave primaria.
+        // Todo del primario: una réplica atrasada vería inactiva una cuenta recién confirmada.
+        Optional<Cuenta> cuentaOpt = cuentaService.buscarPorCorreo(correo);
+        TipoCuenta tipo = cuentaOpt.map(Cuenta::getTipo).orElse(null);
+        Long usuarioId = cuentaOpt.map(Cuenta::getUsuarioId).orElse(null);
+        Optional<Cliente> clienteOpt = tipo == TipoCuenta.CLIENTE
+                ? LecturaPrimario.ejecutar(() -> clienteRepository.findById(usuarioId)) : Optional.empty();
+        Optional<Empresa> empresaOpt = tipo == TipoCuenta.EMPRESA
+                ? LecturaPrimario.ejecutar(() -> empresaRepository.findById(usuarioId)) : Optional.empty();
+        Optional<Independiente> independienteOpt = tipo == TipoCuenta.INDEPENDIENTE
+                ? LecturaPrimario.ejecutar(() -> independienteRepository.findById(usuarioId)) : Optional.empty();
         // Verificar si se encontró algún usuario
         if (clienteOpt.isPresent()) {
             Cliente cliente = clienteOpt.get();
-            if (cliente.getActivo() && passwordEncoder.matches(password, cliente.getPassword())) {
-                Optional<VerificationToken> verificationToken = verificationTokenRepository.findByCorreo(cliente.getCorreo());
-                verificationToken.ifPresent(verificationTokenRepository::delete);
-                return generarToken(cliente.getCorreo(), LocalDateTime.now().plusHours(72), cliente.getTipoUsuario(),
-                                    cliente.getPais(),cliente.getCiudad(),cliente.getId());
+            if (cliente.getActivo() && procesadorPasswords.verificar(password, cliente.getPassword())) {
+                String nuevoHash = rehashSiCorresponde(password, cliente.getPassword());
+                if (nuevoHash != null) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            clienteRepository.actualizarPassword(cliente.getId(), nuevoHash));
+                }
+                return emitirToken(cliente.getCorreo(), cliente.getTipoUsuario(),
+                        cliente.getPais(), cliente.getCiudad(), cliente.getId());
             }
         } else if (empresaOpt.isPresent()) {
             Empresa empresa = empresaOpt.get();
-            if (empresa.getActivo() && passwordEncoder.matches(password, empresa.getPassword())) {
-                Optional<VerificationToken> verificationToken = verificationTokenRepository.findByCorreo(empresa.getCorreo());
-                verificationToken.ifPresent(verificationTokenRepository::delete);
-                return generarToken(empresa.getCorreo(), LocalDateTime.now().plusHours(72), empresa.getTipoUsuario(),
-                        empresa.getPais(),empresa.getCiudad(),empresa.getId());
+            if (empresa.getActivo() && procesadorPasswords.verificar(password, empresa.getPassword())) {
+                String nuevoHash = rehashSiCorresponde(password, empresa.getPassword());
+                if (nuevoHash != null) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            empresaRepository.actualizarPassword(empresa.getId(), nuevoHash));
+                }
+                return emitirToken(empresa.getCorreo(), empresa.getTipoUsuario(),
+                        empresa.getPais(), empresa.getCiudad(), empresa.getId());
             }
         } else if (independienteOpt.isPresent()) {
             Independiente independiente = independienteOpt.get();
-            if (independiente.getActivo() && passwordEncoder.matches(password, independiente.getPassword())) {
-                Optional<VerificationToken> verificationToken = verificationTokenRepository.findByCorreo(independiente.getCorreo());
-                verificationToken.ifPresent(verificationTokenRepository::delete);
-                return generarToken(independiente.getCorreo(), LocalDateTime.now().plusHours(72), independiente.getTipoUsuario(),
-                        independiente.getPais(),independiente.getCiudad(),independiente.getId());
+            if (independiente.getActivo() && procesadorPasswords.verificar(password, independiente.getPassword())) {
+                String nuevoHash = rehashSiCorresponde(password, independiente.getPassword());
+                if (nuevoHash != null) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            independienteRepository.actualizarPassword(independiente.getId(), nuevoHash));
+                }
+                return emitirToken(independiente.getCorreo(), independiente.getTipoUsuario(),
+                        independiente.getPais(), independiente.getCiudad(), independiente.getId());
             }
         }
 
         throw new IllegalArgumentException("Credenciales inválidas o cuenta no confirmada");
     }
 
-}
+    /**
+     * Si el hash almacenado usa un costo BCrypt menor al configurado, genera uno nuevo con la
+     * contraseña recién verificada (fuera de la transacción).
+     *
+     * @return Nuevo hash, o null si el actual sigue vigente.
+     */
+    private String rehashSiCorresponde(String password, String hashActual) {
+        return procesadorPasswords.requiereRehash(hashActual) ? procesadorPasswords.codificar(password) : null;
+    }
 
+    private String emitirToken(String correo, String tipoUsuario, String pais, String ciudad, Long id) {
+        return generadorJwt.generarToken(correo, LocalDateTime.now().plusHours(72), tipoUsuario, pais, ciudad, id);
+    }
+
+}
@@ -1,8 +1,10 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.CalificacionDTO;
 import com.professional.model.entities.CalificacionEmpresas;
 import com.professional.model.entities.TrabajoEmpresa;
 import com.professional.model.entities.Cliente;
+import com.professional.model.paginacion.PaginaCursor;
 
 import java.util.List;
 
@@ -11,9 +13,11 @@ public interface CalificacionEmpresasService {
     /**
      * Obtener todas las calificaciones.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de CalificacionEmpresas.
      */
-    List<CalificacionEmpresas> getAllCalificaciones();
+    PaginaCursor<CalificacionDTO> getAllCalificaciones(String cursor, int tamanio);
 
     /**
      * Obtener una CalificacionEmpresas por su ID.
@@ -21,7 +25,7 @@ public interface CalificacionEmpresasService {
      * @param id ID de la CalificacionEmpresas.
      * @return CalificacionEmpresas encontrada.
      */
-    CalificacionEmpresas getCalificacionById(Long id);
+    CalificacionDTO getCalificacionById(Long id);
 
     /**
      * Crear una nueva CalificacionEmpresas.
@@ -29,7 +33,7 @@ public interface CalificacionEmpresasService {
      * @param calificacion Datos de la CalificacionEmpresas a crear.
      * @return CalificacionEmpresas creada.
      */
-    CalificacionEmpresas createCalificacion(CalificacionEmpresas calificacion);
+    CalificacionDTO createCalificacion(CalificacionEmpresas calificacion);
 
     /**
      * Actualizar una CalificacionEmpresas existente.
@@ -38,7 +42,7 @@ public interface CalificacionEmpresasService {
      * @param calificacionDetalles Datos actualizados de la CalificacionEmpresas.
      * @return CalificacionEmpresas actualizada.
      */
-    CalificacionEmpresas updateCalificacion(Long id, CalificacionEmpresas calificacionDetalles);
+    CalificacionDTO updateCalificacion(Long id, CalificacionEmpresas calificacionDetalles);
 
     /**
      * Eliminar una CalificacionEmpresas por su ID.
@@ -54,7 +58,7 @@ public interface CalificacionEmpresasService {
      * @param trabajoEmpresa   TrabajoEmpresa calificado.
      * @return CalificacionEmpresas encontrada.
      */
-    CalificacionEmpresas getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoEmpresa trabajoEmpresa);
+    CalificacionDTO getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoEmpresa trabajoEmpresa);
 
     /**
      * Verificar si existe una CalificacionEmpresas para un Cliente y TrabajoEmpresa específicos.
@@ -1,11 +1,17 @@
 package com.professional.model.services;
 
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.CalificacionDTO;
 import com.professional.model.entities.CalificacionEmpresas;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.entities.TrabajoEmpresa;
 import com.professional.model.entities.Cliente;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.CalificacionEmpresasRepository;
+import com.professional.model.repositories.TrabajoEmpresaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,31 +24,45 @@ public class CalificacionEmpresasServiceImpl implements CalificacionEmpresasServ
     private final TrabajoEmpresaService trabajoEmpresaService;
     private final ClienteService clienteService;
 
+    private final TrabajoEmpresaRepository trabajoEmpresaRepository;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
+
     @Autowired
     public CalificacionEmpresasServiceImpl(CalificacionEmpresasRepository calificacionRepository,
                                            TrabajoEmpresaService trabajoEmpresaService,
-                                           ClienteService clienteService) {
+                                           ClienteService clienteService,
+                                           TrabajoEmpresaRepository trabajoEmpresaRepository,
+                                           CacheDetalleTrabajos cacheDetalleTrabajos,
+                                           CacheBusquedas cacheBusquedas) {
         this.calificacionRepository = calificacionRepository;
         this.trabajoEmpresaService = trabajoEmpresaService;
         this.clienteService = clienteService;
+        this.trabajoEmpresaRepository = trabajoEmpresaRepository;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CalificacionEmpresas> getAllCalificaciones() {
-        return calificacionRepository.findAll();
+    public PaginaCursor<CalificacionDTO> getAllCalificaciones(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> calificacionRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                CalificacionEmpresas::getId)
+                .map(CalificacionDTO::new);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public CalificacionEmpresas getCalificacionById(Long id) {
+    public CalificacionDTO getCalificacionById(Long id) {
         return calificacionRepository.findById(id)
+                .map(CalificacionDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionEmpresas no encontrada con ID: " + id));
     }
 
     @Override
     @Transactional
-    public CalificacionEmpresas createCalificacion(CalificacionEmpresas calificacion) {
+    public CalificacionDTO createCalificacion(CalificacionEmpresas calificacion) {
         // Validaciones adicionales
         // Verificar que el Cliente y TrabajoEmpresa existan
         Cliente cliente = clienteService.getClienteById(calificacion.getCliente().getId());
@@ -68,16 +88,17 @@ public class CalificacionEmpresasServiceImpl implements CalificacionEmpresasServ
         CalificacionEmpresas creado = calificacionRepository.save(calificacion);
 
         // Actualizar el promedio de calificación en TrabajoEmpresa
-        actualizarPromedioCalificacion(trabajo);
+        actualizarPromedioCalificacion(trabajo, 1, creado.getRating());
 
-        return creado;
+        return new CalificacionDTO(creado);
     }
 
     @Override
     @Transactional
-    public CalificacionEmpresas updateCalificacion(Long id, CalificacionEmpresas calificacionDetalles) {
-        CalificacionEmpresas existente = calificacionRepository.findById(id)
+    public CalificacionDTO updateCalificacion(Long id, CalificacionEmpresas calificacionDetalles) {
+        CalificacionEmpresas existente = calificacionRepository.findByIdParaActualizar(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionEmpresas no encontrada con ID: " + id));
+        int ratingAnterior = existente.getRating();
 
         // Actualizar campos permitidos
         existente.setRating(calificacionDetalles.getRating());
@@ -94,26 +115,27 @@ public class CalificacionEmpresasServiceImpl implements CalificacionEmpresasServ
         CalificacionEmpresas actualizado = calificacionRepository.save(existente);
 
         // Actualizar el promedio de calificación en TrabajoEmpresa
-        actualizarPromedioCalificacion(actualizado.getTrabajo());
+        actualizarPromedioCalificacion(actualizado.getTrabajo(), 0, actualizado.getRating() - ratingAnterior);
 
-        return actualizado;
+        return new CalificacionDTO(actualizado);
     }
 
     @Override
     @Transactional
     public void deleteCalificacion(Long id) {
-        CalificacionEmpresas existente = calificacionRepository.findById(id)
+        CalificacionEmpresas existente = calificacionRepository.findByIdParaActualizar(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionEmpresas no encontrada con ID: " + id));
         calificacionRepository.delete(existente);
 
         // Actualizar el promedio de calificación en TrabajoEmpresa
-        actualizarPromedioCalificacion(existente.getTrabajo());
+        actualizarPromedioCalificacion(existente.getTrabajo(), -1, -existente.getRating());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public CalificacionEmpresas getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoEmpresa trabajoEmpresa) {
+    public CalificacionDTO getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoEmpresa trabajoEmpresa) {
         return calificacionRepository.findByClienteAndTrabajo(cliente, trabajoEmpresa)
+                .map(CalificacionDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionEmpresas no encontrada para el Cliente ID: "
                         + cliente.getId() + " y TrabajoEmpresa ID: " + trabajoEmpresa.getId()));
     }
@@ -125,19 +147,16 @@ public class CalificacionEmpresasServiceImpl implements CalificacionEmpresasServ
     }
 
     /**
-     * Método para actualizar el promedio de calificaciones de un TrabajoEmpresa
+     * Método para actualizar el promedio de calificaciones de un TrabajoEmpresa.
+     * Aplica solo el cambio de la calificación sobre los agregados del trabajo, sin recorrer sus calificaciones.
      *
      * @param trabajoEmpresa El TrabajoEmpresa cuyo promedio se actualizará
+     * @param deltaCount     Cambio en la cantidad de calificaciones
+     * @param deltaSum       Cambio en la suma de calificaciones
      */
-    private void actualizarPromedioCalificacion(TrabajoEmpresa trabajoEmpresa) {
-        Double promedio = calificacionRepository.findAverageRatingByTrabajo(trabajoEmpresa);
-        if (promedio == null) {
-            promedio = 0.0; // Puedes establecer un valor por defecto si no hay calificaciones
-        }
-        trabajoEmpresa.setAverageRating(promedio);
-        trabajoEmpresaService.saveTrabajoEmpresa(trabajoEmpresa);
+    private void actualizarPromedioCalificacion(TrabajoEmpresa trabajoEmpresa, long deltaCount, long deltaSum) {
+        trabajoEmpresaRepository.aplicarDeltaCalificacion(trabajoEmpresa.getId(), deltaCount, deltaSum);
+        cacheDetalleTrabajos.invalidarTrabajoEmpresa(trabajoEmpresa.getId());
+        cacheBusquedas.nuevaGeneracion();
     }
-
-
 }
-
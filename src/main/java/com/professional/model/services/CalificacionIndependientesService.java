@@ -1,9 +1,11 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.CalificacionDTO;
 import com.professional.model.entities.CalificacionIndependientes;
 import com.professional.model.entities.TrabajoIndEnAccion;
 import com.professional.model.entities.TrabajoIndependiente;
 import com.professional.model.entities.Cliente;
+import com.professional.model.paginacion.PaginaCursor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -21,9 +23,11 @@ public interface CalificacionIndependientesService {
     /**
      * Obtener todas las calificaciones.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de CalificacionIndependientes.
      */
-    List<CalificacionIndependientes> getAllCalificaciones();
+    PaginaCursor<CalificacionDTO> getAllCalificaciones(String cursor, int tamanio);
 
     /**
      * Obtener una CalificacionIndependientes por su ID.
@@ -31,7 +35,7 @@ public interface CalificacionIndependientesService {
      * @param id ID de la CalificacionIndependientes.
      * @return CalificacionIndependientes encontrada.
      */
-    CalificacionIndependientes getCalificacionById(Long id);
+    CalificacionDTO getCalificacionById(Long id);
 
     /**
      * Crear una nueva CalificacionIndependientes.
@@ -39,7 +43,7 @@ public interface CalificacionIndependientesService {
      * @param calificacion Datos de la CalificacionIndependientes a crear.
      * @return CalificacionIndependientes creada.
      */
-    CalificacionIndependientes createCalificacion(CalificacionIndependientes calificacion);
+    CalificacionDTO createCalificacion(CalificacionIndependientes calificacion);
 
     /**
      * Actualizar una CalificacionIndependientes existente.
@@ -48,7 +52,7 @@ public interface CalificacionIndependientesService {
      * @param calificacionDetalles Datos actualizados de la CalificacionIndependientes.
      * @return CalificacionIndependientes actualizada.
      */
-    CalificacionIndependientes updateCalificacion(Long id, CalificacionIndependientes calificacionDetalles);
+    CalificacionDTO updateCalificacion(Long id, CalificacionIndependientes calificacionDetalles);
 
     /**
      * Eliminar una CalificacionIndependientes por su ID.
@@ -59,7 +63,7 @@ public interface CalificacionIndependientesService {
 
 
     @Transactional(readOnly = true)
-    CalificacionIndependientes getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoIndEnAccion trabajoIndEnAccion);
+    CalificacionDTO getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoIndEnAccion trabajoIndEnAccion);
 
     @Transactional(readOnly = true)
     boolean existsCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoIndEnAccion trabajoIndEnAccion);
@@ -1,12 +1,18 @@
 package com.professional.model.services;
 
 import com.professional.controller.exceptions.InvalidOperationException;
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.CalificacionDTO;
 import com.professional.model.entities.*;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.exceptions.ResourceNotFoundException;
 
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.CalificacionIndependientesRepository;
 import com.professional.model.repositories.TrabajoIndEnAccionRepository;
+import com.professional.model.repositories.TrabajoIndependienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,38 +23,47 @@ import java.util.List;
 public class CalificacionIndependientesServiceImpl implements CalificacionIndependientesService {
 
     private final CalificacionIndependientesRepository calificacionRepository;
-    private final TrabajoIndependienteService trabajoIndependienteService;
     private final ClienteService clienteService;
     private final TrabajoIndEnAccionRepository trabajoIndEnAccion;
+    private final TrabajoIndependienteRepository trabajoIndependienteRepository;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
 
     @Autowired
     public CalificacionIndependientesServiceImpl(CalificacionIndependientesRepository calificacionRepository,
-                                                 TrabajoIndependienteService trabajoIndependienteService,
                                                  ClienteService clienteService,
-                                                 TrabajoIndEnAccionRepository trabajoIndEnAccion) {
+                                                 TrabajoIndEnAccionRepository trabajoIndEnAccion,
+                                                 TrabajoIndependienteRepository trabajoIndependienteRepository,
+                                                 CacheDetalleTrabajos cacheDetalleTrabajos,
+                                                 CacheBusquedas cacheBusquedas) {
         this.calificacionRepository = calificacionRepository;
-        this.trabajoIndependienteService = trabajoIndependienteService;
         this.clienteService = clienteService;
         this.trabajoIndEnAccion = trabajoIndEnAccion;
+        this.trabajoIndependienteRepository = trabajoIndependienteRepository;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CalificacionIndependientes> getAllCalificaciones() {
-        // Obtener todas las calificaciones
-        return calificacionRepository.findAll();
+    public PaginaCursor<CalificacionDTO> getAllCalificaciones(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> calificacionRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                CalificacionIndependientes::getId)
+                .map(CalificacionDTO::new);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public CalificacionIndependientes getCalificacionById(Long id) {
+    public CalificacionDTO getCalificacionById(Long id) {
         return calificacionRepository.findById(id)
+                .map(CalificacionDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionIndependientes no encontrada con ID: " + id));
     }
 
     @Override
     @Transactional
-    public CalificacionIndependientes createCalificacion(CalificacionIndependientes calificacion) {
+    public CalificacionDTO createCalificacion(CalificacionIndependientes calificacion) {
         // Obtener Cliente y TrabajoIndEnAccion
         Cliente cliente = clienteService.getClienteById(calificacion.getCliente().getId());
         TrabajoIndEnAccion trabajoIndEnAccion = this.trabajoIndEnAccion.findById(calificacion.getTrabajoIndEnAccion().getId())
@@ -72,48 +87,52 @@ public class CalificacionIndependientesServiceImpl implements CalificacionIndepe
         // Establecer relaciones
         calificacion.setCliente(cliente);
         calificacion.setTrabajoIndEnAccion(trabajoIndEnAccion);
+        calificacion.setTrabajo(trabajoIndEnAccion.getTrabajoIndependiente());
 
         CalificacionIndependientes creada = calificacionRepository.save(calificacion);
 
         // Actualizar el promedio de calificación en TrabajoIndependiente
-        actualizarPromedioCalificacion(trabajoIndEnAccion);
+        actualizarPromedioCalificacion(creada.getTrabajo(), 1, creada.getRating());
 
-        return creada;
+        return new CalificacionDTO(creada);
     }
 
     @Override
     @Transactional
-    public CalificacionIndependientes updateCalificacion(Long id, CalificacionIndependientes calificacionDetalles) {
-        CalificacionIndependientes existente = calificacionRepository.findById(id)
+    public CalificacionDTO updateCalificacion(Long id, CalificacionIndependientes calificacionDetalles) {
+        CalificacionIndependientes existente = calificacionRepository.findByIdParaActualizar(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionIndependientes no encontrada con ID: " + id));
 
+        int ratingAnterior = existente.getRating();
+
         // Actualizar campos permitidos
         existente.setRating(calificacionDetalles.getRating());
         existente.setComentarios(calificacionDetalles.getComentarios());
 
         CalificacionIndependientes actualizado = calificacionRepository.save(existente);
 
-        // Actualizar el promedio de calificación en TrabajoIndEnAccion
-        actualizarPromedioCalificacion(actualizado.getTrabajoIndEnAccion());
+        // Actualizar el promedio de calificación en TrabajoIndependiente
+        actualizarPromedioCalificacion(actualizado.getTrabajo(), 0, actualizado.getRating() - ratingAnterior);
 
-        return actualizado;
+        return new CalificacionDTO(actualizado);
     }
 
     @Override
     @Transactional
     public void deleteCalificacion(Long id) {
-        CalificacionIndependientes existente = calificacionRepository.findById(id)
+        CalificacionIndependientes existente = calificacionRepository.findByIdParaActualizar(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionIndependientes no encontrada con ID: " + id));
         calificacionRepository.delete(existente);
 
-        // Actualizar el promedio de calificación en TrabajoIndEnAccion
-        actualizarPromedioCalificacion(existente.getTrabajoIndEnAccion());
+        // Actualizar el promedio de calificación en TrabajoIndependiente
+        actualizarPromedioCalificacion(existente.getTrabajo(), -1, -existente.getRating());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public CalificacionIndependientes getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoIndEnAccion trabajoIndependiente) {
+    public CalificacionDTO getCalificacionByClienteAndTrabajo(Cliente cliente, TrabajoIndEnAccion trabajoIndependiente) {
         return calificacionRepository.findByClienteAndTrabajoIndEnAccion(cliente, trabajoIndependiente)
+                .map(CalificacionDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("CalificacionIndependientes no encontrada para el Cliente ID: "
                         + cliente.getId() + " y TrabajoIndEnAccion ID: " + trabajoIndependiente.getId()));
     }
@@ -127,16 +146,16 @@ public class CalificacionIndependientesServiceImpl implements CalificacionIndepe
 
 
     /**
-     * Método para actualizar el promedio de calificaciones de un TrabajoIndEnAccion
+     * Método para actualizar el promedio de calificaciones de un TrabajoIndependiente.
+     * Aplica solo el cambio de la calificación sobre los agregados del trabajo, sin recorrer sus calificaciones.
      *
-     * @param trabajoIndEnAccion El TrabajoIndEnAccion cuyo promedio se actualizará
+     * @param trabajoIndependiente El TrabajoIndependiente cuyo promedio se actualizará
+     * @param deltaCount           Cambio en la cantidad de calificaciones
+     * @param deltaSum             Cambio en la suma de calificaciones
      */
-    private void actualizarPromedioCalificacion(TrabajoIndEnAccion trabajoIndEnAccion) {
-        Double promedio = calificacionRepository.findAverageRatingByTrabajoIndEnAccion(trabajoIndEnAccion);
-        if (promedio == null) {
-            promedio = 5.0; // Valor por defecto si no hay calificaciones
-        }
-        trabajoIndEnAccion.getTrabajoIndependiente().setAverageRating(promedio);
-        trabajoIndependienteService.saveTrabajoIndependiente(trabajoIndEnAccion.getTrabajoIndependiente());
+    private void actualizarPromedioCalificacion(TrabajoIndependiente trabajoIndependiente, long deltaCount, long deltaSum) {
+        trabajoIndependienteRepository.aplicarDeltaCalificacion(trabajoIndependiente.getId(), deltaCount, deltaSum);
+        cacheDetalleTrabajos.invalidarTrabajoIndependiente(trabajoIndependiente.getId());
+        cacheBusquedas.nuevaGeneracion();
     }
 }
@@ -3,6 +3,9 @@ package com.professional.model.services;
 import com.professional.model.dto.*;
 import com.professional.model.entities.Cliente;
 import com.professional.model.enums.RangoCalificacion;
+import com.professional.model.paginacion.PaginaCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,16 +18,20 @@ public interface ClienteService {
     /**
      * Obtener todos los clientes.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de Cliente.
      */
-    List<Cliente> getAllClientes();
+    PaginaCursor<ClienteDTO> getAllClientes(String cursor, int tamanio);
 
     /**
      * Obtener todos los clientes.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de Cliente.
      */
-    List<Cliente> getAllClientesTodos();
+    PaginaCursor<ClienteDTO> getAllClientesTodos(String cursor, int tamanio);
     /**
      * Obtener un Cliente por su ID.
      *
@@ -33,6 +40,14 @@ public interface ClienteService {
      */
     Cliente getClienteById(Long id);
 
+    /**
+     * Obtener un Cliente activo por su ID, como vista de lectura.
+     *
+     * @param id ID del Cliente.
+     * @return Cliente encontrado.
+     */
+    ClienteDTO getClienteDTOById(Long id);
+
     /**
      * Obtener un Cliente por su correo electrónico.
      *
@@ -50,7 +65,7 @@ public interface ClienteService {
      * @param cliente Datos del Cliente a crear.
      * @return Cliente creado.
      */
-    Cliente createCliente(Cliente cliente);
+    ClienteDTO createCliente(Cliente cliente);
 
     /**
      * Actualizar un Cliente existente.
@@ -59,7 +74,7 @@ public interface ClienteService {
      * @param clienteDetalles Datos actualizados del Cliente.
      * @return Cliente actualizado.
      */
-    Cliente updateCliente(Long id, Cliente clienteDetalles);
+    ClienteDTO updateCliente(Long id, Cliente clienteDetalles);
 
     /**
      * Eliminar un Cliente por su ID.
@@ -74,7 +89,7 @@ public interface ClienteService {
      * @param correo Correo electrónico del Cliente.
      * @return Cliente encontrado.
      */
-    Cliente getClienteByCorreo(String correo);
+    ClienteDTO getClienteByCorreo(String correo);
 
     /**
      * Verificar si existe un Cliente con un correo electrónico específico.
@@ -90,56 +105,102 @@ public interface ClienteService {
      * @param nombres Nombres a buscar.
      * @return Lista de Clientes que coinciden.
      */
-    List<Cliente> findByNombresContainingIgnoreCase(String nombres);
+    List<ClienteDTO> findByNombresContainingIgnoreCase(String nombres);
 
     /**
      * Buscar Clientes por su estado activo.
      *
      * @param activo Estado activo del Cliente.
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de Clientes que coinciden.
      */
-    List<Cliente> findByActivo(Boolean activo);
+    PaginaCursor<ClienteDTO> findByActivo(Boolean activo, String cursor, int tamanio);
 
     /**
      * Lista los trabajos que tienen averageRating entre 0.0 y 3.0.
      *
      * @param descripcion Parte de la descripción a buscar.
+     * @param rango       Rango de calificación.
+     * @param pageable    Página solicitada.
      * @return Lista de TrabajoDTO en el rango 0.0 - 3.0.
      */
-    List<TrabajoDTO> listarTrabajosPorDescripcionYRangoCalificacion(String descripcion, RangoCalificacion rango);
+    List<TrabajoDTO> listarTrabajosPorDescripcionYRangoCalificacion(String descripcion, RangoCalificacion rango, Pageable pageable);
 
     /**
      * Lista todos los trabajos independientes y de empresa que coinciden con la descripción,
-     * están activos y los ordena por precio ascendente.
+     * están activos y los ordena en la base de datos por precio ascendente.
      *
      * @param descripcion Parte de la descripción a buscar.
+     * @param pageable    Página solicitada.
      * @return Lista combinada de TrabajoDTO ordenados por precio ascendente.
      */
-    List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioAsc(String descripcion);
+    List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioAsc(String descripcion, Pageable pageable);
 
     /**
      * Lista todos los trabajos independientes y de empresa que coinciden con la descripción,
-     * están activos y los ordena por precio descendente.
+     * están activos y los ordena en la base de datos por precio descendente.
      *
      * @param descripcion Parte de la descripción a buscar.
+     * @param pageable    Página solicitada.
      * @return Lista combinada de TrabajoDTO ordenados por precio descendente.
      */
-    List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioDesc(String descripcion);
+    List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioDesc(String descripcion, Pageable pageable);
 
     /**
      * Lista todos los trabajos independientes y de empresa que coinciden con la descripción,
-     * están activos y los ordena por fecha de creación ascendente.
+     * están activos y los ordena en la base de datos por fecha de creación ascendente.
      *
      * @param descripcion Parte de la descripción a buscar.
+     * @param pageable    Página solicitada.
      * @return Lista combinada de TrabajoDTO ordenados por fecha de creación ascendente.
      */
-    List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorFechaCreacionAsc(String descripcion);
+    List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorFechaCreacionAsc(String descripcion, Pageable pageable);
 
 
-    List<FiltrosConsultasIndependientesDTO> listarFiltrosConsultasIndependientesParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion);
+    /**
+     * Busca trabajos independientes con los parámetros del buscador del cliente.
+     *
+     * @param pais         País del independiente (contiene).
+     * @param ciudad       Ciudad del independiente (contiene).
+     * @param descripcion  Texto a buscar en la descripción corta.
+     * @param filtro       "asc" o "desc" por precio, o "ventas".
+     * @param calificacion Calificación mínima, "3" o "4".
+     * @param pageable     Página solicitada.
+     * @return Trabajos de la página solicitada e indicación de si hay más.
+     */
+    Slice<FiltrosConsultasIndependientesDTO> listarFiltrosConsultasIndependientesParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion, Pageable pageable);
 
+    /**
+     * Busca trabajos de empresas con los parámetros del buscador del cliente.
+     *
+     * @param pais         País de la empresa (contiene).
+     * @param ciudad       Ciudad de la empresa (contiene).
+     * @param descripcion  Texto a buscar en la descripción corta.
+     * @param filtro       "asc" o "desc" por precio, o "ventas".
+     * @param calificacion Calificación mínima, "3" o "4".
+     * @param pageable     Página solicitada.
+     * @return Trabajos de la página solicitada e indicación de si hay más.
+     */
+    Slice<FiltrosConsultasEmpresasDTO> listarFiltrosConsultasEmpresasParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion, Pageable pageable);
 
-    List<FiltrosConsultasEmpresasDTO> listarFiltrosConsultasEmpresasParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion);
+    /**
+     * Busca trabajos independientes con criterios libres de filtro y ordenamiento.
+     *
+     * @param criterios Filtros y ordenamiento.
+     * @param pageable  Página solicitada.
+     * @return Slice con los trabajos de la página.
+     */
+    Slice<FiltrosConsultasIndependientesDTO> buscarTrabajosIndependientes(CriteriosBusquedaDTO criterios, Pageable pageable);
+
+    /**
+     * Busca trabajos de empresas con criterios libres de filtro y ordenamiento.
+     *
+     * @param criterios Filtros y ordenamiento.
+     * @param pageable  Página solicitada.
+     * @return Slice con los trabajos de la página.
+     */
+    Slice<FiltrosConsultasEmpresasDTO> buscarTrabajosEmpresas(CriteriosBusquedaDTO criterios, Pageable pageable);
 
     FiltroTrabajoEmpresaDTO obtenerTrabajosEmpPorCliente(Long idTrabajoEmpresa);
 
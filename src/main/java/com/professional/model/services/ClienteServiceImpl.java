@@ -1,46 +1,71 @@
 package com.professional.model.services;
 
+import com.professional.model.auth.ProcesadorPasswords;
+import com.professional.model.busqueda.ConsultaTextoCompleto;
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
 import com.professional.model.dto.*;
 import com.professional.model.entities.Cliente;
-import com.professional.model.entities.TrabajoEmpresa;
-import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.enums.OrdenBusqueda;
 import com.professional.model.enums.RangoCalificacion;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
+import com.professional.model.repositories.BusquedaTrabajosRepository;
 import com.professional.model.repositories.ClienteRepository;
 import com.professional.model.repositories.TrabajoEmpresaRepository;
 import com.professional.model.repositories.TrabajoIndependienteRepository;
 import com.professional.model.dto.FiltroTrabajoEmpresaDTO;
+import com.professional.model.enums.TipoCuenta;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 // todo Buscar el dudas backend profesional.word que esta en el escritorio
 @Service
 public class ClienteServiceImpl implements ClienteService {
 
     private final ClienteRepository clienteRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ProcesadorPasswords procesadorPasswords;
     private final TrabajoIndependienteRepository trabajoIndependienteRepository;
     private final TrabajoEmpresaRepository trabajoEmpresaRepository;
+    private final BusquedaTrabajosRepository busquedaTrabajosRepository;
+    private final CuentaService cuentaService;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
+    private final TransactionTemplate lecturaCache;
 
     @Autowired
     public ClienteServiceImpl(ClienteRepository clienteRepository,
-                              PasswordEncoder passwordEncoder,
+                              ProcesadorPasswords procesadorPasswords,
                               TrabajoIndependienteRepository trabajoIndependienteRepository,
-                              TrabajoEmpresaRepository trabajoEmpresaRepository) {
+                              TrabajoEmpresaRepository trabajoEmpresaRepository,
+                              BusquedaTrabajosRepository busquedaTrabajosRepository,
+                              CuentaService cuentaService,
+                              CacheDetalleTrabajos cacheDetalleTrabajos,
+                              CacheBusquedas cacheBusquedas,
+                              PlatformTransactionManager transactionManager) {
         this.clienteRepository = clienteRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.procesadorPasswords = procesadorPasswords;
         this.trabajoIndependienteRepository = trabajoIndependienteRepository;
         this.trabajoEmpresaRepository = trabajoEmpresaRepository;
+        this.busquedaTrabajosRepository = busquedaTrabajosRepository;
+        this.cuentaService = cuentaService;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
+        // Transacción de solo lectura para los cargadores de las cachés: solo se abre si la entrada no está en caché
+        this.lecturaCache = new TransactionTemplate(transactionManager);
+        this.lecturaCache.setReadOnly(true);
     }
 
     /**
@@ -49,8 +74,10 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Cliente> getAllClientes() {
-        return clienteRepository.findByActivo(true);
+    public PaginaCursor<ClienteDTO> getAllClientes(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> clienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                Cliente::getId).map(ClienteDTO::new);
     }
 
     /**
@@ -59,8 +86,10 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Cliente> getAllClientesTodos() {
-        return clienteRepository.findAll();
+    public PaginaCursor<ClienteDTO> getAllClientesTodos(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> clienteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                Cliente::getId).map(ClienteDTO::new);
     }
 
     /**
@@ -73,6 +102,15 @@ public class ClienteServiceImpl implements ClienteService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado o dado de Baja con ID: " + id));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ClienteDTO getClienteDTOById(Long id) {
+        return new ClienteDTO(getClienteById(id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Cliente findClienteByCorreo(String correo) {
@@ -91,15 +129,15 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional
-    public Cliente createCliente(Cliente cliente) {
+    public ClienteDTO createCliente(Cliente cliente) {
         // Validaciones adicionales pueden agregarse aquí
-        // Por ejemplo, verificar si el correo ya existe
-        if (clienteRepository.existsByCorreo(cliente.getCorreo())) {
-            throw new IllegalStateException("El correo electrónico ya está en uso.");
-        }
-        cliente.setPassword(passwordEncoder.encode(cliente.getPassword()));
+        // Por ejemplo, verificar si el correo ya existe (en cualquier tipo de usuario)
+        cuentaService.verificarCorreoDisponible(cliente.getCorreo());
+        cliente.setPassword(procesadorPasswords.codificar(cliente.getPassword()));
         cliente.setActivo(true); // Asegurar que el cliente sea activo al crear
-        return clienteRepository.save(cliente);
+        Cliente guardado = clienteRepository.save(cliente);
+        cuentaService.registrar(guardado.getCorreo(), TipoCuenta.CLIENTE, guardado.getId(), true);
+        return new ClienteDTO(guardado);
     }
 
     /**
@@ -107,7 +145,7 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional
-    public Cliente updateCliente(Long id, Cliente clienteDetalles) {
+    public ClienteDTO updateCliente(Long id, Cliente clienteDetalles) {
         Cliente existente = clienteRepository.findByIdAndActivo(id,true)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado o dado de Baja con ID: " + id));
 
@@ -132,10 +170,11 @@ public class ClienteServiceImpl implements ClienteService {
 
         // Si se actualiza la contraseña, encriptarla
         if (clienteDetalles.getPassword() != null && !clienteDetalles.getPassword().isEmpty()) {
-            existente.setPassword(passwordEncoder.encode(clienteDetalles.getPassword()));
+            existente.setPassword(procesadorPasswords.codificar(clienteDetalles.getPassword()));
         }
 
-        return clienteRepository.save(existente);
+        cuentaService.sincronizar(TipoCuenta.CLIENTE, existente.getId(), existente.getCorreo(), existente.getActivo());
+        return new ClienteDTO(clienteRepository.save(existente));
     }
 
     /**
@@ -149,6 +188,7 @@ public class ClienteServiceImpl implements ClienteService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
         existente.setActivo(false);
         clienteRepository.save(existente);
+        cuentaService.sincronizar(TipoCuenta.CLIENTE, existente.getId(), existente.getCorreo(), false);
     }
 
     /**
@@ -156,8 +196,9 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Cliente getClienteByCorreo(String correo) {
+    public ClienteDTO getClienteByCorreo(String correo) {
         return clienteRepository.findByCorreoAndActivo(correo,true)
+                .map(ClienteDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado o dado de Baja con correo: " + correo));
     }
 
@@ -175,8 +216,10 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Cliente> findByNombresContainingIgnoreCase(String nombres) {
-        return clienteRepository.findByNombresContainingIgnoreCaseAndActivo(nombres,true);
+    public List<ClienteDTO> findByNombresContainingIgnoreCase(String nombres) {
+        return clienteRepository.findByNombresContainingIgnoreCaseAndActivo(nombres,true).stream()
+                .map(ClienteDTO::new)
+                .toList();
     }
 
     /**
@@ -184,8 +227,10 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Cliente> findByActivo(Boolean activo) {
-        return clienteRepository.findByActivo(activo);
+    public PaginaCursor<ClienteDTO> findByActivo(Boolean activo, String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> clienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc(activo, ultimoId, limite),
+                Cliente::getId).map(ClienteDTO::new);
     }
 
     /**
@@ -193,11 +238,9 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoDTO> listarTrabajosPorDescripcionYRangoCalificacion(String descripcion, RangoCalificacion rango) {
+    public List<TrabajoDTO> listarTrabajosPorDescripcionYRangoCalificacion(String descripcion, RangoCalificacion rango, Pageable pageable) {
         // Validación de entrada
-        if (descripcion == null || descripcion.trim().isEmpty()) {
-            throw new IllegalArgumentException("La descripción no puede estar vacía.");
-        }
+        String consulta = consultaDescripcion(descripcion);
         if (rango == null) {
             throw new IllegalArgumentException("El rango de calificación no puede ser nulo.");
         }
@@ -231,48 +274,9 @@ public class ClienteServiceImpl implements ClienteService {
                 throw new IllegalArgumentException("Rango de calificación no soportado.");
         }
 
-        // Buscar trabajos independientes dentro del rango
-        List<TrabajoIndependiente> trabajosIndependientes = trabajoIndependienteRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrueAndAverageRatingBetween(descripcion, minRating, maxRating);
-
-        // Buscar trabajos de empresas dentro del rango
-        List<TrabajoEmpresa> trabajosEmpresas = trabajoEmpresaRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrueAndAverageRatingBetween(descripcion, minRating, maxRating);
-
-        // Convertir a TrabajoDTO y asignar tipoTrabajo
-        List<TrabajoDTO> dtoIndependientes = trabajosIndependientes.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Independiente"
-                ))
-                .collect(Collectors.toList());
-
-        List<TrabajoDTO> dtoEmpresas = trabajosEmpresas.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Empresa"
-                ))
-                .collect(Collectors.toList());
-
-        // Combinar las listas en una nueva lista para evitar modificar las listas originales
-        List<TrabajoDTO> trabajosCombinados = new ArrayList<>();
-        trabajosCombinados.addAll(dtoIndependientes);
-        trabajosCombinados.addAll(dtoEmpresas);
-
         // Ordenar por averageRating descendente
-        trabajosCombinados.sort(Comparator.comparing(TrabajoDTO::getAverageRating).reversed());
-
-        return trabajosCombinados;
+        return busquedaTrabajosRepository.buscar(consulta, minRating, maxRating,
+                OrdenBusqueda.CALIFICACION, Sort.Direction.DESC, pageable).getContent();
     }
 
 
@@ -281,52 +285,19 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioAsc(String descripcion) {
+    public List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioAsc(String descripcion, Pageable pageable) {
+        return busquedaTrabajosRepository.buscar(consultaDescripcion(descripcion), null, null,
+                OrdenBusqueda.PRECIO, Sort.Direction.ASC, pageable).getContent();
+    }
 
-        if (descripcion == null || descripcion.trim().isEmpty()) {
-            throw new IllegalArgumentException("La descripción no puede estar vacía.");
-        }
-        // Buscar trabajos independientes
-        List<TrabajoIndependiente> trabajosIndependientes = trabajoIndependienteRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrue(descripcion);
-
-        // Buscar trabajos de empresas
-        List<TrabajoEmpresa> trabajosEmpresas = trabajoEmpresaRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrue(descripcion);
-
-        // Convertir a TrabajoDTO y asignar tipoTrabajo
-        List<TrabajoDTO> dtoIndependientes = trabajosIndependientes.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Independiente"
-                ))
-                .collect(Collectors.toList());
-
-        List<TrabajoDTO> dtoEmpresas = trabajosEmpresas.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Empresa"
-                ))
-                .collect(Collectors.toList());
-
-        // Combinar las listas
-        List<TrabajoDTO> trabajosCombinados = dtoIndependientes;
-        trabajosCombinados.addAll(dtoEmpresas);
-
-        // Ordenar por precio ascendente
-        trabajosCombinados.sort(Comparator.comparing(TrabajoDTO::getPrecio));
-
-        return trabajosCombinados;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioDesc(String descripcion, Pageable pageable) {
+        return busquedaTrabajosRepository.buscar(consultaDescripcion(descripcion), null, null,
+                OrdenBusqueda.PRECIO, Sort.Direction.DESC, pageable).getContent();
     }
 
     /**
@@ -334,172 +305,129 @@ public class ClienteServiceImpl implements ClienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorPrecioDesc(String descripcion) {
-        if (descripcion == null || descripcion.trim().isEmpty()) {
+    public List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorFechaCreacionAsc(String descripcion, Pageable pageable) {
+        return busquedaTrabajosRepository.buscar(consultaDescripcion(descripcion), null, null,
+                OrdenBusqueda.RECIENTES, Sort.Direction.ASC, pageable).getContent();
+    }
+
+    /**
+     * Valida la descripción y la convierte en consulta FULLTEXT para la búsqueda unificada.
+     */
+    private static String consultaDescripcion(String descripcion) {
+        String consulta = ConsultaTextoCompleto.modoBooleano(descripcion);
+        if (consulta == null) {
             throw new IllegalArgumentException("La descripción no puede estar vacía.");
         }
-        // Buscar trabajos independientes
-        List<TrabajoIndependiente> trabajosIndependientes = trabajoIndependienteRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrue(descripcion);
-
-        // Buscar trabajos de empresas
-        List<TrabajoEmpresa> trabajosEmpresas = trabajoEmpresaRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrue(descripcion);
-
-        // Convertir a TrabajoDTO y asignar tipoTrabajo
-        List<TrabajoDTO> dtoIndependientes = trabajosIndependientes.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Independiente"
-                ))
-                .collect(Collectors.toList());
-
-        List<TrabajoDTO> dtoEmpresas = trabajosEmpresas.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Empresa"
-                ))
-                .collect(Collectors.toList());
-
-        // Combinar las listas
-        List<TrabajoDTO> trabajosCombinados = dtoIndependientes;
-        trabajosCombinados.addAll(dtoEmpresas);
-
-        // Ordenar por precio descendente
-        trabajosCombinados.sort((t1, t2) -> t2.getPrecio().compareTo(t1.getPrecio()));
-
-        return trabajosCombinados;
+        return consulta;
     }
 
     /**
      * {@inheritDoc}
+     * Traduce los parámetros filtro/calificación del buscador a criterios de la consulta dinámica.
+     * Sin transacción: un acierto de la caché no toma conexión, y la consulta abre la suya solo si falta la entrada.
      */
     @Override
-    @Transactional(readOnly = true)
-    public List<TrabajoDTO> listarTrabajosPorDescripcionOrdenadosPorFechaCreacionAsc(String descripcion) {
+    public Slice<FiltrosConsultasIndependientesDTO> listarFiltrosConsultasIndependientesParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion, Pageable pageable) {
         if (descripcion == null || descripcion.trim().isEmpty()) {
             throw new IllegalArgumentException("La descripción no puede estar vacía.");
         }
-        // Buscar trabajos independientes
-        List<TrabajoIndependiente> trabajosIndependientes = trabajoIndependienteRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrue(descripcion);
-
-        // Buscar trabajos de empresas
-        List<TrabajoEmpresa> trabajosEmpresas = trabajoEmpresaRepository
-                .findByDescripcionContainingIgnoreCaseAndActivoTrue(descripcion);
-
-        // Convertir a TrabajoDTO y asignar tipoTrabajo
-        List<TrabajoDTO> dtoIndependientes = trabajosIndependientes.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Independiente"
-                ))
-                .collect(Collectors.toList());
-
-        List<TrabajoDTO> dtoEmpresas = trabajosEmpresas.stream()
-                .map(t -> new TrabajoDTO(
-                        t.getId(),
-                        t.getDescripcion(),
-                        t.getAverageRating(),
-                        t.getActivo(),
-                        t.getPrecio(),
-                        t.getFechaCreacion(),
-                        "Empresa"
-                ))
-                .collect(Collectors.toList());
-
-        // Combinar las listas
-        List<TrabajoDTO> trabajosCombinados = dtoIndependientes;
-        trabajosCombinados.addAll(dtoEmpresas);
-
-        // Ordenar por fechaCreacion ascendente
-        trabajosCombinados.sort((t1, t2) -> t1.getFechaCreacion().compareTo(t2.getFechaCreacion()));
-
-        return trabajosCombinados;
+        return cacheBusquedas.independientes(pais, ciudad, descripcion, filtro, calificacion, pageable,
+                () -> lecturaCache.execute(estado ->
+                        buscarTrabajosIndependientes(criteriosDesdeFiltro(pais, ciudad, descripcion, filtro, calificacion), pageable)));
     }
 
-
-
+    /**
+     * {@inheritDoc}
+     * Traduce los parámetros filtro/calificación del buscador a criterios de la consulta dinámica.
+     * Sin transacción: un acierto de la caché no toma conexión, y la consulta abre la suya solo si falta la entrada.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public List<FiltrosConsultasIndependientesDTO> listarFiltrosConsultasIndependientesParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion) {
+    public Slice<FiltrosConsultasEmpresasDTO> listarFiltrosConsultasEmpresasParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion, Pageable pageable) {
         if (descripcion == null || descripcion.trim().isEmpty()) {
             throw new IllegalArgumentException("La descripción no puede estar vacía.");
         }
-        if (filtro.equals("asc")&& calificacion.equals("4")){
-            return trabajoIndependienteRepository.findFiltrosByDescripcionPrecioAsc4(pais,ciudad,descripcion);
-        }else if (filtro.equals("desc")&& calificacion.equals("4")){
-            return trabajoIndependienteRepository.findFiltrosByDescripcionPrecioDesc4(pais,ciudad,descripcion);
-        }else if (filtro.equals("asc")&& calificacion.equals("3")){
-            return trabajoIndependienteRepository.findFiltrosByDescripcionPrecioAsc3(pais,ciudad,descripcion);
-        }else if (filtro.equals("desc")&& calificacion.equals("3")){
-            return trabajoIndependienteRepository.findFiltrosByDescripcionPrecioDesc3(pais,ciudad,descripcion);
-        }else if (filtro.equals("ventas")&& calificacion.equals("4")){
-            return trabajoIndependienteRepository.findFiltrosByVentas4(pais,ciudad,descripcion);
-        }else if (filtro.equals("ventas")&& calificacion.equals("3")){
-            return trabajoIndependienteRepository.findFiltrosByVentas3(pais,ciudad,descripcion);
-        }
+        return cacheBusquedas.empresas(pais, ciudad, descripcion, filtro, calificacion, pageable,
+                () -> lecturaCache.execute(estado ->
+                        buscarTrabajosEmpresas(criteriosDesdeFiltro(pais, ciudad, descripcion, filtro, calificacion), pageable)));
+    }
 
-        return trabajoIndependienteRepository.findFiltrosByDescripcion(pais,ciudad,descripcion);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<FiltrosConsultasIndependientesDTO> buscarTrabajosIndependientes(CriteriosBusquedaDTO criterios, Pageable pageable) {
+        return trabajoIndependienteRepository.buscarFiltros(criterios, pageable);
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<FiltrosConsultasEmpresasDTO> listarFiltrosConsultasEmpresasParametros(String pais, String ciudad, String descripcion, String filtro, String calificacion) {
-        if (descripcion == null || descripcion.trim().isEmpty()) {
-            throw new IllegalArgumentException("La descripción no puede estar vacía.");
+    public Slice<FiltrosConsultasEmpresasDTO> buscarTrabajosEmpresas(CriteriosBusquedaDTO criterios, Pageable pageable) {
+        return trabajoEmpresaRepository.buscarFiltros(criterios, pageable);
+    }
+
+    /**
+     * Convierte los valores que envía el buscador ("asc", "desc", "ventas" y calificación "3" o "4")
+     * en criterios de búsqueda. Cualquier otra combinación busca sin filtro de calificación, por relevancia.
+     */
+    private static CriteriosBusquedaDTO criteriosDesdeFiltro(String pais, String ciudad, String descripcion, String filtro, String calificacion) {
+        CriteriosBusquedaDTO criterios = new CriteriosBusquedaDTO();
+        criterios.setPais(pais);
+        criterios.setCiudad(ciudad);
+        criterios.setDescripcion(descripcion);
+        if (!"3".equals(calificacion) && !"4".equals(calificacion)) {
+            return criterios;
         }
-        if (filtro.equals("asc")&&calificacion.equals("4")){
-            return trabajoEmpresaRepository.findFiltrosByDescripcionPrecioAsc4(pais,ciudad,descripcion);
-        }else if(filtro.equals("desc")&&calificacion.equals("4")){
-            return trabajoEmpresaRepository.findFiltrosByDescripcionPrecioDesc4(pais,ciudad,descripcion);
-        }else if (filtro.equals("asc")&&calificacion.equals("3")){
-            return trabajoEmpresaRepository.findFiltrosByDescripcionPrecioAsc3(pais,ciudad,descripcion);
-        } else if (filtro.equals("desc")&&calificacion.equals("3")) {
-            return trabajoEmpresaRepository.findFiltrosByDescripcionPrecioDesc3(pais,ciudad,descripcion);
-        } else if (filtro.equals("ventas")&&calificacion.equals("4")) {
-            return trabajoEmpresaRepository.findFiltrosByVentas4(pais,ciudad,descripcion);
-        } else if (filtro.equals("ventas")&& calificacion.equals("3")) {
-            return trabajoEmpresaRepository.findFiltrosByVentas3(pais,ciudad,descripcion);
+        switch (filtro == null ? "" : filtro) {
+            case "asc" -> {
+                criterios.setOrden(OrdenBusqueda.PRECIO);
+                criterios.setDireccion(Sort.Direction.ASC);
+            }
+            case "desc" -> {
+                criterios.setOrden(OrdenBusqueda.PRECIO);
+                criterios.setDireccion(Sort.Direction.DESC);
+            }
+            case "ventas" -> {
+                criterios.setOrden(OrdenBusqueda.VENTAS);
+                criterios.setDireccion(Sort.Direction.ASC);
+            }
+            default -> {
+                return criterios;
+            }
         }
-
-
-        return trabajoEmpresaRepository.findFiltrosByDescripcion(pais,ciudad,descripcion);
+        criterios.setCalificacionMinima(Double.valueOf(calificacion));
+        return criterios;
     }
 
+    /**
+     * Detalle público de un trabajo de empresa, desde {@link CacheDetalleTrabajos}.
+     * Sin transacción: un acierto de la caché no toma conexión, y el cargador abre la suya solo si falta la entrada.
+     */
     @Override
-    @Transactional(readOnly = true)
     public FiltroTrabajoEmpresaDTO obtenerTrabajosEmpPorCliente(Long idTrabajoEmpresa){
         if (idTrabajoEmpresa == null){
             throw new IllegalArgumentException("La descripción no puede estar vacía.");
         }
 
-        return trabajoEmpresaRepository.findTrabajosEmpByCliente(idTrabajoEmpresa);
+        return cacheDetalleTrabajos.trabajoEmpresa(idTrabajoEmpresa,
+                id -> lecturaCache.execute(estado -> trabajoEmpresaRepository.findTrabajosEmpByCliente(id)));
     }
 
+    /**
+     * Detalle público de un trabajo independiente, desde {@link CacheDetalleTrabajos}.
+     * Sin transacción: un acierto de la caché no toma conexión, y el cargador abre la suya solo si falta la entrada.
+     */
     @Override
-    @Transactional(readOnly = true)
     public FiltroTrabajoIndependienteDTO obtenerTrabajosIndPorCliente(Long idTrabajoIndependiente){
         if (idTrabajoIndependiente == null){
             throw new IllegalArgumentException("La descripción no puede estar vacía.");
         }
 
-        return trabajoEmpresaRepository.findTrabajosIndByCliente(idTrabajoIndependiente);
+        return cacheDetalleTrabajos.trabajoIndependiente(idTrabajoIndependiente,
+                id -> lecturaCache.execute(estado -> trabajoEmpresaRepository.findTrabajosIndByCliente(id)));
     }
 
 
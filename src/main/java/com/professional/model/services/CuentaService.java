@@ -0,0 +1,46 @@
+package com.professional.model.services;
+
+import com.professional.model.entities.Cuenta;
+import com.professional.model.enums.TipoCuenta;
+
+import java.util.Optional;
+
+public interface CuentaService {
+
+    /**
+     * Buscar la cuenta asociada a un correo.
+     *
+     * @param correo Correo del usuario.
+     * @return Optional con la cuenta si existe.
+     */
+    Optional<Cuenta> buscarPorCorreo(String correo);
+
+    /**
+     * Verificar que un correo no esté registrado por ningún usuario.
+     *
+     * @param correo Correo a verificar.
+     * @throws com.professional.controller.exceptions.ResourceAlreadyExistsException si el correo ya está en uso.
+     */
+    void verificarCorreoDisponible(String correo);
+
+    /**
+     * Registrar en el índice un usuario recién creado.
+     *
+     * @param correo    Correo del usuario.
+     * @param tipo      Tipo de usuario.
+     * @param usuarioId ID del usuario en su tabla.
+     * @param activo    Estado de actividad.
+     */
+    void registrar(String correo, TipoCuenta tipo, Long usuarioId, Boolean activo);
+
+    /**
+     * Reflejar en el índice el correo y el estado actuales de un usuario (actualización o baja lógica).
+     *
+     * @param tipo      Tipo de usuario.
+     * @param usuarioId ID del usuario en su tabla.
+     * @param correo    Correo actual del usuario.
+     * @param activo    Estado de actividad actual.
+     * @throws com.professional.controller.exceptions.ResourceAlreadyExistsException si el nuevo correo pertenece a otro usuario.
+     */
+    void sincronizar(TipoCuenta tipo, Long usuarioId, String correo, Boolean activo);
+}
@@ -0,0 +1,77 @@
+package com.professional.model.services;
+
+import com.professional.controller.exceptions.ResourceAlreadyExistsException;
+import com.professional.model.entities.Cuenta;
+import com.professional.model.enums.TipoCuenta;
+import com.professional.model.replicas.LecturaPrimario;
+import com.professional.model.repositories.CuentaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+public class CuentaServiceImpl implements CuentaService {
+
+    private final CuentaRepository cuentaRepository;
+
+    @Autowired
+    public CuentaServiceImpl(CuentaRepository cuentaRepository) {
+        this.cuentaRepository = cuentaRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Lee del primario: el login y la confirmación no pueden ver una cuenta recién creada o activada como
+     * inexistente o inactiva por el retraso de una réplica.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Cuenta> buscarPorCorreo(String correo) {
+        return LecturaPrimario.ejecutar(() -> cuentaRepository.findByCorreo(correo));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Lee del primario, para no dar por libre un correo que se acaba de registrar.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void verificarCorreoDisponible(String correo) {
+        if (LecturaPrimario.ejecutar(() -> cuentaRepository.existsByCorreo(correo))) {
+            throw new ResourceAlreadyExistsException("El correo electrónico " + correo + " ya está en uso.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Quien registra ya llamó a {@link #verificarCorreoDisponible(String)} antes de crear el usuario;
+     * si dos registros simultáneos usan el mismo correo, la restricción única rechaza el segundo.
+     */
+    @Override
+    @Transactional
+    public void registrar(String correo, TipoCuenta tipo, Long usuarioId, Boolean activo) {
+        cuentaRepository.save(new Cuenta(correo, tipo, usuarioId, activo));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void sincronizar(TipoCuenta tipo, Long usuarioId, String correo, Boolean activo) {
+        Cuenta cuenta = cuentaRepository.findByTipoAndUsuarioId(tipo, usuarioId).orElse(null);
+        if (cuenta == null) {
+            verificarCorreoDisponible(correo);
+            registrar(correo, tipo, usuarioId, activo);
+            return;
+        }
+        if (!cuenta.getCorreo().equals(correo)) {
+            verificarCorreoDisponible(correo);
+            cuenta.setCorreo(correo);
+        }
+        cuenta.setActivo(activo);
+        cuentaRepository.save(cuenta);
+    }
+}
@@ -0,0 +1,250 @@
+package com.professional.model.services;
+
+import com.professional.model.entities.CorreoSaliente;
+import com.professional.model.enums.EstadoCorreo;
+import com.professional.model.repositories.CorreoSalienteRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envía los correos de la bandeja de salida ({@link CorreoSaliente}).
+ * <p>
+ * Cada lote se reclama en una transacción corta, se envía por SMTP sin transacción ni conexión a la
+ * base de datos abierta, y el resultado se registra en otra transacción corta. Los fallos se reintentan
+ * con espera exponencial hasta {@code correos.despacho.max-intentos}; después el correo queda FALLIDO.
+ * Mientras el lote se envía, el bloqueo se renueva cada tercio de {@code correos.despacho.bloqueo}, así que
+ * un envío lento no deja que otro despachador reclame los mismos correos. Si el proceso se detiene a mitad
+ * de un lote, los correos se retoman cuando vence el bloqueo, por lo que la entrega es "al menos una vez".
+ * El resultado se registra por ID: si aun así otro lote reclamó un correo, el envío exitoso se conserva y
+ * los fallos quedan a cargo del lote que lo tiene. Los correos enviados se purgan cuando superan
+ * {@code correos.purga.retencion}, para que la bandeja de salida no crezca sin límite.
+ */
+@Component
+public class DespachadorCorreos {
+
+    private static final Logger logger = LoggerFactory.getLogger(DespachadorCorreos.class);
+
+    private final CorreoSalienteRepository correoSalienteRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioLote;
+    private final int maxIntentos;
+    private final Duration esperaBase;
+    private final Duration esperaMaxima;
+    private final Duration bloqueo;
+    private final Duration retencion;
+    private final int lotePurga;
+    private final ScheduledExecutorService renovaciones;
+
+    @Autowired
+    public DespachadorCorreos(CorreoSalienteRepository correoSalienteRepository,
+                              JavaMailSender mailSender,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${correos.despacho.lote:50}") int tamanioLote,
+                              @Value("${correos.despacho.max-intentos:8}") int maxIntentos,
+                              @Value("${correos.despacho.espera-base:30s}") Duration esperaBase,
+                              @Value("${correos.despacho.espera-maxima:6h}") Duration esperaMaxima,
+                              @Value("${correos.despacho.bloqueo:5m}") Duration bloqueo,
+                              @Value("${correos.purga.retencion:7d}") Duration retencion,
+                              @Value("${correos.purga.lote:1000}") int lotePurga) {
+        this.correoSalienteRepository = correoSalienteRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanioLote = tamanioLote;
+        this.maxIntentos = maxIntentos;
+        this.esperaBase = esperaBase;
+        this.esperaMaxima = esperaMaxima;
+        this.bloqueo = bloqueo;
+        this.retencion = retencion;
+        this.lotePurga = lotePurga;
+        this.renovaciones = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "correos-renovacion-bloqueo");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        renovaciones.shutdownNow();
+    }
+
+    /**
+     * Vacía la bandeja de salida lote a lote mientras haya lotes completos.
+     */
+    @Scheduled(fixedDelayString = "${correos.despacho.intervalo-ms:5000}")
+    public void despacharPendientes() {
+        try {
+            while (despachar() == tamanioLote) {
+                // Continúa con el siguiente lote
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error despachando la bandeja de salida de correos", e);
+        }
+    }
+
+    /**
+     * Reclama, envía y registra un lote de correos.
+     *
+     * @return Cantidad de correos procesados en el lote.
+     */
+    public int despachar() {
+        String lote = UUID.randomUUID().toString();
+        LocalDateTime ahora = LocalDateTime.now();
+        List<CorreoSaliente> correos = transactionTemplate.execute(status -> {
+            List<Long> ids = correoSalienteRepository.findIdsListos(ahora, Limit.of(tamanioLote));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            correoSalienteRepository.reclamar(ids, lote, ahora, ahora.plus(bloqueo));
+            return correoSalienteRepository.findByLote(lote);
+        });
+        if (correos == null || correos.isEmpty()) {
+            return 0;
+        }
+
+        long periodo = Math.max(1, bloqueo.toMillis() / 3);
+        ScheduledFuture<?> renovacion = renovaciones.scheduleAtFixedRate(() -> renovarBloqueo(lote),
+                periodo, periodo, TimeUnit.MILLISECONDS);
+        Map<Long, Exception> fallidos;
+        try {
+            fallidos = enviar(correos);
+        } finally {
+            renovacion.cancel(false);
+        }
+        List<Long> ids = correos.stream().map(CorreoSaliente::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> registrarResultado(lote, ids, fallidos));
+        return correos.size();
+    }
+
+    /**
+     * Elimina los correos enviados hace más de la retención configurada. Cada lote se elimina en su propia
+     * transacción, para no bloquear la tabla durante toda la purga.
+     *
+     * @return Cantidad total de correos eliminados.
+     */
+    @Scheduled(fixedDelayString = "${correos.purga.intervalo-ms:3600000}")
+    public int purgarEnviados() {
+        LocalDateTime corte = LocalDateTime.now().minus(retencion);
+        int total = 0;
+        int eliminados;
+        do {
+            eliminados = correoSalienteRepository.eliminarEnviados(corte, lotePurga);
+            total += eliminados;
+        } while (eliminados == lotePurga);
+        if (total > 0) {
+            logger.info("Purgados {} correos enviados antes de {}", total, corte);
+        }
+        return total;
+    }
+
+    private void renovarBloqueo(String lote) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    correoSalienteRepository.renovarBloqueo(lote, LocalDateTime.now().plus(bloqueo)));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo renovar el bloqueo del lote de correos {}", lote, e);
+        }
+    }
+
+    // Un único send con varios mensajes reutiliza la misma conexión SMTP para todo el lote
+    private Map<Long, Exception> enviar(List<CorreoSaliente> correos) {
+        SimpleMailMessage[] mensajes = new SimpleMailMessage[correos.size()];
+        for (int i = 0; i < mensajes.length; i++) {
+            CorreoSaliente correo = correos.get(i);
+            mensajes[i] = new SimpleMailMessage();
+            mensajes[i].setTo(correo.getDestinatario());
+            mensajes[i].setSubject(correo.getAsunto());
+            mensajes[i].setText(correo.getCuerpo());
+        }
+
+        Map<Long, Exception> fallidos = new HashMap<>();
+        try {
+            mailSender.send(mensajes);
+        } catch (MailSendException e) {
+            Map<Object, Exception> porMensaje = e.getFailedMessages();
+            for (int i = 0; i < mensajes.length; i++) {
+                Exception error = porMensaje.isEmpty() ? e : porMensaje.get(mensajes[i]);
+                if (error != null) {
+                    fallidos.put(correos.get(i).getId(), error);
+                }
+            }
+        } catch (MailException e) {
+            correos.forEach(correo -> fallidos.put(correo.getId(), e));
+        }
+        return fallidos;
+    }
+
+    private void registrarResultado(String lote, List<Long> ids, Map<Long, Exception> fallidos) {
+        LocalDateTime ahora = LocalDateTime.now();
+        for (CorreoSaliente correo : correoSalienteRepository.findAllById(ids)) {
+            if (!lote.equals(correo.getLote())) {
+                // El bloqueo venció y otro lote lo reclamó (o ya lo registró): solo se conserva un envío exitoso
+                if (correo.getEstado() != EstadoCorreo.EN_PROCESO || fallidos.containsKey(correo.getId())) {
+                    continue;
+                }
+                logger.warn("Correo {} enviado por el lote {} después de que otro lote lo reclamara", correo.getId(), lote);
+            }
+            correo.setLote(null);
+            correo.setBloqueadoHasta(null);
+            correo.setIntentos(correo.getIntentos() + 1);
+            Exception error = fallidos.get(correo.getId());
+            if (error == null) {
+                correo.setEstado(EstadoCorreo.ENVIADO);
+                correo.setFechaEnvio(ahora);
+                correo.setUltimoError(null);
+                continue;
+            }
+            correo.setUltimoError(recortar(error.getMessage()));
+            if (correo.getIntentos() >= maxIntentos) {
+                correo.setEstado(EstadoCorreo.FALLIDO);
+                logger.warn("Correo {} a {} descartado tras {} intentos: {}",
+                        correo.getId(), correo.getDestinatario(), correo.getIntentos(), error.getMessage());
+            } else {
+                correo.setEstado(EstadoCorreo.PENDIENTE);
+                correo.setProximoIntento(ahora.plus(espera(correo.getIntentos())));
+            }
+        }
+    }
+
+    // esperaBase * 2^(intentos-1), con tope y un 20 % de variación para no reintentar todos a la vez
+    private Duration espera(int intentos) {
+        Duration espera = esperaBase.multipliedBy(1L << Math.min(intentos - 1, 20));
+        if (espera.compareTo(esperaMaxima) > 0) {
+            espera = esperaMaxima;
+        }
+        long variacion = espera.toMillis() / 5;
+        return espera.plusMillis(variacion > 0 ? ThreadLocalRandom.current().nextLong(-variacion, variacion) : 0);
+    }
+
+    private static String recortar(String mensaje) {
+        if (mensaje == null || mensaje.length() <= 1000) {
+            return mensaje;
+        }
+        return mensaje.substring(0, 1000);
+    }
+}
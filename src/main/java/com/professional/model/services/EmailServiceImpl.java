@@ -1,28 +1,29 @@
 package com.professional.model.services;
 
+import com.professional.model.entities.CorreoSaliente;
+import com.professional.model.repositories.CorreoSalienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-// Configura tu servicio de correo (e.g., SMTP)
+// Los correos se encolan en la bandeja de salida; el envío SMTP lo hace DespachadorCorreos
 @Service
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private final CorreoSalienteRepository correoSalienteRepository;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailServiceImpl(CorreoSalienteRepository correoSalienteRepository) {
+        this.correoSalienteRepository = correoSalienteRepository;
     }
 
+    /**
+     * Guarda el correo en la bandeja de salida dentro de la transacción actual, de modo que solo se envía
+     * si la operación que lo origina se confirma y esta no espera al servidor SMTP.
+     */
     @Override
+    @Transactional
     public void enviarEmail(String to, String subject, String body) {
-        SimpleMailMessage mensaje = new SimpleMailMessage();
-        mensaje.setTo(to);
-        mensaje.setSubject(subject);
-        mensaje.setText(body);
-        mailSender.send(mensaje);
+        correoSalienteRepository.save(new CorreoSaliente(to, subject, body));
     }
 }
-
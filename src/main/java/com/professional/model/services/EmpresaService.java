@@ -1,8 +1,10 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.EmpresaDTO;
 import com.professional.model.dto.TrabajoEmpresaDTO;
 import com.professional.model.entities.Empresa;
 import com.professional.model.entities.Independiente;
+import com.professional.model.paginacion.PaginaCursor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -12,14 +14,18 @@ public interface EmpresaService {
     /**
      * Obtener todas las Empresas. solo cuando activo sea true
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de Empresas.
      */
-    List<Empresa> getAllEmpresas();
+    PaginaCursor<EmpresaDTO> getAllEmpresas(String cursor, int tamanio);
 
     /**
      * Obtener todas las empresas esten activos o no
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      */
-    List<Empresa> getAllEmpresasTodos();
+    PaginaCursor<EmpresaDTO> getAllEmpresasTodos(String cursor, int tamanio);
     /**
      * Obtener una Empresa por su ID.
      *
@@ -28,6 +34,14 @@ public interface EmpresaService {
      */
     Empresa getEmpresaById(Long id);
 
+    /**
+     * Obtener una Empresa activa por su ID, como vista de lectura.
+     *
+     * @param id ID de la Empresa.
+     * @return Empresa encontrada.
+     */
+    EmpresaDTO getEmpresaDTOById(Long id);
+
     @Transactional(readOnly = true)
     Empresa findByCorreo(String correo);
 
@@ -37,7 +51,7 @@ public interface EmpresaService {
      * @param empresa Datos de la Empresa a crear.
      * @return Empresa creada.
      */
-    Empresa createEmpresa(Empresa empresa);
+    EmpresaDTO createEmpresa(Empresa empresa);
 
     /**
      * Actualizar una Empresa existente.
@@ -46,7 +60,7 @@ public interface EmpresaService {
      * @param empresaDetalles  Datos actualizados de la Empresa.
      * @return Empresa actualizada.
      */
-    Empresa updateEmpresa(Long id, Empresa empresaDetalles);
+    EmpresaDTO updateEmpresa(Long id, Empresa empresaDetalles);
 
     /**
      * Eliminar una Empresa por su ID.
@@ -1,15 +1,21 @@
 package com.professional.model.services;
 
+import com.professional.model.auth.ProcesadorPasswords;
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.EmpresaDTO;
 import com.professional.model.dto.TrabajoEmpresaDTO;
 import com.professional.model.entities.Empresa;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.EmpresaRepository;
 import com.professional.model.repositories.TrabajoEmpresaRepository;
+import com.professional.model.enums.TipoCuenta;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,16 +25,26 @@ import java.util.List;
 public class EmpresaServiceImpl implements EmpresaService {
 
     private final EmpresaRepository empresaRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ProcesadorPasswords procesadorPasswords;
 
     private final TrabajoEmpresaRepository trabajoEmpresaRepository;
 
+    private final CuentaService cuentaService;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
+
     @Autowired
     public EmpresaServiceImpl(EmpresaRepository empresaRepository,
-                              PasswordEncoder passwordEncoder, TrabajoEmpresaRepository trabajoEmpresaRepository) {
+                              ProcesadorPasswords procesadorPasswords, TrabajoEmpresaRepository trabajoEmpresaRepository,
+                              CuentaService cuentaService,
+                              CacheDetalleTrabajos cacheDetalleTrabajos,
+                              CacheBusquedas cacheBusquedas) {
         this.empresaRepository = empresaRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.procesadorPasswords = procesadorPasswords;
         this.trabajoEmpresaRepository = trabajoEmpresaRepository;
+        this.cuentaService = cuentaService;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
     }
 
     /**
@@ -36,15 +52,18 @@ public class EmpresaServiceImpl implements EmpresaService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Empresa> getAllEmpresas() {
-
-        return empresaRepository.findByActivoTrue();
+    public PaginaCursor<EmpresaDTO> getAllEmpresas(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> empresaRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                Empresa::getId).map(EmpresaDTO::new);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Empresa> getAllEmpresasTodos() {
-        return empresaRepository.findAll();
+    public PaginaCursor<EmpresaDTO> getAllEmpresasTodos(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> empresaRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                Empresa::getId).map(EmpresaDTO::new);
     }
 
     /**
@@ -63,6 +82,15 @@ public class EmpresaServiceImpl implements EmpresaService {
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmpresaDTO getEmpresaDTOById(Long id) {
+        return new EmpresaDTO(getEmpresaById(id));
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Empresa findByCorreo(String correo) {
@@ -75,15 +103,15 @@ public class EmpresaServiceImpl implements EmpresaService {
      */
     @Override
     @Transactional
-    public Empresa createEmpresa(Empresa empresa) {
+    public EmpresaDTO createEmpresa(Empresa empresa) {
         // Puedes agregar validaciones adicionales aquí si es necesario.
-        // Por ejemplo, verificar si el correo ya existe
-        if (empresaRepository.existsByCorreo(empresa.getCorreo())){
-            throw new IllegalStateException("El correo electrónico ya está en uso.");
-        }
-        empresa.setPassword(passwordEncoder.encode(empresa.getPassword()));
+        // Por ejemplo, verificar si el correo ya existe (en cualquier tipo de usuario)
+        cuentaService.verificarCorreoDisponible(empresa.getCorreo());
+        empresa.setPassword(procesadorPasswords.codificar(empresa.getPassword()));
         empresa.setActivo(true);
-        return empresaRepository.save(empresa);
+        Empresa guardada = empresaRepository.save(empresa);
+        cuentaService.registrar(guardada.getCorreo(), TipoCuenta.EMPRESA, guardada.getId(), true);
+        return new EmpresaDTO(guardada);
     }
 
     /**
@@ -91,7 +119,7 @@ public class EmpresaServiceImpl implements EmpresaService {
      */
     @Override
     @Transactional
-    public Empresa updateEmpresa(Long id, Empresa empresaDetalles) {
+    public EmpresaDTO updateEmpresa(Long id, Empresa empresaDetalles) {
         Empresa existente = empresaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Empresa no encontrada con ID: " + id));
 
@@ -161,13 +189,17 @@ public class EmpresaServiceImpl implements EmpresaService {
 
         // Si se actualiza la contraseña, encriptarla
         if (empresaDetalles.getPassword() != null && !empresaDetalles.getPassword().isEmpty()) {
-            existente.setPassword(passwordEncoder.encode(empresaDetalles.getPassword()));
+            existente.setPassword(procesadorPasswords.codificar(empresaDetalles.getPassword()));
         }
 
         // Manejar relaciones si es necesario.
         // Por ejemplo, actualizar la lista de trabajos de la empresa.
 
-        return empresaRepository.save(existente);
+        cuentaService.sincronizar(TipoCuenta.EMPRESA, existente.getId(), existente.getCorreo(), existente.getActivo());
+        // El detalle público de sus trabajos incluye datos de la empresa
+        cacheDetalleTrabajos.invalidarTrabajosEmpresa(trabajoEmpresaRepository.findIdsByEmpresaId(id));
+        cacheBusquedas.nuevaGeneracion();
+        return new EmpresaDTO(empresaRepository.save(existente));
     }
 
 
@@ -181,6 +213,9 @@ public class EmpresaServiceImpl implements EmpresaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Empresa no encontrada con ID: " + id));
         existente.setActivo(false);
         empresaRepository.save(existente);
+        cuentaService.sincronizar(TipoCuenta.EMPRESA, existente.getId(), existente.getCorreo(), false);
+        cacheDetalleTrabajos.invalidarTrabajosEmpresa(trabajoEmpresaRepository.findIdsByEmpresaId(id));
+        cacheBusquedas.nuevaGeneracion();
     }
 
     @Override
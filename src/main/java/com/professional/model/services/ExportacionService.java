@@ -0,0 +1,45 @@
+package com.professional.model.services;
+
+import com.professional.model.enums.FormatoExportacion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacionService {
+
+    /**
+     * Exporta el historial de empresas escribiendo cada registro en la salida a medida que se lee.
+     *
+     * @param activo  Estado de actividad, o null para exportar todos.
+     * @param formato Formato de la exportación.
+     * @param salida  Flujo de salida de la respuesta.
+     */
+    void exportarHistorialEmpresas(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    /**
+     * Exporta el historial de independientes escribiendo cada registro en la salida a medida que se lee.
+     *
+     * @param activo  Estado de actividad, o null para exportar todos.
+     * @param formato Formato de la exportación.
+     * @param salida  Flujo de salida de la respuesta.
+     */
+    void exportarHistorialIndependientes(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    /**
+     * Exporta los trabajos de empresa en acción escribiendo cada registro en la salida a medida que se lee.
+     *
+     * @param activo  Estado de actividad, o null para exportar todos.
+     * @param formato Formato de la exportación.
+     * @param salida  Flujo de salida de la respuesta.
+     */
+    void exportarTrabajosEmpEnAccion(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    /**
+     * Exporta los trabajos independientes en acción escribiendo cada registro en la salida a medida que se lee.
+     *
+     * @param activo  Estado de actividad, o null para exportar todos.
+     * @param formato Formato de la exportación.
+     * @param salida  Flujo de salida de la respuesta.
+     */
+    void exportarTrabajosIndEnAccion(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException;
+}
@@ -0,0 +1,147 @@
+package com.professional.model.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.professional.model.entities.HistorialEmpresas;
+import com.professional.model.entities.HistorialIndependientes;
+import com.professional.model.entities.TrabajoEmpEnAccion;
+import com.professional.model.entities.TrabajoIndEnAccion;
+import com.professional.model.enums.FormatoExportacion;
+import com.professional.model.exportacion.EscritorExportacion;
+import com.professional.model.repositories.HistorialEmpresasRepository;
+import com.professional.model.repositories.HistorialIndependientesRepository;
+import com.professional.model.repositories.TrabajoEmpEnAccionRepository;
+import com.professional.model.repositories.TrabajoIndEnAccionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class ExportacionServiceImpl implements ExportacionService {
+
+    // Cada cuántas filas se envía el buffer al cliente y se limpia el contexto de persistencia
+    private static final int FILAS_POR_LOTE = 1000;
+
+    private static final String[] COLUMNAS_HISTORIAL =
+            {"id", "clienteId", "trabajoId", "fechaSolicitud", "comentarios", "activo"};
+    private static final String[] COLUMNAS_EMP_EN_ACCION =
+            {"id", "clienteId", "trabajoEmpresaId", "estadoTrabajo", "fechaCambio", "activo"};
+    private static final String[] COLUMNAS_IND_EN_ACCION =
+            {"id", "clienteId", "trabajoIndependienteId", "estadoTrabajo", "fechaCambio", "activo"};
+
+    private final HistorialEmpresasRepository historialEmpresasRepository;
+    private final HistorialIndependientesRepository historialIndependientesRepository;
+    private final TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository;
+    private final TrabajoIndEnAccionRepository trabajoIndEnAccionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ExportacionServiceImpl(HistorialEmpresasRepository historialEmpresasRepository,
+                                  HistorialIndependientesRepository historialIndependientesRepository,
+                                  TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository,
+                                  TrabajoIndEnAccionRepository trabajoIndEnAccionRepository,
+                                  EntityManager entityManager,
+                                  ObjectMapper objectMapper) {
+        this.historialEmpresasRepository = historialEmpresasRepository;
+        this.historialIndependientesRepository = historialIndependientesRepository;
+        this.trabajoEmpEnAccionRepository = trabajoEmpEnAccionRepository;
+        this.trabajoIndEnAccionRepository = trabajoIndEnAccionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarHistorialEmpresas(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException {
+        try (Stream<HistorialEmpresas> filas = historialEmpresasRepository.exportarPorActivo(activo)) {
+            escribir(filas, COLUMNAS_HISTORIAL, h -> new Object[]{
+                    h.getId(), h.getCliente() != null ? h.getCliente().getId() : null,
+                    h.getTrabajo() != null ? h.getTrabajo().getId() : null,
+                    h.getFechaSolicitud(), h.getComentarios(), h.getActivo()
+            }, formato, salida);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarHistorialIndependientes(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException {
+        try (Stream<HistorialIndependientes> filas = historialIndependientesRepository.exportarPorActivo(activo)) {
+            escribir(filas, COLUMNAS_HISTORIAL, h -> new Object[]{
+                    h.getId(), h.getCliente() != null ? h.getCliente().getId() : null,
+                    h.getTrabajo() != null ? h.getTrabajo().getId() : null,
+                    h.getFechaSolicitud(), h.getComentarios(), h.getActivo()
+            }, formato, salida);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarTrabajosEmpEnAccion(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException {
+        try (Stream<TrabajoEmpEnAccion> filas = trabajoEmpEnAccionRepository.exportarPorActivo(activo)) {
+            escribir(filas, COLUMNAS_EMP_EN_ACCION, t -> new Object[]{
+                    t.getId(), t.getCliente() != null ? t.getCliente().getId() : null,
+                    t.getTrabajoEmpresa() != null ? t.getTrabajoEmpresa().getId() : null,
+                    t.getEstadoTrabajo(), t.getFechaCambio(), t.getActivo()
+            }, formato, salida);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarTrabajosIndEnAccion(Boolean activo, FormatoExportacion formato, OutputStream salida) throws IOException {
+        try (Stream<TrabajoIndEnAccion> filas = trabajoIndEnAccionRepository.exportarPorActivo(activo)) {
+            escribir(filas, COLUMNAS_IND_EN_ACCION, t -> new Object[]{
+                    t.getId(), t.getCliente() != null ? t.getCliente().getId() : null,
+                    t.getTrabajoIndependiente() != null ? t.getTrabajoIndependiente().getId() : null,
+                    t.getEstadoTrabajo(), t.getFechaCambio(), t.getActivo()
+            }, formato, salida);
+        }
+    }
+
+    /**
+     * Recorre el Stream escribiendo cada fila y sacándola del contexto de persistencia,
+     * de modo que la memoria usada no crece con el número de registros.
+     * Los IDs de las asociaciones se leen de los proxies sin inicializarlos.
+     */
+    private <T> void escribir(Stream<T> filas, String[] columnas, Function<T, Object[]> valores,
+                              FormatoExportacion formato, OutputStream salida) throws IOException {
+        EscritorExportacion escritor = new EscritorExportacion(formato, columnas,
+                new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8)), objectMapper);
+        escritor.encabezado();
+        long escritas = 0;
+        Iterator<T> iterador = filas.iterator();
+        while (iterador.hasNext()) {
+            T fila = iterador.next();
+            escritor.fila(valores.apply(fila));
+            entityManager.detach(fila);
+            if (++escritas % FILAS_POR_LOTE == 0) {
+                // Los proxies de cliente/trabajo quedan en el contexto aunque la fila se desacople
+                entityManager.clear();
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+    }
+}
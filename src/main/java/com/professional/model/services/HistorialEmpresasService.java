@@ -4,6 +4,7 @@ import com.professional.model.dto.HistorialDTO;
 import com.professional.model.entities.Cliente;
 import com.professional.model.entities.HistorialEmpresas;
 import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.paginacion.PaginaCursor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -21,16 +22,20 @@ public interface HistorialEmpresasService {
     /**
      * Listar todos los HistorialEmpresas activos.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de HistorialEmpresas activos.
      */
-    List<HistorialEmpresas> getAllHistorialEmpresas();
+    PaginaCursor<HistorialDTO> getAllHistorialEmpresas(String cursor, int tamanio);
 
     /**
      * Listar todos los HistorialEmpresas, incluyendo inactivos.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de todos los HistorialEmpresas.
      */
-    List<HistorialEmpresas> getAllHistorialEmpresasIncludingInactive();
+    PaginaCursor<HistorialDTO> getAllHistorialEmpresasIncludingInactive(String cursor, int tamanio);
 
     /**
      * Obtener un HistorialEmpresas por su ID (solo si está activo).
@@ -38,7 +43,7 @@ public interface HistorialEmpresasService {
      * @param id ID del HistorialEmpresas.
      * @return HistorialEmpresas encontrado.
      */
-    HistorialEmpresas getHistorialEmpresasById(Long id);
+    HistorialDTO getHistorialEmpresasById(Long id);
 
     /**
      * Actualizar un HistorialEmpresas existente.
@@ -47,7 +52,7 @@ public interface HistorialEmpresasService {
      * @param historial Datos actualizados del HistorialEmpresas.
      * @return HistorialEmpresas actualizado.
      */
-    HistorialEmpresas updateHistorialEmpresas(Long id, HistorialEmpresas historial);
+    HistorialDTO updateHistorialEmpresas(Long id, HistorialEmpresas historial);
 
     /**
      * Eliminar (lógicamente) un HistorialEmpresas por su ID.
@@ -63,7 +68,7 @@ public interface HistorialEmpresasService {
      * @param trabajoId ID del TrabajoEmpresa.
      * @return Lista de HistorialEmpresas activos encontrados.
      */
-    List<HistorialEmpresas> findByClienteAndTrabajo(Long clienteId, Long trabajoId);
+    List<HistorialDTO> findByClienteAndTrabajo(Long clienteId, Long trabajoId);
 
     @Transactional(readOnly = true)
     List<HistorialEmpresas> getHistorialEmpresasByTrabajoEmpresa(TrabajoEmpresa trabajoEmpresa);
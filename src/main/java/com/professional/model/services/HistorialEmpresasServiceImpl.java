@@ -5,6 +5,8 @@ import com.professional.model.entities.HistorialEmpresas;
 import com.professional.model.entities.TrabajoEmpresa;
 import com.professional.model.entities.Cliente;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.ClienteRepository;
 import com.professional.model.repositories.HistorialEmpresasRepository;
 import com.professional.model.repositories.TrabajoEmpresaRepository;
@@ -35,13 +37,19 @@ public class HistorialEmpresasServiceImpl implements HistorialEmpresasService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<HistorialEmpresas> getAllHistorialEmpresas() {
-        return historialEmpresasRepository.findByActivoTrue();
+    public PaginaCursor<HistorialDTO> getAllHistorialEmpresas(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> historialEmpresasRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                HistorialEmpresas::getId)
+                .map(HistorialDTO::new);
     }
 
     @Override
-    public List<HistorialEmpresas> getAllHistorialEmpresasIncludingInactive() {
-        return historialEmpresasRepository.findAll();
+    public PaginaCursor<HistorialDTO> getAllHistorialEmpresasIncludingInactive(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> historialEmpresasRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                HistorialEmpresas::getId)
+                .map(HistorialDTO::new);
     }
 
 
@@ -50,8 +58,9 @@ public class HistorialEmpresasServiceImpl implements HistorialEmpresasService {
      */
     @Override
     @Transactional(readOnly = true)
-    public HistorialEmpresas getHistorialEmpresasById(Long id) {
+    public HistorialDTO getHistorialEmpresasById(Long id) {
         return historialEmpresasRepository.findByIdAndActivoTrue(id)
+                .map(HistorialDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("HistorialEmpresas no encontrado con ID: " + id));
     }
 
@@ -75,21 +84,7 @@ public class HistorialEmpresasServiceImpl implements HistorialEmpresasService {
 
     @Transactional
     public HistorialDTO createHistorialEmpresasDTO(HistorialEmpresas historialEmpresas) {
-        HistorialDTO historialDTO=null;
-        Cliente cliente = clienteRepository.findById(historialEmpresas.getCliente().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + historialEmpresas.getCliente().getId()));
-        TrabajoEmpresa trabajoEmpresa= trabajoEmpresaRepository.findById(historialEmpresas.getTrabajo().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndependiente no encontrado con ID: " + historialEmpresas.getTrabajo().getId()));
-
-        historialEmpresas.setCliente(cliente);
-        historialEmpresas.setTrabajo(trabajoEmpresa);
-        historialEmpresasRepository.save(historialEmpresas);
-        historialDTO.setId(historialEmpresas.getId());
-        historialDTO.setClienteId(historialEmpresas.getCliente().getId());
-        historialDTO.setFechaSolicitud(historialEmpresas.getFechaSolicitud());
-        historialDTO.setTrabajoId(historialEmpresas.getTrabajo().getId());
-        historialDTO.setComentarios(historialEmpresas.getComentarios());
-        return historialDTO;
+        return new HistorialDTO(createHistorialEmpresas(historialEmpresas));
     }
 
 
@@ -98,7 +93,7 @@ public class HistorialEmpresasServiceImpl implements HistorialEmpresasService {
      */
     @Override
     @Transactional
-    public HistorialEmpresas updateHistorialEmpresas(Long id, HistorialEmpresas historialEmpresasDetalles) {
+    public HistorialDTO updateHistorialEmpresas(Long id, HistorialEmpresas historialEmpresasDetalles) {
         HistorialEmpresas existente = historialEmpresasRepository.findByIdAndActivoTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("HistorialEmpresas no encontrado con ID o esta inactivo: " + id));
 
@@ -121,7 +116,7 @@ public class HistorialEmpresasServiceImpl implements HistorialEmpresasService {
         // Manejar relaciones si es necesario.
         // Por ejemplo, si necesitas actualizar listas relacionadas, puedes hacerlo aquí.
 
-        return historialEmpresasRepository.save(existente);
+        return new HistorialDTO(historialEmpresasRepository.save(existente));
     }
 
     /**
@@ -164,14 +159,16 @@ public class HistorialEmpresasServiceImpl implements HistorialEmpresasService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<HistorialEmpresas> findByClienteAndTrabajo(Long clienteId, Long trabajoId) {
+    public List<HistorialDTO> findByClienteAndTrabajo(Long clienteId, Long trabajoId) {
         Cliente cliente = clienteRepository.findById(clienteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + clienteId));
 
         TrabajoEmpresa trabajoEmpresa = trabajoEmpresaRepository.findById(trabajoId)
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoEmpresa no encontrado con ID: " + trabajoId));
 
-        return historialEmpresasRepository.findByClienteAndTrabajoAndActivoTrue(cliente, trabajoEmpresa);
+        return historialEmpresasRepository.findByClienteAndTrabajoAndActivoTrue(cliente, trabajoEmpresa).stream()
+                .map(HistorialDTO::new)
+                .toList();
     }
 
 }
@@ -2,6 +2,7 @@ package com.professional.model.services;
 
 import com.professional.model.dto.HistorialDTO;
 import com.professional.model.entities.HistorialIndependientes;
+import com.professional.model.paginacion.PaginaCursor;
 
 import java.util.List;
 
@@ -10,16 +11,20 @@ public interface HistorialIndependientesService {
     /**
      * Obtener todos los Historiales de Independientes activos.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de HistorialIndependientes activos.
      */
-    List<HistorialIndependientes> getAllHistorialIndependientes();
+    PaginaCursor<HistorialDTO> getAllHistorialIndependientes(String cursor, int tamanio);
 
     /**
      * Obtener todos los Historiales de Independientes, incluyendo inactivos.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de todos los HistorialIndependientes.
      */
-    List<HistorialIndependientes> getAllHistorialIndependientesIncludingInactive();
+    PaginaCursor<HistorialDTO> getAllHistorialIndependientesIncludingInactive(String cursor, int tamanio);
 
     /**
      * Obtener un HistorialIndependientes por su ID.
@@ -27,7 +32,7 @@ public interface HistorialIndependientesService {
      * @param id ID del HistorialIndependientes.
      * @return HistorialIndependientes encontrado.
      */
-    HistorialIndependientes getHistorialIndependientesById(Long id);
+    HistorialDTO getHistorialIndependientesById(Long id);
 
     /**
      * Crear un nuevo HistorialIndependientes.
@@ -45,7 +50,7 @@ public interface HistorialIndependientesService {
      * @param historialIndependientesDetalles Datos actualizados del HistorialIndependientes.
      * @return HistorialIndependientes actualizado.
      */
-    HistorialIndependientes updateHistorialIndependientes(Long id, HistorialIndependientes historialIndependientesDetalles);
+    HistorialDTO updateHistorialIndependientes(Long id, HistorialIndependientes historialIndependientesDetalles);
 
     /**
      * Eliminar (lógicamente) un HistorialIndependientes por su ID.
@@ -61,7 +66,7 @@ public interface HistorialIndependientesService {
      * @param trabajoId ID del TrabajoIndependiente.
      * @return Lista de HistorialIndependientes activos encontrados.
      */
-    List<HistorialIndependientes> findByClienteAndTrabajo(Long clienteId, Long trabajoId);
+    List<HistorialDTO> findByClienteAndTrabajo(Long clienteId, Long trabajoId);
 
     HistorialDTO createHistorialIndependientesDTO(HistorialIndependientes historial);
 }
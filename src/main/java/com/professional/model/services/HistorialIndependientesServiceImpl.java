@@ -5,6 +5,8 @@ import com.professional.model.entities.HistorialIndependientes;
 import com.professional.model.entities.TrabajoIndependiente;
 import com.professional.model.entities.Cliente;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.HistorialIndependientesRepository;
 import com.professional.model.repositories.TrabajoIndependienteRepository;
 import com.professional.model.repositories.ClienteRepository;
@@ -36,11 +38,11 @@ public class HistorialIndependientesServiceImpl implements HistorialIndependient
      */
     @Override
     @Transactional(readOnly = true)
-    public List<HistorialIndependientes> getAllHistorialIndependientes() {
-        return historialIndependientesRepository.findAll()
-                .stream()
-                .filter(HistorialIndependientes::getActivo)
-                .toList();
+    public PaginaCursor<HistorialDTO> getAllHistorialIndependientes(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> historialIndependientesRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                HistorialIndependientes::getId)
+                .map(HistorialDTO::new);
     }
 
     /**
@@ -48,8 +50,11 @@ public class HistorialIndependientesServiceImpl implements HistorialIndependient
      */
     @Override
     @Transactional(readOnly = true)
-    public List<HistorialIndependientes> getAllHistorialIndependientesIncludingInactive() {
-        return historialIndependientesRepository.findAll();
+    public PaginaCursor<HistorialDTO> getAllHistorialIndependientesIncludingInactive(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> historialIndependientesRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                HistorialIndependientes::getId)
+                .map(HistorialDTO::new);
     }
 
     /**
@@ -57,9 +62,10 @@ public class HistorialIndependientesServiceImpl implements HistorialIndependient
      */
     @Override
     @Transactional(readOnly = true)
-    public HistorialIndependientes getHistorialIndependientesById(Long id) {
+    public HistorialDTO getHistorialIndependientesById(Long id) {
         return historialIndependientesRepository.findById(id)
                 .filter(HistorialIndependientes::getActivo)
+                .map(HistorialDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("HistorialIndependientes no encontrado o inactivo con ID: " + id));
     }
 
@@ -87,24 +93,7 @@ public class HistorialIndependientesServiceImpl implements HistorialIndependient
     @Override
     @Transactional
     public HistorialDTO createHistorialIndependientesDTO(HistorialIndependientes historialIndependientes) {
-        HistorialDTO historialDTO=null;
-        Cliente cliente = clienteRepository.findById(historialIndependientes.getCliente().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + historialIndependientes.getCliente().getId()));
-
-        // Verificar que el TrabajoIndependiente exista
-        TrabajoIndependiente trabajo = trabajoIndependienteRepository.findById(historialIndependientes.getTrabajo().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndependiente no encontrado con ID: " + historialIndependientes.getTrabajo().getId()));
-
-        // Asignar las entidades verificadas
-        historialIndependientes.setCliente(cliente);
-        historialIndependientes.setTrabajo(trabajo);
-        historialIndependientesRepository.save(historialIndependientes);
-        historialDTO.setId(historialIndependientes.getId());
-        historialDTO.setClienteId(historialIndependientes.getCliente().getId());
-        historialDTO.setFechaSolicitud(historialIndependientes.getFechaSolicitud());
-        historialDTO.setTrabajoId(historialIndependientes.getTrabajo().getId());
-        historialDTO.setComentarios(historialIndependientes.getComentarios());
-        return historialDTO;
+        return new HistorialDTO(createHistorialIndependientes(historialIndependientes));
     }
 
     /**
@@ -112,7 +101,7 @@ public class HistorialIndependientesServiceImpl implements HistorialIndependient
      */
     @Override
     @Transactional
-    public HistorialIndependientes updateHistorialIndependientes(Long id, HistorialIndependientes historialIndependientesDetalles) {
+    public HistorialDTO updateHistorialIndependientes(Long id, HistorialIndependientes historialIndependientesDetalles) {
         HistorialIndependientes existente = historialIndependientesRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("HistorialIndependientes no encontrado con ID: " + id));
 
@@ -132,7 +121,7 @@ public class HistorialIndependientesServiceImpl implements HistorialIndependient
             existente.setTrabajo(trabajo);
         }
 
-        return historialIndependientesRepository.save(existente);
+        return new HistorialDTO(historialIndependientesRepository.save(existente));
     }
 
     /**
@@ -155,13 +144,15 @@ public class HistorialIndependientesServiceImpl implements HistorialIndependient
      */
     @Override
     @Transactional(readOnly = true)
-    public List<HistorialIndependientes> findByClienteAndTrabajo(Long clienteId, Long trabajoId) {
+    public List<HistorialDTO> findByClienteAndTrabajo(Long clienteId, Long trabajoId) {
         Cliente cliente = clienteRepository.findById(clienteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + clienteId));
 
         TrabajoIndependiente trabajo = trabajoIndependienteRepository.findById(trabajoId)
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndependiente no encontrado con ID: " + trabajoId));
 
-        return historialIndependientesRepository.findByClienteAndTrabajoAndActivoTrue(cliente, trabajo);
+        return historialIndependientesRepository.findByClienteAndTrabajoAndActivoTrue(cliente, trabajo).stream()
+                .map(HistorialDTO::new)
+                .toList();
     }
 }
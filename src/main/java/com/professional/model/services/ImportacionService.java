@@ -0,0 +1,61 @@
+package com.professional.model.services;
+
+import com.professional.model.dto.ResultadoImportacionDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacionService {
+
+    /**
+     * Importa trabajos independientes desde NDJSON ({@code ImportacionTrabajoDTO} por línea,
+     * con el ID del independiente como propietario). Todo o nada: una fila inválida cancela la importación.
+     *
+     * @param entrada Cuerpo de la petición.
+     * @return Filas insertadas y rendimiento.
+     */
+    ResultadoImportacionDTO importarTrabajosIndependientes(InputStream entrada) throws IOException;
+
+    /**
+     * Importa trabajos de empresa desde NDJSON ({@code ImportacionTrabajoDTO} por línea,
+     * con el ID de la empresa como propietario). Todo o nada: una fila inválida cancela la importación.
+     *
+     * @param entrada Cuerpo de la petición.
+     * @return Filas insertadas y rendimiento.
+     */
+    ResultadoImportacionDTO importarTrabajosEmpresa(InputStream entrada) throws IOException;
+
+    /**
+     * Importa historial de empresas desde NDJSON ({@code HistorialDTO} por línea).
+     *
+     * @param entrada Cuerpo de la petición.
+     * @return Filas insertadas y rendimiento.
+     */
+    ResultadoImportacionDTO importarHistorialEmpresas(InputStream entrada) throws IOException;
+
+    /**
+     * Importa historial de independientes desde NDJSON ({@code HistorialDTO} por línea).
+     *
+     * @param entrada Cuerpo de la petición.
+     * @return Filas insertadas y rendimiento.
+     */
+    ResultadoImportacionDTO importarHistorialIndependientes(InputStream entrada) throws IOException;
+
+    /**
+     * Importa calificaciones de trabajos de empresa desde NDJSON ({@code ImportacionCalificacionDTO} por línea)
+     * y actualiza los agregados de calificación de cada trabajo una sola vez.
+     *
+     * @param entrada Cuerpo de la petición.
+     * @return Filas insertadas y rendimiento.
+     */
+    ResultadoImportacionDTO importarCalificacionesEmpresas(InputStream entrada) throws IOException;
+
+    /**
+     * Importa calificaciones de trabajos independientes desde NDJSON ({@code ImportacionCalificacionDTO} por línea,
+     * con {@code trabajoEnAccionId}) y actualiza los agregados de calificación de cada trabajo una sola vez.
+     *
+     * @param entrada Cuerpo de la petición.
+     * @return Filas insertadas y rendimiento.
+     */
+    ResultadoImportacionDTO importarCalificacionesIndependientes(InputStream entrada) throws IOException;
+}
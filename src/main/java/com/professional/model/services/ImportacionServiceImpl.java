@@ -0,0 +1,238 @@
+package com.professional.model.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.HistorialDTO;
+import com.professional.model.dto.ImportacionCalificacionDTO;
+import com.professional.model.dto.ImportacionTrabajoDTO;
+import com.professional.model.dto.ResultadoImportacionDTO;
+import com.professional.model.entities.CalificacionEmpresas;
+import com.professional.model.entities.CalificacionIndependientes;
+import com.professional.model.entities.Cliente;
+import com.professional.model.entities.Empresa;
+import com.professional.model.entities.HistorialEmpresas;
+import com.professional.model.entities.HistorialIndependientes;
+import com.professional.model.entities.Independiente;
+import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.entities.TrabajoIndEnAccion;
+import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.repositories.TrabajoEmpresaRepository;
+import com.professional.model.repositories.TrabajoIndependienteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Importaciones masivas en NDJSON.
+ * <p>
+ * Cada fila se persiste con {@code persist} y el contexto de persistencia se vacía cada
+ * {@code hibernate.jdbc.batch_size} filas: los INSERT salen en lotes JDBC (posible porque estas entidades usan
+ * IDs de secuencia y no IDENTITY) y la memoria no crece con el tamaño del archivo. Las asociaciones se
+ * resuelven con {@code getReference}, sin SELECT; un ID inexistente falla por la clave foránea.
+ * <p>
+ * Cada importación es una sola transacción: si una fila es inválida no queda nada insertado.
+ */
+@Service
+public class ImportacionServiceImpl implements ImportacionService {
+
+    private final TrabajoIndependienteRepository trabajoIndependienteRepository;
+    private final TrabajoEmpresaRepository trabajoEmpresaRepository;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int tamanoLote;
+
+    @Autowired
+    public ImportacionServiceImpl(TrabajoIndependienteRepository trabajoIndependienteRepository,
+                                  TrabajoEmpresaRepository trabajoEmpresaRepository,
+                                  CacheDetalleTrabajos cacheDetalleTrabajos,
+                                  CacheBusquedas cacheBusquedas,
+                                  EntityManager entityManager,
+                                  ObjectMapper objectMapper,
+                                  Validator validator,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanoLote) {
+        this.trabajoIndependienteRepository = trabajoIndependienteRepository;
+        this.trabajoEmpresaRepository = trabajoEmpresaRepository;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.tamanoLote = tamanoLote;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ResultadoImportacionDTO importarTrabajosIndependientes(InputStream entrada) throws IOException {
+        ResultadoImportacionDTO resultado = importar(entrada, ImportacionTrabajoDTO.class, fila -> {
+            TrabajoIndependiente trabajo = new TrabajoIndependiente();
+            trabajo.setIndependiente(entityManager.getReference(Independiente.class, fila.getPropietarioId()));
+            trabajo.setDescripcionCorta(fila.getDescripcionCorta());
+            trabajo.setDescripcion(fila.getDescripcion());
+            trabajo.setPrecio(fila.getPrecio());
+            entityManager.persist(trabajo);
+        });
+        cacheBusquedas.nuevaGeneracion();
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ResultadoImportacionDTO importarTrabajosEmpresa(InputStream entrada) throws IOException {
+        ResultadoImportacionDTO resultado = importar(entrada, ImportacionTrabajoDTO.class, fila -> {
+            TrabajoEmpresa trabajo = new TrabajoEmpresa();
+            trabajo.setEmpresa(entityManager.getReference(Empresa.class, fila.getPropietarioId()));
+            trabajo.setDescripcionCorta(fila.getDescripcionCorta());
+            trabajo.setDescripcion(fila.getDescripcion());
+            trabajo.setPrecio(fila.getPrecio());
+            entityManager.persist(trabajo);
+        });
+        cacheBusquedas.nuevaGeneracion();
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ResultadoImportacionDTO importarHistorialEmpresas(InputStream entrada) throws IOException {
+        return importar(entrada, HistorialDTO.class, fila -> {
+            HistorialEmpresas historial = new HistorialEmpresas();
+            historial.setCliente(entityManager.getReference(Cliente.class, fila.getClienteId()));
+            historial.setTrabajo(entityManager.getReference(TrabajoEmpresa.class, fila.getTrabajoId()));
+            historial.setComentarios(fila.getComentarios());
+            entityManager.persist(historial);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ResultadoImportacionDTO importarHistorialIndependientes(InputStream entrada) throws IOException {
+        return importar(entrada, HistorialDTO.class, fila -> {
+            HistorialIndependientes historial = new HistorialIndependientes();
+            historial.setCliente(entityManager.getReference(Cliente.class, fila.getClienteId()));
+            historial.setTrabajo(entityManager.getReference(TrabajoIndependiente.class, fila.getTrabajoId()));
+            historial.setComentarios(fila.getComentarios());
+            entityManager.persist(historial);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ResultadoImportacionDTO importarCalificacionesEmpresas(InputStream entrada) throws IOException {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        ResultadoImportacionDTO resultado = importar(entrada, ImportacionCalificacionDTO.class, fila -> {
+            CalificacionEmpresas calificacion = new CalificacionEmpresas();
+            calificacion.setCliente(entityManager.getReference(Cliente.class, fila.getClienteId()));
+            calificacion.setTrabajo(entityManager.getReference(TrabajoEmpresa.class, fila.getTrabajoId()));
+            calificacion.setRating(fila.getRating());
+            calificacion.setComentarios(fila.getComentarios());
+            entityManager.persist(calificacion);
+            acumular(deltas, fila);
+        });
+        deltas.forEach((id, delta) -> trabajoEmpresaRepository.aplicarDeltaCalificacion(id, delta[0], delta[1]));
+        cacheDetalleTrabajos.invalidarTrabajosEmpresa(deltas.keySet());
+        cacheBusquedas.nuevaGeneracion();
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ResultadoImportacionDTO importarCalificacionesIndependientes(InputStream entrada) throws IOException {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        ResultadoImportacionDTO resultado = importar(entrada, ImportacionCalificacionDTO.class, fila -> {
+            if (fila.getTrabajoEnAccionId() == null) {
+                throw new IllegalArgumentException("El trabajo en acción es obligatorio");
+            }
+            CalificacionIndependientes calificacion = new CalificacionIndependientes();
+            calificacion.setCliente(entityManager.getReference(Cliente.class, fila.getClienteId()));
+            calificacion.setTrabajoIndEnAccion(entityManager.getReference(TrabajoIndEnAccion.class, fila.getTrabajoEnAccionId()));
+            calificacion.setTrabajo(entityManager.getReference(TrabajoIndependiente.class, fila.getTrabajoId()));
+            calificacion.setRating(fila.getRating());
+            calificacion.setComentarios(fila.getComentarios());
+            entityManager.persist(calificacion);
+            acumular(deltas, fila);
+        });
+        deltas.forEach((id, delta) -> trabajoIndependienteRepository.aplicarDeltaCalificacion(id, delta[0], delta[1]));
+        cacheDetalleTrabajos.invalidarTrabajosIndependiente(deltas.keySet());
+        cacheBusquedas.nuevaGeneracion();
+        return resultado;
+    }
+
+    /**
+     * Lee el NDJSON fila por fila, valida cada una y la persiste, vaciando el contexto por lotes.
+     * Los errores de formato o validación se informan con el número de línea.
+     */
+    private <T> ResultadoImportacionDTO importar(InputStream entrada, Class<T> tipo, Consumer<T> persistir) throws IOException {
+        long inicio = System.nanoTime();
+        long filas = 0;
+        try (MappingIterator<T> iterador = objectMapper.readerFor(tipo).readValues(entrada)) {
+            while (iterador.hasNextValue()) {
+                T fila = iterador.nextValue();
+                int linea = iterador.getParser().currentLocation().getLineNr();
+                try {
+                    validar(fila);
+                    persistir.accept(fila);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Línea " + linea + ": " + e.getMessage(), e);
+                }
+                if (++filas % tamanoLote == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            String linea = e.getLocation() != null ? "Línea " + e.getLocation().getLineNr() + ": " : "";
+            throw new IllegalArgumentException(linea + e.getOriginalMessage(), e);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return new ResultadoImportacionDTO(filas, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private <T> void validar(T fila) {
+        Set<ConstraintViolation<T>> errores = validator.validate(fila);
+        if (!errores.isEmpty()) {
+            ConstraintViolation<T> error = errores.iterator().next();
+            throw new IllegalArgumentException(error.getPropertyPath() + ": " + error.getMessage());
+        }
+    }
+
+    private static void acumular(Map<Long, long[]> deltas, ImportacionCalificacionDTO fila) {
+        long[] delta = deltas.computeIfAbsent(fila.getTrabajoId(), id -> new long[2]);
+        delta[0]++;
+        delta[1] += fila.getRating();
+    }
+}
@@ -1,8 +1,10 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.DetalleTrabajoDTO;
+import com.professional.model.dto.IndependienteDTO;
 import com.professional.model.dto.TrabajoIndependienteDTO;
 import com.professional.model.entities.Independiente;
-import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.paginacion.PaginaCursor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -12,14 +14,18 @@ public interface IndependienteService {
     /**
      * Obtener todos los Independientes. solo cuando activo sea true
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de Independientes.
      */
-    List<Independiente> getAllIndependientes();
+    PaginaCursor<IndependienteDTO> getAllIndependientes(String cursor, int tamanio);
 
     /**
      * Obtener todos los independientes esten activos o no
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      */
-    List<Independiente> getAllIndependientesTodos();
+    PaginaCursor<IndependienteDTO> getAllIndependientesTodos(String cursor, int tamanio);
     /**
      * Obtener un Independiente por su ID.
      *
@@ -28,6 +34,14 @@ public interface IndependienteService {
      */
     Independiente getIndependienteById(Long id);
 
+    /**
+     * Obtener un Independiente activo por su ID, como vista de lectura.
+     *
+     * @param id ID del Independiente.
+     * @return Independiente encontrado.
+     */
+    IndependienteDTO getIndependienteDTOById(Long id);
+
     @Transactional(readOnly = true)
     Independiente findByCorreo(String correo);
 
@@ -37,7 +51,7 @@ public interface IndependienteService {
      * @param independiente Datos del Independiente a crear.
      * @return Independiente creado.
      */
-    Independiente createIndependiente(Independiente independiente);
+    IndependienteDTO createIndependiente(Independiente independiente);
 
     /**
      * Actualizar un Independiente existente.
@@ -46,7 +60,7 @@ public interface IndependienteService {
      * @param independienteDetalles Datos actualizados del Independiente.
      * @return Independiente actualizado.
      */
-    Independiente updateIndependiente(Long id, Independiente independienteDetalles);
+    IndependienteDTO updateIndependiente(Long id, Independiente independienteDetalles);
 
     /**
      * Eliminar un Independiente por su ID.
@@ -55,7 +69,7 @@ public interface IndependienteService {
      */
     void deleteIndependiente(Long id);
 
-    List<TrabajoIndependiente> getTrabajosIndependientesByIndependiente(Long independienteId);
+    List<DetalleTrabajoDTO> getTrabajosIndependientesByIndependiente(Long independienteId);
 
     List<TrabajoIndependienteDTO> misTrabajosIndependientes(Long independienteId);
 }
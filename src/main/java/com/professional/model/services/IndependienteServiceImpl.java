@@ -1,17 +1,22 @@
 package com.professional.model.services;
 
-import com.professional.controller.exceptions.ResourceAlreadyExistsException;
+import com.professional.model.auth.ProcesadorPasswords;
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.DetalleTrabajoDTO;
+import com.professional.model.dto.IndependienteDTO;
 import com.professional.model.dto.TrabajoIndependienteDTO;
 import com.professional.model.entities.Independiente;
-import com.professional.model.entities.TrabajoIndependiente;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.IndependienteRepository;
 import com.professional.model.repositories.TrabajoIndependienteRepository;
+import com.professional.model.enums.TipoCuenta;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,18 +26,28 @@ import java.util.List;
 public class IndependienteServiceImpl implements IndependienteService {
 
     private final IndependienteRepository independienteRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ProcesadorPasswords procesadorPasswords;
     private final TrabajoIndependienteRepository trabajoIndependienteRepository;
 
     private final TrabajoIndependienteService trabajoIndependienteService;
 
+    private final CuentaService cuentaService;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
+
     @Autowired
     public IndependienteServiceImpl(IndependienteRepository independienteRepository,
-                                    PasswordEncoder passwordEncoder, TrabajoIndependienteService trabajoIndependienteService, TrabajoIndependienteRepository trabajoIndependienteRepository, TrabajoIndependienteService trabajoIndependienteService1) {
+                                    ProcesadorPasswords procesadorPasswords, TrabajoIndependienteService trabajoIndependienteService, TrabajoIndependienteRepository trabajoIndependienteRepository, TrabajoIndependienteService trabajoIndependienteService1,
+                                    CuentaService cuentaService,
+                                    CacheDetalleTrabajos cacheDetalleTrabajos,
+                                    CacheBusquedas cacheBusquedas) {
         this.independienteRepository = independienteRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.procesadorPasswords = procesadorPasswords;
         this.trabajoIndependienteRepository = trabajoIndependienteRepository;
         this.trabajoIndependienteService = trabajoIndependienteService1;
+        this.cuentaService = cuentaService;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
     }
 
     /**
@@ -40,8 +55,10 @@ public class IndependienteServiceImpl implements IndependienteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Independiente> getAllIndependientes() {
-        return independienteRepository.findByActivoTrue();
+    public PaginaCursor<IndependienteDTO> getAllIndependientes(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> independienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                Independiente::getId).map(IndependienteDTO::new);
     }
 
 
@@ -61,6 +78,15 @@ public class IndependienteServiceImpl implements IndependienteService {
         return independiente;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public IndependienteDTO getIndependienteDTOById(Long id) {
+        return new IndependienteDTO(getIndependienteById(id));
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Independiente findByCorreo(String correo) {
@@ -74,16 +100,14 @@ public class IndependienteServiceImpl implements IndependienteService {
      */
     @Override
     @Transactional
-    public Independiente createIndependiente(Independiente independiente) {
-        return (Independiente) independienteRepository.findByCorreoAndActivoTrue(independiente.getCorreo())
-                .map(indDB -> {
-                    throw new ResourceAlreadyExistsException("Independiente con correo " + independiente.getCorreo() + " ya existe.");
-                })
-                .orElseGet(() ->{
-                    independiente.setPassword(passwordEncoder.encode(independiente.getPassword()));
-                    independiente.setActivo(true); // Asegurar que activo sea true al crear
-                    return independienteRepository.save(independiente);
-        });
+    public IndependienteDTO createIndependiente(Independiente independiente) {
+        // El correo debe ser único entre clientes, empresas e independientes
+        cuentaService.verificarCorreoDisponible(independiente.getCorreo());
+        independiente.setPassword(procesadorPasswords.codificar(independiente.getPassword()));
+        independiente.setActivo(true); // Asegurar que activo sea true al crear
+        Independiente guardado = independienteRepository.save(independiente);
+        cuentaService.registrar(guardado.getCorreo(), TipoCuenta.INDEPENDIENTE, guardado.getId(), true);
+        return new IndependienteDTO(guardado);
 
     }
 
@@ -93,7 +117,7 @@ public class IndependienteServiceImpl implements IndependienteService {
      */
     @Override
     @Transactional
-    public Independiente updateIndependiente(Long id, Independiente independienteDetalles) {
+    public IndependienteDTO updateIndependiente(Long id, Independiente independienteDetalles) {
         Independiente existente = independienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Independiente no encontrado con ID: " + id));
 
@@ -151,12 +175,16 @@ public class IndependienteServiceImpl implements IndependienteService {
 
         // Si se actualiza la contraseña, encriptarla
         if (independienteDetalles.getPassword() != null && !independienteDetalles.getPassword().isEmpty()) {
-            existente.setPassword(passwordEncoder.encode(independienteDetalles.getPassword()));
+            existente.setPassword(procesadorPasswords.codificar(independienteDetalles.getPassword()));
         }
         // Manejar relaciones si es necesario.
         // Por ejemplo, actualizar la lista de trabajos independientes.
 
-        return independienteRepository.save(existente);
+        cuentaService.sincronizar(TipoCuenta.INDEPENDIENTE, existente.getId(), existente.getCorreo(), existente.getActivo());
+        // El detalle público de sus trabajos incluye datos del independiente
+        cacheDetalleTrabajos.invalidarTrabajosIndependiente(trabajoIndependienteRepository.findIdsByIndependienteId(id));
+        cacheBusquedas.nuevaGeneracion();
+        return new IndependienteDTO(independienteRepository.save(existente));
     }
 
     /**
@@ -170,17 +198,22 @@ public class IndependienteServiceImpl implements IndependienteService {
                 .orElseThrow(() -> new ResourceNotFoundException("Independiente no encontrado con ID: " + id+ " o el cliente ya esta Inactivo, puede actualizarlo para cambiar esto"));
         existente.setActivo(false); // Establecer activo a false
         independienteRepository.save(existente); // Guardar el cambio
+        cuentaService.sincronizar(TipoCuenta.INDEPENDIENTE, existente.getId(), existente.getCorreo(), false);
+        cacheDetalleTrabajos.invalidarTrabajosIndependiente(trabajoIndependienteRepository.findIdsByIndependienteId(id));
+        cacheBusquedas.nuevaGeneracion();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Independiente> getAllIndependientesTodos() {
-        return independienteRepository.findAll();
+    public PaginaCursor<IndependienteDTO> getAllIndependientesTodos(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> independienteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                Independiente::getId).map(IndependienteDTO::new);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndependiente> getTrabajosIndependientesByIndependiente(Long independienteId) {
+    public List<DetalleTrabajoDTO> getTrabajosIndependientesByIndependiente(Long independienteId) {
         Independiente independiente = getIndependienteById(independienteId);
         return trabajoIndependienteService.getTrabajosIndependientesByIndependiente(independiente);
     }
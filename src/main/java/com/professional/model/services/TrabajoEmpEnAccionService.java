@@ -1,11 +1,12 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.HistorialDTO;
 import com.professional.model.dto.TrabajoEnAccionDTO;
 import com.professional.model.entities.Cliente;
-import com.professional.model.entities.HistorialEmpresas;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.entities.TrabajoEmpEnAccion;
 import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.paginacion.PaginaCursor;
 
 import java.util.List;
 
@@ -14,9 +15,11 @@ public interface TrabajoEmpEnAccionService {
     /**
      * Obtener todas las acciones de trabajos de empresa.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de TrabajoEmpEnAccion.
      */
-    List<TrabajoEmpEnAccion> getAllTrabajosEmpEnAccion();
+    PaginaCursor<TrabajoEnAccionDTO> getAllTrabajosEmpEnAccion(String cursor, int tamanio);
 
     /**
      * Obtener un TrabajoEmpEnAccion por su ID.
@@ -24,7 +27,7 @@ public interface TrabajoEmpEnAccionService {
      * @param id ID del TrabajoEmpEnAccion.
      * @return TrabajoEmpEnAccion encontrado.
      */
-    TrabajoEmpEnAccion getTrabajoEmpEnAccionById(Long id);
+    TrabajoEnAccionDTO getTrabajoEmpEnAccionById(Long id);
 
     /**
      * Crear un nuevo TrabajoEmpEnAccion.
@@ -32,7 +35,7 @@ public interface TrabajoEmpEnAccionService {
      * @param trabajoEmpEnAccion Datos del TrabajoEmpEnAccion a crear.
      * @return TrabajoEmpEnAccion creado.
      */
-    TrabajoEmpEnAccion createTrabajoEmpEnAccion(TrabajoEmpEnAccion trabajoEmpEnAccion);
+    TrabajoEnAccionDTO createTrabajoEmpEnAccion(TrabajoEmpEnAccion trabajoEmpEnAccion);
 
     /**
      * Actualizar un TrabajoEmpEnAccion existente.
@@ -41,7 +44,7 @@ public interface TrabajoEmpEnAccionService {
      * @param trabajoEmpEnAccionDetalles Datos actualizados del TrabajoEmpEnAccion.
      * @return TrabajoEmpEnAccion actualizado.
      */
-    TrabajoEmpEnAccion updateTrabajoEmpEnAccion(Long id, TrabajoEmpEnAccion trabajoEmpEnAccionDetalles);
+    TrabajoEnAccionDTO updateTrabajoEmpEnAccion(Long id, TrabajoEmpEnAccion trabajoEmpEnAccionDetalles);
 
     /**
      * Eliminar lógicamente un TrabajoEmpEnAccion por su ID.
@@ -65,15 +68,17 @@ public interface TrabajoEmpEnAccionService {
      * @param estadoTrabajo Nuevo estadoTrabajo.
      * @return TrabajoEmpEnAccion actualizado.
      */
-    HistorialEmpresas updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo);
+    HistorialDTO updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo);
 
     /**
      * Buscar trabajos en acción que están activos.
      *
      * @param activo Estado de actividad.
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de trabajos en acción que coinciden con el estado.
      */
-    List<TrabajoEmpEnAccion> findByActivo(Boolean activo);
+    PaginaCursor<TrabajoEnAccionDTO> findByActivo(Boolean activo, String cursor, int tamanio);
 
     /**
      * Buscar trabajos en acción por estado de trabajo.
@@ -81,7 +86,7 @@ public interface TrabajoEmpEnAccionService {
      * @param estadoTrabajo Estado de trabajo.
      * @return Lista de trabajos que coinciden con el estado.
      */
-    List<TrabajoEmpEnAccion> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo);
+    List<TrabajoEnAccionDTO> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo);
 
     /**
      * Obtener todas las acciones asociadas a un Cliente específico.
@@ -91,5 +96,23 @@ public interface TrabajoEmpEnAccionService {
      */
     List<TrabajoEmpEnAccion> getTrabajosEmpEnAccionByCliente(Cliente cliente);
 
+    /**
+     * Obtener los TrabajoEmpEnAccion activos de un TrabajoEmpresa.
+     *
+     * @param trabajoEmpresaId ID del TrabajoEmpresa.
+     * @return Lista de TrabajoEmpEnAccion activos.
+     * @throws com.professional.model.exceptions.ResourceNotFoundException si el trabajo no existe.
+     */
+    List<TrabajoEnAccionDTO> getTrabajosEmpEnAccionActivosByTrabajoEmpresa(Long trabajoEmpresaId);
+
+    /**
+     * Obtener los TrabajoEmpEnAccion activos asociados a un Cliente activo.
+     *
+     * @param clienteId ID del Cliente.
+     * @return Lista de TrabajoEmpEnAccion activos.
+     * @throws com.professional.model.exceptions.ResourceNotFoundException si el cliente no existe o está dado de baja.
+     */
+    List<TrabajoEnAccionDTO> getTrabajosEmpEnAccionActivosByCliente(Long clienteId);
+
     void updateEstadoTrabajoEnAccion(Long id, EstadoTrabajo estadoTrabajo);
 }
@@ -1,11 +1,16 @@
 package com.professional.model.services;
 
+import com.professional.model.cache.CacheDetalleTrabajos;
 import com.professional.model.dto.HistorialDTO;
 import com.professional.model.dto.TrabajoEnAccionDTO;
 import com.professional.model.entities.*;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
+import com.professional.model.repositories.ClienteRepository;
 import com.professional.model.repositories.TrabajoEmpEnAccionRepository;
+import com.professional.model.repositories.TrabajoEmpresaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,16 +25,25 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
     private final HistorialEmpresasService historialService;
     private final TrabajoEmpresaService trabajoEmpresaService;
     private final ClienteService clienteService;
+    private final TrabajoEmpresaRepository trabajoEmpresaRepository;
+    private final ClienteRepository clienteRepository;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
 
     @Autowired
     public TrabajoEmpEnAccionServiceImpl(TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository,
                                          HistorialEmpresasService historialService,
                                          TrabajoEmpresaService trabajoEmpresaService,
-                                         ClienteService clienteService) {
+                                         ClienteService clienteService,
+                                         TrabajoEmpresaRepository trabajoEmpresaRepository,
+                                         ClienteRepository clienteRepository,
+                                         CacheDetalleTrabajos cacheDetalleTrabajos) {
         this.trabajoEmpEnAccionRepository = trabajoEmpEnAccionRepository;
         this.historialService = historialService;
         this.trabajoEmpresaService = trabajoEmpresaService;
         this.clienteService = clienteService;
+        this.trabajoEmpresaRepository = trabajoEmpresaRepository;
+        this.clienteRepository = clienteRepository;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
     }
 
     /**
@@ -37,8 +51,11 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoEmpEnAccion> getAllTrabajosEmpEnAccion() {
-        return trabajoEmpEnAccionRepository.findAll();
+    public PaginaCursor<TrabajoEnAccionDTO> getAllTrabajosEmpEnAccion(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoEmpEnAccionRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                TrabajoEmpEnAccion::getId)
+                .map(TrabajoEnAccionDTO::new);
     }
 
     /**
@@ -46,8 +63,9 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public TrabajoEmpEnAccion getTrabajoEmpEnAccionById(Long id) {
+    public TrabajoEnAccionDTO getTrabajoEmpEnAccionById(Long id) {
         return trabajoEmpEnAccionRepository.findById(id)
+                .map(TrabajoEnAccionDTO::new)
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoEmpEnAccion no encontrado con ID: " + id));
     }
 
@@ -56,13 +74,13 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
      */
     @Override
     @Transactional
-    public TrabajoEmpEnAccion createTrabajoEmpEnAccion(TrabajoEmpEnAccion trabajoEmpEnAccion) {
+    public TrabajoEnAccionDTO createTrabajoEmpEnAccion(TrabajoEmpEnAccion trabajoEmpEnAccion) {
         TrabajoEmpresa trabajoEmpresa = trabajoEmpresaService.getTrabajoEmpresaById(trabajoEmpEnAccion.getTrabajoEmpresa().getId());
 
         trabajoEmpEnAccion.setTrabajoEmpresa(trabajoEmpresa);
         trabajoEmpEnAccion.setEstadoTrabajo(EstadoTrabajo.PENDIENTE); // Estado inicial
         trabajoEmpEnAccion.setActivo(true); // Asegurar que el registro sea activo al crear
-        return trabajoEmpEnAccionRepository.save(trabajoEmpEnAccion);
+        return new TrabajoEnAccionDTO(trabajoEmpEnAccionRepository.save(trabajoEmpEnAccion));
     }
 
     /**
@@ -70,12 +88,11 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
      */
     @Override
     @Transactional
-    public TrabajoEmpEnAccion updateTrabajoEmpEnAccion(Long id, TrabajoEmpEnAccion trabajoEmpEnAccionDetalles) {
-        HistorialEmpresas historialEmpresas=null;
+    public TrabajoEnAccionDTO updateTrabajoEmpEnAccion(Long id, TrabajoEmpEnAccion trabajoEmpEnAccionDetalles) {
         TrabajoEmpEnAccion existente = trabajoEmpEnAccionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoEmpEnAccion no encontrado con ID: " + id));
 
-        historialEmpresas=this.updateEstadoTrabajo(id,trabajoEmpEnAccionDetalles.getEstadoTrabajo());
+        this.updateEstadoTrabajo(id,trabajoEmpEnAccionDetalles.getEstadoTrabajo());
         existente.setEstadoTrabajo(trabajoEmpEnAccionDetalles.getEstadoTrabajo());
         if (existente.getEstadoTrabajo() == EstadoTrabajo.FINALIZADO) {
             existente.setEstadoTrabajo(EstadoTrabajo.FINALIZADO);
@@ -86,7 +103,7 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
         // Si necesitas actualizar relaciones, puedes hacerlo aquí.
         existente.setTrabajoEmpresa(trabajoEmpEnAccionDetalles.getTrabajoEmpresa());
 
-        return trabajoEmpEnAccionRepository.save(existente);
+        return new TrabajoEnAccionDTO(trabajoEmpEnAccionRepository.save(existente));
     }
 
     /**
@@ -115,19 +132,24 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
      * {@inheritDoc}
      */
     @Override
-    public HistorialEmpresas updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo) {
-        TrabajoEmpEnAccion trabajoEmpEnAccion=trabajoEmpEnAccionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("TrabajoEmpEnAccion no encontrado con ID: " + id));
-
-        EstadoTrabajo oldEstado= trabajoEmpEnAccion.getEstadoTrabajo();
-        trabajoEmpEnAccion.setEstadoTrabajo(estadoTrabajo);
-        trabajoEmpEnAccion.setFechaCambio(LocalDateTime.now());
-        TrabajoEmpEnAccion actualizado= trabajoEmpEnAccionRepository.save(trabajoEmpEnAccion);
-        HistorialEmpresas historialEmpresas=null;
-        if (estadoTrabajo == EstadoTrabajo.FINALIZADO && oldEstado != EstadoTrabajo.FINALIZADO){
+    @Transactional
+    public HistorialDTO updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo) {
+        // Transición condicional en la base de datos: solo una petición concurrente puede finalizar el trabajo
+        if (trabajoEmpEnAccionRepository.cambiarEstado(id, estadoTrabajo, LocalDateTime.now()) == 0) {
+            if (!trabajoEmpEnAccionRepository.existsById(id)) {
+                throw new ResourceNotFoundException("TrabajoEmpEnAccion no encontrado con ID: " + id);
+            }
+            return null;
+        }
+        HistorialDTO historialEmpresas=null;
+        if (estadoTrabajo == EstadoTrabajo.FINALIZADO){
+            // Trabajo y cliente en la misma consulta: el historial los vuelve a buscar y los encuentra en el contexto de persistencia
+            TrabajoEmpEnAccion trabajoEmpEnAccion=trabajoEmpEnAccionRepository.findConTrabajoYClienteById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("TrabajoEmpEnAccion no encontrado con ID: " + id));
 
             TrabajoEmpresa trabajoEmpresa= trabajoEmpEnAccion.getTrabajoEmpresa();
-            trabajoEmpresa.setVentas(trabajoEmpresa.getVentas()+1L);
+            trabajoEmpresaRepository.incrementarVentas(trabajoEmpresa.getId());
+            cacheDetalleTrabajos.invalidarTrabajoEmpresa(trabajoEmpresa.getId());
             Cliente cliente= trabajoEmpEnAccion.getCliente();
 
             HistorialEmpresas historial= new HistorialEmpresas();
@@ -136,19 +158,20 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
             historial.setFechaSolicitud(LocalDateTime.now());
             historial.setActivo(true);
 
-            historialEmpresas= historialService.createHistorialEmpresas(historial);
+            historialEmpresas= historialService.createHistorialEmpresasDTO(historial);
 
         }
         return historialEmpresas;
     }
 
+    /**
+     * Cambia el estado con la misma transición condicional que {@link #updateEstadoTrabajo(Long, EstadoTrabajo)}:
+     * si finaliza el trabajo registra la venta y el historial, y un trabajo FINALIZADO no cambia.
+     */
     @Override
+    @Transactional
     public void updateEstadoTrabajoEnAccion(Long id, EstadoTrabajo estadoTrabajo){
-        TrabajoEmpEnAccion trabajoEmpEnAccion=trabajoEmpEnAccionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("TrabajoEmpEnAccion no encontrado con ID: " + id));
-        trabajoEmpEnAccion.setEstadoTrabajo(estadoTrabajo);
-        trabajoEmpEnAccionRepository.save(trabajoEmpEnAccion);
-
+        this.updateEstadoTrabajo(id, estadoTrabajo);
     }
 
     /**
@@ -156,8 +179,11 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoEmpEnAccion> findByActivo(Boolean activo) {
-        return trabajoEmpEnAccionRepository.findByActivo(activo);
+    public PaginaCursor<TrabajoEnAccionDTO> findByActivo(Boolean activo, String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoEmpEnAccionRepository.findByActivoAndIdGreaterThanOrderByIdAsc(activo, ultimoId, limite),
+                TrabajoEmpEnAccion::getId)
+                .map(TrabajoEnAccionDTO::new);
     }
 
     /**
@@ -165,8 +191,10 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoEmpEnAccion> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo) {
-        return trabajoEmpEnAccionRepository.findByEstadoTrabajo(estadoTrabajo);
+    public List<TrabajoEnAccionDTO> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo) {
+        return trabajoEmpEnAccionRepository.findByEstadoTrabajo(estadoTrabajo).stream()
+                .map(TrabajoEnAccionDTO::new)
+                .toList();
     }
 
     /**
@@ -177,4 +205,32 @@ public class TrabajoEmpEnAccionServiceImpl implements TrabajoEmpEnAccionService
     public List<TrabajoEmpEnAccion> getTrabajosEmpEnAccionByCliente(Cliente cliente) {
         return trabajoEmpEnAccionRepository.findByTrabajoEmpresa_Cliente(cliente);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrabajoEnAccionDTO> getTrabajosEmpEnAccionActivosByTrabajoEmpresa(Long trabajoEmpresaId) {
+        if (!trabajoEmpresaRepository.existsById(trabajoEmpresaId)) {
+            throw new ResourceNotFoundException("TrabajoEmpresa no encontrado con ID: " + trabajoEmpresaId);
+        }
+        return trabajoEmpEnAccionRepository.findByTrabajoEmpresaIdAndActivoTrueOrderByIdAsc(trabajoEmpresaId).stream()
+                .map(TrabajoEnAccionDTO::new)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrabajoEnAccionDTO> getTrabajosEmpEnAccionActivosByCliente(Long clienteId) {
+        if (!clienteRepository.existsByIdAndActivo(clienteId, true)) {
+            throw new ResourceNotFoundException("Cliente no encontrado o dado de Baja con ID: " + clienteId);
+        }
+        return trabajoEmpEnAccionRepository.findByTrabajoEmpresa_ClienteIdAndActivoTrueOrderByIdAsc(clienteId).stream()
+                .map(TrabajoEnAccionDTO::new)
+                .toList();
+    }
 }
@@ -1,11 +1,13 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.DetalleTrabajoDTO;
 import com.professional.model.dto.TrabajoEmpresaEnAccionDTO;
 import com.professional.model.entities.Cliente;
 import com.professional.model.entities.HistorialEmpresas;
 import com.professional.model.entities.TrabajoEmpresa;
 import com.professional.model.entities.Empresa;
 import com.professional.model.enums.EstadoTrabajo;
+import com.professional.model.paginacion.PaginaCursor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,9 +17,11 @@ public interface TrabajoEmpresaService {
     /**
      * Obtener todos los trabajos de empresa.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de TrabajoEmpresa.
      */
-    List<TrabajoEmpresa> getAllTrabajosEmpresa();
+    PaginaCursor<DetalleTrabajoDTO> getAllTrabajosEmpresa(String cursor, int tamanio);
 
     /**
      * Obtener un TrabajoEmpresa por su ID.
@@ -27,7 +31,15 @@ public interface TrabajoEmpresaService {
      */
     TrabajoEmpresa getTrabajoEmpresaById(Long id);
 
-    List<TrabajoEmpresa> getAllTrabajosEmpresaActivos();
+    /**
+     * Obtener un TrabajoEmpresa por su ID, como vista de lectura.
+     *
+     * @param id ID del TrabajoEmpresa.
+     * @return TrabajoEmpresa encontrado.
+     */
+    DetalleTrabajoDTO getTrabajoEmpresaDTOById(Long id);
+
+    PaginaCursor<DetalleTrabajoDTO> getAllTrabajosEmpresaActivos(String cursor, int tamanio);
 
     /**
      * Guardar o actualizar un TrabajoEmpresa.
@@ -42,7 +54,7 @@ public interface TrabajoEmpresaService {
      * @param trabajoEmpresa Datos del TrabajoEmpresa a crear.
      * @return TrabajoEmpresa creado.
      */
-    TrabajoEmpresa createTrabajoEmpresa(Long id, TrabajoEmpresa trabajoEmpresa);
+    DetalleTrabajoDTO createTrabajoEmpresa(Long id, TrabajoEmpresa trabajoEmpresa);
 
     /**
      * Actualizar un TrabajoEmpresa existente.
@@ -51,7 +63,7 @@ public interface TrabajoEmpresaService {
      * @param trabajoEmpresaDetalles Datos actualizados del TrabajoEmpresa.
      * @return TrabajoEmpresa actualizado.
      */
-    TrabajoEmpresa updateTrabajoEmpresa(Long id, TrabajoEmpresa trabajoEmpresaDetalles);
+    DetalleTrabajoDTO updateTrabajoEmpresa(Long id, TrabajoEmpresa trabajoEmpresaDetalles);
 
     /**
      * Eliminar un TrabajoEmpresa por su ID.
@@ -67,14 +79,14 @@ public interface TrabajoEmpresaService {
      * @param empresa Empresa de la cual se desean los trabajos.
      * @return Lista de TrabajoEmpresa asociados.
      */
-    List<TrabajoEmpresa> getTrabajosEmpresaByEmpresa(Empresa empresa);
+    List<DetalleTrabajoDTO> getTrabajosEmpresaByEmpresa(Empresa empresa);
     /**
      * Obtener todos los TrabajosEmpresa asociados a un Cliente (Empresa).
      *
      * @param cliente El Cliente (Empresa).
      * @return Lista de TrabajoEmpresa.
      */
-    List<TrabajoEmpresa> getTrabajosEmpresaByCliente(Cliente cliente);
+    List<DetalleTrabajoDTO> getTrabajosEmpresaByCliente(Cliente cliente);
 
     List<TrabajoEmpresaEnAccionDTO> misTrabajosEmpresasEnAccion(Long trabajoEmpresaId);
 
@@ -1,10 +1,15 @@
 package com.professional.model.services;
 
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
 import com.professional.model.dto.TrabajoEmpresaDTO;
+import com.professional.model.dto.DetalleTrabajoDTO;
 import com.professional.model.dto.TrabajoEmpresaEnAccionDTO;
 import com.professional.model.entities.*;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.TrabajoEmpEnAccionRepository;
 import com.professional.model.repositories.TrabajoEmpresaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,15 +28,21 @@ public class TrabajoEmpresaServiceImpl implements TrabajoEmpresaService {
     private final HistorialEmpresasService historialEmpresasService;
 
     private final TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
 
     @Autowired
     public TrabajoEmpresaServiceImpl(TrabajoEmpresaRepository trabajoEmpresaRepository,
                                      EmpresaService empresaService, HistorialEmpresasService historialEmpresasService,
-                                     TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository) {
+                                     TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository,
+                                     CacheDetalleTrabajos cacheDetalleTrabajos,
+                                     CacheBusquedas cacheBusquedas) {
         this.trabajoEmpresaRepository = trabajoEmpresaRepository;
         this.empresaService = empresaService;
         this.historialEmpresasService = historialEmpresasService;
         this.trabajoEmpEnAccionRepository = trabajoEmpEnAccionRepository;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
     }
 
     @Override
@@ -43,37 +54,52 @@ public class TrabajoEmpresaServiceImpl implements TrabajoEmpresaService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoEmpresa> getAllTrabajosEmpresaActivos() {
-        return trabajoEmpresaRepository.findByActivo(true);
+    public DetalleTrabajoDTO getTrabajoEmpresaDTOById(Long id) {
+        return new DetalleTrabajoDTO(getTrabajoEmpresaById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<DetalleTrabajoDTO> getAllTrabajosEmpresaActivos(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoEmpresaRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                TrabajoEmpresa::getId).map(DetalleTrabajoDTO::new);
     }
 
 
     @Override
     @Transactional
     public TrabajoEmpresa saveTrabajoEmpresa(TrabajoEmpresa trabajoEmpresa) {
+        if (trabajoEmpresa.getId() != null) {
+            cacheDetalleTrabajos.invalidarTrabajoEmpresa(trabajoEmpresa.getId());
+            cacheBusquedas.nuevaGeneracion();
+        }
         return trabajoEmpresaRepository.save(trabajoEmpresa);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoEmpresa> getAllTrabajosEmpresa() {
-        return trabajoEmpresaRepository.findAll();
+    public PaginaCursor<DetalleTrabajoDTO> getAllTrabajosEmpresa(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoEmpresaRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                TrabajoEmpresa::getId).map(DetalleTrabajoDTO::new);
     }
 
     @Override
     @Transactional
-    public TrabajoEmpresa createTrabajoEmpresa(Long id,TrabajoEmpresa trabajoEmpresa) {
+    public DetalleTrabajoDTO createTrabajoEmpresa(Long id,TrabajoEmpresa trabajoEmpresa) {
 
         Empresa empresa = empresaService.getEmpresaById(id);
         trabajoEmpresa.setEmpresa(empresa);
         trabajoEmpresa.setActivo(true);
         trabajoEmpresa.setAverageRating(5.0);
-        return trabajoEmpresaRepository.save(trabajoEmpresa);
+        cacheBusquedas.nuevaGeneracion();
+        return new DetalleTrabajoDTO(trabajoEmpresaRepository.save(trabajoEmpresa));
     }
 
     @Override
     @Transactional
-    public TrabajoEmpresa updateTrabajoEmpresa(Long id, TrabajoEmpresa trabajoEmpresaDetalles) {
+    public DetalleTrabajoDTO updateTrabajoEmpresa(Long id, TrabajoEmpresa trabajoEmpresaDetalles) {
         HistorialEmpresas historialEmpresas=null;
         TrabajoEmpresa existente = trabajoEmpresaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoEmpresa no encontrado con ID: " + id));
@@ -83,7 +109,9 @@ public class TrabajoEmpresaServiceImpl implements TrabajoEmpresaService {
         existente.setCliente(trabajoEmpresaDetalles.getCliente());
         // El averageRating no se actualiza directamente, se recalcula mediante las calificaciones
 
-        return trabajoEmpresaRepository.save(existente);
+        cacheDetalleTrabajos.invalidarTrabajoEmpresa(id);
+        cacheBusquedas.nuevaGeneracion();
+        return new DetalleTrabajoDTO(trabajoEmpresaRepository.save(existente));
     }
 
     @Override
@@ -94,6 +122,8 @@ public class TrabajoEmpresaServiceImpl implements TrabajoEmpresaService {
         // Eliminación lógica: establecer 'activo' a false
         existente.setActivo(false);
         trabajoEmpresaRepository.save(existente);
+        cacheDetalleTrabajos.invalidarTrabajoEmpresa(id);
+        cacheBusquedas.nuevaGeneracion();
     }
 
 
@@ -101,13 +131,13 @@ public class TrabajoEmpresaServiceImpl implements TrabajoEmpresaService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoEmpresa> getTrabajosEmpresaByCliente(Cliente cliente) {
+    public List<DetalleTrabajoDTO> getTrabajosEmpresaByCliente(Cliente cliente) {
 
         List<TrabajoEmpresa> trabajos = trabajoEmpresaRepository.findByCliente(cliente);
         if (trabajos.isEmpty()) {
             throw new ResourceNotFoundException("No hay trabajos empresariales asociados al Cliente ID: " + cliente.getId());
         }
-        return trabajos;
+        return trabajos.stream().map(DetalleTrabajoDTO::new).toList();
     }
 
 
@@ -118,8 +148,10 @@ public class TrabajoEmpresaServiceImpl implements TrabajoEmpresaService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoEmpresa> getTrabajosEmpresaByEmpresa(Empresa empresa) {
-        return trabajoEmpresaRepository.findByEmpresa(empresa);
+    public List<DetalleTrabajoDTO> getTrabajosEmpresaByEmpresa(Empresa empresa) {
+        return trabajoEmpresaRepository.findByEmpresa(empresa).stream()
+                .map(DetalleTrabajoDTO::new)
+                .toList();
     }
 
 
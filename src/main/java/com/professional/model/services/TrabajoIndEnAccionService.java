@@ -1,11 +1,12 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.HistorialDTO;
 import com.professional.model.dto.TrabajoEnAccionDTO;
 import com.professional.model.entities.Cliente;
-import com.professional.model.entities.HistorialIndependientes;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.entities.TrabajoIndEnAccion;
 import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.paginacion.PaginaCursor;
 
 import java.util.List;
 
@@ -14,9 +15,11 @@ public interface TrabajoIndEnAccionService {
     /**
      * Obtener todas las acciones de trabajos independientes.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de TrabajoIndEnAccion.
      */
-    List<TrabajoIndEnAccion> getAllTrabajosEnAccion();
+    PaginaCursor<TrabajoEnAccionDTO> getAllTrabajosEnAccion(String cursor, int tamanio);
 
     /**
      * Obtener una TrabajoIndEnAccion por su ID.
@@ -26,6 +29,14 @@ public interface TrabajoIndEnAccionService {
      */
     TrabajoIndEnAccion getTrabajoEnAccionById(Long id);
 
+    /**
+     * Obtener una TrabajoIndEnAccion por su ID, como vista de lectura.
+     *
+     * @param id ID de la TrabajoIndEnAccion.
+     * @return TrabajoIndEnAccion encontrada.
+     */
+    TrabajoEnAccionDTO getTrabajoEnAccionDTOById(Long id);
+
     /**
      * Actualizar el estadoTrabajo de un TrabajoIndEnAccion existente.
      *
@@ -33,7 +44,7 @@ public interface TrabajoIndEnAccionService {
      * @param estadoTrabajo Nuevo estadoTrabajo.
      * @return TrabajoIndEnAccion actualizado.
      */
-    HistorialIndependientes updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo);
+    HistorialDTO updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo);
 
     /**
      * Crear una nueva TrabajoIndEnAccion.
@@ -41,7 +52,7 @@ public interface TrabajoIndEnAccionService {
      * @param trabajoEnAccion Datos de la TrabajoIndEnAccion a crear.
      * @return TrabajoIndEnAccion creada.
      */
-    TrabajoIndEnAccion createTrabajoEnAccion(TrabajoIndEnAccion trabajoEnAccion);
+    TrabajoEnAccionDTO createTrabajoEnAccion(TrabajoIndEnAccion trabajoEnAccion);
 
     /**
      * Actualizar una TrabajoIndEnAccion existente.
@@ -50,7 +61,7 @@ public interface TrabajoIndEnAccionService {
      * @param trabajoEnAccionDetalles Datos actualizados de la TrabajoIndEnAccion.
      * @return TrabajoIndEnAccion actualizada.
      */
-    TrabajoIndEnAccion updateTrabajoEnAccion(Long id, TrabajoIndEnAccion trabajoEnAccionDetalles);
+    TrabajoEnAccionDTO updateTrabajoEnAccion(Long id, TrabajoIndEnAccion trabajoEnAccionDetalles);
 
     /**
      * Eliminar lógicamente una TrabajoIndEnAccion por su ID.
@@ -70,16 +81,20 @@ public interface TrabajoIndEnAccionService {
     /**
      * Obtener todas las acciones activas.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de TrabajoIndEnAccion activos.
      */
-    List<TrabajoIndEnAccion> getAllTrabajosEnAccionActivos();
+    PaginaCursor<TrabajoEnAccionDTO> getAllTrabajosEnAccionActivos(String cursor, int tamanio);
 
     /**
      * Obtener todas las acciones inactivas.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de TrabajoIndEnAccion inactivos.
      */
-    List<TrabajoIndEnAccion> getAllTrabajosEnAccionInactivos();
+    PaginaCursor<TrabajoIndEnAccion> getAllTrabajosEnAccionInactivos(String cursor, int tamanio);
 
     /**
      * Buscar trabajos en acción por estado de trabajo.
@@ -87,7 +102,7 @@ public interface TrabajoIndEnAccionService {
      * @param estadoTrabajo Estado de trabajo.
      * @return Lista de trabajos que coinciden con el estado.
      */
-    List<TrabajoIndEnAccion> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo);
+    List<TrabajoEnAccionDTO> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo);
 
     /**
      * Obtener todas las acciones asociadas a un Cliente específico.
@@ -97,5 +112,23 @@ public interface TrabajoIndEnAccionService {
      */
     List<TrabajoIndEnAccion> getTrabajosEnAccionByCliente(Cliente cliente);
 
+    /**
+     * Obtener los TrabajoIndEnAccion activos de un TrabajoIndependiente activo.
+     *
+     * @param trabajoIndependienteId ID del TrabajoIndependiente.
+     * @return Lista de TrabajoIndEnAccion activos.
+     * @throws com.professional.model.exceptions.ResourceNotFoundException si el trabajo no existe o está inactivo.
+     */
+    List<TrabajoEnAccionDTO> getTrabajosEnAccionActivosByTrabajoIndependiente(Long trabajoIndependienteId);
+
+    /**
+     * Obtener los TrabajoIndEnAccion activos de un Cliente activo.
+     *
+     * @param clienteId ID del Cliente.
+     * @return Lista de TrabajoIndEnAccion activos.
+     * @throws com.professional.model.exceptions.ResourceNotFoundException si el cliente no existe o está dado de baja.
+     */
+    List<TrabajoEnAccionDTO> getTrabajosEnAccionActivosByCliente(Long clienteId);
+
     void updateEstadoTrabajoEnAccion(Long id, EstadoTrabajo estadoTrabajo);
 }
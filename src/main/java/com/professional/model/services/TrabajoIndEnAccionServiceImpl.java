@@ -1,11 +1,16 @@
 package com.professional.model.services;
 
+import com.professional.model.cache.CacheDetalleTrabajos;
 import com.professional.model.dto.HistorialDTO;
 import com.professional.model.dto.TrabajoEnAccionDTO;
 import com.professional.model.entities.*;
 import com.professional.model.enums.EstadoTrabajo;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
+import com.professional.model.repositories.ClienteRepository;
 import com.professional.model.repositories.TrabajoIndEnAccionRepository;
+import com.professional.model.repositories.TrabajoIndependienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -20,14 +25,23 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
     private final TrabajoIndEnAccionRepository trabajoIndEnAccionRepository;
     private final HistorialIndependientesService historialService;
     private final TrabajoIndependienteService trabajoIndependienteService;
+    private final TrabajoIndependienteRepository trabajoIndependienteRepository;
+    private final ClienteRepository clienteRepository;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
 
     @Autowired
     public TrabajoIndEnAccionServiceImpl(TrabajoIndEnAccionRepository trabajoIndEnAccionRepository,
                                          HistorialIndependientesService historialService,
-                                         TrabajoIndependienteService trabajoIndependienteService) {
+                                         TrabajoIndependienteService trabajoIndependienteService,
+                                         TrabajoIndependienteRepository trabajoIndependienteRepository,
+                                         ClienteRepository clienteRepository,
+                                         CacheDetalleTrabajos cacheDetalleTrabajos) {
         this.trabajoIndEnAccionRepository = trabajoIndEnAccionRepository;
         this.historialService = historialService;
         this.trabajoIndependienteService = trabajoIndependienteService;
+        this.trabajoIndependienteRepository = trabajoIndependienteRepository;
+        this.clienteRepository = clienteRepository;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
     }
 
     /**
@@ -35,8 +49,11 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndEnAccion> getAllTrabajosEnAccion() {
-        return trabajoIndEnAccionRepository.findAll();
+    public PaginaCursor<TrabajoEnAccionDTO> getAllTrabajosEnAccion(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoIndEnAccionRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                TrabajoIndEnAccion::getId)
+                .map(TrabajoEnAccionDTO::new);
     }
 
     /**
@@ -49,16 +66,25 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndEnAccion no encontrado con ID: " + id));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TrabajoEnAccionDTO getTrabajoEnAccionDTOById(Long id) {
+        return new TrabajoEnAccionDTO(getTrabajoEnAccionById(id));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional
-    public TrabajoIndEnAccion createTrabajoEnAccion(TrabajoIndEnAccion trabajoEnAccion) {
+    public TrabajoEnAccionDTO createTrabajoEnAccion(TrabajoIndEnAccion trabajoEnAccion) {
         // Establecer estadoTrabajo en PENDIENTE automáticamente
         trabajoEnAccion.setEstadoTrabajo(EstadoTrabajo.PENDIENTE);
         trabajoEnAccion.setActivo(true); // Establecer activo en true al crear
-        return trabajoIndEnAccionRepository.save(trabajoEnAccion);
+        return new TrabajoEnAccionDTO(trabajoIndEnAccionRepository.save(trabajoEnAccion));
     }
 
     /**
@@ -71,20 +97,24 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
      */
     @Override
     @Transactional
-    public HistorialIndependientes updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo) {
-        TrabajoIndEnAccion trabajoIndEnAccion = trabajoIndEnAccionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndEnAccion no encontrado con ID: " + id));
-
-        EstadoTrabajo oldEstado = trabajoIndEnAccion.getEstadoTrabajo();
-        trabajoIndEnAccion.setEstadoTrabajo(estadoTrabajo);
-        trabajoIndEnAccion.setFechaCambio(LocalDateTime.now());
-        TrabajoIndEnAccion actualizado = trabajoIndEnAccionRepository.save(trabajoIndEnAccion);
+    public HistorialDTO updateEstadoTrabajo(Long id, EstadoTrabajo estadoTrabajo) {
+        // Transición condicional en la base de datos: solo una petición concurrente puede finalizar el trabajo
+        if (trabajoIndEnAccionRepository.cambiarEstado(id, estadoTrabajo, LocalDateTime.now()) == 0) {
+            if (!trabajoIndEnAccionRepository.existsById(id)) {
+                throw new ResourceNotFoundException("TrabajoIndEnAccion no encontrado con ID: " + id);
+            }
+            return null;
+        }
 
-        HistorialIndependientes historialIndependientes = null;
-        if (estadoTrabajo == EstadoTrabajo.FINALIZADO && oldEstado != EstadoTrabajo.FINALIZADO) {
+        HistorialDTO historialIndependientes = null;
+        if (estadoTrabajo == EstadoTrabajo.FINALIZADO) {
+            // Trabajo y cliente en la misma consulta: el historial los vuelve a buscar y los encuentra en el contexto de persistencia
+            TrabajoIndEnAccion trabajoIndEnAccion = trabajoIndEnAccionRepository.findConTrabajoYClienteById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndEnAccion no encontrado con ID: " + id));
             // Crear una nueva instancia de HistorialIndependientes
             TrabajoIndependiente trabajoIndependiente = trabajoIndEnAccion.getTrabajoIndependiente();
-            trabajoIndependiente.setVentas(trabajoIndependiente.getVentas()+1L);
+            trabajoIndependienteRepository.incrementarVentas(trabajoIndependiente.getId());
+            cacheDetalleTrabajos.invalidarTrabajoIndependiente(trabajoIndependiente.getId());
             Cliente cliente = trabajoIndEnAccion.getCliente();
 
             HistorialIndependientes historial = new HistorialIndependientes();
@@ -93,7 +123,7 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
             historial.setFechaSolicitud(LocalDateTime.now());
             historial.setActivo(true); // Asegurar que el historial está activo
 
-            historialIndependientes = historialService.createHistorialIndependientes(historial);
+            historialIndependientes = historialService.createHistorialIndependientesDTO(historial);
         }
         return historialIndependientes;
     }
@@ -105,20 +135,19 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
      */
     @Override
     @Transactional
-    public TrabajoIndEnAccion updateTrabajoEnAccion(Long id, TrabajoIndEnAccion trabajoEnAccionDetalles) {
-        HistorialIndependientes historialIndependientes = null;
+    public TrabajoEnAccionDTO updateTrabajoEnAccion(Long id, TrabajoIndEnAccion trabajoEnAccionDetalles) {
+        // El estado solo cambia por la transición condicional; se lee la entidad después para no pisarlo al guardar
+        this.updateEstadoTrabajo(id,trabajoEnAccionDetalles.getEstadoTrabajo());
         TrabajoIndEnAccion existente = trabajoIndEnAccionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndEnAccion no encontrado con ID: " + id));
 
-        historialIndependientes=this.updateEstadoTrabajo(id,trabajoEnAccionDetalles.getEstadoTrabajo());
         // Actualizar campos permitidos
         existente.setTrabajoIndependiente(trabajoEnAccionDetalles.getTrabajoIndependiente());
-        existente.setEstadoTrabajo(trabajoEnAccionDetalles.getEstadoTrabajo());
 
 
         // Nota: fechaCambio es updatable = false en la entidad, así que no se actualiza.
 
-        return trabajoIndEnAccionRepository.save(existente);
+        return new TrabajoEnAccionDTO(trabajoIndEnAccionRepository.save(existente));
     }
 
     /**
@@ -148,8 +177,11 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndEnAccion> getAllTrabajosEnAccionActivos() {
-        return trabajoIndEnAccionRepository.findByActivo(true);
+    public PaginaCursor<TrabajoEnAccionDTO> getAllTrabajosEnAccionActivos(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoIndEnAccionRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                TrabajoIndEnAccion::getId)
+                .map(TrabajoEnAccionDTO::new);
     }
 
     /**
@@ -157,8 +189,10 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndEnAccion> getAllTrabajosEnAccionInactivos() {
-        return trabajoIndEnAccionRepository.findByActivo(false);
+    public PaginaCursor<TrabajoIndEnAccion> getAllTrabajosEnAccionInactivos(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoIndEnAccionRepository.findByActivoAndIdGreaterThanOrderByIdAsc(false, ultimoId, limite),
+                TrabajoIndEnAccion::getId);
     }
 
     /**
@@ -166,8 +200,10 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndEnAccion> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo) {
-        return trabajoIndEnAccionRepository.findByEstadoTrabajo(estadoTrabajo);
+    public List<TrabajoEnAccionDTO> findByEstadoTrabajo(EstadoTrabajo estadoTrabajo) {
+        return trabajoIndEnAccionRepository.findByEstadoTrabajo(estadoTrabajo).stream()
+                .map(TrabajoEnAccionDTO::new)
+                .toList();
     }
 
     /**
@@ -179,12 +215,42 @@ public class TrabajoIndEnAccionServiceImpl implements TrabajoIndEnAccionService
         return trabajoIndEnAccionRepository.findByCliente(cliente);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrabajoEnAccionDTO> getTrabajosEnAccionActivosByTrabajoIndependiente(Long trabajoIndependienteId) {
+        if (!trabajoIndependienteRepository.existsByIdAndActivoTrue(trabajoIndependienteId)) {
+            throw new ResourceNotFoundException("Trabajo Independiente no encontrado con ID: " + trabajoIndependienteId);
+        }
+        return trabajoIndEnAccionRepository.findByTrabajoIndependienteIdAndActivoTrueOrderByIdAsc(trabajoIndependienteId).stream()
+                .map(TrabajoEnAccionDTO::new)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
+    @Transactional(readOnly = true)
+    public List<TrabajoEnAccionDTO> getTrabajosEnAccionActivosByCliente(Long clienteId) {
+        if (!clienteRepository.existsByIdAndActivo(clienteId, true)) {
+            throw new ResourceNotFoundException("Cliente no encontrado o dado de Baja con ID: " + clienteId);
+        }
+        return trabajoIndEnAccionRepository.findByClienteIdAndActivoTrueOrderByIdAsc(clienteId).stream()
+                .map(TrabajoEnAccionDTO::new)
+                .toList();
+    }
+
+    /**
+     * Cambia el estado con la misma transición condicional que {@link #updateEstadoTrabajo(Long, EstadoTrabajo)}:
+     * si finaliza el trabajo registra la venta y el historial, y un trabajo FINALIZADO no cambia.
+     */
+    @Override
+    @Transactional
     public void updateEstadoTrabajoEnAccion(Long id, EstadoTrabajo estadoTrabajo){
-        TrabajoIndEnAccion trabajoIndEnAccion=trabajoIndEnAccionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndEnAccion no encontrado con ID: " + id));
-        trabajoIndEnAccion.setEstadoTrabajo(estadoTrabajo);
-        trabajoIndEnAccionRepository.save(trabajoIndEnAccion);
+        this.updateEstadoTrabajo(id, estadoTrabajo);
     }
 
 
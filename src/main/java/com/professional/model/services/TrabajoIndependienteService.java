@@ -1,8 +1,10 @@
 package com.professional.model.services;
 
+import com.professional.model.dto.DetalleTrabajoDTO;
 import com.professional.model.dto.TrabajoEmpresaEnAccionDTO;
 import com.professional.model.entities.Independiente;
 import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.paginacion.PaginaCursor;
 
 import java.util.List;
 
@@ -11,9 +13,11 @@ public interface TrabajoIndependienteService {
     /**
      * Obtener todos los Trabajos Independientes.
      *
+     * @param cursor  Cursor devuelto en la página anterior; vacío para la primera página.
+     * @param tamanio Cantidad de registros por página.
      * @return Lista de Trabajos Independientes.
      */
-    List<TrabajoIndependiente> getAllTrabajosIndependientes();
+    PaginaCursor<TrabajoIndependiente> getAllTrabajosIndependientes(String cursor, int tamanio);
 
     /**
      * Obtener un Trabajo Independiente por su ID.
@@ -23,13 +27,21 @@ public interface TrabajoIndependienteService {
      */
     TrabajoIndependiente getTrabajoIndependienteById(Long id);
 
+    /**
+     * Obtener un Trabajo Independiente activo por su ID, como vista de lectura.
+     *
+     * @param id ID del Trabajo Independiente.
+     * @return Trabajo Independiente encontrado.
+     */
+    DetalleTrabajoDTO getTrabajoIndependienteDTOById(Long id);
+
     /**
      * Crear un nuevo Trabajo Independiente.
      *
      * @param trabajoIndependiente Datos del Trabajo Independiente a crear.
      * @return Trabajo Independiente creado.
      */
-    TrabajoIndependiente createTrabajoIndependiente(Long id,TrabajoIndependiente trabajoIndependiente);
+    DetalleTrabajoDTO createTrabajoIndependiente(Long id,TrabajoIndependiente trabajoIndependiente);
 
     /**
      * Actualizar un Trabajo Independiente existente.
@@ -38,7 +50,7 @@ public interface TrabajoIndependienteService {
      * @param trabajoIndependienteDetalles Datos actualizados del Trabajo Independiente.
      * @return Trabajo Independiente actualizado.
      */
-    TrabajoIndependiente updateTrabajoIndependiente(Long id, TrabajoIndependiente trabajoIndependienteDetalles);
+    DetalleTrabajoDTO updateTrabajoIndependiente(Long id, TrabajoIndependiente trabajoIndependienteDetalles);
 
     /**
      * Eliminar un Trabajo Independiente por su ID.
@@ -47,9 +59,9 @@ public interface TrabajoIndependienteService {
      */
     void deleteTrabajoIndependiente(Long id);
 
-    List<TrabajoIndependiente> getAllTrabajosIndependientesActivos();
+    PaginaCursor<DetalleTrabajoDTO> getAllTrabajosIndependientesActivos(String cursor, int tamanio);
 
-    List<TrabajoIndependiente> getTrabajosIndependientesByIndependiente(Independiente independiente);
+    List<DetalleTrabajoDTO> getTrabajosIndependientesByIndependiente(Independiente independiente);
 
 
     /**
@@ -58,7 +70,7 @@ public interface TrabajoIndependienteService {
      * @param trabajoIndependiente La entidad TrabajoIndependiente a guardar.
      * @return TrabajoIndependiente guardado.
      */
-    TrabajoIndependiente saveTrabajoIndependiente(TrabajoIndependiente trabajoIndependiente);
+    DetalleTrabajoDTO saveTrabajoIndependiente(TrabajoIndependiente trabajoIndependiente);
 
     List<TrabajoEmpresaEnAccionDTO> misTrabajosIndependientesEnAccion(Long trabajoIndependienteId);
 }
@@ -1,9 +1,14 @@
 package com.professional.model.services;
 
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.DetalleTrabajoDTO;
 import com.professional.model.dto.TrabajoEmpresaEnAccionDTO;
 import com.professional.model.entities.Independiente;
 import com.professional.model.entities.TrabajoIndependiente;
 import com.professional.model.exceptions.ResourceNotFoundException;
+import com.professional.model.paginacion.PaginaCursor;
+import com.professional.model.paginacion.PaginacionCursor;
 import com.professional.model.repositories.IndependienteRepository;
 import com.professional.model.repositories.TrabajoIndEnAccionRepository;
 import com.professional.model.repositories.TrabajoIndependienteRepository;
@@ -20,12 +25,16 @@ public class TrabajoIndependienteServiceImpl implements TrabajoIndependienteServ
     private final IndependienteRepository independienteRepository;
 
     private final TrabajoIndEnAccionRepository trabajoIndEnAccionRepository;
+    private final CacheDetalleTrabajos cacheDetalleTrabajos;
+    private final CacheBusquedas cacheBusquedas;
 
     @Autowired
-    public TrabajoIndependienteServiceImpl(TrabajoIndependienteRepository trabajoIndependienteRepository, IndependienteRepository independienteRepository, TrabajoIndEnAccionRepository trabajoIndEnAccionRepository) {
+    public TrabajoIndependienteServiceImpl(TrabajoIndependienteRepository trabajoIndependienteRepository, IndependienteRepository independienteRepository, TrabajoIndEnAccionRepository trabajoIndEnAccionRepository, CacheDetalleTrabajos cacheDetalleTrabajos, CacheBusquedas cacheBusquedas) {
         this.trabajoIndependienteRepository = trabajoIndependienteRepository;
         this.independienteRepository = independienteRepository;
         this.trabajoIndEnAccionRepository = trabajoIndEnAccionRepository;
+        this.cacheDetalleTrabajos = cacheDetalleTrabajos;
+        this.cacheBusquedas = cacheBusquedas;
     }
 
     /**
@@ -33,8 +42,10 @@ public class TrabajoIndependienteServiceImpl implements TrabajoIndependienteServ
      */
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndependiente> getAllTrabajosIndependientes() {
-        return trabajoIndependienteRepository.findAll();
+    public PaginaCursor<TrabajoIndependiente> getAllTrabajosIndependientes(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoIndependienteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite),
+                TrabajoIndependiente::getId);
     }
 
     /**
@@ -47,16 +58,26 @@ public class TrabajoIndependienteServiceImpl implements TrabajoIndependienteServ
                 .orElseThrow(() -> new ResourceNotFoundException("Trabajo Independiente no encontrado con ID: " + id));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public DetalleTrabajoDTO getTrabajoIndependienteDTOById(Long id) {
+        return new DetalleTrabajoDTO(getTrabajoIndependienteById(id));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional
-    public TrabajoIndependiente createTrabajoIndependiente(Long id,TrabajoIndependiente trabajoIndependiente) {
+    public DetalleTrabajoDTO createTrabajoIndependiente(Long id,TrabajoIndependiente trabajoIndependiente) {
         Independiente independiente= independienteRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Independiente no encontrado con ID: " + id));
         trabajoIndependiente.setActivo(true);
         trabajoIndependiente.setIndependiente(independiente);
-        return trabajoIndependienteRepository.save(trabajoIndependiente);
+        cacheBusquedas.nuevaGeneracion();
+        return new DetalleTrabajoDTO(trabajoIndependienteRepository.save(trabajoIndependiente));
     }
 
     /**
@@ -64,7 +85,7 @@ public class TrabajoIndependienteServiceImpl implements TrabajoIndependienteServ
      */
     @Override
     @Transactional
-    public TrabajoIndependiente updateTrabajoIndependiente(Long id, TrabajoIndependiente trabajoIndependienteDetalles) {
+    public DetalleTrabajoDTO updateTrabajoIndependiente(Long id, TrabajoIndependiente trabajoIndependienteDetalles) {
         TrabajoIndependiente existente = trabajoIndependienteRepository.findByIdAndActivoTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TrabajoIndependiente no encontrado con ID: " + id));
 
@@ -74,7 +95,9 @@ public class TrabajoIndependienteServiceImpl implements TrabajoIndependienteServ
             existente.setIndependiente(trabajoIndependienteDetalles.getIndependiente());
         }
 
-        return trabajoIndependienteRepository.save(existente);
+        cacheDetalleTrabajos.invalidarTrabajoIndependiente(id);
+        cacheBusquedas.nuevaGeneracion();
+        return new DetalleTrabajoDTO(trabajoIndependienteRepository.save(existente));
     }
 
     /**
@@ -87,25 +110,34 @@ public class TrabajoIndependienteServiceImpl implements TrabajoIndependienteServ
                 .orElseThrow(() -> new ResourceNotFoundException("Trabajo Independiente no encontrado con ID: " + id));
         existente.setActivo(false);
         trabajoIndependienteRepository.save(existente);
+        cacheDetalleTrabajos.invalidarTrabajoIndependiente(id);
+        cacheBusquedas.nuevaGeneracion();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndependiente> getAllTrabajosIndependientesActivos() {
-        return trabajoIndependienteRepository.findByActivo(true);
+    public PaginaCursor<DetalleTrabajoDTO> getAllTrabajosIndependientesActivos(String cursor, int tamanio) {
+        return PaginacionCursor.paginar(cursor, tamanio,
+                (ultimoId, limite) -> trabajoIndependienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, ultimoId, limite),
+                TrabajoIndependiente::getId).map(DetalleTrabajoDTO::new);
     }
 
     @Override
     @Transactional
-    public TrabajoIndependiente saveTrabajoIndependiente(TrabajoIndependiente trabajoIndependiente) {
-        return trabajoIndependienteRepository.save(trabajoIndependiente);
+    public DetalleTrabajoDTO saveTrabajoIndependiente(TrabajoIndependiente trabajoIndependiente) {
+        if (trabajoIndependiente.getId() != null) {
+            cacheDetalleTrabajos.invalidarTrabajoIndependiente(trabajoIndependiente.getId());
+            cacheBusquedas.nuevaGeneracion();
+        }
+        return new DetalleTrabajoDTO(trabajoIndependienteRepository.save(trabajoIndependiente));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TrabajoIndependiente> getTrabajosIndependientesByIndependiente(Independiente independiente) {
+    public List<DetalleTrabajoDTO> getTrabajosIndependientesByIndependiente(Independiente independiente) {
         return trabajoIndependienteRepository.findAll().stream()
                 .filter(trabajo -> trabajo.getIndependiente().getId().equals(independiente.getId()) && trabajo.getActivo())
+                .map(DetalleTrabajoDTO::new)
                 .toList();
     }
 
@@ -31,5 +31,12 @@ public interface VerificationTokenService {
      * @throws com.professional.model.exceptions.ResourceNotFoundException Si el token no se encuentra.
      */
     void deleteVerificationToken(String token);
+
+    /**
+     * Elimina los tokens expirados en lotes.
+     *
+     * @return Cantidad total de tokens eliminados.
+     */
+    int purgarExpirados();
 }
 
@@ -3,7 +3,11 @@ package com.professional.model.services;
 import com.professional.model.entities.VerificationToken;
 import com.professional.model.exceptions.ResourceNotFoundException;
 import com.professional.model.repositories.VerificationTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +20,16 @@ import java.util.UUID;
 @Service
 public class VerificationTokenServiceImpl implements VerificationTokenService {
 
+    private static final Logger logger = LoggerFactory.getLogger(VerificationTokenServiceImpl.class);
+
     private final VerificationTokenRepository verificationTokenRepository;
+    private final int lotePurga;
 
     @Autowired
-    public VerificationTokenServiceImpl(VerificationTokenRepository verificationTokenRepository) {
+    public VerificationTokenServiceImpl(VerificationTokenRepository verificationTokenRepository,
+                                        @Value("${verificacion.purga.lote:1000}") int lotePurga) {
         this.verificationTokenRepository = verificationTokenRepository;
+        this.lotePurga = lotePurga;
     }
 
     /**
@@ -54,5 +63,25 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
         VerificationToken verificationToken = getVerificationToken(token);
         verificationTokenRepository.delete(verificationToken);
     }
+
+    /**
+     * {@inheritDoc}
+     * Cada lote se elimina en su propia transacción, para no bloquear la tabla durante toda la purga.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${verificacion.purga.intervalo-ms:3600000}")
+    public int purgarExpirados() {
+        LocalDateTime ahora = LocalDateTime.now();
+        int total = 0;
+        int eliminados;
+        do {
+            eliminados = verificationTokenRepository.eliminarExpirados(ahora, lotePurga);
+            total += eliminados;
+        } while (eliminados == lotePurga);
+        if (total > 0) {
+            logger.info("Purgados {} tokens de verificación expirados", total);
+        }
+        return total;
+    }
 }
 
@@ -0,0 +1,4 @@
+-- La purga periódica borra los correos enviados por fecha de envío, en lotes.
+
+create index idx_correos_salientes_estado_envio
+   on correos_salientes (estado, fecha_envio);
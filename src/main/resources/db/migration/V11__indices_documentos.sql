@@ -0,0 +1,17 @@
+-- Los archivos direccionados por contenido se sirven sin sesión salvo los documentos (DNI y licencia comercial):
+-- cada descarga anónima busca su ruta por prefijo en estas columnas.
+
+create index idx_empresas_dni_anverso
+   on empresas (dni_anverso);
+
+create index idx_empresas_dni_reverso
+   on empresas (dni_reverso);
+
+create index idx_empresas_licencia_comercial
+   on empresas (licencia_comercial);
+
+create index idx_independientes_dni_anverso
+   on independientes (dni_anverso);
+
+create index idx_independientes_dni_reverso
+   on independientes (dni_reverso);
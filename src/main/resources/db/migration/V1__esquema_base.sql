@@ -0,0 +1,258 @@
+-- Esquema base: el que ddl-auto=update creaba a partir de las entidades antes de pasar a migraciones versionadas,
+-- es decir, el que ya tienen las bases de producción. Esas bases no ejecutan este script: Flyway las marca en la
+-- versión 1 (baseline-on-migrate) y solo reciben las migraciones siguientes, que agregan lo posterior.
+
+create table calificacion_independientes (
+    rating integer not null,
+    cliente_id bigint not null,
+    fecha_calificacion datetime(6) not null,
+    id bigint not null auto_increment,
+    trabajo_id bigint not null,
+    trabajo_ind_en_accion_id bigint not null,
+    comentarios varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table calificaciones (
+    rating integer not null,
+    cliente_id bigint not null,
+    fecha_calificacion datetime(6) not null,
+    id bigint not null auto_increment,
+    trabajo_id bigint not null,
+    comentarios varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table clientes (
+    activo bit not null,
+    fecha_apertura datetime(6) not null,
+    id bigint not null auto_increment,
+    apellidos varchar(60) not null,
+    nombres varchar(60) not null,
+    password varchar(60) not null,
+    celular varchar(255) not null,
+    ciudad varchar(255) not null,
+    correo varchar(255) not null,
+    direccion varchar(255),
+    pais varchar(255) not null,
+    tipo_usuario varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table empresas (
+    activo bit not null,
+    fecha_apertura datetime(6),
+    fecha_pago_fin datetime(6),
+    fecha_pago_inicio datetime(6),
+    id bigint not null auto_increment,
+    apellidos varchar(60) not null,
+    nombres varchar(60) not null,
+    password varchar(60) not null,
+    area_trabajo varchar(255) not null,
+    carta_presentacion varchar(255),
+    celular varchar(255) not null,
+    ciudad varchar(255),
+    correo varchar(255) not null,
+    direccion varchar(255),
+    dni_anverso varchar(255),
+    dni_reverso varchar(255),
+    foto_representante varchar(255),
+    foto_titulo varchar(255),
+    licencia_comercial varchar(255),
+    mision varchar(255),
+    nombre_empresa varchar(255) not null,
+    pais varchar(255),
+    registro_empresa varchar(255),
+    tipo_usuario varchar(255) not null,
+    vision varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table historial_empresas (
+    activo bit not null,
+    cliente_id bigint not null,
+    fecha_solicitud datetime(6) not null,
+    id bigint not null auto_increment,
+    trabajo_id bigint not null,
+    comentarios varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table historial_solicitudes (
+    activo bit not null,
+    cliente_id bigint not null,
+    fecha_solicitud datetime(6) not null,
+    id bigint not null auto_increment,
+    trabajo_id bigint not null,
+    comentarios varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table independientes (
+    activo bit not null,
+    fecha_apertura datetime(6),
+    fecha_pago_fin datetime(6),
+    fecha_pago_inicio datetime(6),
+    id bigint not null auto_increment,
+    apellidos varchar(60) not null,
+    nombres varchar(60) not null,
+    password varchar(60) not null,
+    area_trabajo varchar(255) not null,
+    carta_presentacion varchar(255),
+    celular varchar(255) not null,
+    ciudad varchar(255),
+    correo varchar(255) not null,
+    direccion varchar(255),
+    dni_anverso varchar(255),
+    dni_reverso varchar(255),
+    foto_representante varchar(255),
+    foto_titulo varchar(255),
+    mision varchar(255),
+    pais varchar(255),
+    profesion varchar(255) not null,
+    tipo_usuario varchar(255) not null,
+    vision varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table trabajos_emp_en_accion (
+    activo bit,
+    cliente_id bigint,
+    fecha_cambio datetime(6),
+    id bigint not null auto_increment,
+    trabajo_empresa_id bigint,
+    estado_trabajo enum ('CANCELADO','EN_PROGRESO','FINALIZADO','PENDIENTE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table trabajos_empresa (
+    activo bit,
+    average_rating float(53),
+    precio float(53),
+    cliente_id bigint,
+    empresa_id bigint,
+    fecha_creacion datetime(6),
+    id bigint not null auto_increment,
+    ventas bigint,
+    descripcion varchar(255) not null,
+    descripcion_corta varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table trabajos_ind_en_accion (
+    activo bit,
+    cliente_id bigint,
+    fecha_cambio datetime(6),
+    id bigint not null auto_increment,
+    trabajo_independiente_id bigint,
+    estado_trabajo enum ('CANCELADO','EN_PROGRESO','FINALIZADO','PENDIENTE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table trabajos_independiente (
+    activo bit,
+    average_rating float(53),
+    precio float(53),
+    fecha_creacion datetime(6),
+    id bigint not null auto_increment,
+    independiente_id bigint,
+    ventas bigint,
+    descripcion varchar(255) not null,
+    descripcion_corta varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table verification_tokens (
+    fecha_expiracion datetime(6),
+    id bigint not null auto_increment,
+    token varchar(1000),
+    correo varchar(255),
+    tipo_usuario varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table calificacion_independientes
+   add constraint UK6efqbhwrgl8he04nqnu6jr8wg unique (cliente_id, trabajo_ind_en_accion_id);
+
+alter table calificaciones
+   add constraint UKkxeicmrxmp2ae6dogj2oqy00k unique (cliente_id, trabajo_id);
+
+alter table calificacion_independientes
+   add constraint FKcm21sjstjvtrbksv16xw4ll1a
+   foreign key (cliente_id)
+   references clientes (id);
+
+alter table calificacion_independientes
+   add constraint FKa1x070h55hcjk5qeva4hbo5a1
+   foreign key (trabajo_id)
+   references trabajos_independiente (id);
+
+alter table calificacion_independientes
+   add constraint FKl8351o5hdyiiqpyhlnyk60jx9
+   foreign key (trabajo_ind_en_accion_id)
+   references trabajos_ind_en_accion (id);
+
+alter table calificaciones
+   add constraint FKcn0u0lewbcxeotvhpa39lo2sr
+   foreign key (cliente_id)
+   references clientes (id);
+
+alter table calificaciones
+   add constraint FKf5ycw402kgtdfb7tp60ai0mwc
+   foreign key (trabajo_id)
+   references trabajos_empresa (id);
+
+alter table historial_empresas
+   add constraint FK7pe5rfp05xgkiyub7lnaaxwsq
+   foreign key (cliente_id)
+   references clientes (id);
+
+alter table historial_empresas
+   add constraint FKsx0yg2ja49136d0tothuva497
+   foreign key (trabajo_id)
+   references trabajos_empresa (id);
+
+alter table historial_solicitudes
+   add constraint FKndgnf5xbexwwmhwkq52q4sccf
+   foreign key (cliente_id)
+   references clientes (id);
+
+alter table historial_solicitudes
+   add constraint FK3nigcfsoe3u7m3u309ckyggm6
+   foreign key (trabajo_id)
+   references trabajos_independiente (id);
+
+alter table trabajos_emp_en_accion
+   add constraint FKtpke10umvr2d2yu7c27lbr7dv
+   foreign key (cliente_id)
+   references clientes (id);
+
+alter table trabajos_emp_en_accion
+   add constraint FK4ox66yul3kii00yqhk4hlpy30
+   foreign key (trabajo_empresa_id)
+   references trabajos_empresa (id);
+
+alter table trabajos_empresa
+   add constraint FKbf8e064o5vg8vtk0w8fbdefb4
+   foreign key (cliente_id)
+   references clientes (id);
+
+alter table trabajos_empresa
+   add constraint FKg6p0yljru1tu8ha9tv773m69j
+   foreign key (empresa_id)
+   references empresas (id);
+
+alter table trabajos_ind_en_accion
+   add constraint FKjf9fw5vy1shyrjde6040vlmuu
+   foreign key (cliente_id)
+   references clientes (id);
+
+alter table trabajos_ind_en_accion
+   add constraint FK4eoc5wwa9r82hdxpv9k5us4lv
+   foreign key (trabajo_independiente_id)
+   references trabajos_independiente (id);
+
+alter table trabajos_independiente
+   add constraint FKn5c7ys0tudjbddrss405amwcm
+   foreign key (independiente_id)
+   references independientes (id);
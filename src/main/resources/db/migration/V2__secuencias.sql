@@ -0,0 +1,43 @@
+-- Estas tablas pasan de IDENTITY a secuencias de Hibernate (tablas *_seq con bloques de 50 IDs), para que los
+-- INSERT de las importaciones masivas se puedan agrupar en lotes JDBC.
+--
+-- Cada secuencia empieza después del mayor ID existente. Hibernate toma next_val como el último ID del bloque
+-- siguiente, así que sumar el tamaño del bloque (el allocationSize de los @SequenceGenerator) hace que el primer
+-- ID asignado sea max(id) + 1. Las columnas id conservan AUTO_INCREMENT: quitarlo reconstruiría las tablas y no
+-- hace falta, porque Hibernate siempre envía el ID.
+
+create table calificacion_independientes_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into calificacion_independientes_seq select coalesce(max(id), 0) + 50 from calificacion_independientes;
+
+create table calificaciones_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into calificaciones_seq select coalesce(max(id), 0) + 50 from calificaciones;
+
+create table historial_empresas_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into historial_empresas_seq select coalesce(max(id), 0) + 50 from historial_empresas;
+
+create table historial_solicitudes_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into historial_solicitudes_seq select coalesce(max(id), 0) + 50 from historial_solicitudes;
+
+create table trabajos_empresa_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into trabajos_empresa_seq select coalesce(max(id), 0) + 50 from trabajos_empresa;
+
+create table trabajos_independiente_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into trabajos_independiente_seq select coalesce(max(id), 0) + 50 from trabajos_independiente;
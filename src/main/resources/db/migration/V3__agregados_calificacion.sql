@@ -0,0 +1,28 @@
+-- Cantidad y suma de calificaciones de cada trabajo, que se actualizan con deltas atómicos en cada calificación
+-- para no recalcular el promedio con AVG. Se calculan una vez a partir de las calificaciones existentes, junto
+-- con average_rating. Sin calificaciones el promedio queda en 5 para los independientes y en 0 para las empresas,
+-- los valores iniciales de cada entidad.
+
+alter table trabajos_independiente
+    add column rating_count bigint,
+    add column rating_sum bigint;
+
+alter table trabajos_empresa
+    add column rating_count bigint,
+    add column rating_sum bigint;
+
+update trabajos_independiente t
+    left join (select trabajo_id, count(*) cantidad, sum(rating) suma
+               from calificacion_independientes
+               group by trabajo_id) c on c.trabajo_id = t.id
+set t.rating_count   = coalesce(c.cantidad, 0),
+    t.rating_sum     = coalesce(c.suma, 0),
+    t.average_rating = case when c.cantidad > 0 then c.suma / c.cantidad else 5.0 end;
+
+update trabajos_empresa t
+    left join (select trabajo_id, count(*) cantidad, sum(rating) suma
+               from calificaciones
+               group by trabajo_id) c on c.trabajo_id = t.id
+set t.rating_count   = coalesce(c.cantidad, 0),
+    t.rating_sum     = coalesce(c.suma, 0),
+    t.average_rating = case when c.cantidad > 0 then c.suma / c.cantidad else 0.0 end;
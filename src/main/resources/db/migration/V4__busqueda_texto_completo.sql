@@ -0,0 +1,17 @@
+-- Índices FULLTEXT de la búsqueda del marketplace sobre las descripciones de los trabajos.
+--
+-- Las columnas pasan a una colación que ignora mayúsculas y acentos ("diseno" encuentra "Diseño"). Cambiar la
+-- colación copia la tabla y bloquea las escrituras mientras dura, así que cada tabla se modifica con un solo ALTER.
+-- La colación es un placeholder de Flyway porque MariaDB, usado en las pruebas, no tiene utf8mb4_0900_ai_ci.
+
+alter table trabajos_independiente
+    modify descripcion varchar(255) character set utf8mb4 collate ${colacion_busqueda} not null,
+    modify descripcion_corta varchar(255) character set utf8mb4 collate ${colacion_busqueda} not null,
+    add fulltext index ft_trabajos_independiente_descripcion_corta (descripcion_corta),
+    add fulltext index ft_trabajos_independiente_descripcion (descripcion);
+
+alter table trabajos_empresa
+    modify descripcion varchar(255) character set utf8mb4 collate ${colacion_busqueda} not null,
+    modify descripcion_corta varchar(255) character set utf8mb4 collate ${colacion_busqueda} not null,
+    add fulltext index ft_trabajos_empresa_descripcion_corta (descripcion_corta),
+    add fulltext index ft_trabajos_empresa_descripcion (descripcion);
@@ -0,0 +1,33 @@
+-- Índice de cuentas: resuelve un correo al tipo e ID del usuario con una sola búsqueda y garantiza que un correo
+-- pertenezca a un único usuario en clientes, empresas e independientes. El login ya no busca en las tres tablas,
+-- así que cada usuario existente necesita su fila para poder entrar.
+--
+-- Si dos usuarios de tablas distintas comparten correo solo se indexa el primero (clientes, luego empresas, luego
+-- independientes); los demás no pueden iniciar sesión hasta corregir el correo. Para encontrarlos:
+--   select 'EMPRESA', id, correo from empresas e
+--   where not exists (select 1 from cuentas c where c.tipo = 'EMPRESA' and c.usuario_id = e.id)
+-- y lo mismo con las otras dos tablas.
+
+create table cuentas (
+    activo bit not null,
+    id bigint not null auto_increment,
+    usuario_id bigint not null,
+    correo varchar(255) not null,
+    tipo enum ('CLIENTE','EMPRESA','INDEPENDIENTE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table cuentas
+   add constraint uk_cuentas_correo unique (correo);
+
+alter table cuentas
+   add constraint uk_cuentas_tipo_usuario unique (tipo, usuario_id);
+
+insert ignore into cuentas (correo, tipo, usuario_id, activo)
+select correo, 'CLIENTE', id, coalesce(activo, false) from clientes order by id;
+
+insert ignore into cuentas (correo, tipo, usuario_id, activo)
+select correo, 'EMPRESA', id, coalesce(activo, false) from empresas order by id;
+
+insert ignore into cuentas (correo, tipo, usuario_id, activo)
+select correo, 'INDEPENDIENTE', id, coalesce(activo, false) from independientes order by id;
@@ -0,0 +1,24 @@
+-- Bandeja de salida de correos: las peticiones solo insertan una fila y DespachadorCorreos la envía después,
+-- con reintentos. Los índices sirven a la búsqueda de pendientes y a la lectura de cada lote reclamado.
+
+create table correos_salientes (
+    intentos integer not null,
+    bloqueado_hasta datetime(6),
+    fecha_creacion datetime(6) not null,
+    fecha_envio datetime(6),
+    id bigint not null auto_increment,
+    proximo_intento datetime(6) not null,
+    lote varchar(36),
+    ultimo_error varchar(1000),
+    cuerpo varchar(4000) not null,
+    asunto varchar(255) not null,
+    destinatario varchar(255) not null,
+    estado enum ('ENVIADO','EN_PROCESO','FALLIDO','PENDIENTE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_correos_salientes_estado_proximo
+   on correos_salientes (estado, proximo_intento);
+
+create index idx_correos_salientes_lote
+   on correos_salientes (lote);
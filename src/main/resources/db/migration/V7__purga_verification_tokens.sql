@@ -0,0 +1,4 @@
+-- La purga periódica borra los tokens de verificación por fecha de expiración, en lotes.
+
+create index idx_verification_tokens_expiracion
+   on verification_tokens (fecha_expiracion);
@@ -0,0 +1,73 @@
+-- Índices de las consultas frecuentes de los repositorios (los @Index de las entidades).
+--
+-- Estas tablas son grandes, así que cada índice se construye en línea: ALGORITHM=INPLACE evita copiar la tabla
+-- y LOCK=NONE deja leer y escribir mientras se construye. Si el servidor no puede cumplir alguna de las dos
+-- condiciones la sentencia falla en lugar de bloquear la tabla. Los índices de una misma tabla van en un solo
+-- ALTER para recorrerla una vez.
+
+alter table calificacion_independientes
+    add index idx_calificacion_independientes_en_accion_rating (trabajo_ind_en_accion_id, rating),
+    add index idx_calificacion_independientes_trabajo (trabajo_id),
+    algorithm=inplace, lock=none;
+
+alter table calificaciones
+    add index idx_calificaciones_trabajo_rating (trabajo_id, rating),
+    algorithm=inplace, lock=none;
+
+alter table clientes
+    add index idx_clientes_correo_activo (correo, activo),
+    add index idx_clientes_activo_id (activo, id),
+    algorithm=inplace, lock=none;
+
+alter table empresas
+    add index idx_empresas_correo_activo (correo, activo),
+    add index idx_empresas_activo_id (activo, id),
+    algorithm=inplace, lock=none;
+
+alter table historial_empresas
+    add index idx_historial_empresas_cliente_trabajo_activo (cliente_id, trabajo_id, activo),
+    add index idx_historial_empresas_trabajo (trabajo_id),
+    add index idx_historial_empresas_activo_id (activo, id),
+    algorithm=inplace, lock=none;
+
+alter table historial_solicitudes
+    add index idx_historial_solicitudes_cliente_trabajo_activo (cliente_id, trabajo_id, activo),
+    add index idx_historial_solicitudes_trabajo_activo (trabajo_id, activo),
+    add index idx_historial_solicitudes_activo_id (activo, id),
+    algorithm=inplace, lock=none;
+
+alter table independientes
+    add index idx_independientes_correo_activo (correo, activo),
+    add index idx_independientes_activo_id (activo, id),
+    algorithm=inplace, lock=none;
+
+alter table trabajos_emp_en_accion
+    add index idx_trabajos_emp_en_accion_trabajo_activo (trabajo_empresa_id, activo),
+    add index idx_trabajos_emp_en_accion_cliente (cliente_id),
+    add index idx_trabajos_emp_en_accion_estado (estado_trabajo),
+    add index idx_trabajos_emp_en_accion_activo_id (activo, id),
+    algorithm=inplace, lock=none;
+
+alter table trabajos_empresa
+    add index idx_trabajos_empresa_empresa_activo (empresa_id, activo),
+    add index idx_trabajos_empresa_cliente (cliente_id),
+    add index idx_trabajos_empresa_activo_id (activo, id),
+    add index idx_trabajos_empresa_activo_fecha (activo, fecha_creacion),
+    add index idx_trabajos_empresa_activo_rating (activo, average_rating),
+    add index idx_trabajos_empresa_activo_precio (activo, precio),
+    algorithm=inplace, lock=none;
+
+alter table trabajos_ind_en_accion
+    add index idx_trabajos_ind_en_accion_trabajo_activo (trabajo_independiente_id, activo),
+    add index idx_trabajos_ind_en_accion_cliente_activo (cliente_id, activo),
+    add index idx_trabajos_ind_en_accion_estado (estado_trabajo),
+    add index idx_trabajos_ind_en_accion_activo_id (activo, id),
+    algorithm=inplace, lock=none;
+
+alter table trabajos_independiente
+    add index idx_trabajos_independiente_independiente_activo (independiente_id, activo),
+    add index idx_trabajos_independiente_activo_id (activo, id),
+    add index idx_trabajos_independiente_activo_fecha (activo, fecha_creacion),
+    add index idx_trabajos_independiente_activo_rating (activo, average_rating),
+    add index idx_trabajos_independiente_activo_precio (activo, precio),
+    algorithm=inplace, lock=none;
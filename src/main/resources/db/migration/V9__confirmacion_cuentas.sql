@@ -0,0 +1,12 @@
+-- Fecha en que se confirmó el correo de cada cuenta. El enlace de confirmación solo activa cuentas sin fecha,
+-- para que repetirlo no reactive una cuenta desactivada o eliminada después.
+--
+-- Las cuentas activas ya se confirmaron (o las creó un administrador); los enlaces emitidos antes de este
+-- cambio no son JWT y ya no se aceptan, así que ninguna cuenta inactiva existente queda expuesta.
+
+alter table cuentas
+    add column fecha_confirmacion datetime(6);
+
+update cuentas
+set fecha_confirmacion = current_timestamp(6)
+where activo = 1;
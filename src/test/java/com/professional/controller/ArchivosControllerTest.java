@@ -0,0 +1,108 @@
+package com.professional.controller;
+
+import com.professional.model.almacenamiento.AlmacenArchivos;
+import com.professional.model.almacenamiento.ArchivoAlmacenado;
+import com.professional.model.almacenamiento.DocumentosPrivados;
+import com.professional.model.almacenamiento.GeneradorVariantes;
+import com.professional.model.auth.SpringSecurityConfig;
+import com.professional.model.auth.ValidadorJwt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sin sesión solo se descargan imágenes que no son documentos, y nada de lo subido se ejecuta con el origen de
+ * la API: todo va con {@code Content-Security-Policy: sandbox} y lo que no es imagen, como adjunto.
+ */
+@WebMvcTest(ArchivosController.class)
+@Import({SpringSecurityConfig.class, SimpleMeterRegistry.class, ArchivosControllerTest.Almacen.class})
+class ArchivosControllerTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+    private static final byte[] PDF = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+
+    @TestConfiguration
+    static class Almacen {
+        @Bean
+        AlmacenArchivos almacenArchivos() throws IOException {
+            return new AlmacenArchivos(Files.createTempDirectory("archivos"), DataSize.ofMegabytes(2));
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AlmacenArchivos almacenArchivos;
+
+    @MockBean
+    private GeneradorVariantes generadorVariantes;
+    @MockBean
+    private DocumentosPrivados documentosPrivados;
+    @MockBean
+    private ValidadorJwt validadorJwt;
+
+    private ArchivoAlmacenado foto;
+    private ArchivoAlmacenado dni;
+    private ArchivoAlmacenado licencia;
+
+    @BeforeEach
+    void subirArchivos() throws IOException {
+        foto = almacenArchivos.guardar(new ByteArrayInputStream(PNG), "foto.png");
+        byte[] escaneo = PNG.clone();
+        escaneo[PNG.length - 1] = 0x0E;
+        dni = almacenArchivos.guardar(new ByteArrayInputStream(escaneo), "dni.png");
+        licencia = almacenArchivos.guardar(new ByteArrayInputStream(PDF), "licencia.pdf");
+        when(documentosPrivados.esDocumento(dni.hash())).thenReturn(true);
+        when(validadorJwt.autenticar("cliente")).thenReturn(new UsernamePasswordAuthenticationToken(
+                "ana@correo.com", null, List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"))));
+    }
+
+    @Test
+    void unaImagenPublicaSeSirveSinSesionEnSandbox() throws Exception {
+        mockMvc.perform(get("/uploads/" + foto.ruta()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Security-Policy", "sandbox"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    void losDocumentosYLosPdfPidenSesion() throws Exception {
+        mockMvc.perform(get("/uploads/" + dni.ruta())).andExpect(status().isForbidden());
+        mockMvc.perform(get("/uploads/" + licencia.ruta())).andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/uploads/" + dni.ruta()).header(HttpHeaders.AUTHORIZATION, "Bearer cliente"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void loQueNoEsImagenSeDescargaComoAdjunto() throws Exception {
+        mockMvc.perform(get("/uploads/" + licencia.ruta()).header(HttpHeaders.AUTHORIZATION, "Bearer cliente"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Security-Policy", "sandbox"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + Path.of(licencia.ruta()).getFileName() + "\""));
+    }
+}
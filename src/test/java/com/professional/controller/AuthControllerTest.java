@@ -0,0 +1,101 @@
+package com.professional.controller;
+
+import com.professional.model.auth.ProcesadorPasswords;
+import com.professional.model.almacenamiento.DocumentosPrivados;
+import com.professional.model.auth.SpringSecurityConfig;
+import com.professional.model.auth.ValidadorJwt;
+import com.professional.model.dto.LoginDTO;
+import com.professional.model.services.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con el pool de contraseñas lleno el inicio de sesión responde 429 con Retry-After, no 401.
+ */
+@WebMvcTest(AuthController.class)
+@Import({SpringSecurityConfig.class, SimpleMeterRegistry.class})
+class AuthControllerTest {
+
+    private static final String LOGIN = "{\"correo\":\"ana@correo.com\",\"password\":\"clave-segura\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+    @MockBean
+    private ValidadorJwt validadorJwt;
+    @MockBean
+    private DocumentosPrivados documentosPrivados;
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private ProcesadorPasswords procesadorPasswords;
+
+    @BeforeEach
+    void procesadorLleno() throws Exception {
+        // Un hilo y una cola de uno, con un BCrypt que no termina hasta que el test lo libera
+        CountDownLatch ocupado = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence password) {
+                return password.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence password, String hash) {
+                ocupado.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+        procesadorPasswords = new ProcesadorPasswords(lento, metricas, 1, 1, Duration.ofSeconds(5));
+        CompletableFuture.runAsync(() -> procesadorPasswords.verificar("clave", "hash"));
+        ocupado.await(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> procesadorPasswords.verificar("clave", "hash"));
+        while (metricas.get("passwords.cola").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+        when(authService.autenticarUsuario(any(LoginDTO.class))).thenAnswer(invocacion -> {
+            procesadorPasswords.verificar("clave-segura", "hash");
+            return "token";
+        });
+    }
+
+    @AfterEach
+    void liberarProcesador() {
+        liberar.countDown();
+        procesadorPasswords.detener();
+    }
+
+    @Test
+    void elPoolLlenoRespondeTooManyRequests() throws Exception {
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.professional.controller;
+
+import jakarta.persistence.Entity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Con open-in-view desactivado una entidad serializada fuera de la transacción puede fallar al cargar una
+ * asociación perezosa, así que ningún método de un controlador debe devolver entidades, ni directamente ni
+ * dentro de ResponseEntity, PaginaCursor o List. Un {@code ResponseEntity<?>} no se puede revisar aquí.
+ */
+class ControladoresSinEntidadesTest {
+
+    @Test
+    void losControladoresNoDevuelvenEntidades() {
+        ClassPathScanningCandidateComponentProvider escaner = new ClassPathScanningCandidateComponentProvider(false);
+        escaner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+
+        List<String> infractores = new ArrayList<>();
+        int controladores = 0;
+        for (BeanDefinition definicion : escaner.findCandidateComponents("com.professional.controller")) {
+            Class<?> controlador = ClassUtils.resolveClassName(definicion.getBeanClassName(), getClass().getClassLoader());
+            controladores++;
+            for (Method metodo : controlador.getDeclaredMethods()) {
+                if (!metodo.isSynthetic() && contieneEntidad(metodo.getGenericReturnType())) {
+                    infractores.add(controlador.getSimpleName() + "." + metodo.getName() + " -> " + metodo.getGenericReturnType());
+                }
+            }
+        }
+
+        assertFalse(controladores == 0, "No se encontraron controladores");
+        assertTrue(infractores.isEmpty(), "Métodos que devuelven entidades: " + infractores);
+    }
+
+    private static boolean contieneEntidad(Type tipo) {
+        if (tipo instanceof Class<?> clase) {
+            return clase.isAnnotationPresent(Entity.class)
+                    || (clase.isArray() && contieneEntidad(clase.getComponentType()));
+        }
+        if (tipo instanceof ParameterizedType parametrizado) {
+            if (contieneEntidad(parametrizado.getRawType())) {
+                return true;
+            }
+            for (Type argumento : parametrizado.getActualTypeArguments()) {
+                if (contieneEntidad(argumento)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (tipo instanceof WildcardType comodin) {
+            for (Type limite : comodin.getUpperBounds()) {
+                if (contieneEntidad(limite)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (tipo instanceof GenericArrayType arreglo) {
+            return contieneEntidad(arreglo.getGenericComponentType());
+        }
+        return false;
+    }
+}
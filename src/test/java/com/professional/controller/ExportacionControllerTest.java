@@ -0,0 +1,66 @@
+package com.professional.controller;
+
+import com.professional.model.almacenamiento.DocumentosPrivados;
+import com.professional.model.auth.SpringSecurityConfig;
+import com.professional.model.auth.ValidadorJwt;
+import com.professional.model.services.ExportacionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las exportaciones leen filas de todos los usuarios, así que solo las piden los administradores.
+ */
+@WebMvcTest(ExportacionController.class)
+@Import({SpringSecurityConfig.class, SimpleMeterRegistry.class})
+class ExportacionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportacionService exportacionService;
+    @MockBean
+    private ValidadorJwt validadorJwt;
+    @MockBean
+    private DocumentosPrivados documentosPrivados;
+
+    @BeforeEach
+    void tokens() {
+        when(validadorJwt.autenticar("cliente")).thenReturn(new UsernamePasswordAuthenticationToken(
+                "ana@correo.com", null, List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"))));
+        when(validadorJwt.autenticar("administrador")).thenReturn(new UsernamePasswordAuthenticationToken(
+                "admin@correo.com", null, List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"),
+                new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @Test
+    void unUsuarioSinRolAdminRecibe403() throws Exception {
+        for (String ruta : List.of("/exportar/historial-empresas", "/exportar/historial-independientes",
+                "/exportar/trabajo-emp-en-accion", "/exportar/trabajo-ind-en-accion")) {
+            mockMvc.perform(get(ruta).header(HttpHeaders.AUTHORIZATION, "Bearer cliente"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void unAdministradorExporta() throws Exception {
+        mockMvc.perform(get("/exportar/historial-empresas").header(HttpHeaders.AUTHORIZATION, "Bearer administrador"))
+                .andExpect(request().asyncStarted());
+    }
+}
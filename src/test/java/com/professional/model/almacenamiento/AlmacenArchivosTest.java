@@ -0,0 +1,70 @@
+package com.professional.model.almacenamiento;
+
+import com.professional.controller.exceptions.ArchivoNoPermitidoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Solo llegan al almacén las extensiones permitidas cuyo contenido empieza con la firma de su tipo.
+ */
+class AlmacenArchivosTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+    private static final byte[] HTML = "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path raiz;
+
+    private AlmacenArchivos almacen;
+
+    @BeforeEach
+    void crearAlmacen() throws IOException {
+        almacen = new AlmacenArchivos(raiz, DataSize.ofMegabytes(2));
+    }
+
+    @Test
+    void guardaUnaImagenConSuExtension() throws IOException {
+        ArchivoAlmacenado archivo = almacen.guardar(new ByteArrayInputStream(PNG), "foto.PNG");
+
+        assertTrue(archivo.ruta().endsWith(archivo.hash() + ".png"));
+        assertTrue(Files.isRegularFile(almacen.resolver(archivo.ruta())));
+    }
+
+    @Test
+    void rechazaLasExtensionesFueraDeLaListaPermitida() throws IOException {
+        for (String nombre : new String[]{"pagina.html", "logo.svg", "sin-extension", null}) {
+            assertThrows(ArchivoNoPermitidoException.class,
+                    () -> almacen.guardar(new ByteArrayInputStream(HTML), nombre));
+        }
+        assertEquals(0, archivosGuardados());
+    }
+
+    @Test
+    void rechazaUnContenidoQueNoCorrespondeALaExtension() throws IOException {
+        assertThrows(ArchivoNoPermitidoException.class,
+                () -> almacen.guardar(new ByteArrayInputStream(HTML), "foto.png"));
+        assertThrows(ArchivoNoPermitidoException.class,
+                () -> almacen.guardar(new ByteArrayInputStream(PNG), "documento.pdf"));
+        assertEquals(0, archivosGuardados());
+    }
+
+    // Archivos regulares bajo la raíz, temporales incluidos: un rechazo no deja nada
+    private long archivosGuardados() throws IOException {
+        try (Stream<Path> archivos = Files.walk(raiz)) {
+            return archivos.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.professional.model.auth.filter;
+
+import com.professional.controller.exceptions.JwttException;
+import com.professional.model.auth.AnilloClaves;
+import com.professional.model.auth.GeneradorJwt;
+import com.professional.model.auth.ValidadorJwt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.professional.model.auth.TokenJwtConfig.HEADER_AUTHORIZATION;
+import static com.professional.model.auth.TokenJwtConfig.PREFIX_TOKEN;
+
+/**
+ * Microbenchmark JMH de {@link JwtValidationFilter} con una mezcla de peticiones parecida a la de producción:
+ * 20 % sin token (el buscador y los detalles públicos), 78 % con el token de una de 1.000 sesiones activas, 1 %
+ * con un token expirado y 1 % con una firma alterada. Compara la caché de autenticaciones de
+ * {@link ValidadorJwt} con la caché desactivada ({@code tamanoCache=0}), que verifica la firma en cada petición.
+ * Solo corre con {@code -Dbenchmark=true}:
+ * <pre>mvn test -Dtest=JwtValidationFilterBenchmarkTest -Dbenchmark=true</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtValidationFilterBenchmarkTest {
+
+    private static final int SESIONES = 1_000;
+    private static final int PETICIONES = 8_192;
+    private static final String[] TIPOS = {"CLIENTE", "EMPRESA", "INDEPENDIENTE"};
+
+    @Param({"10000", "0"})
+    public long tamanoCache;
+
+    private Path directorio;
+    private JwtValidationFilter filtro;
+    private MockHttpServletRequest[] peticiones;
+    private final MockHttpServletResponse respuesta = new MockHttpServletResponse();
+    private final FilterChain cadena = (peticion, respuesta) -> { };
+    private int siguiente;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void mezclaDePeticiones() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationFilterBenchmarkTest.class.getName() + ".filtrar")
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .build()).run();
+    }
+
+    @Setup
+    public void preparar() throws Exception {
+        directorio = Files.createTempDirectory("jwt-benchmark");
+        AnilloClaves anilloClaves = new AnilloClaves(directorio.resolve("claves.p12"), "benchmark",
+                Duration.ofDays(7), Duration.ofMinutes(10), Duration.ofHours(72));
+        GeneradorJwt generador = new GeneradorJwt(anilloClaves);
+        ValidadorJwt validador = new ValidadorJwt(anilloClaves, new SimpleMeterRegistry(), tamanoCache,
+                Duration.ofMinutes(10), Set.of());
+        filtro = new JwtValidationFilter(autenticacion -> autenticacion, validador);
+
+        LocalDateTime vigencia = LocalDateTime.now().plusHours(72);
+        String[] sesiones = new String[SESIONES];
+        for (int i = 0; i < SESIONES; i++) {
+            sesiones[i] = generador.generarToken("usuario" + i + "@correo.com", vigencia, TIPOS[i % TIPOS.length],
+                    "Perú", "Lima", (long) i);
+        }
+        String expirado = generador.generarToken("expirado@correo.com", LocalDateTime.now().minusHours(1),
+                "CLIENTE", "Perú", "Lima", 0L);
+        String alterado = sesiones[0].substring(0, sesiones[0].length() - 4) + "AAAA";
+
+        Random aleatorio = new Random(42);
+        peticiones = new MockHttpServletRequest[PETICIONES];
+        for (int i = 0; i < PETICIONES; i++) {
+            MockHttpServletRequest peticion = new MockHttpServletRequest("GET", "/trabajos");
+            int tirada = aleatorio.nextInt(100);
+            if (tirada < 78) {
+                peticion.addHeader(HEADER_AUTHORIZATION, PREFIX_TOKEN + sesiones[aleatorio.nextInt(SESIONES)]);
+            } else if (tirada == 78) {
+                peticion.addHeader(HEADER_AUTHORIZATION, PREFIX_TOKEN + expirado);
+            } else if (tirada == 79) {
+                peticion.addHeader(HEADER_AUTHORIZATION, PREFIX_TOKEN + alterado);
+            }
+            peticiones[i] = peticion;
+        }
+    }
+
+    @TearDown
+    public void eliminarClaves() throws Exception {
+        FileSystemUtils.deleteRecursively(directorio);
+    }
+
+    @Benchmark
+    public Object filtrar() throws Exception {
+        MockHttpServletRequest peticion = peticiones[siguiente++ & (PETICIONES - 1)];
+        try {
+            filtro.doFilter(peticion, respuesta, cadena);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } catch (JwttException e) {
+            return e;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.professional.model.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Traducción del texto del buscador a consultas FULLTEXT en modo booleano.
+ */
+class ConsultaTextoCompletoTest {
+
+    @Test
+    void omiteLasPalabrasQueInnoDbNoIndexa() {
+        assertEquals("+diseño* +logos*", ConsultaTextoCompleto.modoBooleano("Diseño de logos"));
+        assertEquals("+clases* +inglés*", ConsultaTextoCompleto.modoBooleano("clases de inglés"));
+        assertEquals("+profesor* +matemáticas* +niños*",
+                ConsultaTextoCompleto.modoBooleano("profesor de matemáticas para los niños"));
+    }
+
+    @Test
+    void descartaLosOperadoresDelModoBooleano() {
+        assertEquals("+gasfitero* +urgente*", ConsultaTextoCompleto.modoBooleano("+gasfitero -urgente*"));
+    }
+
+    @Test
+    void descartaLaPuntuacion() {
+        assertEquals("+diseño* +web*", ConsultaTextoCompleto.modoBooleano("diseño, web"));
+        assertEquals("+gasfitero* +lima*", ConsultaTextoCompleto.modoBooleano("¿gasfitero en Lima?."));
+    }
+
+    @Test
+    void soloPalabrasIgnoradasQuedanOpcionales() {
+        assertEquals("de la", ConsultaTextoCompleto.modoBooleano("de la"));
+    }
+
+    @Test
+    void sinPalabrasDevuelveNull() {
+        assertNull(ConsultaTextoCompleto.modoBooleano(null));
+        assertNull(ConsultaTextoCompleto.modoBooleano("  + - * "));
+    }
+}
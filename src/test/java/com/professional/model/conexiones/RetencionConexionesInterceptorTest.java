@@ -0,0 +1,120 @@
+package com.professional.model.conexiones;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import jakarta.servlet.DispatcherType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import java.sql.Connection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Retención de conexiones por endpoint, con un pool Hikari real sobre H2.
+ */
+class RetencionConexionesInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HikariDataSource dataSource;
+    private RetencionConexionesInterceptor interceptor;
+
+    @BeforeEach
+    void crearPool() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:retencion");
+        dataSource.setPoolName("prueba");
+        dataSource.setMetricsTrackerFactory(new MedidorConexiones(meterRegistry));
+        interceptor = new RetencionConexionesInterceptor(meterRegistry);
+    }
+
+    @AfterEach
+    void cerrarPool() {
+        dataSource.close();
+    }
+
+    @Test
+    void atribuyeLaRetencionAlMetodoDelControlador() throws Exception {
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("listar"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < 2; i++) {
+            try (Connection conexion = dataSource.getConnection()) {
+                Thread.sleep(50);
+            }
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+
+        Timer retencion = meterRegistry.find("conexiones.retencion")
+                .tag("endpoint", "RetencionConexionesInterceptorTest.listar").timer();
+        assertNotNull(retencion);
+        assertEquals(1, retencion.count());
+        assertTrue(retencion.totalTime(TimeUnit.MILLISECONDS) >= 100, "Retención: " + retencion.totalTime(TimeUnit.MILLISECONDS));
+        // Las métricas estándar del pool siguen registrándose
+        assertEquals(2, meterRegistry.get("hikaricp.connections.usage").tag("pool", "prueba").timer().count());
+    }
+
+    @Test
+    void sumaElHiloAsincronoDeUnaRespuestaEnStreaming() throws Exception {
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("listar"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Callable<Void> escritura = () -> null;
+
+        interceptor.preHandle(request, response, handler);
+        usarConexion(50);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        // El cuerpo se escribe en otro hilo, como el de un StreamingResponseBody
+        CompletableFuture.runAsync(() -> {
+            ServletWebRequest asincrona = new ServletWebRequest(request, response);
+            interceptor.preProcess(asincrona, escritura);
+            usarConexion(100);
+            interceptor.postProcess(asincrona, escritura, null);
+        }).get(5, TimeUnit.SECONDS);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        Timer retencion = meterRegistry.get("conexiones.retencion")
+                .tag("endpoint", "RetencionConexionesInterceptorTest.listar").timer();
+        assertEquals(1, retencion.count());
+        assertTrue(retencion.totalTime(TimeUnit.MILLISECONDS) >= 150, "Retención: " + retencion.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void fueraDeUnaPeticionNoAcumula() throws Exception {
+        try (Connection conexion = dataSource.getConnection()) {
+            assertTrue(conexion.isValid(1));
+        }
+
+        assertNull(MedidorConexiones.terminar());
+        assertNull(meterRegistry.find("conexiones.retencion").timer());
+    }
+
+    private void usarConexion(long milisegundos) {
+        try (Connection conexion = dataSource.getConnection()) {
+            Thread.sleep(milisegundos);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private void listar() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.professional.model.paginacion;
+
+import com.professional.controller.exceptions.CursorInvalidoException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Codificación del cursor de paginación.
+ */
+class CursorTest {
+
+    @Test
+    void decodificaElCursorQueEmite() {
+        assertEquals(42L, Cursor.decodificar(Cursor.codificar(42L)));
+        assertEquals(0L, Cursor.decodificar(""));
+    }
+
+    @Test
+    void rechazaCursoresQueNoEmitio() {
+        assertThrows(CursorInvalidoException.class, () -> Cursor.decodificar("%%%"));
+        assertThrows(CursorInvalidoException.class, () -> Cursor.decodificar("b3Rybzo0Mg"));
+        assertThrows(CursorInvalidoException.class, () -> Cursor.decodificar(Cursor.codificar(null)));
+    }
+}
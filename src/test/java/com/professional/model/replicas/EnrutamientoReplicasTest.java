@@ -0,0 +1,138 @@
+package com.professional.model.replicas;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Enrutamiento de conexiones con dos MariaDB embebidos, uno como primario y otro como réplica. No hay
+ * replicación entre ellos: cada consulta pregunta {@code @@port} para saber a qué instancia llegó.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class)
+@Import({ReplicasConfig.class, SimpleMeterRegistry.class})
+class EnrutamientoReplicasTest {
+
+    private static DB primario;
+    private static DB replica;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSourceReplicas dataSourceReplicas;
+
+    @DynamicPropertySource
+    static void basesDatos(DynamicPropertyRegistry registro) throws Exception {
+        primario = iniciar();
+        replica = iniciar();
+        registro.add("spring.datasource.url", () -> url(primario));
+        registro.add("spring.datasource.username", () -> "root");
+        registro.add("spring.datasource.password", () -> "");
+        registro.add("replicas.urls", () -> url(replica));
+    }
+
+    @AfterEach
+    void cerrarSesion() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lecturaVaALaReplica() {
+        assertEquals(puerto(replica), puertoConsultado(true));
+    }
+
+    @Test
+    void escrituraVaAlPrimario() {
+        assertEquals(puerto(primario), puertoConsultado(false));
+    }
+
+    @Test
+    void usuarioLeeSusPropiasEscriturasEnElPrimario() {
+        autenticar("ana@correo.com");
+        puertoConsultado(false);
+        assertEquals(puerto(primario), puertoConsultado(true));
+
+        autenticar("luis@correo.com");
+        assertEquals(puerto(replica), puertoConsultado(true));
+    }
+
+    @Test
+    void lecturaParaCompartirVaAlPrimario() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(true);
+        int puerto = transaccion.execute(estado -> LecturaPrimario.ejecutar(
+                () -> jdbcTemplate.queryForObject("select @@port", Integer.class)));
+
+        assertEquals(puerto(primario), puerto);
+        assertEquals(puerto(replica), puertoConsultado(true));
+    }
+
+    @Test
+    void replicaCaidaPasaAlPrimarioYVuelveTrasLaVerificacion() throws Exception {
+        replica.stop();
+        try {
+            assertEquals(puerto(primario), puertoConsultado(true));
+            assertEquals(puerto(primario), puertoConsultado(true));
+        } finally {
+            replica.start();
+        }
+        dataSourceReplicas.verificar();
+        assertEquals(puerto(replica), puertoConsultado(true));
+    }
+
+    private int puertoConsultado(boolean soloLectura) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(soloLectura);
+        return transaccion.execute(estado -> jdbcTemplate.queryForObject("select @@port", Integer.class));
+    }
+
+    private static void autenticar(String correo) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(correo, null, List.of()));
+    }
+
+    private static DB iniciar() throws Exception {
+        DBConfigurationBuilder configuracion = DBConfigurationBuilder.newBuilder();
+        configuracion.setPort(0);
+        configuracion.addArg("--user=root");
+        DB baseDatos = DB.newEmbeddedDB(configuracion.build());
+        baseDatos.start();
+        return baseDatos;
+    }
+
+    private static String url(DB baseDatos) {
+        return "jdbc:mysql://localhost:" + puerto(baseDatos) + "/replicas?createDatabaseIfNotExist=true";
+    }
+
+    private static int puerto(DB baseDatos) {
+        return baseDatos.getConfiguration().getPort();
+    }
+}
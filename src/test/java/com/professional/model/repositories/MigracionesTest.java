@@ -0,0 +1,138 @@
+package com.professional.model.repositories;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Migraciones sobre una base con datos en el esquema base, como las de producción: las cuentas, los agregados de
+ * calificación y las secuencias se calculan a partir de las filas existentes.
+ */
+class MigracionesTest {
+
+    private static DB baseDatos;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrarBaseConDatos() throws Exception {
+        DBConfigurationBuilder configuracion = DBConfigurationBuilder.newBuilder();
+        configuracion.setPort(0);
+        configuracion.addArg("--user=root");
+        baseDatos = DB.newEmbeddedDB(configuracion.build());
+        baseDatos.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:mysql://localhost:"
+                + baseDatos.getConfiguration().getPort() + "/migraciones?createDatabaseIfNotExist=true", "root", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        flyway(dataSource, "1").migrate();
+        cargarEsquemaBase();
+        flyway(dataSource, "latest").migrate();
+    }
+
+    @AfterAll
+    static void detenerBaseDatos() throws Exception {
+        baseDatos.stop();
+    }
+
+    @Test
+    void cadaUsuarioExistenteTieneSuCuenta() {
+        List<Map<String, Object>> cuentas = jdbcTemplate.queryForList(
+                "select tipo, usuario_id, correo, activo, fecha_confirmacion from cuentas order by tipo, usuario_id");
+
+        assertEquals(4, cuentas.size());
+        assertCuenta(cuentas.get(0), "CLIENTE", 1, "ana@correo.com", true);
+        assertCuenta(cuentas.get(1), "CLIENTE", 2, "beto@correo.com", false);
+        assertCuenta(cuentas.get(2), "EMPRESA", 7, "empresa@correo.com", true);
+        // La empresa 8 repite el correo de un cliente y se queda sin cuenta
+        assertCuenta(cuentas.get(3), "INDEPENDIENTE", 3, "independiente@correo.com", true);
+    }
+
+    @Test
+    void losAgregadosSeCalculanDeLasCalificacionesExistentes() {
+        assertAgregados("trabajos_empresa", 10, 2, 9, 4.5);
+        assertAgregados("trabajos_empresa", 11, 0, 0, 0.0);
+        assertAgregados("trabajos_independiente", 20, 1, 3, 3.0);
+        assertAgregados("trabajos_independiente", 21, 0, 0, 5.0);
+    }
+
+    @Test
+    void lasSecuenciasContinuanDespuesDelMayorId() {
+        // Hibernate asigna los IDs next_val - 49 .. next_val del primer bloque
+        assertEquals(61L, siguiente("trabajos_empresa_seq"));
+        assertEquals(71L, siguiente("trabajos_independiente_seq"));
+        assertEquals(52L, siguiente("calificaciones_seq"));
+        assertEquals(51L, siguiente("calificacion_independientes_seq"));
+        assertEquals(50L, siguiente("historial_empresas_seq"));
+        assertEquals(50L, siguiente("historial_solicitudes_seq"));
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String version) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                // MariaDB no tiene la colación utf8mb4_0900_ai_ci de MySQL 8
+                .placeholders(Map.of("colacion_busqueda", "utf8mb4_unicode_ci"))
+                .target(version)
+                .load();
+    }
+
+    private static void cargarEsquemaBase() {
+        jdbcTemplate.batchUpdate(
+                "insert into clientes (id, nombres, apellidos, password, celular, correo, activo, fecha_apertura, ciudad, " +
+                        "pais, tipo_usuario) values " +
+                        "(1, 'Ana', 'Apellido', 'clave', '999999999', 'ana@correo.com', 1, now(), 'Lima', 'Perú', 'CLIENTE'), " +
+                        "(2, 'Beto', 'Apellido', 'clave', '999999999', 'beto@correo.com', 0, now(), 'Lima', 'Perú', 'CLIENTE')",
+                "insert into empresas (id, nombres, apellidos, password, celular, correo, activo, area_trabajo, " +
+                        "nombre_empresa, tipo_usuario) values " +
+                        "(7, 'Carla', 'Apellido', 'clave', '999999999', 'empresa@correo.com', 1, 'Mudanzas', 'Mudanzas SAC', 'EMPRESA'), " +
+                        "(8, 'Dario', 'Apellido', 'clave', '999999999', 'ana@correo.com', 1, 'Mudanzas', 'Otra SAC', 'EMPRESA')",
+                "insert into independientes (id, nombres, apellidos, password, celular, correo, activo, area_trabajo, " +
+                        "profesion, tipo_usuario) values " +
+                        "(3, 'Eva', 'Apellido', 'clave', '999999999', 'independiente@correo.com', 1, 'Hogar', 'Gasfitera', 'INDEPENDIENTE')",
+                "insert into trabajos_empresa (id, descripcion_corta, descripcion, activo, average_rating, empresa_id) values " +
+                        "(10, 'Mudanzas', 'Mudanzas en Lima', 1, 0.0, 7), (11, 'Embalaje', 'Embalaje de muebles', 1, 0.0, 7)",
+                "insert into trabajos_independiente (id, descripcion_corta, descripcion, activo, average_rating, independiente_id) values " +
+                        "(20, 'Gasfitería', 'Gasfitería a domicilio', 1, 5.0, 3), (21, 'Pintura', 'Pintura de interiores', 1, 5.0, 3)",
+                "insert into calificaciones (id, cliente_id, trabajo_id, rating, fecha_calificacion) values " +
+                        "(1, 1, 10, 4, now()), (2, 2, 10, 5, now())",
+                "insert into trabajos_ind_en_accion (id, cliente_id, trabajo_independiente_id, activo, estado_trabajo) values " +
+                        "(30, 1, 20, 1, 'FINALIZADO')",
+                "insert into calificacion_independientes (id, cliente_id, trabajo_id, trabajo_ind_en_accion_id, rating, " +
+                        "fecha_calificacion) values (1, 1, 20, 30, 3, now())");
+    }
+
+    private static void assertCuenta(Map<String, Object> cuenta, String tipo, long usuarioId, String correo, boolean activo) {
+        assertEquals(tipo, cuenta.get("tipo"));
+        assertEquals(usuarioId, ((Number) cuenta.get("usuario_id")).longValue());
+        assertEquals(correo, cuenta.get("correo"));
+        assertEquals(activo, cuenta.get("activo"));
+        if (activo) {
+            assertNotNull(cuenta.get("fecha_confirmacion"));
+        } else {
+            assertNull(cuenta.get("fecha_confirmacion"));
+        }
+    }
+
+    private static void assertAgregados(String tabla, long id, long cantidad, long suma, double promedio) {
+        Map<String, Object> trabajo = jdbcTemplate.queryForMap(
+                "select rating_count, rating_sum, average_rating from " + tabla + " where id = ?", id);
+        assertEquals(cantidad, ((Number) trabajo.get("rating_count")).longValue());
+        assertEquals(suma, ((Number) trabajo.get("rating_sum")).longValue());
+        assertEquals(promedio, ((Number) trabajo.get("average_rating")).doubleValue(), 1e-9);
+    }
+
+    private static long siguiente(String secuencia) {
+        return jdbcTemplate.queryForObject("select next_val from " + secuencia, Long.class);
+    }
+}
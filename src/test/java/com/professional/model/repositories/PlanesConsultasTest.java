@@ -0,0 +1,286 @@
+package com.professional.model.repositories;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.professional.model.dto.CriteriosBusquedaDTO;
+import com.professional.model.entities.Cliente;
+import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.entities.TrabajoIndEnAccion;
+import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.enums.EstadoTrabajo;
+import com.professional.model.enums.OrdenBusqueda;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Planes de ejecución de las consultas frecuentes de los repositorios, sobre un MariaDB embebido con el esquema
+ * que crean las migraciones de Flyway. Hibernate lo valida contra las entidades al arrancar, así que la prueba
+ * también falla si una migración no corresponde con el modelo.
+ * <p>
+ * Cada caso llama al método del repositorio y pasa a EXPLAIN las sentencias que Hibernate envió al servidor,
+ * tomadas del registro general de MariaDB. La prueba falla si alguna tabla del plan se recorre completa
+ * ({@code type} ALL o index), es decir, si un índice desaparece o deja de servir a la consulta, o si un cambio en
+ * la entidad o en el método genera un SQL distinto que ya no usa el índice.
+ * Las tablas se llenan con datos de volumen y distribución realistas (la mayoría activos, pocos trabajos
+ * pendientes) para que el optimizador elija como lo haría en producción.
+ */
+@DataJpaTest(showSql = false, properties = {
+        // MariaDB no tiene la colación utf8mb4_0900_ai_ci de MySQL 8
+        "spring.flyway.placeholders.colacion_busqueda=utf8mb4_unicode_ci",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanesConsultasTest {
+
+    private static final Set<String> RECORRIDOS_COMPLETOS = Set.of("ALL", "index");
+    private static final int PROPIETARIOS = 500;
+    private static final int FILAS = 20_000;
+    private static final Pageable PAGINA = PageRequest.of(0, 20);
+
+    private static DB baseDatos;
+    private static boolean datosCargados;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TrabajoIndependienteRepository trabajoIndependienteRepository;
+    @Autowired
+    private TrabajoEmpresaRepository trabajoEmpresaRepository;
+    @Autowired
+    private TrabajoIndEnAccionRepository trabajoIndEnAccionRepository;
+    @Autowired
+    private TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository;
+    @Autowired
+    private HistorialEmpresasRepository historialEmpresasRepository;
+    @Autowired
+    private HistorialIndependientesRepository historialIndependientesRepository;
+    @Autowired
+    private CalificacionEmpresasRepository calificacionEmpresasRepository;
+    @Autowired
+    private CalificacionIndependientesRepository calificacionIndependientesRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private IndependienteRepository independienteRepository;
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @DynamicPropertySource
+    static void baseDatos(DynamicPropertyRegistry registro) throws Exception {
+        DBConfigurationBuilder configuracion = DBConfigurationBuilder.newBuilder();
+        configuracion.setPort(0);
+        configuracion.addArg("--user=root");
+        // El registro general se activa solo mientras se llama a cada método
+        configuracion.addArg("--log-output=TABLE");
+        baseDatos = DB.newEmbeddedDB(configuracion.build());
+        baseDatos.start();
+        registro.add("spring.datasource.url", () -> "jdbc:mysql://localhost:" + baseDatos.getConfiguration().getPort()
+                + "/planes?createDatabaseIfNotExist=true");
+        registro.add("spring.datasource.username", () -> "root");
+        registro.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void detenerBaseDatos() throws Exception {
+        baseDatos.stop();
+    }
+
+    Stream<Arguments> consultas() {
+        Limit pagina = Limit.of(21);
+        return Stream.of(
+                consulta("TrabajoIndependienteRepository.misTrabajosIndependientes",
+                        () -> trabajoIndependienteRepository.misTrabajosIndependientes(7L)),
+                consulta("TrabajoIndependienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc",
+                        () -> trabajoIndependienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, 1000L, pagina)),
+                consulta("TrabajoIndependienteRepositoryCustom.buscarFiltros (recientes)",
+                        () -> trabajoIndependienteRepository.buscarFiltros(criterios(null, OrdenBusqueda.RECIENTES, Sort.Direction.DESC), PAGINA)),
+                consulta("TrabajoIndependienteRepositoryCustom.buscarFiltros (calificación)",
+                        () -> trabajoIndependienteRepository.buscarFiltros(criterios(4.5, OrdenBusqueda.CALIFICACION, Sort.Direction.DESC), PAGINA)),
+                consulta("TrabajoIndependienteRepositoryCustom.buscarFiltros (precio)",
+                        () -> trabajoIndependienteRepository.buscarFiltros(criterios(null, OrdenBusqueda.PRECIO, Sort.Direction.ASC), PAGINA)),
+                consulta("TrabajoEmpresaRepository.misTrabajosEmpresas",
+                        () -> trabajoEmpresaRepository.misTrabajosEmpresas(7L)),
+                consulta("TrabajoEmpresaRepository.findByCliente",
+                        () -> trabajoEmpresaRepository.findByCliente(referencia(Cliente.class, 7L))),
+                consulta("TrabajoEmpresaRepository.findByActivoAndIdGreaterThanOrderByIdAsc",
+                        () -> trabajoEmpresaRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, 1000L, pagina)),
+                consulta("TrabajoEmpresaRepositoryCustom.buscarFiltros (recientes)",
+                        () -> trabajoEmpresaRepository.buscarFiltros(criterios(null, OrdenBusqueda.RECIENTES, Sort.Direction.DESC), PAGINA)),
+                consulta("TrabajoIndEnAccionRepository.findByTrabajoIndependienteIdAndActivoTrueOrderByIdAsc",
+                        () -> trabajoIndEnAccionRepository.findByTrabajoIndependienteIdAndActivoTrueOrderByIdAsc(7L)),
+                consulta("TrabajoIndEnAccionRepository.findByClienteIdAndActivoTrueOrderByIdAsc",
+                        () -> trabajoIndEnAccionRepository.findByClienteIdAndActivoTrueOrderByIdAsc(7L)),
+                consulta("TrabajoIndEnAccionRepository.findByEstadoTrabajo",
+                        () -> trabajoIndEnAccionRepository.findByEstadoTrabajo(EstadoTrabajo.PENDIENTE)),
+                consulta("TrabajoEmpEnAccionRepository.findByTrabajoEmpresaIdAndActivoTrueOrderByIdAsc",
+                        () -> trabajoEmpEnAccionRepository.findByTrabajoEmpresaIdAndActivoTrueOrderByIdAsc(7L)),
+                consulta("TrabajoEmpEnAccionRepository.findByTrabajoEmpresa_ClienteIdAndActivoTrueOrderByIdAsc",
+                        () -> trabajoEmpEnAccionRepository.findByTrabajoEmpresa_ClienteIdAndActivoTrueOrderByIdAsc(7L)),
+                consulta("TrabajoEmpEnAccionRepository.findByEstadoTrabajo",
+                        () -> trabajoEmpEnAccionRepository.findByEstadoTrabajo(EstadoTrabajo.PENDIENTE)),
+                consulta("HistorialEmpresasRepository.findByClienteAndTrabajoAndActivoTrue",
+                        () -> historialEmpresasRepository.findByClienteAndTrabajoAndActivoTrue(
+                                referencia(Cliente.class, 7L), referencia(TrabajoEmpresa.class, 7L))),
+                consulta("HistorialEmpresasRepository.findByCliente",
+                        () -> historialEmpresasRepository.findByCliente(referencia(Cliente.class, 7L))),
+                consulta("HistorialEmpresasRepository.findByTrabajo",
+                        () -> historialEmpresasRepository.findByTrabajo(referencia(TrabajoEmpresa.class, 7L))),
+                consulta("HistorialIndependientesRepository.findByTrabajoAndActivoTrue",
+                        () -> historialIndependientesRepository.findByTrabajoAndActivoTrue(referencia(TrabajoIndependiente.class, 7L))),
+                consulta("HistorialIndependientesRepository.findByClienteAndTrabajoAndActivoTrue",
+                        () -> historialIndependientesRepository.findByClienteAndTrabajoAndActivoTrue(
+                                referencia(Cliente.class, 7L), referencia(TrabajoIndependiente.class, 7L))),
+                consulta("HistorialIndependientesRepository.findByActivoAndIdGreaterThanOrderByIdAsc",
+                        () -> historialIndependientesRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, 1000L, pagina)),
+                consulta("CalificacionEmpresasRepository.findAverageRatingByTrabajo",
+                        () -> calificacionEmpresasRepository.findAverageRatingByTrabajo(referencia(TrabajoEmpresa.class, 7L))),
+                consulta("CalificacionEmpresasRepository.existsByClienteAndTrabajo",
+                        () -> calificacionEmpresasRepository.existsByClienteAndTrabajo(
+                                referencia(Cliente.class, 8L), referencia(TrabajoEmpresa.class, 7L))),
+                consulta("CalificacionIndependientesRepository.findAverageRatingByTrabajoIndEnAccion",
+                        () -> calificacionIndependientesRepository.findAverageRatingByTrabajoIndEnAccion(
+                                referencia(TrabajoIndEnAccion.class, 7L))),
+                consulta("CalificacionIndependientesRepository.existsByClienteAndTrabajoIndEnAccion",
+                        () -> calificacionIndependientesRepository.existsByClienteAndTrabajoIndEnAccion(
+                                referencia(Cliente.class, 8L), referencia(TrabajoIndEnAccion.class, 7L))),
+                consulta("ClienteRepository.findByCorreoAndActivoTrue",
+                        () -> clienteRepository.findByCorreoAndActivoTrue("usuario7@correo.com")),
+                consulta("ClienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc",
+                        () -> clienteRepository.findByActivoAndIdGreaterThanOrderByIdAsc(true, 100L, pagina)),
+                consulta("IndependienteRepository.findByCorreoAndActivoTrue",
+                        () -> independienteRepository.findByCorreoAndActivoTrue("usuario7@correo.com")),
+                consulta("EmpresaRepository.findByCorreo",
+                        () -> empresaRepository.findByCorreo("usuario7@correo.com"))
+        );
+    }
+
+    @BeforeEach
+    void cargarDatos() {
+        if (datosCargados) {
+            return;
+        }
+        String columnas = "id, nombres, apellidos, password, celular, correo, activo, fecha_apertura";
+        String propietario = "select seq, 'Nombre', 'Apellido', 'clave', '999999999', concat('usuario', seq, '@correo.com'), " +
+                "seq % 10 <> 0, now()";
+        jdbcTemplate.update("insert into clientes (" + columnas + ", ciudad, pais, tipo_usuario) " +
+                propietario + ", 'Lima', 'Perú', 'CLIENTE' from seq_1_to_" + PROPIETARIOS);
+        jdbcTemplate.update("insert into independientes (" + columnas + ", area_trabajo, profesion, tipo_usuario) " +
+                propietario + ", 'Construcción', 'Gasfitero', 'INDEPENDIENTE' from seq_1_to_" + PROPIETARIOS);
+        jdbcTemplate.update("insert into empresas (" + columnas + ", area_trabajo, nombre_empresa, tipo_usuario) " +
+                propietario + ", 'Construcción', 'Empresa', 'EMPRESA' from seq_1_to_" + PROPIETARIOS);
+
+        String trabajo = "select seq, 'Corta', 'Descripción', seq % 10 <> 0, seq % 1000, 1 + (seq % 50) / 10, " +
+                "now() - interval seq minute, 1 + seq % " + PROPIETARIOS;
+        jdbcTemplate.update("insert into trabajos_independiente (id, descripcion_corta, descripcion, activo, precio, " +
+                "average_rating, fecha_creacion, independiente_id) " + trabajo + " from seq_1_to_" + FILAS);
+        jdbcTemplate.update("insert into trabajos_empresa (id, descripcion_corta, descripcion, activo, precio, " +
+                "average_rating, fecha_creacion, empresa_id, cliente_id) " + trabajo + ", 1 + seq % " + PROPIETARIOS +
+                " from seq_1_to_" + FILAS);
+
+        // 70 % finalizados, 20 % en progreso, 7 % pendientes y 3 % cancelados
+        String enAccion = "select seq, seq % 10 <> 0, case when seq % 100 < 70 then 'FINALIZADO' " +
+                "when seq % 100 < 90 then 'EN_PROGRESO' when seq % 100 < 97 then 'PENDIENTE' else 'CANCELADO' end, " +
+                "1 + seq % " + FILAS + ", 1 + seq % " + PROPIETARIOS + " from seq_1_to_" + FILAS;
+        jdbcTemplate.update("insert into trabajos_ind_en_accion (id, activo, estado_trabajo, trabajo_independiente_id, cliente_id) " + enAccion);
+        jdbcTemplate.update("insert into trabajos_emp_en_accion (id, activo, estado_trabajo, trabajo_empresa_id, cliente_id) " + enAccion);
+
+        String historial = "select seq, seq % 10 <> 0, now(), 1 + seq % " + PROPIETARIOS + ", 1 + seq % " + FILAS +
+                " from seq_1_to_" + FILAS;
+        jdbcTemplate.update("insert into historial_empresas (id, activo, fecha_solicitud, cliente_id, trabajo_id) " + historial);
+        jdbcTemplate.update("insert into historial_solicitudes (id, activo, fecha_solicitud, cliente_id, trabajo_id) " + historial);
+
+        String calificacion = "select seq, 1 + seq % 5, now(), 1 + seq % " + PROPIETARIOS + ", seq";
+        jdbcTemplate.update("insert into calificaciones (id, rating, fecha_calificacion, cliente_id, trabajo_id) " +
+                calificacion + " from seq_1_to_" + FILAS);
+        jdbcTemplate.update("insert into calificacion_independientes (id, rating, fecha_calificacion, cliente_id, " +
+                "trabajo_ind_en_accion_id, trabajo_id) " + calificacion + ", seq from seq_1_to_" + FILAS);
+
+        jdbcTemplate.execute("analyze table clientes, independientes, empresas, trabajos_independiente, trabajos_empresa, " +
+                "trabajos_ind_en_accion, trabajos_emp_en_accion, historial_empresas, historial_solicitudes, " +
+                "calificaciones, calificacion_independientes");
+        datosCargados = true;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    void noRecorreTablasCompletas(String metodo, Runnable llamada) {
+        List<String> sentencias = sentenciasEjecutadas(llamada);
+
+        assertFalse(sentencias.isEmpty(), metodo + " no ejecutó ninguna consulta");
+        for (String sql : sentencias) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql);
+            assertFalse(plan.isEmpty());
+            for (Map<String, Object> paso : plan) {
+                assertTrue(paso.get("key") != null && !RECORRIDOS_COMPLETOS.contains(String.valueOf(paso.get("type"))),
+                        metodo + " recorre " + paso.get("table") + " completa: " + sql + " " + plan);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la llamada al repositorio en una transacción de solo lectura y devuelve los SELECT que llegaron al
+     * servidor, tomados del registro general. El driver sustituye los parámetros en el cliente, así que el
+     * registro guarda cada sentencia con sus valores y se puede pasar tal cual a EXPLAIN.
+     */
+    private List<String> sentenciasEjecutadas(Runnable llamada) {
+        jdbcTemplate.execute("truncate table mysql.general_log");
+        jdbcTemplate.execute("set global general_log = 1");
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            transaccion.setReadOnly(true);
+            transaccion.executeWithoutResult(status -> llamada.run());
+        } finally {
+            jdbcTemplate.execute("set global general_log = 0");
+        }
+        return jdbcTemplate.queryForList("select convert(argument using utf8mb4) from mysql.general_log " +
+                "where command_type = 'Query' order by event_time", String.class).stream()
+                .filter(sql -> sql.regionMatches(true, 0, "select", 0, "select".length()))
+                .toList();
+    }
+
+    // Solo el ID: los repositorios comparan la asociación por clave foránea sin cargar la entidad
+    private <T> T referencia(Class<T> entidad, Long id) {
+        return entityManager.getReference(entidad, id);
+    }
+
+    private static CriteriosBusquedaDTO criterios(Double calificacionMinima, OrdenBusqueda orden, Sort.Direction direccion) {
+        return new CriteriosBusquedaDTO(null, null, null, calificacionMinima, orden, direccion);
+    }
+
+    private static Arguments consulta(String metodo, Runnable llamada) {
+        return Arguments.of(metodo, llamada);
+    }
+}
@@ -0,0 +1,111 @@
+package com.professional.model.services;
+
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.entities.CalificacionEmpresas;
+import com.professional.model.entities.Cliente;
+import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.repositories.TrabajoEmpresaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Dos ediciones concurrentes de la misma calificación: la segunda espera el bloqueo de la fila y calcula su delta
+ * sobre el rating que dejó la primera, así que los agregados del trabajo no se desvían.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@Import(CalificacionEmpresasServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CalificacionEmpresasConcurrenciaTest {
+
+    @MockBean
+    private TrabajoEmpresaService trabajoEmpresaService;
+    @MockBean
+    private ClienteService clienteService;
+    @MockBean
+    private CacheDetalleTrabajos cacheDetalleTrabajos;
+    @MockBean
+    private CacheBusquedas cacheBusquedas;
+
+    @Autowired
+    private CalificacionEmpresasService calificacionEmpresasService;
+    @Autowired
+    private TrabajoEmpresaRepository trabajoEmpresaRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void dosEdicionesConcurrentesMantienenLaSuma() throws Exception {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        Long[] ids = transaccion.execute(estado -> {
+            Cliente cliente = new Cliente();
+            cliente.setNombres("Ana");
+            cliente.setTipoUsuario("CLIENTE");
+            entityManager.persist(cliente);
+
+            TrabajoEmpresa trabajo = new TrabajoEmpresa();
+            trabajo.setDescripcion("Mudanzas");
+            trabajo.setDescripcionCorta("Mudanzas");
+            trabajo.setCliente(cliente);
+            entityManager.persist(trabajo);
+
+            CalificacionEmpresas calificacion = new CalificacionEmpresas();
+            calificacion.setCliente(cliente);
+            calificacion.setTrabajo(trabajo);
+            calificacion.setRating(3);
+            calificacion.setFechaCalificacion(LocalDateTime.now());
+            entityManager.persist(calificacion);
+            entityManager.flush();
+            trabajoEmpresaRepository.aplicarDeltaCalificacion(trabajo.getId(), 1, 3);
+            return new Long[]{trabajo.getId(), calificacion.getId()};
+        });
+
+        // La primera edición toma el bloqueo y demora su commit mientras la segunda intenta leer la fila
+        CountDownLatch bloqueada = new CountDownLatch(1);
+        CompletableFuture<Void> primera = CompletableFuture.runAsync(() -> transaccion.executeWithoutResult(estado -> {
+            calificacionEmpresasService.updateCalificacion(ids[1], edicion(5));
+            bloqueada.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        bloqueada.await(5, TimeUnit.SECONDS);
+        calificacionEmpresasService.updateCalificacion(ids[1], edicion(1));
+        primera.get(5, TimeUnit.SECONDS);
+
+        TrabajoEmpresa trabajo = trabajoEmpresaRepository.findById(ids[0]).orElseThrow();
+        assertEquals(1L, trabajo.getRatingCount());
+        assertEquals(1L, trabajo.getRatingSum());
+    }
+
+    private static CalificacionEmpresas edicion(int rating) {
+        CalificacionEmpresas edicion = new CalificacionEmpresas();
+        edicion.setRating(rating);
+        edicion.setComentarios("Editada");
+        return edicion;
+    }
+}
@@ -0,0 +1,120 @@
+package com.professional.model.services;
+
+import com.professional.model.auth.ProcesadorPasswords;
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.FiltroTrabajoEmpresaDTO;
+import com.professional.model.dto.FiltrosConsultasEmpresasDTO;
+import com.professional.model.dto.FiltrosConsultasIndependientesDTO;
+import com.professional.model.entities.Empresa;
+import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.repositories.BusquedaTrabajosRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Un acierto de las cachés de detalle y de búsquedas no abre transacción, no toma conexión ni ejecuta sentencias:
+ * solo el cargador de una entrada ausente lo hace.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@Import({ClienteServiceImpl.class, CacheDetalleTrabajos.class, CacheBusquedas.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClienteServiceCacheTest {
+
+    @MockBean
+    private ProcesadorPasswords procesadorPasswords;
+    @MockBean
+    private BusquedaTrabajosRepository busquedaTrabajosRepository;
+    @MockBean
+    private CuentaService cuentaService;
+
+    @Autowired
+    private ClienteService clienteService;
+    @Autowired
+    private CacheBusquedas cacheBusquedas;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void unAciertoDelDetalleNoTomaConexion() {
+        Long id = new TransactionTemplate(transactionManager).execute(estado -> {
+            Empresa empresa = new Empresa();
+            empresa.setNombreEmpresa("Mudanzas SAC");
+            empresa.setActivo(true);
+            empresa.setTipoUsuario("EMPRESA");
+            entityManager.persist(empresa);
+            TrabajoEmpresa trabajo = new TrabajoEmpresa();
+            trabajo.setDescripcion("Mudanzas");
+            trabajo.setDescripcionCorta("Mudanzas");
+            trabajo.setEmpresa(empresa);
+            entityManager.persist(trabajo);
+            return trabajo.getId();
+        });
+        FiltroTrabajoEmpresaDTO cargado = clienteService.obtenerTrabajosEmpPorCliente(id);
+        estadisticas().clear();
+
+        FiltroTrabajoEmpresaDTO enCache = clienteService.obtenerTrabajosEmpPorCliente(id);
+
+        assertNotNull(cargado);
+        assertSame(cargado, enCache);
+        assertSinBaseDeDatos();
+    }
+
+    @Test
+    void unAciertoDeLaBusquedaNoTomaConexion() {
+        Pageable pagina = PageRequest.of(0, 10);
+        Slice<FiltrosConsultasEmpresasDTO> empresas = cacheBusquedas.empresas("Perú", "Lima", "mudanzas", "asc", "4",
+                pagina, () -> new SliceImpl<>(List.of(), pagina, false));
+        Slice<FiltrosConsultasIndependientesDTO> independientes = cacheBusquedas.independientes("Perú", "Lima",
+                "gasfitero", "asc", "4", pagina, () -> new SliceImpl<>(List.of(), pagina, false));
+        estadisticas().clear();
+
+        assertSame(empresas, clienteService.listarFiltrosConsultasEmpresasParametros("Perú", "Lima", "mudanzas",
+                "asc", "4", pagina));
+        assertSame(independientes, clienteService.listarFiltrosConsultasIndependientesParametros("Perú", "Lima",
+                "gasfitero", "asc", "4", pagina));
+        assertSinBaseDeDatos();
+    }
+
+    private void assertSinBaseDeDatos() {
+        assertEquals(0, estadisticas().getTransactionCount());
+        assertEquals(0, estadisticas().getConnectCount());
+        assertEquals(0, estadisticas().getPrepareStatementCount());
+    }
+
+    private Statistics estadisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,211 @@
+package com.professional.model.services;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.professional.model.entities.CorreoSaliente;
+import com.professional.model.enums.EstadoCorreo;
+import com.professional.model.repositories.CorreoSalienteRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Despacho de la bandeja de salida contra un servidor SMTP en memoria (GreenMail).
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DespachadorCorreosTest {
+
+    // El servidor responde 501 a un RCPT TO cuya dirección contiene '>'
+    private static final String RECHAZADO = "\"rechazado>\"@correo.com";
+    private static final Duration ESPERA_BASE = Duration.ofMinutes(10);
+
+    @RegisterExtension
+    static final GreenMailExtension servidorSmtp = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    @Autowired
+    private CorreoSalienteRepository correoSalienteRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DespachadorCorreos despachador;
+
+    @BeforeEach
+    void crearDespachador() {
+        correoSalienteRepository.deleteAll();
+        despachador = despachador(remitente(Duration.ZERO), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void detenerDespachador() {
+        despachador.detener();
+    }
+
+    @Test
+    void enviaElLoteYLoMarcaEnviado() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            correoSalienteRepository.save(new CorreoSaliente("usuario" + i + "@correo.com", "Asunto " + i, "Cuerpo " + i));
+        }
+
+        assertEquals(3, despachador.despachar());
+
+        MimeMessage[] recibidos = servidorSmtp.getReceivedMessages();
+        assertEquals(3, recibidos.length);
+        for (CorreoSaliente correo : correoSalienteRepository.findAll()) {
+            assertEquals(EstadoCorreo.ENVIADO, correo.getEstado());
+            assertEquals(1, correo.getIntentos());
+            assertNotNull(correo.getFechaEnvio());
+            assertNull(correo.getLote());
+        }
+        assertEquals(0, despachador.despachar());
+    }
+
+    @Test
+    void unRechazoNoImpideEnviarElRestoDelLote() {
+        Long aceptado = correoSalienteRepository.save(new CorreoSaliente("aceptado@correo.com", "Asunto", "Cuerpo")).getId();
+        Long rechazado = correoSalienteRepository.save(new CorreoSaliente(RECHAZADO, "Asunto", "Cuerpo")).getId();
+        LocalDateTime antes = LocalDateTime.now();
+
+        assertEquals(2, despachador.despachar());
+
+        assertEquals(1, servidorSmtp.getReceivedMessages().length);
+        assertEquals(EstadoCorreo.ENVIADO, correoSalienteRepository.findById(aceptado).orElseThrow().getEstado());
+        CorreoSaliente fallido = correoSalienteRepository.findById(rechazado).orElseThrow();
+        assertEquals(EstadoCorreo.PENDIENTE, fallido.getEstado());
+        assertEquals(1, fallido.getIntentos());
+        assertNotNull(fallido.getUltimoError());
+        assertEntre(antes, ESPERA_BASE, fallido.getProximoIntento());
+        // Hasta que llegue el próximo intento no se vuelve a tomar
+        assertEquals(0, despachador.despachar());
+    }
+
+    @Test
+    void laEsperaSeDuplicaEnCadaReintentoYLuegoSeDescarta() {
+        CorreoSaliente correo = new CorreoSaliente(RECHAZADO, "Asunto", "Cuerpo");
+        correo.setIntentos(2);
+        Long id = correoSalienteRepository.save(correo).getId();
+        LocalDateTime antes = LocalDateTime.now();
+
+        despachador.despachar();
+
+        CorreoSaliente reintento = correoSalienteRepository.findById(id).orElseThrow();
+        assertEquals(3, reintento.getIntentos());
+        assertEntre(antes, ESPERA_BASE.multipliedBy(4), reintento.getProximoIntento());
+
+        reintento.setIntentos(7);
+        reintento.setProximoIntento(LocalDateTime.now());
+        correoSalienteRepository.save(reintento);
+        despachador.despachar();
+
+        CorreoSaliente descartado = correoSalienteRepository.findById(id).orElseThrow();
+        assertEquals(EstadoCorreo.FALLIDO, descartado.getEstado());
+        assertEquals(8, descartado.getIntentos());
+    }
+
+    @Test
+    void unEnvioMasLargoQueElBloqueoNoSeReclamaDosVeces() throws Exception {
+        Duration bloqueo = Duration.ofMillis(300);
+        DespachadorCorreos lento = despachador(remitente(Duration.ofMillis(1200)), bloqueo);
+        try {
+            Long id = correoSalienteRepository.save(new CorreoSaliente("lento@correo.com", "Asunto", "Cuerpo")).getId();
+
+            CompletableFuture<Integer> primero = CompletableFuture.supplyAsync(lento::despachar);
+            Thread.sleep(bloqueo.multipliedBy(2).toMillis());
+            // Sin renovación el bloqueo ya habría vencido y este lote lo volvería a enviar
+            DespachadorCorreos otro = despachador(remitente(Duration.ZERO), bloqueo);
+            try {
+                assertEquals(0, otro.despachar());
+            } finally {
+                otro.detener();
+            }
+            assertEquals(1, primero.get());
+
+            assertEquals(1, servidorSmtp.getReceivedMessages().length);
+            CorreoSaliente correo = correoSalienteRepository.findById(id).orElseThrow();
+            assertEquals(EstadoCorreo.ENVIADO, correo.getEstado());
+            assertEquals(1, correo.getIntentos());
+        } finally {
+            lento.detener();
+        }
+    }
+
+    @Test
+    void laPurgaSoloEliminaLosEnviadosFueraDeLaRetencion() {
+        for (int i = 0; i < 3; i++) {
+            guardar(EstadoCorreo.ENVIADO, LocalDateTime.now().minusDays(8));
+        }
+        Long reciente = guardar(EstadoCorreo.ENVIADO, LocalDateTime.now().minusDays(6));
+        Long pendiente = guardar(EstadoCorreo.PENDIENTE, null);
+        Long fallido = guardar(EstadoCorreo.FALLIDO, null);
+
+        // Tres correos con lotes de dos: la purga continúa hasta que un lote sale incompleto
+        assertEquals(3, despachador.purgarEnviados());
+
+        assertEquals(3, correoSalienteRepository.count());
+        assertTrue(correoSalienteRepository.existsById(reciente));
+        assertTrue(correoSalienteRepository.existsById(pendiente));
+        assertTrue(correoSalienteRepository.existsById(fallido));
+        assertEquals(0, despachador.purgarEnviados());
+    }
+
+    private Long guardar(EstadoCorreo estado, LocalDateTime fechaEnvio) {
+        CorreoSaliente correo = new CorreoSaliente("usuario@correo.com", "Asunto", "Cuerpo");
+        correo.setEstado(estado);
+        correo.setFechaEnvio(fechaEnvio);
+        return correoSalienteRepository.save(correo).getId();
+    }
+
+    private DespachadorCorreos despachador(JavaMailSenderImpl remitente, Duration bloqueo) {
+        return new DespachadorCorreos(correoSalienteRepository, remitente, transactionManager,
+                50, 8, ESPERA_BASE, Duration.ofHours(6), bloqueo, Duration.ofDays(7), 2);
+    }
+
+    // Remitente SMTP hacia GreenMail que espera la demora indicada antes de enviar, para simular un servidor lento
+    private static JavaMailSenderImpl remitente(Duration demora) {
+        JavaMailSenderImpl remitente = new JavaMailSenderImpl() {
+            @Override
+            public void send(SimpleMailMessage... mensajes) {
+                try {
+                    Thread.sleep(demora.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(mensajes);
+            }
+        };
+        remitente.setHost("localhost");
+        remitente.setPort(servidorSmtp.getSmtp().getPort());
+        return remitente;
+    }
+
+    // La espera tiene una variación de ±20 %
+    private static void assertEntre(LocalDateTime antes, Duration espera, LocalDateTime proximoIntento) {
+        LocalDateTime minimo = antes.plus(espera.multipliedBy(8).dividedBy(10));
+        LocalDateTime maximo = LocalDateTime.now().plus(espera.multipliedBy(12).dividedBy(10));
+        assertTrue(!proximoIntento.isBefore(minimo) && !proximoIntento.isAfter(maximo),
+                "Próximo intento " + proximoIntento + " fuera de [" + minimo + ", " + maximo + "]");
+    }
+}
@@ -0,0 +1,137 @@
+package com.professional.model.services;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.ResultadoImportacionDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Filas por segundo de la importación masiva sobre un MariaDB embebido con el esquema de las migraciones y la
+ * misma URL JDBC que producción ({@code rewriteBatchedStatements=true}). Importa 100.000 filas de historial
+ * con lotes de {@code hibernate.jdbc.batch_size} y, para comparar, con un INSERT por fila. Solo corre con
+ * {@code -Dbenchmark=true}:
+ * <pre>mvn test -Dtest=ImportacionBenchmarkTest -Dbenchmark=true</pre>
+ */
+@DataJpaTest(showSql = false, properties = {
+        // MariaDB no tiene la colación utf8mb4_0900_ai_ci de MySQL 8
+        "spring.flyway.placeholders.colacion_busqueda=utf8mb4_unicode_ci",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import(ImportacionServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ImportacionBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionBenchmarkTest.class);
+
+    private static final int FILAS = 100_000;
+    private static final int FILAS_CALENTAMIENTO = 10_000;
+
+    private static DB baseDatos;
+
+    @MockBean
+    private CacheDetalleTrabajos cacheDetalleTrabajos;
+    @MockBean
+    private CacheBusquedas cacheBusquedas;
+
+    @Autowired
+    private ImportacionService importacionService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void baseDatos(DynamicPropertyRegistry registro) throws Exception {
+        DBConfigurationBuilder configuracion = DBConfigurationBuilder.newBuilder();
+        configuracion.setPort(0);
+        configuracion.addArg("--user=root");
+        baseDatos = DB.newEmbeddedDB(configuracion.build());
+        baseDatos.start();
+        registro.add("spring.datasource.url", () -> "jdbc:mysql://localhost:" + baseDatos.getConfiguration().getPort()
+                + "/importacion?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+        registro.add("spring.datasource.username", () -> "root");
+        registro.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void detenerBaseDatos() throws Exception {
+        baseDatos.stop();
+    }
+
+    @Test
+    void cienMilFilasDeHistorial() {
+        jdbcTemplate.update("insert into clientes (id, nombres, apellidos, password, celular, correo, activo, " +
+                "fecha_apertura, ciudad, pais, tipo_usuario) values (1, 'Ana', 'Apellido', 'clave', '999999999', " +
+                "'ana@correo.com', 1, now(), 'Lima', 'Perú', 'CLIENTE')");
+        jdbcTemplate.update("insert into trabajos_empresa (id, descripcion_corta, descripcion, activo, precio, " +
+                "fecha_creacion, cliente_id) values (1, 'Mudanzas', 'Mudanzas', 1, 100, now(), 1)");
+
+        importar(FILAS_CALENTAMIENTO, 50);
+        ResultadoImportacionDTO enLotes = importar(FILAS, 50);
+        ResultadoImportacionDTO porFila = importar(FILAS, 1);
+
+        assertEquals(FILAS_CALENTAMIENTO + 2L * FILAS,
+                jdbcTemplate.queryForObject("select count(*) from historial_empresas", Long.class));
+        logger.info("Importación de {} filas en lotes de 50: {} ms, {} filas/s",
+                FILAS, enLotes.getMilisegundos(), enLotes.getFilasPorSegundo());
+        logger.info("Importación de {} filas con un INSERT por fila: {} ms, {} filas/s",
+                FILAS, porFila.getMilisegundos(), porFila.getFilasPorSegundo());
+    }
+
+    // El tamaño de lote se cambia en la sesión de la transacción, a la que se une la del servicio
+    private ResultadoImportacionDTO importar(int filas, int tamanoLote) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanoLote);
+            try {
+                ResultadoImportacionDTO resultado = importacionService.importarHistorialEmpresas(historial(filas));
+                assertEquals(filas, resultado.getFilas());
+                return resultado;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static InputStream historial(int filas) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < filas; i++) {
+            ndjson.append("{\"clienteId\":1,\"trabajoId\":1,\"comentarios\":\"Solicitud ").append(i).append("\"}\n");
+        }
+        return new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
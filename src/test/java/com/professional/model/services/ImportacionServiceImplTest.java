@@ -0,0 +1,140 @@
+package com.professional.model.services;
+
+import com.professional.model.cache.CacheBusquedas;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.ResultadoImportacionDTO;
+import com.professional.model.entities.Cliente;
+import com.professional.model.entities.TrabajoEmpresa;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Importación masiva en lotes JDBC. Las filas por segundo se miden sobre MariaDB en {@link ImportacionBenchmarkTest}.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import(ImportacionServiceImpl.class)
+class ImportacionServiceImplTest {
+
+    private static final int TAMANO_LOTE = 50;
+
+    @MockBean
+    private CacheDetalleTrabajos cacheDetalleTrabajos;
+    @MockBean
+    private CacheBusquedas cacheBusquedas;
+
+    @Autowired
+    private ImportacionService importacionService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Cliente cliente;
+    private TrabajoEmpresa trabajoEmpresa;
+
+    @BeforeEach
+    void crearDatos() {
+        cliente = new Cliente();
+        cliente.setNombres("Ana");
+        cliente.setTipoUsuario("CLIENTE");
+        entityManager.persist(cliente);
+
+        trabajoEmpresa = new TrabajoEmpresa();
+        trabajoEmpresa.setDescripcion("Mudanzas");
+        trabajoEmpresa.setDescripcionCorta("Mudanzas");
+        trabajoEmpresa.setCliente(cliente);
+        entityManager.persist(trabajoEmpresa);
+
+        entityManager.flush();
+        entityManager.clear();
+        estadisticas().clear();
+    }
+
+    @Test
+    void importarHistorialAgrupaLosInsertEnLotes() throws Exception {
+        int filas = 10 * TAMANO_LOTE;
+        ResultadoImportacionDTO resultado = importacionService.importarHistorialEmpresas(historial(filas));
+
+        assertEquals(filas, resultado.getFilas());
+        assertEquals(filas, contar("HistorialEmpresas"));
+        // Un lote por cada 50 filas y una lectura de la secuencia por cada bloque de 50 IDs
+        assertTrue(estadisticas().getPrepareStatementCount() <= 2L * filas / TAMANO_LOTE + 2,
+                "Sentencias preparadas: " + estadisticas().getPrepareStatementCount());
+    }
+
+    @Test
+    void importarCalificacionesActualizaLosAgregados() throws Exception {
+        Cliente otroCliente = new Cliente();
+        otroCliente.setNombres("Luis");
+        otroCliente.setTipoUsuario("CLIENTE");
+        entityManager.persist(otroCliente);
+        String ndjson = """
+                {"clienteId": %d, "trabajoId": %d, "rating": 4}
+                {"clienteId": %d, "trabajoId": %d, "rating": 2, "comentarios": "Regular"}
+                """.formatted(cliente.getId(), trabajoEmpresa.getId(), otroCliente.getId(), trabajoEmpresa.getId());
+
+        importacionService.importarCalificacionesEmpresas(entrada(ndjson));
+
+        TrabajoEmpresa trabajo = entityManager.find(TrabajoEmpresa.class, trabajoEmpresa.getId());
+        assertEquals(2L, trabajo.getRatingCount());
+        assertEquals(6L, trabajo.getRatingSum());
+        assertEquals(3.0, trabajo.getAverageRating());
+    }
+
+    @Test
+    void filaInvalidaInformaLaLinea() {
+        String ndjson = """
+                {"clienteId": %1$d, "trabajoId": %2$d}
+                {"clienteId": %1$d}
+                """.formatted(cliente.getId(), trabajoEmpresa.getId());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> importacionService.importarHistorialEmpresas(entrada(ndjson)));
+        assertTrue(error.getMessage().startsWith("Línea 2: trabajoId"), error.getMessage());
+    }
+
+    private InputStream historial(int filas) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < filas; i++) {
+            ndjson.append("{\"clienteId\":").append(cliente.getId())
+                    .append(",\"trabajoId\":").append(trabajoEmpresa.getId())
+                    .append(",\"comentarios\":\"Solicitud ").append(i).append("\"}\n");
+        }
+        return entrada(ndjson.toString());
+    }
+
+    private static InputStream entrada(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long contar(String entidad) {
+        return entityManager.createQuery("select count(e) from " + entidad + " e", Long.class).getSingleResult();
+    }
+
+    private Statistics estadisticas() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,220 @@
+package com.professional.model.services;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.professional.model.cache.CacheDetalleTrabajos;
+import com.professional.model.dto.TrabajoEnAccionDTO;
+import com.professional.model.entities.Cliente;
+import com.professional.model.entities.TrabajoEmpEnAccion;
+import com.professional.model.entities.TrabajoEmpresa;
+import com.professional.model.entities.TrabajoIndEnAccion;
+import com.professional.model.entities.TrabajoIndependiente;
+import com.professional.model.enums.EstadoTrabajo;
+import com.professional.model.repositories.ClienteRepository;
+import com.professional.model.repositories.TrabajoEmpEnAccionRepository;
+import com.professional.model.repositories.TrabajoEmpresaRepository;
+import com.professional.model.repositories.TrabajoIndEnAccionRepository;
+import com.professional.model.repositories.TrabajoIndependienteRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Cantidad de sentencias SQL de los listados de trabajos en acción, para detectar regresiones N+1:
+ * el número de sentencias no debe crecer con la cantidad de filas. También cubre que FINALIZADO sea terminal
+ * en todas las rutas que cambian el estado, para que la venta se registre una sola vez.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@Import({TrabajoIndEnAccionServiceImpl.class, TrabajoEmpEnAccionServiceImpl.class})
+class TrabajosEnAccionConsultasTest {
+
+    private static final int ACTIVOS = 5;
+    private static final int INACTIVOS = 3;
+
+    @MockBean
+    private HistorialIndependientesService historialIndependientesService;
+    @MockBean
+    private HistorialEmpresasService historialEmpresasService;
+    @MockBean
+    private TrabajoIndependienteService trabajoIndependienteService;
+    @MockBean
+    private TrabajoEmpresaService trabajoEmpresaService;
+    @MockBean
+    private ClienteService clienteService;
+    @MockBean
+    private CacheDetalleTrabajos cacheDetalleTrabajos;
+
+    @Autowired
+    private TrabajoIndEnAccionService trabajoIndEnAccionService;
+    @Autowired
+    private TrabajoEmpEnAccionService trabajoEmpEnAccionService;
+    @Autowired
+    private TrabajoIndEnAccionRepository trabajoIndEnAccionRepository;
+    @Autowired
+    private TrabajoEmpEnAccionRepository trabajoEmpEnAccionRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private TrabajoIndependienteRepository trabajoIndependienteRepository;
+    @Autowired
+    private TrabajoEmpresaRepository trabajoEmpresaRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private Cliente cliente;
+    private TrabajoIndependiente trabajoIndependiente;
+    private TrabajoEmpresa trabajoEmpresa;
+    private Long trabajoIndEnAccionId;
+    private Long trabajoEmpEnAccionId;
+
+    @BeforeEach
+    void crearDatos() {
+        cliente = new Cliente();
+        cliente.setNombres("Ana");
+        cliente.setTipoUsuario("CLIENTE");
+        entityManager.persist(cliente);
+
+        trabajoIndependiente = new TrabajoIndependiente();
+        trabajoIndependiente.setDescripcion("Reparación de techos");
+        trabajoIndependiente.setDescripcionCorta("Techos");
+        entityManager.persist(trabajoIndependiente);
+
+        trabajoEmpresa = new TrabajoEmpresa();
+        trabajoEmpresa.setDescripcion("Mudanzas");
+        trabajoEmpresa.setDescripcionCorta("Mudanzas");
+        trabajoEmpresa.setCliente(cliente);
+        entityManager.persist(trabajoEmpresa);
+
+        for (int i = 0; i < ACTIVOS + INACTIVOS; i++) {
+            TrabajoIndEnAccion trabajoIndEnAccion = new TrabajoIndEnAccion();
+            trabajoIndEnAccion.setTrabajoIndependiente(trabajoIndependiente);
+            trabajoIndEnAccion.setCliente(cliente);
+            entityManager.persist(trabajoIndEnAccion);
+            trabajoIndEnAccion.setActivo(i < ACTIVOS);
+            trabajoIndEnAccionId = trabajoIndEnAccion.getId();
+
+            TrabajoEmpEnAccion trabajoEmpEnAccion = new TrabajoEmpEnAccion();
+            trabajoEmpEnAccion.setTrabajoEmpresa(trabajoEmpresa);
+            trabajoEmpEnAccion.setCliente(cliente);
+            entityManager.persist(trabajoEmpEnAccion);
+            trabajoEmpEnAccion.setActivo(i < ACTIVOS);
+            trabajoEmpEnAccionId = trabajoEmpEnAccion.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        estadisticas().clear();
+    }
+
+    @Test
+    void listarPorTrabajoIndependienteUsaDosSentencias() throws Exception {
+        List<TrabajoEnAccionDTO> trabajos = trabajoIndEnAccionService
+                .getTrabajosEnAccionActivosByTrabajoIndependiente(trabajoIndependiente.getId());
+        jsonMapper.writeValueAsString(trabajos);
+
+        assertEquals(ACTIVOS, trabajos.size());
+        assertEquals(2, estadisticas().getPrepareStatementCount());
+    }
+
+    @Test
+    void listarIndependientesPorClienteUsaDosSentencias() throws Exception {
+        List<TrabajoEnAccionDTO> trabajos = trabajoIndEnAccionService.getTrabajosEnAccionActivosByCliente(cliente.getId());
+        jsonMapper.writeValueAsString(trabajos);
+
+        assertEquals(ACTIVOS, trabajos.size());
+        assertEquals(2, estadisticas().getPrepareStatementCount());
+    }
+
+    @Test
+    void listarPorTrabajoEmpresaUsaDosSentencias() throws Exception {
+        List<TrabajoEnAccionDTO> trabajos = trabajoEmpEnAccionService
+                .getTrabajosEmpEnAccionActivosByTrabajoEmpresa(trabajoEmpresa.getId());
+        jsonMapper.writeValueAsString(trabajos);
+
+        assertEquals(ACTIVOS, trabajos.size());
+        assertEquals(2, estadisticas().getPrepareStatementCount());
+    }
+
+    @Test
+    void listarEmpresasPorClienteUsaDosSentencias() throws Exception {
+        List<TrabajoEnAccionDTO> trabajos = trabajoEmpEnAccionService.getTrabajosEmpEnAccionActivosByCliente(cliente.getId());
+        jsonMapper.writeValueAsString(trabajos);
+
+        assertEquals(ACTIVOS, trabajos.size());
+        assertEquals(2, estadisticas().getPrepareStatementCount());
+    }
+
+    @Test
+    void trabajoIndependienteConAsociacionesUsaUnaSentencia() {
+        TrabajoIndEnAccion trabajo = trabajoIndEnAccionRepository.findConTrabajoYClienteById(trabajoIndEnAccionId).orElseThrow();
+        trabajo.getCliente().getNombres();
+        trabajo.getTrabajoIndependiente().getDescripcion();
+        // El historial vuelve a buscar ambas entidades: deben salir del contexto de persistencia
+        clienteRepository.findById(cliente.getId());
+        trabajoIndependienteRepository.findById(trabajoIndependiente.getId());
+
+        assertEquals(1, estadisticas().getPrepareStatementCount());
+    }
+
+    @Test
+    void trabajoEmpresaConAsociacionesUsaUnaSentencia() {
+        TrabajoEmpEnAccion trabajo = trabajoEmpEnAccionRepository.findConTrabajoYClienteById(trabajoEmpEnAccionId).orElseThrow();
+        trabajo.getCliente().getNombres();
+        trabajo.getTrabajoEmpresa().getDescripcion();
+
+        assertEquals(1, estadisticas().getPrepareStatementCount());
+    }
+
+    @Test
+    void trabajoIndependienteFinalizadoNoVuelveAVenderse() {
+        trabajoIndEnAccionService.updateEstadoTrabajo(trabajoIndEnAccionId, EstadoTrabajo.FINALIZADO);
+        TrabajoIndEnAccion reabierto = new TrabajoIndEnAccion();
+        reabierto.setTrabajoIndependiente(trabajoIndependiente);
+        reabierto.setEstadoTrabajo(EstadoTrabajo.PENDIENTE);
+        trabajoIndEnAccionService.updateTrabajoEnAccion(trabajoIndEnAccionId, reabierto);
+        trabajoIndEnAccionService.updateEstadoTrabajoEnAccion(trabajoIndEnAccionId, EstadoTrabajo.PENDIENTE);
+        trabajoIndEnAccionService.updateEstadoTrabajo(trabajoIndEnAccionId, EstadoTrabajo.FINALIZADO);
+        entityManager.clear();
+
+        assertEquals(EstadoTrabajo.FINALIZADO,
+                trabajoIndEnAccionRepository.findById(trabajoIndEnAccionId).orElseThrow().getEstadoTrabajo());
+        assertEquals(1L, trabajoIndependienteRepository.findById(trabajoIndependiente.getId()).orElseThrow().getVentas());
+        verify(historialIndependientesService, times(1)).createHistorialIndependientesDTO(any());
+    }
+
+    @Test
+    void trabajoEmpresaFinalizadoNoVuelveAVenderse() {
+        trabajoEmpEnAccionService.updateEstadoTrabajoEnAccion(trabajoEmpEnAccionId, EstadoTrabajo.FINALIZADO);
+        trabajoEmpEnAccionService.updateEstadoTrabajoEnAccion(trabajoEmpEnAccionId, EstadoTrabajo.PENDIENTE);
+        trabajoEmpEnAccionService.updateEstadoTrabajo(trabajoEmpEnAccionId, EstadoTrabajo.FINALIZADO);
+        entityManager.clear();
+
+        assertEquals(EstadoTrabajo.FINALIZADO,
+                trabajoEmpEnAccionRepository.findById(trabajoEmpEnAccionId).orElseThrow().getEstadoTrabajo());
+        assertEquals(1L, trabajoEmpresaRepository.findById(trabajoEmpresa.getId()).orElseThrow().getVentas());
+        verify(historialEmpresasService, times(1)).createHistorialEmpresasDTO(any());
+    }
+
+    private Statistics estadisticas() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}